@@ -0,0 +1,51 @@
+package net.virgodirk.wildfire.actuate;
+
+import java.util.Map;
+
+import net.virgodirk.wildfire.util.WfHttpMetrics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * HTTP请求指标监控端点
+ *
+ * <p>{@code GET /actuator/wfhttp}：全部指标；{@code GET /actuator/wfhttp/{host}}：指定主机的指标；<br>
+ * {@code DELETE /actuator/wfhttp}：清空耗时统计及异常计数。指标说明见 {@link WfHttpMetrics}。</p>
+ *
+ * @author agent on 2026年10月18日 下午21:20:37
+ * @version Version 3.0
+ */
+@Component
+@Endpoint(id = "wfhttp")
+public class WfHttpEndpoint {
+
+    /**
+     * 获取全部指标
+     * @return 全部指标
+     */
+    @ReadOperation
+    public Map<String, Object> metrics() {
+        return WfHttpMetrics.snapshot();
+    }
+
+    /**
+     * 获取指定主机的指标
+     * @param host 主机，如：www.example.com、127.0.0.1:8080
+     * @return 指定主机的指标
+     */
+    @ReadOperation
+    public Map<String, Object> host(@Selector final String host) {
+        return WfHttpMetrics.snapshot(host);
+    }
+
+    /**
+     * 清空耗时统计及异常计数
+     */
+    @DeleteOperation
+    public void reset() {
+        WfHttpMetrics.reset();
+    }
+}
@@ -2,18 +2,14 @@ package net.virgodirk.wildfire.util;
 
 import net.virgodirk.wildfire.util.exception.WfAesException;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.security.InvalidAlgorithmParameterException;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
-import java.util.Locale;
-
-import javax.crypto.BadPaddingException;
-import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * AES Utils 
@@ -21,6 +17,13 @@ import javax.crypto.spec.SecretKeySpec;
  * <p>加密模式：CBC<br>
  * 填充规则：ZeroPadding<br>
  * 默认向量：WfMd5.encrypt16(key)，key为密钥</p>
+ *
+ * <p>静态方法按密钥、向量及字符集复用 {@link WfAesEngine}（有界缓存，最多256个，淘汰最久未使用的引擎），
+ * 同一密钥反复调用时不再重复创建密码器、展开密钥及计算默认向量。<br>
+ * 缓存键是密钥、向量、字符集加随机盐后的SHA-256摘要，缓存中不保存密钥或密码原文；
+ * 但缓存的引擎持有由密钥创建的密码器，密钥仍会保留在内存中；密码器只由引擎自身的空闲池引用，
+ * 引擎被淘汰或调用 {@link #clearEngines()} 后，其他地方不再引用该引擎时连同密码器一起回收。
+ * 密钥数量很多、不希望密钥常驻内存或需要自行管理生命周期时，可直接使用 {@link WfAesEngine}</p>
  * 
  * @author 李晓勇 on 2017年8月24日 下午5:47:30
  * @version Version 3.0
@@ -33,11 +36,6 @@ public class WfAes {
      */
     private static final String AES_ENCRYPT_ERROR = "AES加密错误";
 
-    /**
-     * AES解密错误
-     */
-    private static final String AES_DECRYPT_ERROR = "AES解密错误";
-
     /**
      * 默认字符集名称
      */
@@ -49,10 +47,24 @@ public class WfAes {
     private static final int AES_KEY_SIZE = 16;
 
     /**
-     * 加密规则（方法/模式/填充规则）
-     * <p>使用NoPadding是为了兼容C#/JS/PHP的ZeroPadding</p>
+     * 最大缓存引擎数
+     */
+    private static final int MAX_ENGINES = 256;
+
+    /**
+     * 缓存键的随机盐（每个JVM不同）
+     */
+    private static final byte[] CACHE_SALT = newSalt();
+
+    /**
+     * 按密钥、向量及字符集缓存的引擎（访问顺序，访问时需同步）
+     */
+    private static final Map<String, WfAesEngine> ENGINES = newCache();
+
+    /**
+     * 按密码缓存的引擎（encryptAnyKey/decryptAnyKey，访问顺序，访问时需同步）
      */
-    private static final String CIPHER_RULE = "AES/CBC/NoPadding";
+    private static final Map<String, WfAesEngine> PASSWORD_ENGINES = newCache();
 
     
     /**
@@ -64,8 +76,10 @@ public class WfAes {
      * @throws WfAesException {@link WfAesException} 异常
      */
     public static String encryptAnyKey(final String src, final String password) throws WfAesException {
-        final String key = WfMd5.encrypt16(password);
-        return encryptEx(src, key.toLowerCase(Locale.ENGLISH), key.toUpperCase(Locale.ENGLISH));
+        if (src == null) {
+            return "";
+        }
+        return getAnyKeyEngine(password).encrypt(src);
     }
 
     /**
@@ -77,8 +91,10 @@ public class WfAes {
      * @throws WfAesException {@link WfAesException} 异常
      */
     public static String decryptAnyKey(final String src, final String password) throws WfAesException {
-        final String key = WfMd5.encrypt16(password);
-        return decryptEx(src, key.toLowerCase(Locale.ENGLISH), key.toUpperCase(Locale.ENGLISH));
+        if (src == null) {
+            return "";
+        }
+        return getAnyKeyEngine(password).decrypt(src);
     }
 
     
@@ -220,32 +236,7 @@ public class WfAes {
     public static byte[] encrypt(final byte[] src,
             final String key, final String keyIv, final String charset) throws WfAesException {
         validateAesInput(src, key, keyIv);
-        try {
-            // 创建密钥
-            final SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(charset), "AES");
-
-            // 创建密钥向量
-            String ivValue = keyIv;
-            if (ivValue == null) {
-                // 默认密钥向量
-                ivValue = WfMd5.encrypt16(key);
-            }
-            final IvParameterSpec ivParameterSpec = new IvParameterSpec(ivValue.getBytes());
-
-            // 创建并初始化密码器
-            final Cipher cipher = Cipher.getInstance(CIPHER_RULE);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, ivParameterSpec);
-
-            // 模拟ZeroPadding
-            final byte[] input = zeroPadding(src, cipher.getBlockSize());
-
-            // 加密
-            return cipher.doFinal(input);
-        } catch (InvalidKeyException | UnsupportedEncodingException | NoSuchPaddingException 
-                | NoSuchAlgorithmException | InvalidAlgorithmParameterException 
-                | BadPaddingException | IllegalBlockSizeException  excpt) {
-            throw new WfAesException(AES_ENCRYPT_ERROR, excpt);
-        }
+        return getEngine(key, keyIv, charset).encrypt(src);
     }
 
     /**
@@ -260,28 +251,180 @@ public class WfAes {
     public static byte[] decrypt(final byte[] src,
             final String key, final String keyIv, final String charset) throws WfAesException {
         validateAesInput(src, key, keyIv);
-        try {
-            // 创建密钥
-            final SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(charset), "AES");
-
-            // 创建密钥向量
-            String ivValue = keyIv;
-            if (WfString.isEmpty(ivValue)) {
-                // 默认密钥向量
-                ivValue = WfMd5.encrypt16(key);
-            }
-            final IvParameterSpec ivParameterSpec = new IvParameterSpec(ivValue.getBytes(charset));
-
-            // 创建并初始化密码器
-            final Cipher cipher = Cipher.getInstance(CIPHER_RULE);
-            cipher.init(Cipher.DECRYPT_MODE, secretKeySpec, ivParameterSpec);
-
-            // 解密
-            return cipher.doFinal(src);
-        } catch (InvalidKeyException | UnsupportedEncodingException | NoSuchPaddingException 
-                | NoSuchAlgorithmException | InvalidAlgorithmParameterException 
-                | BadPaddingException | IllegalBlockSizeException  excpt) {
-            throw new WfAesException(AES_DECRYPT_ERROR, excpt);
+        return getEngine(key, keyIv, charset).decrypt(src);
+    }
+
+
+    /**
+     * 批量AES加密
+     * <p>使用默认字符集：UTF-8，默认向量：WfMd5.encrypt16(key)，串行执行</p>
+     * @param src 待加密内容，元素为 {@code null} 时结果为 {@code ""}
+     * @param key 密钥（16位）
+     * @return AES加密结果（Base64格式），顺序与 {@code src} 一致
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public static List<String> encryptAll(final List<String> src, final String key) throws WfAesException {
+        return encryptAll(src, key, null, false);
+    }
+
+    /**
+     * 批量AES加密
+     * <p>使用默认字符集：UTF-8。密钥只验证、初始化一次，结果与逐条调用 {@link #encryptEx(String, String, String)} 相同</p>
+     * @param src 待加密内容，元素为 {@code null} 时结果为 {@code ""}
+     * @param key 密钥（16位）
+     * @param keyIv 密钥向量（16位），为 {@code null} 时使用 WfMd5.encrypt16(key)
+     * @param parallel 是否拆分到多核并行
+     * @return AES加密结果（Base64格式），顺序与 {@code src} 一致
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public static List<String> encryptAll(final List<String> src,
+            final String key, final String keyIv, final boolean parallel) throws WfAesException {
+        return getEngine(key, keyIv).encryptAll(src, parallel);
+    }
+
+    /**
+     * 批量AES解密
+     * <p>使用默认字符集：UTF-8，默认向量：WfMd5.encrypt16(key)，串行执行</p>
+     * @param src 待解密内容（Base64格式），元素为 {@code null} 时结果为 {@code ""}
+     * @param key 密钥（16位）
+     * @return AES解密结果，顺序与 {@code src} 一致
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public static List<String> decryptAll(final List<String> src, final String key) throws WfAesException {
+        return decryptAll(src, key, null, false);
+    }
+
+    /**
+     * 批量AES解密
+     * <p>使用默认字符集：UTF-8。密钥只验证、初始化一次，结果与逐条调用 {@link #decryptEx(String, String, String)} 相同</p>
+     * @param src 待解密内容（Base64格式），元素为 {@code null} 时结果为 {@code ""}
+     * @param key 密钥（16位）
+     * @param keyIv 密钥向量（16位），为 {@code null} 时使用 WfMd5.encrypt16(key)
+     * @param parallel 是否拆分到多核并行
+     * @return AES解密结果，顺序与 {@code src} 一致
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public static List<String> decryptAll(final List<String> src,
+            final String key, final String keyIv, final boolean parallel) throws WfAesException {
+        return getEngine(key, keyIv).decryptAll(src, parallel);
+    }
+
+    /**
+     * 批量AES加密（列式数据）
+     * @param src 待加密数据，元素为 {@code null} 时结果为 {@code null}
+     * @param key 密钥（16位）
+     * @param keyIv 密钥向量（16位），为 {@code null} 时使用 WfMd5.encrypt16(key)
+     * @param parallel 是否拆分到多核并行
+     * @return AES加密结果，顺序与 {@code src} 一致
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public static byte[][] encryptAll(final byte[][] src,
+            final String key, final String keyIv, final boolean parallel) throws WfAesException {
+        return getEngine(key, keyIv).encryptAll(src, parallel);
+    }
+
+    /**
+     * 批量AES解密（列式数据）
+     * @param src 待解密数据，元素为 {@code null} 时结果为 {@code null}
+     * @param key 密钥（16位）
+     * @param keyIv 密钥向量（16位），为 {@code null} 时使用 WfMd5.encrypt16(key)
+     * @param parallel 是否拆分到多核并行
+     * @return AES解密结果（保留ZeroPadding补齐的 {@code 0x00}），顺序与 {@code src} 一致
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public static byte[][] decryptAll(final byte[][] src,
+            final String key, final String keyIv, final boolean parallel) throws WfAesException {
+        return getEngine(key, keyIv).decryptAll(src, parallel);
+    }
+
+    /**
+     * 文件AES加密
+     * <p>加密规则为 AES/CBC/PKCS5Padding，边读边写，内存占用与文件大小无关；
+     * 与 {@link #encrypt(byte[], String, String, String)} 的ZeroPadding结果格式不同，须使用
+     * {@link #decryptFile(Path, Path, String, String)} 解密</p>
+     * @param source 待加密文件
+     * @param target 加密结果文件（已存在时覆盖）
+     * @param key 密钥（16位）
+     * @param keyIv 密钥向量（16位），为 {@code null} 时使用 WfMd5.encrypt16(key)
+     * @return 加密结果文件的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public static long encryptFile(final Path source, final Path target, final String key, final String keyIv)
+            throws IOException, WfAesException {
+        return getEngine(key, keyIv).encryptFile(source, target);
+    }
+
+    /**
+     * 文件AES解密
+     * <p>解密 {@link #encryptFile(Path, Path, String, String)} 的加密结果，恢复原始文件</p>
+     * @param source 待解密文件
+     * @param target 解密结果文件（已存在时覆盖）
+     * @param key 密钥（16位）
+     * @param keyIv 密钥向量（16位），为 {@code null} 时使用 WfMd5.encrypt16(key)
+     * @return 解密结果文件的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException 文件不完整或密钥错误时抛出
+     */
+    public static long decryptFile(final Path source, final Path target, final String key, final String keyIv)
+            throws IOException, WfAesException {
+        return getEngine(key, keyIv).decryptFile(source, target);
+    }
+
+    /**
+     * 获取缓存的AES引擎
+     * <p>使用默认字符集：UTF-8</p>
+     * @param key 密钥（16位）
+     * @param keyIv 密钥向量（16位），为 {@code null} 时使用 WfMd5.encrypt16(key)
+     * @return 共享的 {@link WfAesEngine}
+     * @throws WfAesException 密钥或密钥向量错误时抛出
+     */
+    public static WfAesEngine getEngine(final String key, final String keyIv) throws WfAesException {
+        return getEngine(key, keyIv, DEFAULT_CHARSET);
+    }
+
+    /**
+     * 获取缓存的AES引擎
+     * <p>缓存数超过上限时淘汰最久未使用的引擎，被淘汰的引擎仍可继续使用</p>
+     * @param key 密钥（16位）
+     * @param keyIv 密钥向量（16位），为 {@code null} 时使用 WfMd5.encrypt16(key)
+     * @param charset 字符集名称，如：UTF-8、GB2312等
+     * @return 共享的 {@link WfAesEngine}
+     * @throws WfAesException 密钥、密钥向量或字符集错误时抛出
+     */
+    public static WfAesEngine getEngine(final String key, final String keyIv, final String charset)
+            throws WfAesException {
+        if (key == null || charset == null) {
+            return new WfAesEngine(key, keyIv, charset);
+        }
+
+        return cached(ENGINES, cacheKey(key, keyIv, charset), () -> new WfAesEngine(key, keyIv, charset));
+    }
+
+    /**
+     * 获取缓存的AES引擎（任意长度的密码）
+     * <p>规则同 {@link #encryptAnyKey(String, String)}，密码的MD5只计算一次</p>
+     * @param password 密码（任意长度）
+     * @return 共享的 {@link WfAesEngine}
+     * @throws WfAesException 密码为空时抛出
+     */
+    public static WfAesEngine getAnyKeyEngine(final String password) throws WfAesException {
+        if (password == null) {
+            return WfAesEngine.ofPassword(null);
+        }
+
+        return cached(PASSWORD_ENGINES, cacheKey(password), () -> WfAesEngine.ofPassword(password));
+    }
+
+    /**
+     * 清空缓存的AES引擎
+     */
+    public static void clearEngines() {
+        synchronized (ENGINES) {
+            ENGINES.clear();
+        }
+        synchronized (PASSWORD_ENGINES) {
+            PASSWORD_ENGINES.clear();
         }
     }
 
@@ -307,27 +450,78 @@ public class WfAes {
             throw new WfAesException("密钥向量长度错误");
         }
     }
-    
+
     /**
-     * ZeroPadding
-     * <p>为兼容JS、C#、PHP等，模拟ZeroPadding效果</p>
-     * @param data 待加密数据
-     * @param blockSize 加密数据块大小
-     * @return ZeroPadding后的待加密数据
+     * 生成缓存键的随机盐
+     * @return 随机盐（16字节）
      */
-    private static byte[] zeroPadding(final byte[] data, final int blockSize) {
-        if (data == null) {
-            return null;
-        }
+    private static byte[] newSalt() {
+        final byte[] salt = new byte[16];
+        new SecureRandom().nextBytes(salt);
+        return salt;
+    }
+
+    /**
+     * 创建引擎缓存：按访问顺序排列，超过上限时淘汰最久未使用的引擎
+     * @return 引擎缓存
+     */
+    private static Map<String, WfAesEngine> newCache() {
+        return new LinkedHashMap<String, WfAesEngine>(16, 0.75F, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, WfAesEngine> eldest) {
+                return size() > MAX_ENGINES;
+            }
+        };
+    }
 
-        int dataLen = data.length;
-        final int missingNum = dataLen % blockSize;
-        if (missingNum != 0) {
-            dataLen += (blockSize - missingNum);
+    /**
+     * 从缓存中获取引擎，不存在时创建并放入缓存
+     * <p>引擎在锁外创建，并发创建同一引擎时保留先放入的</p>
+     * @param engines 引擎缓存
+     * @param cacheKey 缓存键
+     * @param factory 创建引擎
+     * @return 共享的 {@link WfAesEngine}
+     */
+    private static WfAesEngine cached(final Map<String, WfAesEngine> engines, final String cacheKey,
+            final Supplier<WfAesEngine> factory) {
+        WfAesEngine engine;
+        synchronized (engines) {
+            engine = engines.get(cacheKey);
         }
+        if (engine == null) {
+            engine = factory.get();
+            synchronized (engines) {
+                final WfAesEngine existing = engines.putIfAbsent(cacheKey, engine);
+                if (existing != null) {
+                    engine = existing;
+                }
+            }
+        }
+        return engine;
+    }
 
-        final byte[] result = new byte[dataLen];
-        System.arraycopy(data, 0, result, 0, data.length);
-        return result;
+    /**
+     * 计算缓存键：随机盐及各部分（含长度，区分 {@code null}）的SHA-256摘要
+     * @param parts 密钥、向量、字符集或密码
+     * @return 缓存键（小写十六进制）
+     */
+    private static String cacheKey(final String... parts) {
+        final WfHasher hasher = WfHasher.sha256().update(CACHE_SALT);
+        final byte[] length = new byte[4];
+        for (final String part : parts) {
+            final int size = part == null ? -1 : part.length();
+            length[0] = (byte) (size >>> 24);
+            length[1] = (byte) (size >>> 16);
+            length[2] = (byte) (size >>> 8);
+            length[3] = (byte) size;
+            hasher.update(length);
+            if (part != null) {
+                hasher.update(part);
+            }
+        }
+        return hasher.digestHex();
     }
-}
\ No newline at end of file
+}
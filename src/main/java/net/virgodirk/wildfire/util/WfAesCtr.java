@@ -0,0 +1,638 @@
+package net.virgodirk.wildfire.util;
+
+import net.virgodirk.wildfire.util.exception.WfAesException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 分块并行AES加密/解密（AES/CTR）
+ *
+ * <p>CBC模式只能串行加密，大数据只能用满一个核。本类使用CTR模式：数据按 {@code chunkSize} 分块，
+ * 第 {@code i} 块的初始计数器为 {@code nonce + i * chunkSize / 16}（128位加法），
+ * 各块互不依赖，由 {@link ForkJoinPool} 并行加密/解密；拼接后的结果与整段数据做标准AES/CTR完全相同。</p>
+ *
+ * <p>加密结果自带头部，解密时按头部中的分块大小并行，不依赖加密方的配置：<br>
+ * {@code magic(4, "WFCT") | version(1) | reserved(3) | chunkSize(4) | length(8) | nonce(16) | 密文(length)}<br>
+ * 整数均为大端序，{@code nonce} 每次加密随机生成。</p>
+ *
+ * <p>注意：CTR模式不提供完整性校验，密文被篡改时解密不会报错；需要防篡改时应另行签名或使用GCM。
+ * 结果格式与 {@link WfAes}、{@link WfAesEngine} 均不相同。线程安全。</p>
+ *
+ * @author agent on 2026年10月19日 上午02:14:05
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfAesCtr {
+
+    /**
+     * 头部魔数
+     */
+    private static final int MAGIC = 0x57464354;
+
+    /**
+     * 格式版本
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * 计数器（nonce）长度
+     */
+    private static final int NONCE_SIZE = 16;
+
+    /**
+     * 头部长度
+     */
+    public static final int HEADER_SIZE = 4 + 1 + 3 + 4 + 8 + NONCE_SIZE;
+
+    /**
+     * 数据块大小
+     */
+    private static final int BLOCK_SIZE = 16;
+
+    /**
+     * 默认分块大小（1MB）
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * 加密规则（方法/模式/填充规则）
+     */
+    private static final String CIPHER_RULE = "AES/CTR/NoPadding";
+
+    /**
+     * 随机数生成器
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+
+    /**
+     * 密钥
+     */
+    private final transient SecretKeySpec secretKeySpec;
+
+    /**
+     * 分块大小
+     */
+    private final transient int chunkSize;
+
+    /**
+     * 并行执行的线程池
+     */
+    private final transient ForkJoinPool pool;
+
+
+    /**
+     * {@link WfAesCtr} 构建器
+     * @return {@link WfAesCtrBuilder}
+     */
+    public static WfAesCtrBuilder builder() {
+        return new WfAesCtrBuilder();
+    }
+
+
+    /**
+     * 获取分块大小
+     * @return 分块大小
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * AES加密
+     * @param src 待加密数据
+     * @return 加密结果（头部 + 密文）
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public byte[] encrypt(final byte[] src) throws WfAesException {
+        if (src == null) {
+            throw new WfAesException("待加密/解密内容为空");
+        }
+
+        final byte[] nonce = newNonce();
+        final byte[] result = new byte[HEADER_SIZE + src.length];
+        writeHeader(ByteBuffer.wrap(result), chunkSize, src.length, nonce);
+        crypt(src, 0, result, HEADER_SIZE, src.length, chunkSize, nonce);
+        return result;
+    }
+
+    /**
+     * AES解密
+     * @param src 待解密数据（{@link #encrypt(byte[])} 的加密结果）
+     * @return 解密结果
+     * @throws WfAesException 格式错误时抛出
+     */
+    public byte[] decrypt(final byte[] src) throws WfAesException {
+        if (src == null) {
+            throw new WfAesException("待加密/解密内容为空");
+        }
+
+        final Header header = readHeader(ByteBuffer.wrap(src), src.length);
+        final byte[] result = new byte[(int) header.length];
+        crypt(src, HEADER_SIZE, result, 0, result.length, header.chunkSize, header.nonce);
+        return result;
+    }
+
+    /**
+     * 文件AES加密
+     * <p>各分块通过 {@link FileChannel} 按位置并行读写，目标文件已存在时覆盖，失败时删除目标文件</p>
+     * @param source 待加密文件
+     * @param target 加密结果文件，不能与 {@code source} 相同
+     * @return 加密结果文件的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public long encryptFile(final Path source, final Path target) throws IOException, WfAesException {
+        checkTarget(source, target);
+
+        boolean success = false;
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final long length = input.size();
+            final byte[] nonce = newNonce();
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            writeHeader(header, chunkSize, length, nonce);
+            header.flip();
+            writeFully(output, header, 0);
+
+            crypt(input, 0, output, HEADER_SIZE, length, chunkSize, nonce);
+            success = true;
+            return HEADER_SIZE + length;
+        } finally {
+            if (!success) {
+                Files.deleteIfExists(target);
+            }
+        }
+    }
+
+    /**
+     * 文件AES解密
+     * <p>各分块通过 {@link FileChannel} 按位置并行读写，目标文件已存在时覆盖，失败时删除目标文件</p>
+     * @param source 待解密文件（{@link #encryptFile(Path, Path)} 的加密结果）
+     * @param target 解密结果文件，不能与 {@code source} 相同
+     * @return 解密结果文件的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException 格式错误时抛出
+     */
+    public long decryptFile(final Path source, final Path target) throws IOException, WfAesException {
+        checkTarget(source, target);
+
+        boolean success = false;
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(input, buffer, 0);
+            buffer.flip();
+            final Header header = readHeader(buffer, input.size());
+
+            crypt(input, HEADER_SIZE, output, 0, header.length, header.chunkSize, header.nonce);
+            success = true;
+            return header.length;
+        } finally {
+            if (!success) {
+                Files.deleteIfExists(target);
+            }
+        }
+    }
+
+
+    /**
+     * 并行加密/解密内存数据
+     * @param input 输入数组
+     * @param inputOffset 输入起始位置
+     * @param output 输出数组
+     * @param outputOffset 输出起始位置
+     * @param length 数据长度
+     * @param chunkSize 分块大小
+     * @param nonce 初始计数器
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    private void crypt(final byte[] input, final int inputOffset, final byte[] output, final int outputOffset,
+            final int length, final int chunkSize, final byte[] nonce) throws WfAesException {
+        run(length, chunkSize, nonce, (cipher, counter, offset, size) -> {
+            cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, new IvParameterSpec(counter));
+            cipher.doFinal(input, inputOffset + (int) offset, size, output, outputOffset + (int) offset);
+        });
+    }
+
+    /**
+     * 并行加密/解密文件数据
+     * @param input 输入文件
+     * @param inputOffset 输入起始位置
+     * @param output 输出文件
+     * @param outputOffset 输出起始位置
+     * @param length 数据长度
+     * @param chunkSize 分块大小
+     * @param nonce 初始计数器
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    private void crypt(final FileChannel input, final long inputOffset, final FileChannel output,
+            final long outputOffset, final long length, final int chunkSize, final byte[] nonce)
+            throws IOException, WfAesException {
+        try {
+            run(length, chunkSize, nonce, (cipher, counter, offset, size) -> {
+                final byte[] data = new byte[size];
+                final ByteBuffer buffer = ByteBuffer.wrap(data);
+                if (!readFully(input, buffer, inputOffset + offset)) {
+                    throw new IOException("文件长度不足");
+                }
+
+                // CTR支持原地加密/解密
+                cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, new IvParameterSpec(counter));
+                cipher.doFinal(data, 0, size, data, 0);
+
+                buffer.clear();
+                writeFully(output, buffer, outputOffset + offset);
+            });
+        } catch (UncheckedIOException excpt) {
+            throw excpt.getCause();
+        }
+    }
+
+    /**
+     * 按分块执行，分块数大于1时提交到线程池并行执行
+     * <p>并行执行失败时抛出分块任务中的原异常，消息及异常链与串行执行时相同</p>
+     * @param length 数据长度
+     * @param chunkSize 分块大小
+     * @param nonce 初始计数器
+     * @param chunk 分块操作
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    private void run(final long length, final int chunkSize, final byte[] nonce, final ChunkAction chunk)
+            throws WfAesException {
+        final long chunks = (length + chunkSize - 1) / chunkSize;
+        final ChunkTask task = new ChunkTask(chunk, length, chunkSize, nonce, 0, chunks);
+        if (chunks <= 1 || pool.getParallelism() <= 1) {
+            task.computeSerial();
+        } else {
+            try {
+                pool.invoke(task);
+            } catch (RuntimeException excpt) {
+                // 其他线程抛出的异常被ForkJoinTask反射复制后重新抛出，复制品的cause才是原异常
+                final Throwable cause = excpt.getCause();
+                throw cause != null && cause.getClass() == excpt.getClass() ? (RuntimeException) cause : excpt;
+            }
+        }
+    }
+
+    /**
+     * 验证目标文件
+     * @param source 源文件
+     * @param target 目标文件
+     * @throws IOException 读取文件属性失败时抛出
+     */
+    private static void checkTarget(final Path source, final Path target) throws IOException {
+        if (Files.exists(target) && Files.isSameFile(source, target)) {
+            throw new WfAesException("源文件与目标文件相同");
+        }
+    }
+
+    /**
+     * 生成随机的初始计数器
+     * @return 初始计数器
+     */
+    private static byte[] newNonce() {
+        final byte[] nonce = new byte[NONCE_SIZE];
+        RANDOM.nextBytes(nonce);
+        return nonce;
+    }
+
+    /**
+     * 写入头部
+     * @param buffer 输出缓冲区
+     * @param chunkSize 分块大小
+     * @param length 数据长度
+     * @param nonce 初始计数器
+     */
+    private static void writeHeader(final ByteBuffer buffer, final int chunkSize, final long length,
+            final byte[] nonce) {
+        buffer.putInt(MAGIC).put(VERSION).put((byte) 0).put((byte) 0).put((byte) 0)
+            .putInt(chunkSize).putLong(length).put(nonce);
+    }
+
+    /**
+     * 读取并验证头部
+     * @param buffer 头部缓冲区
+     * @param total 加密结果总长度
+     * @return {@link Header}
+     * @throws WfAesException 格式错误时抛出
+     */
+    private static Header readHeader(final ByteBuffer buffer, final long total) throws WfAesException {
+        if (total < HEADER_SIZE || buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new WfAesException("解密内容格式错误");
+        }
+        if (buffer.get() != VERSION) {
+            throw new WfAesException("不支持的加密格式版本");
+        }
+        buffer.position(buffer.position() + 3);
+
+        final Header header = new Header();
+        header.chunkSize = buffer.getInt();
+        header.length = buffer.getLong();
+        header.nonce = new byte[NONCE_SIZE];
+        buffer.get(header.nonce);
+        if (header.chunkSize <= 0 || header.chunkSize % BLOCK_SIZE != 0 || header.length != total - HEADER_SIZE) {
+            throw new WfAesException("解密内容格式错误");
+        }
+        return header;
+    }
+
+    /**
+     * 计算分块的初始计数器：{@code nonce + blocks}（128位无符号加法，溢出时回绕）
+     * @param nonce 初始计数器
+     * @param blocks 分块之前的数据块数
+     * @return 分块的初始计数器
+     */
+    static byte[] addCounter(final byte[] nonce, final long blocks) {
+        final byte[] counter = nonce.clone();
+        long carry = blocks;
+        for (int i = NONCE_SIZE - 1; i >= 0 && carry != 0; i--) {
+            final long sum = (counter[i] & 0xFFL) + (carry & 0xFFL);
+            counter[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+        return counter;
+    }
+
+    /**
+     * 从文件的指定位置读满缓冲区
+     * @param input 输入文件
+     * @param buffer 缓冲区
+     * @param position 读取位置
+     * @return {@code true} 已读满<br>
+     *         {@code false} 文件已结束
+     * @throws IOException 读取失败时抛出
+     */
+    private static boolean readFully(final FileChannel input, final ByteBuffer buffer, final long position)
+            throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            final int read = input.read(buffer, offset);
+            if (read < 0) {
+                return false;
+            }
+            offset += read;
+        }
+        return true;
+    }
+
+    /**
+     * 将缓冲区剩余内容全部写入文件的指定位置
+     * @param output 输出文件
+     * @param buffer 缓冲区
+     * @param position 写入位置
+     * @throws IOException 写入失败时抛出
+     */
+    private static void writeFully(final FileChannel output, final ByteBuffer buffer, final long position)
+            throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += output.write(buffer, offset);
+        }
+    }
+
+
+    /**
+     * 构造 {@link WfAesCtr}
+     * @param builder {@link WfAesCtrBuilder}
+     */
+    protected WfAesCtr(final WfAesCtrBuilder builder) {
+        if (builder.key == null) {
+            throw new WfAesException("密钥为空");
+        }
+        if (builder.key.length != 16 && builder.key.length != 24 && builder.key.length != 32) {
+            throw new WfAesException("密钥长度错误");
+        }
+        secretKeySpec = new SecretKeySpec(builder.key, "AES");
+        chunkSize = builder.chunkSize;
+        pool = builder.pool == null ? ForkJoinPool.commonPool() : builder.pool;
+    }
+
+
+    /**
+     * {@link WfAesCtr} 构建器
+     *
+     * @author agent on 2026年10月19日 上午02:14:05
+     * @version Version 3.0
+     */
+    public static class WfAesCtrBuilder {
+
+        /**
+         * 密钥
+         */
+        private transient byte[] key;
+
+        /**
+         * 分块大小
+         */
+        private transient int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        /**
+         * 并行执行的线程池
+         */
+        private transient ForkJoinPool pool;
+
+
+        /**
+         * 设置密钥
+         * <p>按UTF-8转换，转换后须为16、24或32字节</p>
+         * @param key 密钥
+         * @return {@link WfAesCtrBuilder}
+         */
+        public WfAesCtrBuilder setKey(final String key) {
+            this.key = key == null ? null : key.getBytes(StandardCharsets.UTF_8);
+            return this;
+        }
+
+        /**
+         * 设置密钥
+         * @param key 密钥（16、24或32字节）
+         * @return {@link WfAesCtrBuilder}
+         */
+        public WfAesCtrBuilder setKey(final byte[] key) {
+            this.key = key == null ? null : key.clone();
+            return this;
+        }
+
+        /**
+         * 设置分块大小
+         * <p>默认值：1MB；仅影响加密，解密按头部中的分块大小进行</p>
+         * @param chunkSize 分块大小，须为16的正整数倍
+         * @return {@link WfAesCtrBuilder}
+         */
+        public WfAesCtrBuilder setChunkSize(final int chunkSize) {
+            if (chunkSize <= 0 || chunkSize % BLOCK_SIZE != 0) {
+                throw new IllegalArgumentException("分块大小须为16的正整数倍");
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * 设置并行执行的线程池
+         * <p>默认值：{@link ForkJoinPool#commonPool()}；并行度为1时在调用线程中串行执行</p>
+         * @param pool {@link ForkJoinPool}
+         * @return {@link WfAesCtrBuilder}
+         */
+        public WfAesCtrBuilder setPool(final ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+
+        /**
+         * 构建 {@link WfAesCtr}
+         * @return {@link WfAesCtr}
+         * @throws WfAesException 密钥为空或长度错误时抛出
+         */
+        public WfAesCtr build() throws WfAesException {
+            return new WfAesCtr(this);
+        }
+    }
+
+
+    /**
+     * 头部信息
+     */
+    private static final class Header {
+
+        /**
+         * 分块大小
+         */
+        private int chunkSize;
+
+        /**
+         * 数据长度
+         */
+        private long length;
+
+        /**
+         * 初始计数器
+         */
+        private byte[] nonce;
+    }
+
+    /**
+     * 分块操作
+     */
+    @FunctionalInterface
+    private interface ChunkAction {
+
+        /**
+         * 加密/解密一个分块
+         * @param cipher 当前任务的 {@link Cipher}
+         * @param counter 分块的初始计数器
+         * @param offset 分块在数据中的起始位置
+         * @param size 分块长度
+         * @throws GeneralSecurityException 加密/解密失败时抛出
+         * @throws IOException 读写失败时抛出
+         */
+        void apply(Cipher cipher, byte[] counter, long offset, int size) throws GeneralSecurityException, IOException;
+    }
+
+    /**
+     * 分块任务，按分块区间二分拆分
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 分块操作
+         */
+        private final transient ChunkAction chunk;
+
+        /**
+         * 数据长度
+         */
+        private final transient long length;
+
+        /**
+         * 分块大小
+         */
+        private final transient int chunkSize;
+
+        /**
+         * 初始计数器
+         */
+        private final transient byte[] nonce;
+
+        /**
+         * 起始分块（含）
+         */
+        private final transient long from;
+
+        /**
+         * 结束分块（不含）
+         */
+        private final transient long to;
+
+
+        /**
+         * 构造 {@link ChunkTask}
+         * @param chunk 分块操作
+         * @param length 数据长度
+         * @param chunkSize 分块大小
+         * @param nonce 初始计数器
+         * @param from 起始分块（含）
+         * @param to 结束分块（不含）
+         */
+        ChunkTask(final ChunkAction chunk, final long length, final int chunkSize, final byte[] nonce,
+                final long from, final long to) {
+            this.chunk = chunk;
+            this.length = length;
+            this.chunkSize = chunkSize;
+            this.nonce = nonce;
+            this.from = from;
+            this.to = to;
+        }
+
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final long middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(chunk, length, chunkSize, nonce, from, middle),
+                        new ChunkTask(chunk, length, chunkSize, nonce, middle, to));
+                return;
+            }
+            computeSerial();
+        }
+
+        /**
+         * 在当前线程中依次处理区间内的全部分块，不拆分、不提交到线程池
+         */
+        void computeSerial() {
+            try {
+                final Cipher cipher = Cipher.getInstance(CIPHER_RULE);
+                for (long i = from; i < to; i++) {
+                    final long offset = i * chunkSize;
+                    final int size = (int) Math.min(chunkSize, length - offset);
+                    chunk.apply(cipher, addCounter(nonce, offset / BLOCK_SIZE), offset, size);
+                }
+            } catch (GeneralSecurityException excpt) {
+                throw new WfAesException("AES加密/解密错误", excpt);
+            } catch (IOException excpt) {
+                throw new UncheckedIOException(excpt);
+            }
+        }
+    }
+}
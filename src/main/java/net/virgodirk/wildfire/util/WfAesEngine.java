@@ -0,0 +1,832 @@
+package net.virgodirk.wildfire.util;
+
+import net.virgodirk.wildfire.util.exception.WfAesException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.stream.IntStream;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * AES加密/解密引擎
+ *
+ * <p>与 {@link WfAes} 的加密规则完全相同（AES/CBC/ZeroPadding，默认向量为 WfMd5.encrypt16(key)），
+ * 区别在于密钥、向量只解析一次，初始化好的 {@link Cipher} 由引擎自身的空闲池复用（最多保留CPU核数个），
+ * 之后每次加密/解密不再查找Provider、不再展开密钥，适合同一密钥反复加密小数据的场景。<br>
+ * 密码器只被引擎引用，不进入线程的 {@link ThreadLocal}，引擎不再被引用时连同其中展开的密钥一起回收。<br>
+ * 线程安全，可作为单例共享；{@link WfAes} 的静态方法内部也通过有界缓存复用本引擎。</p>
+ *
+ * <p>{@code encryptStream}/{@code encryptChannel}/{@code encryptFile}/{@code encryptBuffer} 等流式方法
+ * 使用 AES/CBC/PKCS5Padding，按块边读边写，内存占用与数据大小无关，解密后恢复原始长度；
+ * 注意：流式结果与 {@link #encrypt(byte[])} 的ZeroPadding结果是两种格式，不能混用解密。</p>
+ *
+ * @author agent on 2026年10月19日 上午01:26:40
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfAesEngine {
+
+    /**
+     * AES加密错误
+     */
+    private static final String AES_ENCRYPT_ERROR = "AES加密错误";
+
+    /**
+     * AES解密错误
+     */
+    private static final String AES_DECRYPT_ERROR = "AES解密错误";
+
+    /**
+     * 默认字符集名称
+     */
+    private static final String DEFAULT_CHARSET = "UTF-8";
+
+    /**
+     * 密钥长度（128bit）
+     */
+    private static final int AES_KEY_SIZE = 16;
+
+    /**
+     * 数据块大小
+     */
+    private static final int BLOCK_SIZE = 16;
+
+    /**
+     * 加密规则（方法/模式/填充规则）
+     * <p>使用NoPadding是为了兼容C#/JS/PHP的ZeroPadding</p>
+     */
+    private static final String CIPHER_RULE = "AES/CBC/NoPadding";
+
+    /**
+     * 流式加密规则（方法/模式/填充规则）
+     */
+    private static final String STREAM_CIPHER_RULE = "AES/CBC/PKCS5Padding";
+
+    /**
+     * 流式加密/解密的缓冲区大小（64KB）
+     * <p>每次调用分配，调用结束即可回收，不在线程中常驻</p>
+     */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 批量加密/解密时每个并行任务处理的条数
+     */
+    private static final int BATCH_SIZE = 512;
+
+    /**
+     * 每种模式最多保留的空闲密码器数量
+     */
+    private static final int MAX_IDLE_CIPHERS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+
+    /**
+     * 字符集名称
+     */
+    private final transient String charset;
+
+    /**
+     * 字符集
+     */
+    private final transient Charset charsetInstance;
+
+    /**
+     * 密钥
+     */
+    private final transient SecretKeySpec secretKeySpec;
+
+    /**
+     * 密钥向量
+     */
+    private final transient IvParameterSpec ivParameterSpec;
+
+    /**
+     * 空闲的加密器
+     */
+    private final transient ArrayBlockingQueue<Cipher> encryptCiphers = new ArrayBlockingQueue<>(MAX_IDLE_CIPHERS);
+
+    /**
+     * 空闲的解密器
+     */
+    private final transient ArrayBlockingQueue<Cipher> decryptCiphers = new ArrayBlockingQueue<>(MAX_IDLE_CIPHERS);
+
+
+    /**
+     * 构造 {@link WfAesEngine}
+     * <p>使用默认字符集：UTF-8，默认向量：WfMd5.encrypt16(key)</p>
+     * @param key 密钥（16位）
+     * @throws WfAesException 密钥错误时抛出
+     */
+    public WfAesEngine(final String key) throws WfAesException {
+        this(key, null, DEFAULT_CHARSET);
+    }
+
+    /**
+     * 构造 {@link WfAesEngine}
+     * <p>使用默认字符集：UTF-8</p>
+     * @param key 密钥（16位）
+     * @param keyIv 密钥向量（16位），为 {@code null} 时使用 WfMd5.encrypt16(key)
+     * @throws WfAesException 密钥或密钥向量错误时抛出
+     */
+    public WfAesEngine(final String key, final String keyIv) throws WfAesException {
+        this(key, keyIv, DEFAULT_CHARSET);
+    }
+
+    /**
+     * 构造 {@link WfAesEngine}
+     * @param key 密钥（16位）
+     * @param keyIv 密钥向量（16位），为 {@code null} 时使用 WfMd5.encrypt16(key)
+     * @param charset 字符集名称，如：UTF-8、GB2312等，用于转换密钥、向量及字符串内容
+     * @throws WfAesException 密钥、密钥向量或字符集错误时抛出
+     */
+    public WfAesEngine(final String key, final String keyIv, final String charset) throws WfAesException {
+        if (key == null) {
+            throw new WfAesException("密钥为空");
+        }
+        if (key.length() != AES_KEY_SIZE) {
+            throw new WfAesException("密钥长度错误");
+        }
+        if (keyIv != null && keyIv.trim().length() != AES_KEY_SIZE) {
+            throw new WfAesException("密钥向量长度错误");
+        }
+
+        try {
+            final String ivValue = keyIv == null ? WfMd5.encrypt16(key) : keyIv;
+            this.secretKeySpec = new SecretKeySpec(key.getBytes(charset), "AES");
+            this.ivParameterSpec = new IvParameterSpec(ivValue.getBytes(charset));
+        } catch (UnsupportedEncodingException excpt) {
+            throw new WfAesException("不支持的字符集：" + charset, excpt);
+        }
+        this.charset = charset;
+        this.charsetInstance = Charset.forName(charset);
+    }
+
+    /**
+     * 由任意长度的密码构造 {@link WfAesEngine}
+     * <p>与 {@link WfAes#encryptAnyKey(String, String)} 规则相同：
+     * 密钥为 WfMd5.encrypt16(password) 的小写形式，向量为其大写形式，字符集：UTF-8</p>
+     * @param password 密码（任意长度）
+     * @return {@link WfAesEngine}
+     * @throws WfAesException 密码为空时抛出
+     */
+    public static WfAesEngine ofPassword(final String password) throws WfAesException {
+        final String key = WfMd5.encrypt16(password);
+        return new WfAesEngine(key.toLowerCase(Locale.ENGLISH), key.toUpperCase(Locale.ENGLISH), DEFAULT_CHARSET);
+    }
+
+
+    /**
+     * 获取字符集名称
+     * @return 字符集名称
+     */
+    public String getCharset() {
+        return charset;
+    }
+
+    /**
+     * AES加密
+     * @param src 待加密内容
+     * @return AES加密结果（Base64格式），{@code src} 为 {@code null} 时返回 {@code ""}
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public String encrypt(final String src) throws WfAesException {
+        if (src == null) {
+            return "";
+        }
+
+        byte[] input;
+        try {
+            input = src.getBytes(charset);
+        } catch (UnsupportedEncodingException excpt) {
+            throw new WfAesException(AES_ENCRYPT_ERROR, excpt);
+        }
+        return WfBase64.encodeBytes(encrypt(input));
+    }
+
+    /**
+     * AES解密
+     * @param src 待解密内容（Base64格式）
+     * @return AES解密结果，{@code src} 为 {@code null} 时返回 {@code ""}
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public String decrypt(final String src) throws WfAesException {
+        if (src == null) {
+            return "";
+        }
+
+        final byte[] input = WfBase64.decodeToBytes(src);
+        if (input == null) {
+            throw new WfAesException("解密内容格式错误");
+        }
+        return WfConvert.bytes2Str(decrypt(input), charset);
+    }
+
+    /**
+     * AES加密
+     * <p>长度不是16的整数倍时以 {@code 0x00} 补齐（ZeroPadding）</p>
+     * @param src 待加密数据
+     * @return AES加密结果
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public byte[] encrypt(final byte[] src) throws WfAesException {
+        if (src == null) {
+            throw new WfAesException("待加密/解密内容为空");
+        }
+
+        try {
+            final Cipher cipher = cipher(encryptCiphers, Cipher.ENCRYPT_MODE);
+            final int tail = src.length % BLOCK_SIZE;
+            if (tail == 0) {
+                return doFinal(encryptCiphers, cipher, src, src.length);
+            }
+
+            // 模拟ZeroPadding
+            final byte[] input = new byte[src.length + BLOCK_SIZE - tail];
+            System.arraycopy(src, 0, input, 0, src.length);
+            return doFinal(encryptCiphers, cipher, input, input.length);
+        } catch (GeneralSecurityException excpt) {
+            throw new WfAesException(AES_ENCRYPT_ERROR, excpt);
+        }
+    }
+
+    /**
+     * AES解密
+     * <p>结果保留ZeroPadding补齐的 {@code 0x00}，与 {@link WfAes#decrypt(byte[], String, String, String)} 相同</p>
+     * @param src 待解密数据
+     * @return AES解密结果
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public byte[] decrypt(final byte[] src) throws WfAesException {
+        if (src == null) {
+            throw new WfAesException("待加密/解密内容为空");
+        }
+
+        try {
+            final Cipher cipher = cipher(decryptCiphers, Cipher.DECRYPT_MODE);
+            return doFinal(decryptCiphers, cipher, src, src.length);
+        } catch (GeneralSecurityException excpt) {
+            throw new WfAesException(AES_DECRYPT_ERROR, excpt);
+        }
+    }
+
+
+    /**
+     * 批量AES加密
+     * <p>结果与逐条调用 {@link #encrypt(String)} 相同且顺序一致；密码器及中间缓冲区在整批中复用，
+     * {@code parallel} 为 {@code true} 时按每 {@value #BATCH_SIZE} 条拆分到 {@link java.util.concurrent.ForkJoinPool#commonPool()} 并行处理</p>
+     * @param src 待加密内容，元素为 {@code null} 时结果为 {@code ""}
+     * @param parallel 是否并行
+     * @return AES加密结果（Base64格式）
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public List<String> encryptAll(final List<String> src, final boolean parallel) throws WfAesException {
+        if (src == null) {
+            throw new WfAesException("待加密/解密内容为空");
+        }
+
+        final String[] values = src.toArray(new String[0]);
+        final String[] result = new String[values.length];
+        batch(values.length, parallel, Cipher.ENCRYPT_MODE, (batch, index) -> {
+            final String value = values[index];
+            if (value == null) {
+                result[index] = "";
+                return;
+            }
+            final byte[] input = value.getBytes(charsetInstance);
+            final int length = batch.encrypt(input, input.length);
+            result[index] = new String(Base64.getEncoder().encode(ByteBuffer.wrap(batch.output, 0, length)).array(),
+                    StandardCharsets.ISO_8859_1);
+        });
+        return new ArrayList<>(Arrays.asList(result));
+    }
+
+    /**
+     * 批量AES解密
+     * <p>结果与逐条调用 {@link #decrypt(String)} 相同且顺序一致，并行规则同 {@link #encryptAll(List, boolean)}</p>
+     * @param src 待解密内容（Base64格式），元素为 {@code null} 时结果为 {@code ""}
+     * @param parallel 是否并行
+     * @return AES解密结果
+     * @throws WfAesException 任一元素格式错误或解密失败时抛出
+     */
+    public List<String> decryptAll(final List<String> src, final boolean parallel) throws WfAesException {
+        if (src == null) {
+            throw new WfAesException("待加密/解密内容为空");
+        }
+
+        final String[] values = src.toArray(new String[0]);
+        final String[] result = new String[values.length];
+        batch(values.length, parallel, Cipher.DECRYPT_MODE, (batch, index) -> {
+            final String value = values[index];
+            if (value == null) {
+                result[index] = "";
+                return;
+            }
+            final byte[] input;
+            try {
+                input = Base64.getDecoder().decode(value);
+            } catch (IllegalArgumentException excpt) {
+                throw new WfAesException("解密内容格式错误", excpt);
+            }
+            final int length = batch.decrypt(input, input.length);
+            final String text = new String(batch.output, 0, length, charsetInstance);
+
+            // 与 WfConvert.bytes2Str 相同，去除ZeroPadding补齐的 \0
+            result[index] = text.indexOf('\0') < 0 ? text : text.replace("\0", "");
+        });
+        return new ArrayList<>(Arrays.asList(result));
+    }
+
+    /**
+     * 批量AES加密（列式数据）
+     * <p>结果与逐条调用 {@link #encrypt(byte[])} 相同且顺序一致，并行规则同 {@link #encryptAll(List, boolean)}</p>
+     * @param src 待加密数据，元素为 {@code null} 时结果为 {@code null}
+     * @param parallel 是否并行
+     * @return AES加密结果
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public byte[][] encryptAll(final byte[][] src, final boolean parallel) throws WfAesException {
+        if (src == null) {
+            throw new WfAesException("待加密/解密内容为空");
+        }
+
+        final byte[][] result = new byte[src.length][];
+        batch(src.length, parallel, Cipher.ENCRYPT_MODE, (batch, index) -> {
+            if (src[index] != null) {
+                final int length = batch.encrypt(src[index], src[index].length);
+                result[index] = Arrays.copyOf(batch.output, length);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 批量AES解密（列式数据）
+     * <p>结果与逐条调用 {@link #decrypt(byte[])} 相同且顺序一致，并行规则同 {@link #encryptAll(List, boolean)}</p>
+     * @param src 待解密数据，元素为 {@code null} 时结果为 {@code null}
+     * @param parallel 是否并行
+     * @return AES解密结果
+     * @throws WfAesException 任一元素解密失败时抛出
+     */
+    public byte[][] decryptAll(final byte[][] src, final boolean parallel) throws WfAesException {
+        if (src == null) {
+            throw new WfAesException("待加密/解密内容为空");
+        }
+
+        final byte[][] result = new byte[src.length][];
+        batch(src.length, parallel, Cipher.DECRYPT_MODE, (batch, index) -> {
+            if (src[index] != null) {
+                final int length = batch.decrypt(src[index], src[index].length);
+                result[index] = Arrays.copyOf(batch.output, length);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 流式AES加密（AES/CBC/PKCS5Padding）
+     * <p>读取 {@code input} 直到结束，加密结果写入 {@code output}，不关闭两个流</p>
+     * @param input 待加密数据流
+     * @param output 加密结果输出流
+     * @return 写入的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public long encryptStream(final InputStream input, final OutputStream output) throws IOException, WfAesException {
+        return transfer(Cipher.ENCRYPT_MODE, input, output);
+    }
+
+    /**
+     * 流式AES解密（AES/CBC/PKCS5Padding）
+     * <p>读取 {@code input} 直到结束，解密结果写入 {@code output}，不关闭两个流</p>
+     * @param input 待解密数据流（{@link #encryptStream(InputStream, OutputStream)} 等流式方法的加密结果）
+     * @param output 解密结果输出流
+     * @return 写入的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException 数据不完整或密钥错误时抛出
+     */
+    public long decryptStream(final InputStream input, final OutputStream output) throws IOException, WfAesException {
+        return transfer(Cipher.DECRYPT_MODE, input, output);
+    }
+
+    /**
+     * 流式AES加密（AES/CBC/PKCS5Padding）
+     * <p>读取 {@code input} 直到结束，加密结果写入 {@code output}，不关闭两个通道</p>
+     * @param input 待加密数据通道
+     * @param output 加密结果输出通道
+     * @return 写入的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public long encryptChannel(final ReadableByteChannel input, final WritableByteChannel output)
+            throws IOException, WfAesException {
+        return transfer(Cipher.ENCRYPT_MODE, input, output);
+    }
+
+    /**
+     * 流式AES解密（AES/CBC/PKCS5Padding）
+     * <p>读取 {@code input} 直到结束，解密结果写入 {@code output}，不关闭两个通道</p>
+     * @param input 待解密数据通道
+     * @param output 解密结果输出通道
+     * @return 写入的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException 数据不完整或密钥错误时抛出
+     */
+    public long decryptChannel(final ReadableByteChannel input, final WritableByteChannel output)
+            throws IOException, WfAesException {
+        return transfer(Cipher.DECRYPT_MODE, input, output);
+    }
+
+    /**
+     * 文件AES加密（AES/CBC/PKCS5Padding）
+     * <p>基于 {@link FileChannel} 读写，目标文件已存在时覆盖，失败时删除目标文件</p>
+     * @param source 待加密文件
+     * @param target 加密结果文件，不能与 {@code source} 相同
+     * @return 写入的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public long encryptFile(final Path source, final Path target) throws IOException, WfAesException {
+        return transfer(Cipher.ENCRYPT_MODE, source, target);
+    }
+
+    /**
+     * 文件AES解密（AES/CBC/PKCS5Padding）
+     * <p>基于 {@link FileChannel} 读写，目标文件已存在时覆盖，失败时删除目标文件</p>
+     * @param source 待解密文件
+     * @param target 解密结果文件，不能与 {@code source} 相同
+     * @return 写入的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException 数据不完整或密钥错误时抛出
+     */
+    public long decryptFile(final Path source, final Path target) throws IOException, WfAesException {
+        return transfer(Cipher.DECRYPT_MODE, source, target);
+    }
+
+    /**
+     * AES加密 {@link ByteBuffer}（AES/CBC/PKCS5Padding）
+     * <p>支持堆内及直接缓冲区（如 {@link FileChannel#map} 的映射区域），
+     * 加密 {@code input} 的剩余内容并写入 {@code output}，两者的position随之前移</p>
+     * @param input 待加密数据
+     * @param output 加密结果，剩余空间不小于 {@code input.remaining() + 16}
+     * @return 写入的字节数
+     * @throws WfAesException {@code output} 空间不足等情况时抛出
+     */
+    public int encryptBuffer(final ByteBuffer input, final ByteBuffer output) throws WfAesException {
+        try {
+            return streamCipher(Cipher.ENCRYPT_MODE).doFinal(input, output);
+        } catch (GeneralSecurityException excpt) {
+            throw new WfAesException(AES_ENCRYPT_ERROR, excpt);
+        }
+    }
+
+    /**
+     * AES解密 {@link ByteBuffer}（AES/CBC/PKCS5Padding）
+     * <p>支持堆内及直接缓冲区，解密 {@code input} 的剩余内容并写入 {@code output}，两者的position随之前移</p>
+     * @param input 待解密数据
+     * @param output 解密结果，剩余空间不小于 {@code input.remaining()}
+     * @return 写入的字节数
+     * @throws WfAesException 数据不完整、密钥错误或 {@code output} 空间不足时抛出
+     */
+    public int decryptBuffer(final ByteBuffer input, final ByteBuffer output) throws WfAesException {
+        try {
+            return streamCipher(Cipher.DECRYPT_MODE).doFinal(input, output);
+        } catch (GeneralSecurityException excpt) {
+            throw new WfAesException(AES_DECRYPT_ERROR, excpt);
+        }
+    }
+
+
+    /**
+     * 创建流式密码器
+     * <p>流式处理的耗时远大于创建密码器，每次调用单独创建，避免中途失败的密码器被复用</p>
+     * @param mode 加密/解密模式
+     * @return {@link Cipher}
+     * @throws GeneralSecurityException 创建或初始化失败时抛出
+     */
+    private Cipher streamCipher(final int mode) throws GeneralSecurityException {
+        final Cipher cipher = Cipher.getInstance(STREAM_CIPHER_RULE);
+        cipher.init(mode, secretKeySpec, ivParameterSpec);
+        return cipher;
+    }
+
+    /**
+     * 流式加密/解密
+     * @param mode 加密/解密模式
+     * @param input 输入流
+     * @param output 输出流
+     * @return 写入的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    private long transfer(final int mode, final InputStream input, final OutputStream output)
+            throws IOException, WfAesException {
+        final byte[] in = new byte[STREAM_BUFFER_SIZE];
+        final byte[] out = new byte[STREAM_BUFFER_SIZE + 2 * BLOCK_SIZE];
+        try {
+            final Cipher cipher = streamCipher(mode);
+            long total = 0;
+            int read;
+            while ((read = input.read(in)) >= 0) {
+                final int length = cipher.update(in, 0, read, out, 0);
+                output.write(out, 0, length);
+                total += length;
+            }
+            final int length = cipher.doFinal(out, 0);
+            output.write(out, 0, length);
+            return total + length;
+        } catch (GeneralSecurityException excpt) {
+            throw new WfAesException(mode == Cipher.ENCRYPT_MODE ? AES_ENCRYPT_ERROR : AES_DECRYPT_ERROR, excpt);
+        }
+    }
+
+    /**
+     * 流式加密/解密
+     * <p>通道读写使用包装缓冲区数组的堆内 {@link ByteBuffer}，密码器直接处理数组，不再额外复制</p>
+     * @param mode 加密/解密模式
+     * @param input 输入通道
+     * @param output 输出通道
+     * @return 写入的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    private long transfer(final int mode, final ReadableByteChannel input, final WritableByteChannel output)
+            throws IOException, WfAesException {
+        final byte[] in = new byte[STREAM_BUFFER_SIZE];
+        final byte[] out = new byte[STREAM_BUFFER_SIZE + 2 * BLOCK_SIZE];
+        final ByteBuffer inBuffer = ByteBuffer.wrap(in);
+        final ByteBuffer outBuffer = ByteBuffer.wrap(out);
+        try {
+            final Cipher cipher = streamCipher(mode);
+            long total = 0;
+            while (input.read(inBuffer) >= 0) {
+                final int length = cipher.update(in, 0, inBuffer.position(), out, 0);
+                total += write(output, outBuffer, length);
+                inBuffer.clear();
+            }
+            final int length = cipher.doFinal(out, 0);
+            return total + write(output, outBuffer, length);
+        } catch (GeneralSecurityException excpt) {
+            throw new WfAesException(mode == Cipher.ENCRYPT_MODE ? AES_ENCRYPT_ERROR : AES_DECRYPT_ERROR, excpt);
+        }
+    }
+
+    /**
+     * 文件加密/解密
+     * @param mode 加密/解密模式
+     * @param source 源文件
+     * @param target 目标文件
+     * @return 写入的字节数
+     * @throws IOException 读写失败时抛出
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    private long transfer(final int mode, final Path source, final Path target) throws IOException, WfAesException {
+        if (Files.exists(target) && Files.isSameFile(source, target)) {
+            throw new WfAesException("源文件与目标文件相同");
+        }
+
+        boolean success = false;
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final long total = transfer(mode, input, output);
+            success = true;
+            return total;
+        } finally {
+            if (!success) {
+                Files.deleteIfExists(target);
+            }
+        }
+    }
+
+    /**
+     * 将输出缓冲区的前 {@code length} 个字节全部写入通道
+     * @param output 输出通道
+     * @param buffer 输出缓冲区
+     * @param length 字节数
+     * @return 写入的字节数
+     * @throws IOException 写入失败时抛出
+     */
+    private static int write(final WritableByteChannel output, final ByteBuffer buffer, final int length)
+            throws IOException {
+        buffer.clear();
+        buffer.limit(length);
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+        return length;
+    }
+
+    /**
+     * 按批执行，每批使用一个 {@link Batch}
+     * @param size 总条数
+     * @param parallel 是否并行
+     * @param mode 加密/解密模式
+     * @param action 单条操作
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    private void batch(final int size, final boolean parallel, final int mode, final BatchAction action)
+            throws WfAesException {
+        final int batches = (size + BATCH_SIZE - 1) / BATCH_SIZE;
+        if (!parallel || batches <= 1) {
+            final Batch batch = new Batch(mode);
+            try {
+                for (int i = 0; i < size; i++) {
+                    action.apply(batch, i);
+                }
+            } finally {
+                batch.release();
+            }
+            return;
+        }
+
+        IntStream.range(0, batches).parallel().forEach(index -> {
+            final Batch batch = new Batch(mode);
+            try {
+                final int end = Math.min(size, (index + 1) * BATCH_SIZE);
+                for (int i = index * BATCH_SIZE; i < end; i++) {
+                    action.apply(batch, i);
+                }
+            } finally {
+                batch.release();
+            }
+        });
+    }
+
+    /**
+     * 从空闲池取出密码器，没有空闲的密码器时创建并初始化
+     * @param pool 空闲密码器池
+     * @param mode 加密/解密模式
+     * @return {@link Cipher}
+     * @throws GeneralSecurityException 创建或初始化失败时抛出
+     */
+    private Cipher cipher(final ArrayBlockingQueue<Cipher> pool, final int mode) throws GeneralSecurityException {
+        Cipher cipher = pool.poll();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(CIPHER_RULE);
+            cipher.init(mode, secretKeySpec, ivParameterSpec);
+        }
+        return cipher;
+    }
+
+    /**
+     * 执行加密/解密
+     * <p>{@link Cipher#doFinal(byte[], int, int)} 完成后恢复到初始化时的状态（含向量），放回空闲池复用；
+     * 空闲池已满或执行失败时丢弃该密码器</p>
+     * @param pool 空闲密码器池
+     * @param cipher {@link Cipher}
+     * @param input 输入数据
+     * @param length 输入数据长度
+     * @return 加密/解密结果
+     * @throws GeneralSecurityException 加密/解密失败时抛出
+     */
+    private static byte[] doFinal(final ArrayBlockingQueue<Cipher> pool, final Cipher cipher,
+            final byte[] input, final int length) throws GeneralSecurityException {
+        final byte[] result = cipher.doFinal(input, 0, length);
+        pool.offer(cipher);
+        return result;
+    }
+
+
+    /**
+     * 批量操作中的单条操作
+     */
+    @FunctionalInterface
+    private interface BatchAction {
+
+        /**
+         * 处理第 {@code index} 条
+         * @param batch 当前批次的 {@link Batch}
+         * @param index 序号
+         */
+        void apply(Batch batch, int index);
+    }
+
+    /**
+     * 批量加密/解密的一个批次
+     * <p>在同一线程内使用，整批复用一个密码器及补齐、输出缓冲区，结束后归还密码器</p>
+     */
+    private final class Batch {
+
+        /**
+         * 加密/解密模式
+         */
+        private final transient int mode;
+
+        /**
+         * 空闲密码器池
+         */
+        private final transient ArrayBlockingQueue<Cipher> pool;
+
+        /**
+         * 当前批次使用的密码器
+         */
+        private transient Cipher cipher;
+
+        /**
+         * ZeroPadding补齐缓冲区
+         */
+        private transient byte[] padded = new byte[256];
+
+        /**
+         * 输出缓冲区
+         */
+        private transient byte[] output = new byte[256];
+
+
+        /**
+         * 构造 {@link Batch}
+         * @param mode 加密/解密模式
+         */
+        Batch(final int mode) {
+            this.mode = mode;
+            this.pool = mode == Cipher.ENCRYPT_MODE ? encryptCiphers : decryptCiphers;
+        }
+
+
+        /**
+         * 加密，结果写入 {@link #output}
+         * @param src 待加密数据
+         * @param length 数据长度
+         * @return 结果长度
+         * @throws WfAesException {@link WfAesException} 异常
+         */
+        int encrypt(final byte[] src, final int length) throws WfAesException {
+            final int tail = length % BLOCK_SIZE;
+            if (tail == 0) {
+                return crypt(src, length);
+            }
+
+            // 模拟ZeroPadding
+            final int paddedLength = length + BLOCK_SIZE - tail;
+            if (padded.length < paddedLength) {
+                padded = new byte[Math.max(paddedLength, padded.length * 2)];
+            }
+            System.arraycopy(src, 0, padded, 0, length);
+            Arrays.fill(padded, length, paddedLength, (byte) 0);
+            return crypt(padded, paddedLength);
+        }
+
+        /**
+         * 解密，结果写入 {@link #output}
+         * @param src 待解密数据
+         * @param length 数据长度
+         * @return 结果长度
+         * @throws WfAesException {@link WfAesException} 异常
+         */
+        int decrypt(final byte[] src, final int length) throws WfAesException {
+            return crypt(src, length);
+        }
+
+        /**
+         * 执行加密/解密
+         * @param input 输入数据
+         * @param length 输入数据长度
+         * @return 结果长度
+         * @throws WfAesException {@link WfAesException} 异常
+         */
+        private int crypt(final byte[] input, final int length) throws WfAesException {
+            if (output.length < length) {
+                output = new byte[Math.max(length, output.length * 2)];
+            }
+            try {
+                if (cipher == null) {
+                    cipher = cipher(pool, mode);
+                }
+                return cipher.doFinal(input, 0, length, output, 0);
+            } catch (GeneralSecurityException | RuntimeException excpt) {
+                cipher = null;
+                throw new WfAesException(mode == Cipher.ENCRYPT_MODE ? AES_ENCRYPT_ERROR : AES_DECRYPT_ERROR, excpt);
+            }
+        }
+
+        /**
+         * 结束批次，将密码器归还空闲池
+         */
+        void release() {
+            if (cipher != null) {
+                pool.offer(cipher);
+                cipher = null;
+            }
+        }
+    }
+}
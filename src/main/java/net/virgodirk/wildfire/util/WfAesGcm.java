@@ -0,0 +1,304 @@
+package net.virgodirk.wildfire.util;
+
+import net.virgodirk.wildfire.util.exception.WfAesException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * AES-GCM加密/解密
+ *
+ * <p>GCM模式同时提供加密及完整性校验（128位认证标签）。JDK 8只对AES分组运算使用AES-NI指令，
+ * GHASH的PCLMULQDQ加速自JDK 9起才提供，因此在JDK 8上GCM比CBC慢，换来的是防篡改能力。
+ * 本类直接处理（堆内或直接）{@link ByteBuffer}，结果写入调用方提供的缓冲区，
+ * {@link Cipher} 按线程缓存，每次调用只重新设置向量，不再查找Provider、不再展开密钥。</p>
+ *
+ * <p>向量（12字节）可由调用方提供，也可自动生成：自动生成的向量每次加密都由 {@link SecureRandom}
+ * 重新生成全部96位，不依赖实例或进程状态，多个实例、进程重启后使用同一密钥也不会因计数器重置而重复；
+ * 此时加密结果为 {@code 向量(12) | 密文 | 标签(16)}。<br>
+ * 同一密钥下向量绝不能重复使用，否则会泄露明文异或及认证密钥；随机向量在同一密钥加密约2^32条消息后
+ * 重复概率不再可忽略（NIST SP 800-38D的上限），超过该数量应更换密钥。
+ * JDK只能发现同一线程连续两次使用相同向量的情况。</p>
+ *
+ * <p>结果格式与 {@link WfAes}、{@link WfAesEngine}、{@link WfAesCtr} 均不相同。线程安全。</p>
+ *
+ * @author agent on 2026年10月19日 上午03:02:18
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfAesGcm {
+
+    /**
+     * 向量长度
+     */
+    public static final int IV_SIZE = 12;
+
+    /**
+     * 认证标签长度
+     */
+    public static final int TAG_SIZE = 16;
+
+    /**
+     * 加密规则（方法/模式/填充规则）
+     */
+    private static final String CIPHER_RULE = "AES/GCM/NoPadding";
+
+    /**
+     * 随机数生成器
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+
+    /**
+     * 密钥
+     */
+    private final transient SecretKeySpec secretKeySpec;
+
+    /**
+     * 当前线程的密码器
+     */
+    private final transient ThreadLocal<Cipher> cipher = new ThreadLocal<>();
+
+    /**
+     * 当前线程的向量缓冲区
+     */
+    private final transient ThreadLocal<byte[]> ivBuffer = ThreadLocal.withInitial(() -> new byte[IV_SIZE]);
+
+
+    /**
+     * {@link WfAesGcm} 构建器
+     * @return {@link WfAesGcmBuilder}
+     */
+    public static WfAesGcmBuilder builder() {
+        return new WfAesGcmBuilder();
+    }
+
+
+    /**
+     * AES-GCM加密（自动生成向量）
+     * @param src 待加密数据
+     * @return 加密结果：{@code 向量(12) | 密文 | 标签(16)}
+     * @throws WfAesException {@link WfAesException} 异常
+     */
+    public byte[] encrypt(final byte[] src) throws WfAesException {
+        if (src == null) {
+            throw new WfAesException("待加密/解密内容为空");
+        }
+
+        final byte[] result = new byte[IV_SIZE + src.length + TAG_SIZE];
+        encrypt(ByteBuffer.wrap(src), ByteBuffer.wrap(result));
+        return result;
+    }
+
+    /**
+     * AES-GCM解密
+     * @param src 待解密数据（{@link #encrypt(byte[])} 的加密结果）
+     * @return 解密结果
+     * @throws WfAesException 数据被篡改、密钥错误或格式错误时抛出
+     */
+    public byte[] decrypt(final byte[] src) throws WfAesException {
+        if (src == null) {
+            throw new WfAesException("待加密/解密内容为空");
+        }
+        if (src.length < IV_SIZE + TAG_SIZE) {
+            throw new WfAesException("解密内容格式错误");
+        }
+
+        final byte[] result = new byte[src.length - IV_SIZE - TAG_SIZE];
+        decrypt(ByteBuffer.wrap(src), ByteBuffer.wrap(result));
+        return result;
+    }
+
+    /**
+     * AES-GCM加密（自动生成向量）
+     * <p>加密 {@code input} 的剩余内容，向量、密文及标签依次写入 {@code output}，两者的position随之前移</p>
+     * @param input 待加密数据
+     * @param output 加密结果，剩余空间不小于 {@code input.remaining() + 28}
+     * @return 写入的字节数
+     * @throws WfAesException {@code output} 空间不足等情况时抛出
+     */
+    public int encrypt(final ByteBuffer input, final ByteBuffer output) throws WfAesException {
+        if (output.remaining() < IV_SIZE + input.remaining() + TAG_SIZE) {
+            throw new WfAesException("输出缓冲区空间不足");
+        }
+
+        final int start = output.position();
+        final byte[] iv = nextIv();
+        output.put(iv);
+        try {
+            return IV_SIZE + encrypt(iv, null, input, output);
+        } catch (WfAesException excpt) {
+            output.position(start);
+            throw excpt;
+        }
+    }
+
+    /**
+     * AES-GCM加密（调用方提供向量）
+     * <p>加密 {@code input} 的剩余内容，密文及标签写入 {@code output}，两者的position随之前移。<br>
+     * 支持原地加密：{@code output} 为 {@code input.duplicate()} 且起始位置相同，容量足够容纳标签即可</p>
+     * @param iv 向量（建议12字节），同一密钥下不能重复
+     * @param aad 附加认证数据（只校验不加密），可以为 {@code null}
+     * @param input 待加密数据
+     * @param output 加密结果，剩余空间不小于 {@code input.remaining() + 16}
+     * @return 写入的字节数
+     * @throws WfAesException 向量重复、{@code output} 空间不足等情况时抛出
+     */
+    public int encrypt(final byte[] iv, final ByteBuffer aad, final ByteBuffer input, final ByteBuffer output)
+            throws WfAesException {
+        try {
+            final Cipher current = cipher(Cipher.ENCRYPT_MODE, iv);
+            if (aad != null) {
+                current.updateAAD(aad);
+            }
+            return current.doFinal(input, output);
+        } catch (GeneralSecurityException | IllegalStateException excpt) {
+            throw new WfAesException("AES加密错误", excpt);
+        }
+    }
+
+    /**
+     * AES-GCM解密（向量位于数据开头）
+     * <p>解密 {@link #encrypt(ByteBuffer, ByteBuffer)} 的加密结果（{@code input} 的剩余内容），
+     * 明文写入 {@code output}，两者的position随之前移；校验失败时不写入任何明文</p>
+     * @param input 待解密数据：{@code 向量(12) | 密文 | 标签(16)}
+     * @param output 解密结果，剩余空间不小于 {@code input.remaining() - 28}
+     * @return 写入的字节数
+     * @throws WfAesException 数据被篡改、密钥错误或格式错误时抛出
+     */
+    public int decrypt(final ByteBuffer input, final ByteBuffer output) throws WfAesException {
+        if (input.remaining() < IV_SIZE + TAG_SIZE) {
+            throw new WfAesException("解密内容格式错误");
+        }
+
+        final int start = input.position();
+        final byte[] iv = ivBuffer.get();
+        input.get(iv);
+        try {
+            return decrypt(iv, null, input, output);
+        } catch (WfAesException excpt) {
+            input.position(start);
+            throw excpt;
+        }
+    }
+
+    /**
+     * AES-GCM解密（调用方提供向量）
+     * <p>解密 {@code input} 的剩余内容（密文 | 标签），明文写入 {@code output}，两者的position随之前移；
+     * 支持原地解密（{@code output} 为 {@code input.duplicate()} 且起始位置相同）</p>
+     * @param iv 加密时使用的向量
+     * @param aad 加密时使用的附加认证数据，可以为 {@code null}
+     * @param input 待解密数据
+     * @param output 解密结果，剩余空间不小于 {@code input.remaining() - 16}
+     * @return 写入的字节数
+     * @throws WfAesException 数据被篡改、密钥错误或 {@code output} 空间不足时抛出
+     */
+    public int decrypt(final byte[] iv, final ByteBuffer aad, final ByteBuffer input, final ByteBuffer output)
+            throws WfAesException {
+        try {
+            final Cipher current = cipher(Cipher.DECRYPT_MODE, iv);
+            if (aad != null) {
+                current.updateAAD(aad);
+            }
+            return current.doFinal(input, output);
+        } catch (GeneralSecurityException | IllegalStateException excpt) {
+            throw new WfAesException("AES解密错误", excpt);
+        }
+    }
+
+
+    /**
+     * 生成下一个向量：96位全部随机
+     * @return 当前线程的向量缓冲区
+     */
+    private byte[] nextIv() {
+        final byte[] iv = ivBuffer.get();
+        RANDOM.nextBytes(iv);
+        return iv;
+    }
+
+    /**
+     * 获取当前线程的密码器并按向量初始化
+     * @param mode 加密/解密模式
+     * @param iv 向量
+     * @return {@link Cipher}
+     * @throws GeneralSecurityException 创建或初始化失败时抛出
+     */
+    private Cipher cipher(final int mode, final byte[] iv) throws GeneralSecurityException {
+        Cipher current = cipher.get();
+        if (current == null) {
+            current = Cipher.getInstance(CIPHER_RULE);
+            cipher.set(current);
+        }
+        current.init(mode, secretKeySpec, new GCMParameterSpec(TAG_SIZE * 8, iv));
+        return current;
+    }
+
+
+    /**
+     * 构造 {@link WfAesGcm}
+     * @param builder {@link WfAesGcmBuilder}
+     */
+    protected WfAesGcm(final WfAesGcmBuilder builder) {
+        if (builder.key == null) {
+            throw new WfAesException("密钥为空");
+        }
+        if (builder.key.length != 16 && builder.key.length != 24 && builder.key.length != 32) {
+            throw new WfAesException("密钥长度错误");
+        }
+        secretKeySpec = new SecretKeySpec(builder.key, "AES");
+    }
+
+
+    /**
+     * {@link WfAesGcm} 构建器
+     *
+     * @author agent on 2026年10月19日 上午03:02:18
+     * @version Version 3.0
+     */
+    public static class WfAesGcmBuilder {
+
+        /**
+         * 密钥
+         */
+        private transient byte[] key;
+
+
+        /**
+         * 设置密钥
+         * <p>按UTF-8转换，转换后须为16、24或32字节</p>
+         * @param key 密钥
+         * @return {@link WfAesGcmBuilder}
+         */
+        public WfAesGcmBuilder setKey(final String key) {
+            this.key = key == null ? null : key.getBytes(StandardCharsets.UTF_8);
+            return this;
+        }
+
+        /**
+         * 设置密钥
+         * @param key 密钥（16、24或32字节）
+         * @return {@link WfAesGcmBuilder}
+         */
+        public WfAesGcmBuilder setKey(final byte[] key) {
+            this.key = key == null ? null : key.clone();
+            return this;
+        }
+
+
+        /**
+         * 构建 {@link WfAesGcm}
+         * @return {@link WfAesGcm}
+         * @throws WfAesException 密钥为空或长度错误时抛出
+         */
+        public WfAesGcm build() throws WfAesException {
+            return new WfAesGcm(this);
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package net.virgodirk.wildfire.util;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+
+/**
+ * CIDR前缀树
+ *
+ * <p>将一组IPv4、IPv6网段（如：10.0.0.0/8、fd00::/8、127.0.0.1）预先编译为按位的二叉前缀树，
+ * 用于判断IP地址是否属于其中任一网段；<br>
+ * 查询时直接在字符序列上解析地址，不创建对象，耗时只与地址位数相关，与网段数量无关；<br>
+ * IPv4映射的IPv6地址（::ffff:a.b.c.d）按IPv4地址匹配。不可变对象，线程安全。</p>
+ *
+ * @author agent on 2026年10月18日 下午23:31:06
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfCidrTrie {
+
+    /**
+     * 匹配结果：地址格式错误
+     */
+    static final int INVALID = -1;
+
+    /**
+     * 匹配结果：不在任一网段内
+     */
+    static final int MISMATCH = 0;
+
+    /**
+     * 匹配结果：在网段内
+     */
+    static final int MATCH = 1;
+
+
+    /**
+     * IPv4前缀树
+     */
+    private final transient Nodes ipv4;
+
+    /**
+     * IPv6前缀树
+     */
+    private final transient Nodes ipv6;
+
+
+    /**
+     * {@link WfCidrTrie} 构建器
+     * @return {@link WfCidrTrieBuilder}
+     */
+    public static WfCidrTrieBuilder builder() {
+        return new WfCidrTrieBuilder();
+    }
+
+
+    /**
+     * 判断IP地址是否属于任一网段
+     * @param addr IP地址，IPv6地址可带方括号及区域标识（%eth0）
+     * @return {@code true} 属于；{@code false} 不属于或地址格式错误
+     */
+    public boolean contains(final CharSequence addr) {
+        return addr != null && match(addr, 0, addr.length()) == MATCH;
+    }
+
+    /**
+     * 判断字符序列中指定范围的IP地址是否属于任一网段
+     * @param text 字符序列
+     * @param start 起始位置（含）
+     * @param end 结束位置（不含）
+     * @return {@code true} 属于；{@code false} 不属于或地址格式错误
+     */
+    public boolean contains(final CharSequence text, final int start, final int end) {
+        return match(text, start, end) == MATCH;
+    }
+
+    /**
+     * 匹配字符序列中指定范围的IP地址
+     * @param text 字符序列
+     * @param start 起始位置（含）
+     * @param end 结束位置（不含）
+     * @return {@link #MATCH}、{@link #MISMATCH} 或 {@link #INVALID}
+     */
+    int match(final CharSequence text, int start, int end) {
+        if (end - start >= 2 && text.charAt(start) == '[' && text.charAt(end - 1) == ']') {
+            start++;
+            end--;
+        }
+        for (int i = start; i < end; i++) {
+            final char ch = text.charAt(i);
+            if (ch == ':') {
+                return matchIpv6(text, start, end);
+            }
+            if (ch == '.') {
+                final long addr = parseIpv4(text, start, end);
+                return addr < 0 ? INVALID : (ipv4.lookup(0L, addr, 32) ? MATCH : MISMATCH);
+            }
+        }
+        return INVALID;
+    }
+
+
+    /**
+     * 匹配IPv6地址
+     * @param text 字符序列
+     * @param start 起始位置（含）
+     * @param end 结束位置（不含）
+     * @return {@link #MATCH}、{@link #MISMATCH} 或 {@link #INVALID}
+     */
+    private int matchIpv6(final CharSequence text, final int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == '%') {
+                end = i;
+                break;
+            }
+        }
+
+        // 128位地址用高、低两个long表示；head为“::”之前的分组，hi、lo为其后（或全部）分组
+        long headHi = 0;
+        long headLo = 0;
+        long hi = 0;
+        long lo = 0;
+        int groups = 0;
+        int gapAt = -1;
+        int pos = start;
+        if (end - pos >= 2 && text.charAt(pos) == ':' && text.charAt(pos + 1) == ':') {
+            gapAt = 0;
+            pos += 2;
+        }
+        while (pos < end) {
+            int groupEnd = pos;
+            int value = 0;
+            boolean dotted = false;
+            while (groupEnd < end && text.charAt(groupEnd) != ':') {
+                final char ch = text.charAt(groupEnd);
+                if (ch == '.') {
+                    dotted = true;
+                    break;
+                }
+                final int digit = Character.digit(ch, 16);
+                if (digit < 0 || groupEnd - pos >= 4) {
+                    return INVALID;
+                }
+                value = (value << 4) | digit;
+                groupEnd++;
+            }
+
+            if (dotted) {
+                // 末尾内嵌的IPv4地址，占两个分组
+                final long embedded = parseIpv4(text, pos, end);
+                if (embedded < 0 || groups > 6) {
+                    return INVALID;
+                }
+                hi = (hi << 32) | (lo >>> 32);
+                lo = (lo << 32) | embedded;
+                groups += 2;
+                pos = end;
+                break;
+            }
+            if (groupEnd == pos || groups >= 8) {
+                return INVALID;
+            }
+            hi = (hi << 16) | (lo >>> 48);
+            lo = (lo << 16) | value;
+            groups++;
+            pos = groupEnd;
+
+            if (pos < end) {
+                // 分隔符“:”或“::”
+                pos++;
+                if (pos < end && text.charAt(pos) == ':') {
+                    if (gapAt >= 0) {
+                        return INVALID;
+                    }
+                    gapAt = groups;
+                    headHi = hi;
+                    headLo = lo;
+                    hi = 0;
+                    lo = 0;
+                    pos++;
+                } else if (pos == end) {
+                    return INVALID;
+                }
+            }
+        }
+
+        if (gapAt < 0) {
+            if (groups != 8) {
+                return INVALID;
+            }
+        } else {
+            if (groups >= 8) {
+                return INVALID;
+            }
+            // head左移 (8 - gapAt) 个分组后与其后分组合并
+            final int shift = (8 - gapAt) * 16;
+            if (shift >= 128) {
+                headHi = 0;
+                headLo = 0;
+            } else if (shift >= 64) {
+                headHi = headLo << (shift - 64);
+                headLo = 0;
+            } else if (shift > 0) {
+                headHi = (headHi << shift) | (headLo >>> (64 - shift));
+                headLo <<= shift;
+            }
+            hi |= headHi;
+            lo |= headLo;
+        }
+
+        // IPv4映射地址 ::ffff:a.b.c.d
+        if (hi == 0 && (lo >>> 32) == 0xFFFFL) {
+            return ipv4.lookup(0L, lo & 0xFFFFFFFFL, 32) ? MATCH : MISMATCH;
+        }
+        return ipv6.lookup(hi, lo, 128) ? MATCH : MISMATCH;
+    }
+
+    /**
+     * 解析点分十进制IPv4地址
+     * @param text 字符序列
+     * @param start 起始位置（含）
+     * @param end 结束位置（不含）
+     * @return 地址值（无符号32位），格式错误返回 -1
+     */
+    private static long parseIpv4(final CharSequence text, final int start, final int end) {
+        long result = 0;
+        int octets = 0;
+        int pos = start;
+        while (pos < end) {
+            int value = 0;
+            final int octetStart = pos;
+            while (pos < end && text.charAt(pos) != '.') {
+                final char ch = text.charAt(pos);
+                if (ch < '0' || ch > '9' || pos - octetStart >= 3) {
+                    return -1;
+                }
+                value = value * 10 + (ch - '0');
+                pos++;
+            }
+            if (pos == octetStart || value > 255 || octets >= 4) {
+                return -1;
+            }
+            result = (result << 8) | value;
+            octets++;
+            if (pos < end && ++pos == end) {
+                return -1;
+            }
+        }
+        return octets == 4 ? result : -1;
+    }
+
+
+    /**
+     * 构造 {@link WfCidrTrie}
+     * @param builder {@link WfCidrTrieBuilder}
+     */
+    protected WfCidrTrie(final WfCidrTrieBuilder builder) {
+        this.ipv4 = builder.ipv4.copy();
+        this.ipv6 = builder.ipv6.copy();
+    }
+
+
+    /**
+     * 前缀树节点
+     * <p>节点以数组下标表示，根节点为0；子节点下标为0表示无该子节点</p>
+     */
+    private static class Nodes {
+
+        /**
+         * 第 {@code i} 个节点的0分支子节点
+         */
+        private transient int[] zero = new int[16];
+
+        /**
+         * 第 {@code i} 个节点的1分支子节点
+         */
+        private transient int[] one = new int[16];
+
+        /**
+         * 第 {@code i} 个节点是否为网段终点（其下所有地址均匹配）
+         */
+        private transient boolean[] terminal = new boolean[16];
+
+        /**
+         * 节点数
+         */
+        private transient int size = 1;
+
+        /**
+         * 插入网段
+         * @param hi 地址高64位
+         * @param lo 地址低64位（IPv4地址只使用低32位）
+         * @param bits 地址位数
+         * @param prefix 前缀长度
+         */
+        void insert(final long hi, final long lo, final int bits, final int prefix) {
+            int node = 0;
+            for (int i = 0; i < prefix; i++) {
+                if (terminal[node]) {
+                    return;
+                }
+                final boolean bit = bitAt(hi, lo, bits, i);
+                int child = bit ? one[node] : zero[node];
+                if (child == 0) {
+                    child = allocate();
+                    if (bit) {
+                        one[node] = child;
+                    } else {
+                        zero[node] = child;
+                    }
+                }
+                node = child;
+            }
+            terminal[node] = true;
+        }
+
+        /**
+         * 查找地址是否属于任一网段
+         * @param hi 地址高64位
+         * @param lo 地址低64位（IPv4地址只使用低32位）
+         * @param bits 地址位数
+         * @return {@code true} 属于
+         */
+        boolean lookup(final long hi, final long lo, final int bits) {
+            int node = 0;
+            for (int i = 0; i < bits; i++) {
+                if (terminal[node]) {
+                    return true;
+                }
+                node = bitAt(hi, lo, bits, i) ? one[node] : zero[node];
+                if (node == 0) {
+                    return false;
+                }
+            }
+            return terminal[node];
+        }
+
+        /**
+         * 复制节点，数组容量压缩为节点数
+         * @return 新的 {@link Nodes}
+         */
+        Nodes copy() {
+            final Nodes copy = new Nodes();
+            copy.zero = Arrays.copyOf(zero, size);
+            copy.one = Arrays.copyOf(one, size);
+            copy.terminal = Arrays.copyOf(terminal, size);
+            copy.size = size;
+            return copy;
+        }
+
+        /**
+         * 分配新节点
+         * @return 新节点下标
+         */
+        private int allocate() {
+            if (size == zero.length) {
+                zero = Arrays.copyOf(zero, size * 2);
+                one = Arrays.copyOf(one, size * 2);
+                terminal = Arrays.copyOf(terminal, size * 2);
+            }
+            return size++;
+        }
+
+        /**
+         * 获取地址从高位起第 {@code index} 位
+         * @param hi 地址高64位
+         * @param lo 地址低64位
+         * @param bits 地址位数
+         * @param index 位序号
+         * @return {@code true} 该位为1
+         */
+        private static boolean bitAt(final long hi, final long lo, final int bits, final int index) {
+            final int shift = bits - 1 - index;
+            return shift >= 64 ? ((hi >>> (shift - 64)) & 1L) != 0 : ((lo >>> shift) & 1L) != 0;
+        }
+    }
+
+
+    /**
+     * {@link WfCidrTrie} 构建器
+     *
+     * @author agent on 2026年10月18日 下午23:31:06
+     * @version Version 3.0
+     */
+    public static class WfCidrTrieBuilder {
+
+        /**
+         * IPv4前缀树
+         */
+        private final transient Nodes ipv4 = new Nodes();
+
+        /**
+         * IPv6前缀树
+         */
+        private final transient Nodes ipv6 = new Nodes();
+
+
+        /**
+         * 添加网段
+         * @param cidr 网段，如：10.0.0.0/8、fd00::/8；不带前缀长度时表示单个地址
+         * @return {@link WfCidrTrieBuilder}
+         * @throws IllegalArgumentException 网段格式错误时抛出
+         */
+        public WfCidrTrieBuilder add(final String cidr) {
+            if (cidr == null) {
+                throw new IllegalArgumentException("网段格式错误：null");
+            }
+            final String text = cidr.trim();
+            final int slash = text.indexOf('/');
+            final String addr = slash < 0 ? text : text.substring(0, slash);
+
+            final byte[] bytes;
+            try {
+                if (addr.indexOf(':') < 0 && parseIpv4(addr, 0, addr.length()) < 0) {
+                    throw new IllegalArgumentException("网段格式错误：" + cidr);
+                }
+                bytes = InetAddress.getByName(addr).getAddress();
+            } catch (UnknownHostException | SecurityException excpt) {
+                throw new IllegalArgumentException("网段格式错误：" + cidr, excpt);
+            }
+
+            final int bits = bytes.length * 8;
+            final int prefix;
+            try {
+                prefix = slash < 0 ? bits : Integer.parseInt(text.substring(slash + 1));
+            } catch (NumberFormatException excpt) {
+                throw new IllegalArgumentException("网段格式错误：" + cidr, excpt);
+            }
+            if (prefix < 0 || prefix > bits) {
+                throw new IllegalArgumentException("网段格式错误：" + cidr);
+            }
+
+            long hi = 0;
+            long lo = 0;
+            for (final byte b : bytes) {
+                hi = (hi << 8) | (lo >>> 56);
+                lo = (lo << 8) | (b & 0xFF);
+            }
+            (bits == 32 ? ipv4 : ipv6).insert(hi, lo, bits, prefix);
+            return this;
+        }
+
+        /**
+         * 添加多个网段
+         * @param cidrs 网段
+         * @return {@link WfCidrTrieBuilder}
+         * @throws IllegalArgumentException 网段格式错误时抛出
+         */
+        public WfCidrTrieBuilder addAll(final Iterable<String> cidrs) {
+            for (final String cidr : cidrs) {
+                add(cidr);
+            }
+            return this;
+        }
+
+        /**
+         * 添加私有及本地网段
+         * <p>127.0.0.0/8、10.0.0.0/8、172.16.0.0/12、192.168.0.0/16、169.254.0.0/16、::1、fc00::/7、fe80::/10</p>
+         * @return {@link WfCidrTrieBuilder}
+         */
+        public WfCidrTrieBuilder addPrivate() {
+            return add("127.0.0.0/8").add("10.0.0.0/8").add("172.16.0.0/12").add("192.168.0.0/16")
+                    .add("169.254.0.0/16").add("::1").add("fc00::/7").add("fe80::/10");
+        }
+
+
+        /**
+         * 构建 {@link WfCidrTrie}
+         * @return {@link WfCidrTrie}
+         */
+        public WfCidrTrie build() {
+            return new WfCidrTrie(this);
+        }
+    }
+}
@@ -14,6 +14,12 @@ import java.io.UnsupportedEncodingException;
  */
 @SuppressWarnings("all")
 public class WfConvert {
+
+    /**
+     * 十六进制字符表
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     
     /**
      * {@code String} 转为 {@code int}
@@ -114,16 +120,28 @@ public class WfConvert {
             return "";
         }
 
-        String hexStr;
-        final StringBuilder hexStrBuilder = new StringBuilder(32);
-        for (final byte b : bytes) {
-            hexStr = Integer.toHexString(b & 0xff);
-            if (hexStr.length() == 1) {
-                hexStrBuilder.append('0');
-            }
-            hexStrBuilder.append(hexStr);
+        final char[] hexChars = new char[bytes.length * 2];
+        bytes2HexChars(bytes, 0, bytes.length, hexChars, 0);
+        return new String(hexChars);
+    }
+
+    /**
+     * {@code byte[]} 转为十六进制字符，查表转换，不产生中间对象
+     * @param bytes {@code byte} 类型数组
+     * @param offset 起始位置
+     * @param length 转换的字节数
+     * @param dest 目标数组，剩余空间不小于 {@code length * 2}
+     * @param destOffset 目标起始位置
+     * @return 写入的字符数
+     */
+    static int bytes2HexChars(final byte[] bytes, final int offset, final int length, final char[] dest,
+            final int destOffset) {
+        int index = destOffset;
+        for (int i = offset; i < offset + length; i++) {
+            dest[index++] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+            dest[index++] = HEX_DIGITS[bytes[i] & 0x0f];
         }
-        return hexStrBuilder.toString();
+        return length * 2;
     }
 
     /**
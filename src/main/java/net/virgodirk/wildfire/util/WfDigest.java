@@ -0,0 +1,156 @@
+package net.virgodirk.wildfire.util;
+
+import net.virgodirk.wildfire.util.exception.WfFileException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 文件及数据流摘要
+ *
+ * <p>供 {@link WfMd5}、{@link WfSha} 使用：按固定大小的窗口（64KB）边读边计算摘要，
+ * 内存占用与数据大小无关；缓冲区按线程复用，每个使用过的线程常驻64KB（线程池较大时也不会占用过多堆内存）。<br>
+ * 文件通过 {@link FileChannel} 读取；未使用内存映射，是因为JDK 8无法主动解除映射，
+ * 多GB文件会在GC前一直占用映射区域，而 {@link MessageDigest} 处理直接缓冲区时同样要复制到数组。</p>
+ *
+ * @author agent on 2026年10月19日 上午03:40:52
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+final class WfDigest {
+
+    /**
+     * 读取窗口大小（64KB）
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 当前线程的读取缓冲区
+     */
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+
+    /**
+     * 禁止实例化
+     */
+    private WfDigest() {
+    }
+
+
+    /**
+     * 计算文件摘要
+     * @param path 文件路径
+     * @param algorithm 摘要算法，如：MD5、SHA-256等
+     * @return 摘要结果（小写十六进制）
+     * @throws WfFileException 文件不存在或读取失败时抛出
+     */
+    static String digest(final Path path, final String algorithm) throws WfFileException {
+        if (path == null) {
+            throw new WfFileException("文件路径为空");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return digest(channel, algorithm);
+        } catch (NoSuchFileException excpt) {
+            throw new WfFileException("未找到文件：" + path, excpt);
+        } catch (IOException excpt) {
+            throw new WfFileException("读取文件：" + path + " 错误", excpt);
+        }
+    }
+
+    /**
+     * 计算数据流摘要
+     * <p>读取到数据流结束，不关闭数据流</p>
+     * @param input 数据流
+     * @param algorithm 摘要算法，如：MD5、SHA-256等
+     * @return 摘要结果（小写十六进制）
+     * @throws WfFileException 读取失败时抛出
+     */
+    static String digest(final InputStream input, final String algorithm) throws WfFileException {
+        if (input == null) {
+            throw new WfFileException("数据流为空");
+        }
+
+        final MessageDigest messageDigest = getInstance(algorithm);
+        final byte[] buffer = buffer();
+        try {
+            int read;
+            while ((read = input.read(buffer)) >= 0) {
+                messageDigest.update(buffer, 0, read);
+            }
+        } catch (IOException excpt) {
+            throw new WfFileException("读取数据流错误", excpt);
+        }
+        return WfConvert.bytes2HexStr(messageDigest.digest());
+    }
+
+    /**
+     * 计算通道摘要
+     * <p>读取到通道结束，不关闭通道</p>
+     * @param channel 数据通道
+     * @param algorithm 摘要算法，如：MD5、SHA-256等
+     * @return 摘要结果（小写十六进制）
+     * @throws WfFileException 读取失败时抛出
+     */
+    static String digestChannel(final ReadableByteChannel channel, final String algorithm)
+            throws WfFileException {
+        if (channel == null) {
+            throw new WfFileException("数据通道为空");
+        }
+
+        try {
+            return digest(channel, algorithm);
+        } catch (IOException excpt) {
+            throw new WfFileException("读取数据通道错误", excpt);
+        }
+    }
+
+
+    /**
+     * 计算通道摘要
+     * @param channel 数据通道
+     * @param algorithm 摘要算法
+     * @return 摘要结果（小写十六进制）
+     * @throws IOException 读取失败时抛出
+     */
+    private static String digest(final ReadableByteChannel channel, final String algorithm) throws IOException {
+        final MessageDigest messageDigest = getInstance(algorithm);
+        final byte[] array = buffer();
+        final ByteBuffer buffer = ByteBuffer.wrap(array);
+        while (channel.read(buffer) >= 0) {
+            messageDigest.update(array, 0, buffer.position());
+            buffer.clear();
+        }
+        return WfConvert.bytes2HexStr(messageDigest.digest());
+    }
+
+    /**
+     * 获取当前线程的读取缓冲区
+     * @return 读取缓冲区（{@link #BUFFER_SIZE} 字节）
+     */
+    static byte[] buffer() {
+        return BUFFER.get();
+    }
+
+    /**
+     * 创建 {@link MessageDigest}
+     * @param algorithm 摘要算法
+     * @return {@link MessageDigest}
+     */
+    static MessageDigest getInstance(final String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException excpt) {
+            // MD5、SHA-1、SHA-256、SHA-512是JDK必须支持的算法
+            throw new IllegalStateException(excpt);
+        }
+    }
+}
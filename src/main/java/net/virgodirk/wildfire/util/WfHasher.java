@@ -0,0 +1,468 @@
+package net.virgodirk.wildfire.util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 可复用的增量摘要计算器
+ *
+ * <p>{@link MessageDigest#getInstance(String)} 每次都要查找Provider并创建对象，
+ * 频繁的签名校验中这部分开销往往超过摘要计算本身。{@link #of(String)} 复用当前线程缓存的 {@link MessageDigest}
+ * 及缓冲区，摘要结果写入内部的缓冲区；文本按UTF-8直接编码到缓冲区，十六进制结果可写入调用方提供的
+ * {@code char[]}/{@link StringBuilder}，每次获取只创建一个很小的 {@link WfHasher} 对象。</p>
+ *
+ * <pre>
+ * WfHasher hasher = WfHasher.sha256();
+ * hasher.update(timestamp).update(nonce).update(body, 0, body.length);
+ * boolean valid = hasher.digestHexEquals(signature);
+ * </pre>
+ *
+ * <p>计算器不是线程安全的，只能在获取它的线程中使用；调用任一 {@code digest} 方法或 {@link #close()}
+ * 后内部状态重置并归还给当前线程的空闲列表，计算器之后不能再使用（{@code update}、{@code digest}、
+ * {@link #reset()} 抛出 {@link IllegalStateException}），需要时重新调用 {@link #of(String)} 获取。
+ * 每次获取都返回新的 {@link WfHasher}，内部状态被其他调用方重新获取后，已归还的计算器也不能再访问。
+ * {@link #of(String)} 只从空闲列表中取计算器，因此嵌套使用（如计算过程中调用 {@link WfSha#sha256(String)}）
+ * 各自得到不同的计算器，不会相互干扰。
+ * 计算过程中可能抛出异常时，可用 try-with-resources 保证归还；即使未归还，丢弃的计算器也只是被GC回收，
+ * 下一次获取时创建的新计算器完成计算后照常缓存。</p>
+ *
+ * @author agent on 2026年10月19日 上午04:52:13
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public final class WfHasher implements AutoCloseable {
+
+    /**
+     * 文本编码缓冲区大小
+     */
+    private static final int ENCODE_BUFFER_SIZE = 512;
+
+    /**
+     * 每个线程、每种算法最多缓存的空闲计算器数量
+     */
+    private static final int MAX_IDLE = 4;
+
+    /**
+     * 当前线程的空闲计算器状态，按算法名称索引
+     */
+    private static final ThreadLocal<Map<String, ArrayDeque<State>>> HASHERS =
+            ThreadLocal.withInitial(HashMap::new);
+
+
+    /**
+     * 摘要算法
+     */
+    private final transient String algorithm;
+
+    /**
+     * 摘要字节数
+     */
+    private final transient int digestLength;
+
+    /**
+     * 本次获取的计算器状态，归还后为 {@code null}
+     */
+    private transient State state;
+
+
+    /**
+     * 获取当前线程的MD5计算器
+     * @return {@link WfHasher}
+     */
+    public static WfHasher md5() {
+        return of("MD5");
+    }
+
+    /**
+     * 获取当前线程的SHA1计算器
+     * @return {@link WfHasher}
+     */
+    public static WfHasher sha1() {
+        return of("SHA1");
+    }
+
+    /**
+     * 获取当前线程的SHA256计算器
+     * @return {@link WfHasher}
+     */
+    public static WfHasher sha256() {
+        return of("SHA-256");
+    }
+
+    /**
+     * 获取当前线程的SHA512计算器
+     * @return {@link WfHasher}
+     */
+    public static WfHasher sha512() {
+        return of("SHA-512");
+    }
+
+    /**
+     * 获取当前线程的计算器
+     * <p>返回的计算器处于初始状态；当前线程没有该算法的空闲状态时创建新的 {@link MessageDigest}，归还后缓存</p>
+     * @param algorithm 摘要算法，如：MD5、SHA-256等
+     * @return {@link WfHasher}
+     * @throws IllegalArgumentException 不支持该摘要算法时抛出
+     */
+    public static WfHasher of(final String algorithm) throws IllegalArgumentException {
+        final ArrayDeque<State> idle = HASHERS.get().get(algorithm);
+        final State state = idle == null ? null : idle.pollFirst();
+        return new WfHasher(state == null ? new State(algorithm) : state);
+    }
+
+
+    /**
+     * 获取摘要算法
+     * @return 摘要算法
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 获取摘要长度
+     * @return 摘要字节数，十六进制结果为其2倍
+     */
+    public int getDigestLength() {
+        return digestLength;
+    }
+
+    /**
+     * 更新摘要
+     * @param src 数据
+     * @return {@link WfHasher}
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    public WfHasher update(final byte[] src) {
+        state().messageDigest.update(src);
+        return this;
+    }
+
+    /**
+     * 更新摘要
+     * @param src 数据
+     * @param offset 起始位置
+     * @param length 长度
+     * @return {@link WfHasher}
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    public WfHasher update(final byte[] src, final int offset, final int length) {
+        state().messageDigest.update(src, offset, length);
+        return this;
+    }
+
+    /**
+     * 更新摘要
+     * <p>使用 {@code src} 的剩余内容，position随之移到limit</p>
+     * @param src 数据
+     * @return {@link WfHasher}
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    public WfHasher update(final ByteBuffer src) {
+        state().messageDigest.update(src);
+        return this;
+    }
+
+    /**
+     * 更新摘要
+     * <p>按UTF-8编码，结果与 {@code src.toString().getBytes("UTF-8")} 相同（不成对的代理字符编码为'?'），
+     * 编码时不创建中间 {@code byte[]}</p>
+     * @param src 文本
+     * @return {@link WfHasher}
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    public WfHasher update(final CharSequence src) {
+        final State current = state();
+        final MessageDigest messageDigest = current.messageDigest;
+        final byte[] buffer = current.encodeBuffer;
+        final int length = src.length();
+        int position = 0;
+        for (int i = 0; i < length; i++) {
+            if (position > buffer.length - 4) {
+                messageDigest.update(buffer, 0, position);
+                position = 0;
+            }
+
+            final char ch = src.charAt(i);
+            if (ch < 0x80) {
+                buffer[position++] = (byte) ch;
+            } else if (ch < 0x800) {
+                buffer[position++] = (byte) (0xc0 | (ch >> 6));
+                buffer[position++] = (byte) (0x80 | (ch & 0x3f));
+            } else if (!Character.isSurrogate(ch)) {
+                buffer[position++] = (byte) (0xe0 | (ch >> 12));
+                buffer[position++] = (byte) (0x80 | ((ch >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (ch & 0x3f));
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length
+                    && Character.isLowSurrogate(src.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(ch, src.charAt(++i));
+                buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else {
+                buffer[position++] = '?';
+            }
+        }
+        messageDigest.update(buffer, 0, position);
+        return this;
+    }
+
+    /**
+     * 更新摘要
+     * <p>按指定字符集编码，结果与 {@code src.toString().getBytes(charset)} 相同，编码时不创建中间 {@code byte[]}</p>
+     * @param src 文本
+     * @param charset 字符集
+     * @return {@link WfHasher}
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    public WfHasher update(final CharSequence src, final Charset charset) {
+        final State current = state();
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return update(src);
+        }
+
+        if (current.encoder == null || !current.encoder.charset().equals(charset)) {
+            current.encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        final CharsetEncoder encoder = current.encoder.reset();
+        final MessageDigest messageDigest = current.messageDigest;
+        final byte[] encodeBuffer = current.encodeBuffer;
+
+        final CharBuffer input = CharBuffer.wrap(src);
+        final ByteBuffer output = ByteBuffer.wrap(encodeBuffer);
+        boolean endOfInput = false;
+        while (true) {
+            final CoderResult result = endOfInput ? encoder.flush(output) : encoder.encode(input, output, true);
+            messageDigest.update(encodeBuffer, 0, output.position());
+            output.clear();
+            if (result.isUnderflow()) {
+                if (endOfInput) {
+                    break;
+                }
+                endOfInput = true;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 计算摘要
+     * @return 摘要结果（新数组）
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    public byte[] digest() {
+        final byte[] result = state().messageDigest.digest();
+        release();
+        return result;
+    }
+
+    /**
+     * 计算摘要，返回十六进制字符串
+     * @return 摘要结果（小写十六进制）
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    public String digestHex() {
+        final char[] hexBuffer = state().hexBuffer;
+        final int length = digestHexInto(hexBuffer, 0);
+        return new String(hexBuffer, 0, length);
+    }
+
+    /**
+     * 计算摘要，十六进制结果写入 {@code dest}
+     * @param dest 目标数组，剩余空间不小于 {@link #getDigestLength()} 的2倍
+     * @param offset 目标起始位置
+     * @return 写入的字符数
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    public int digestHexInto(final char[] dest, final int offset) {
+        final byte[] result = digestInto();
+        return WfConvert.bytes2HexChars(result, 0, result.length, dest, offset);
+    }
+
+    /**
+     * 计算摘要，十六进制结果追加到 {@code dest}
+     * @param dest {@link StringBuilder}
+     * @return {@code dest}
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    public StringBuilder digestHexInto(final StringBuilder dest) {
+        final char[] hexBuffer = state().hexBuffer;
+        final int length = digestHexInto(hexBuffer, 0);
+        return dest.append(hexBuffer, 0, length);
+    }
+
+    /**
+     * 计算摘要并与十六进制字符串比较
+     * <p>忽略大小写，比较时间与内容无关（不会因前几位相同而提前返回），适用于签名校验</p>
+     * @param expected 期望的摘要（十六进制）
+     * @return {@code true} 相同<br>
+     *         {@code false} 不同或 {@code expected} 为 {@code null}
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    public boolean digestHexEquals(final CharSequence expected) {
+        final char[] hexBuffer = state().hexBuffer;
+        final int length = digestHexInto(hexBuffer, 0);
+        if (expected == null || expected.length() != length) {
+            return false;
+        }
+
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = expected.charAt(i);
+            if (ch >= 'A' && ch <= 'F') {
+                ch += 'a' - 'A';
+            }
+            diff |= hexBuffer[i] ^ ch;
+        }
+        return diff == 0;
+    }
+
+    /**
+     * 重置计算器，丢弃已更新的数据，之后可继续使用
+     * @return {@link WfHasher}
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    public WfHasher reset() {
+        state().messageDigest.reset();
+        return this;
+    }
+
+    /**
+     * 丢弃已更新的数据，归还计算器
+     * <p>已通过 {@code digest} 方法归还时不做任何操作</p>
+     */
+    @Override
+    public void close() {
+        if (state != null) {
+            state.messageDigest.reset();
+            release();
+        }
+    }
+
+
+    /**
+     * 获取本次获取的计算器状态
+     * @return {@link State}
+     * @throws IllegalStateException 计算器已归还时抛出
+     */
+    private State state() {
+        final State current = state;
+        if (current == null) {
+            throw new IllegalStateException("摘要计算器已归还，请重新获取");
+        }
+        return current;
+    }
+
+    /**
+     * 计算摘要，结果写入内部缓冲区
+     * @return 摘要结果缓冲区
+     */
+    private byte[] digestInto() {
+        final byte[] digestBuffer = state().digestBuffer;
+        try {
+            state.messageDigest.digest(digestBuffer, 0, digestBuffer.length);
+        } catch (DigestException excpt) {
+            // 缓冲区按摘要长度创建，不会空间不足
+            throw new IllegalStateException(excpt);
+        }
+        release();
+        return digestBuffer;
+    }
+
+    /**
+     * 将计算器状态归还到当前线程的空闲列表（{@link MessageDigest} 已重置）
+     * <p>只归还一次，之后本计算器不再持有该状态；空闲列表已满时丢弃</p>
+     */
+    private void release() {
+        final State current = state;
+        if (current == null) {
+            return;
+        }
+        state = null;
+
+        final ArrayDeque<State> idle = HASHERS.get().computeIfAbsent(current.algorithm,
+                key -> new ArrayDeque<>(MAX_IDLE));
+        if (idle.size() < MAX_IDLE) {
+            idle.addFirst(current);
+        }
+    }
+
+
+    /**
+     * 构造 {@link WfHasher}
+     * @param state 计算器状态
+     */
+    private WfHasher(final State state) {
+        this.algorithm = state.algorithm;
+        this.digestLength = state.digestBuffer.length;
+        this.state = state;
+    }
+
+
+    /**
+     * 计算器状态，归还后由当前线程的下一个 {@link WfHasher} 复用
+     */
+    private static final class State {
+
+        /**
+         * 摘要算法
+         */
+        private final transient String algorithm;
+
+        /**
+         * {@link MessageDigest}
+         */
+        private final transient MessageDigest messageDigest;
+
+        /**
+         * 摘要结果缓冲区
+         */
+        private final transient byte[] digestBuffer;
+
+        /**
+         * 十六进制结果缓冲区
+         */
+        private final transient char[] hexBuffer;
+
+        /**
+         * 文本编码缓冲区
+         */
+        private final transient byte[] encodeBuffer = new byte[ENCODE_BUFFER_SIZE];
+
+        /**
+         * 非UTF-8字符集的编码器
+         */
+        private transient CharsetEncoder encoder;
+
+
+        /**
+         * 构造 {@link State}
+         * @param algorithm 摘要算法
+         * @throws IllegalArgumentException 不支持该摘要算法时抛出
+         */
+        State(final String algorithm) throws IllegalArgumentException {
+            try {
+                messageDigest = MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException | NullPointerException excpt) {
+                throw new IllegalArgumentException("不支持的摘要算法：" + algorithm, excpt);
+            }
+            this.algorithm = algorithm;
+            digestBuffer = new byte[messageDigest.getDigestLength()];
+            hexBuffer = new char[digestBuffer.length * 2];
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package net.virgodirk.wildfire.util;
 
-import java.io.UnsupportedEncodingException;
 import java.net.InetAddress;
-import java.net.URLDecoder;
-import java.net.URLEncoder;
 import java.net.UnknownHostException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -22,6 +24,26 @@ public class WfHttp {
      */
     protected static final String DEFAULT_CHARSET = "UTF-8";
     
+    /**
+     * 本机IP地址刷新间隔（纳秒）
+     */
+    private static final long LOCAL_ADDR_REFRESH = TimeUnit.MINUTES.toNanos(5);
+    
+    /**
+     * 本机IP地址是否正在后台刷新
+     */
+    private static final AtomicBoolean LOCAL_ADDR_REFRESHING = new AtomicBoolean();
+    
+    /**
+     * 缓存的本机IP地址
+     */
+    private static volatile String localAddr;
+    
+    /**
+     * 本机IP地址下次刷新时间（纳秒）
+     */
+    private static volatile long localAddrRefreshAt;
+    
     
     /**
      * 从HTTP请求中获客户端真实IP地址
@@ -46,58 +68,93 @@ public class WfHttp {
         return ipAddr == null || ipAddr.contains(":") ? getLocalAddr() : ipAddr;
     }
     
+    /**
+     * 从HTTP请求中获客户端真实IP地址
+     * <p>只有直连地址属于可信代理时才采信 {@code X-Forwarded-For}：从右向左跳过可信代理，
+     * 返回第一个不属于可信代理的地址；格式错误的条目及其左侧条目均不采信；
+     * 全部为可信代理时返回最左侧地址。解析过程不拆分字符串。</p>
+     * @param request HTTP请求对象
+     * @param trustedProxies 可信代理网段，{@code null} 表示不采信 {@code X-Forwarded-For}
+     * @return 客户端真实IP地址，可能为IPv6地址
+     */
+    public static String getRemoteAddr(final HttpServletRequest request, final WfCidrTrie trustedProxies) {
+        if (request == null) {
+            return "";
+        }
+        
+        final String peerAddr = request.getRemoteAddr();
+        if (peerAddr == null) {
+            return "";
+        }
+        if (trustedProxies == null || !trustedProxies.contains(peerAddr)) {
+            return peerAddr;
+        }
+        
+        final String forwarded = request.getHeader("X-Forwarded-For");
+        return forwarded == null ? peerAddr : getForwardedAddr(forwarded, peerAddr, trustedProxies);
+    }
+    
     /**
      * 获取本机IP地址
-     * @return 本机IP地址
+     * <p>结果缓存，每5分钟在后台线程中刷新，刷新期间及刷新失败时返回原结果；
+     * 首次调用时同步获取</p>
+     * @return 本机IP地址，获取失败返回空字符串 {@code ""}
      */
     public static String getLocalAddr() {
-        try {
-            return InetAddress.getLocalHost().getHostAddress();
-        } catch (UnknownHostException excpt) {
-            return "";
+        String addr = localAddr;
+        if (addr == null) {
+            synchronized (LOCAL_ADDR_REFRESHING) {
+                addr = localAddr;
+                if (addr == null) {
+                    addr = refreshLocalAddr("");
+                }
+            }
+        } else if (System.nanoTime() - localAddrRefreshAt >= 0 && LOCAL_ADDR_REFRESHING.compareAndSet(false, true)) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    refreshLocalAddr(localAddr);
+                } finally {
+                    LOCAL_ADDR_REFRESHING.set(false);
+                }
+            }, "WfHttp-localAddr");
+            thread.setDaemon(true);
+            thread.start();
         }
+        return addr;
     }
     
     /**
      * URL编码
-     * <p>使用默认字符集：UTF-8</p>
+     * <p>使用默认字符集：UTF-8，结果与 {@link java.net.URLEncoder} 相同</p>
      * @param text 待编码文本
-     * @return URL编码结果，解码失败返回空字符串 {@code ""}
+     * @return URL编码结果，编码失败返回空字符串 {@code ""}
      */
     public static String urlEncode(final String text) {
-        try {
-            return isEmptyStr(text) ? "" : URLEncoder.encode(text, DEFAULT_CHARSET);
-        } catch (UnsupportedEncodingException excpt) {
-            return "";
-        }
+        return isEmptyStr(text) ? "" : WfUrlCodec.encode(text);
     }
     
     /**
      * URL编码
      * @param text 待编码文本
      * @param charset 字符集名称，如：UTF-8、GB2312等
-     * @return URL编码结果，解码失败返回空字符串 {@code ""}
+     * @return URL编码结果，编码失败返回空字符串 {@code ""}
      */
     public static String urlEncode(final String text, final String charset) {
-        try {
-            return isEmptyStr(text) ? "" : URLEncoder.encode(text, charset);
-        } catch (UnsupportedEncodingException excpt) {
+        if (isEmptyStr(text)) {
             return "";
         }
+        final Charset cs = toCharset(charset);
+        return cs == null ? "" : WfUrlCodec.encode(text, cs);
     }
     
     /**
      * URL解码
-     * <p>使用默认字符集：UTF-8</p>
+     * <p>使用默认字符集：UTF-8，结果与 {@link java.net.URLDecoder} 相同</p>
      * @param text 待解码文本
      * @return URL解码结果，解码失败返回空字符串 {@code ""}
      */
     public static String urlDecode(final String text) {
-        try {
-            return isEmptyStr(text) ? "" : URLDecoder.decode(text, DEFAULT_CHARSET);
-        } catch (UnsupportedEncodingException excpt) {
-            return "";
-        }
+        return urlDecode(text, DEFAULT_CHARSET);
     }
     
     /**
@@ -107,9 +164,16 @@ public class WfHttp {
      * @return URL解码结果，解码失败返回空字符串 {@code ""}
      */
     public static String urlDecode(final String text, final String charset) {
+        if (isEmptyStr(text)) {
+            return "";
+        }
+        final Charset cs = toCharset(charset);
+        if (cs == null) {
+            return "";
+        }
         try {
-            return isEmptyStr(text) ? "" : URLDecoder.decode(text, charset);
-        } catch (UnsupportedEncodingException excpt) {
+            return WfUrlCodec.decode(text, cs);
+        } catch (IllegalArgumentException excpt) {
             return "";
         }
     }
@@ -124,6 +188,109 @@ public class WfHttp {
     }
     
     
+    /**
+     * 获取 {@link WfHttpBatch}
+     * @param requests 请求列表
+     * @return {@link WfHttpBatch}
+     */
+    public static WfHttpBatch batch(final List<WfHttpRequest> requests) {
+        return new WfHttpBatch(requests);
+    }
+    
+    
+    /**
+     * 刷新缓存的本机IP地址
+     * @param fallback 获取失败时使用的地址
+     * @return 本机IP地址
+     */
+    private static String refreshLocalAddr(final String fallback) {
+        String addr;
+        try {
+            addr = InetAddress.getLocalHost().getHostAddress();
+        } catch (UnknownHostException excpt) {
+            addr = fallback;
+        }
+        localAddrRefreshAt = System.nanoTime() + LOCAL_ADDR_REFRESH;
+        localAddr = addr;
+        return addr;
+    }
+    
+    /**
+     * 从 {@code X-Forwarded-For} 中获取客户端地址
+     * <p>从右向左逐个检查，不拆分字符串；条目可带端口（1.2.3.4:5678、[::1]:5678）</p>
+     * @param forwarded {@code X-Forwarded-For} 值
+     * @param peerAddr 直连地址
+     * @param trustedProxies 可信代理网段
+     * @return 客户端地址
+     */
+    static String getForwardedAddr(final String forwarded, final String peerAddr, final WfCidrTrie trustedProxies) {
+        int lastStart = -1;
+        int lastEnd = -1;
+        int end = forwarded.length();
+        while (end >= 0) {
+            final int comma = forwarded.lastIndexOf(',', end - 1);
+            int start = comma + 1;
+            int stop = end;
+            while (start < stop && forwarded.charAt(start) <= ' ') {
+                start++;
+            }
+            while (stop > start && forwarded.charAt(stop - 1) <= ' ') {
+                stop--;
+            }
+            
+            if (start < stop) {
+                // 去除端口及IPv6地址的方括号
+                if (forwarded.charAt(start) == '[') {
+                    final int bracket = forwarded.indexOf(']', start);
+                    if (bracket > start && bracket < stop) {
+                        start++;
+                        stop = bracket;
+                    }
+                } else {
+                    int colon = -1;
+                    int colons = 0;
+                    for (int i = start; i < stop; i++) {
+                        if (forwarded.charAt(i) == ':') {
+                            colon = i;
+                            colons++;
+                        }
+                    }
+                    if (colons == 1) {
+                        stop = colon;
+                    }
+                }
+                
+                final int match = trustedProxies.match(forwarded, start, stop);
+                if (match == WfCidrTrie.INVALID) {
+                    break;
+                }
+                if (match == WfCidrTrie.MISMATCH) {
+                    return forwarded.substring(start, stop);
+                }
+                lastStart = start;
+                lastEnd = stop;
+            }
+            end = comma;
+        }
+        return lastStart < 0 ? peerAddr : forwarded.substring(lastStart, lastEnd);
+    }
+    
+    /**
+     * 获取字符集
+     * @param charset 字符集名称
+     * @return {@link Charset}，不支持的字符集返回 {@code null}
+     */
+    private static Charset toCharset(final String charset) {
+        if (DEFAULT_CHARSET.equalsIgnoreCase(charset)) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(charset);
+        } catch (IllegalArgumentException excpt) {
+            return null;
+        }
+    }
+    
     /**
      * 检查字符串是否是空字符串
      * <p>{@code unknown} 也视为空字符串</p>
@@ -0,0 +1,522 @@
+package net.virgodirk.wildfire.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.protocol.RequestAcceptEncoding;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * 异步HTTP客户端引擎
+ *
+ * <p>基于NIO Reactor的非阻塞HTTP客户端，少量I/O线程即可同时处理大量请求，
+ * 可被多个 {@link WfHttpRequest} 共享，线程安全；也可作为 {@link WfHttpTransport} 供同步请求使用。<br>
+ * 默认发送 {@code Accept-Encoding: gzip,deflate}，gzip/deflate响应由 {@link WfHttpRequest} 解压；<br>
+ * 默认引擎通过 {@link #getDefault()} 获取，JVM退出时自动关闭；连接池以引擎名称注册到 {@link WfHttpMetrics}。</p>
+ *
+ * @author agent on 2026年10月18日 下午14:05:21
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfHttpAsyncClient implements WfHttpTransport {
+
+    /**
+     * 默认I/O线程数
+     */
+    protected static final int IO_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 引擎序号，用于生成默认引擎名称
+     */
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+
+    /**
+     * 默认引擎
+     */
+    private static volatile WfHttpAsyncClient defaultClient;
+
+    /**
+     * JVM是否正在关闭，关闭后不再创建默认引擎
+     */
+    private static volatile boolean shutdown;
+
+    /**
+     * 默认引擎的JVM关闭钩子是否已注册
+     */
+    private static boolean hookRegistered;
+
+    /**
+     * 连接池
+     */
+    private final transient PoolingNHttpClientConnectionManager connectionManager;
+
+    /**
+     * 异步HTTP客户端
+     */
+    private final transient CloseableHttpAsyncClient httpClient;
+
+    /**
+     * 空闲连接回收线程，同时执行异步请求的重试等待
+     */
+    private final transient ScheduledExecutorService evictor;
+
+    /**
+     * 引擎名称
+     */
+    private final transient String name;
+
+    /**
+     * 是否开启指标统计
+     */
+    private final transient boolean metricsEnabled;
+
+    /**
+     * 注册到 {@link WfHttpMetrics} 的连接池统计
+     */
+    private final transient Supplier<PoolStats> poolStats;
+
+    /**
+     * 是否已关闭
+     */
+    private transient volatile boolean closed;
+
+
+    /**
+     * 获取默认引擎
+     * <p>首次调用时创建，并注册JVM关闭钩子（只注册一次，关闭钩子关闭当时的默认引擎）；<br>
+     * 默认引擎被手动关闭后，再次调用时重新创建</p>
+     * @return 默认 {@link WfHttpAsyncClient}
+     * @throws IllegalStateException JVM正在关闭时抛出
+     */
+    public static WfHttpAsyncClient getDefault() {
+        WfHttpAsyncClient client = defaultClient;
+        if (client == null || client.isClosed()) {
+            synchronized (WfHttpAsyncClient.class) {
+                if (shutdown) {
+                    throw new IllegalStateException("JVM正在关闭，默认引擎已关闭");
+                }
+                client = defaultClient;
+                if (client == null || client.isClosed()) {
+                    client = builder().setName("async-default").build();
+                    defaultClient = client;
+                    if (!hookRegistered) {
+                        Runtime.getRuntime().addShutdownHook(
+                                new Thread(WfHttpAsyncClient::closeDefault, "WfHttpAsyncClient-shutdown"));
+                        hookRegistered = true;
+                    }
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * {@link WfHttpAsyncClient} 构建器
+     * @return {@link WfHttpAsyncClientBuilder}
+     */
+    public static WfHttpAsyncClientBuilder builder() {
+        return new WfHttpAsyncClientBuilder();
+    }
+
+
+    /**
+     * 获取异步HTTP客户端
+     * @return {@link CloseableHttpAsyncClient}
+     */
+    public CloseableHttpAsyncClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * 获取连接池
+     * @return {@link PoolingNHttpClientConnectionManager}
+     */
+    public PoolingNHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * 获取引擎名称
+     * @return 引擎名称
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 是否开启指标统计
+     * <p>作为 {@link WfHttpTransport} 使用时记录请求耗时及异常，不记录阶段耗时</p>
+     * @return {@code true} 开启<br>
+     *         {@code false} 未开启
+     */
+    @Override
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * 发送请求，阻塞等待响应完成
+     * <p>响应内容由I/O线程读入内存后返回，gzip/deflate响应在读取时解压；等待被中断或请求被中止时取消请求</p>
+     * @param request {@link HttpUriRequest}
+     * @param context 请求上下文
+     * @return {@link CloseableHttpResponse}
+     * @throws IOException 网络异常时抛出
+     */
+    @Override
+    public CloseableHttpResponse execute(final HttpUriRequest request, final HttpClientContext context)
+            throws IOException {
+        final Future<HttpResponse> future = httpClient.execute(request, context, null);
+        if (request instanceof HttpRequestBase) {
+            ((HttpRequestBase) request).setCancellable(() -> future.cancel(true));
+        }
+        final HttpResponse response;
+        try {
+            response = future.get();
+        } catch (CancellationException excpt) {
+            throw new RequestAbortedException("网络请求已中止");
+        } catch (InterruptedException excpt) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("网络请求被中断");
+        } catch (ExecutionException excpt) {
+            final Throwable cause = excpt.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+
+        final WfHttpTransportResponse result = WfHttpTransportResponse.of(response);
+        WfHttpTransportResponse.decompress(result);
+        context.setAttribute(HttpClientContext.HTTP_RESPONSE, result);
+        return result;
+    }
+
+    /**
+     * 延时执行任务
+     * <p>由空闲连接回收线程执行，任务不能阻塞</p>
+     * @param task 任务
+     * @param delay 延时（毫秒）
+     */
+    void schedule(final Runnable task, final long delay) {
+        evictor.schedule(task, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 是否已关闭
+     * @return {@code true} 已关闭<br>
+     *         {@code false} 未关闭
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 注册JVM关闭钩子，JVM退出时关闭引擎
+     * @return {@link WfHttpAsyncClient}
+     */
+    public WfHttpAsyncClient registerShutdownHook() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "WfHttpAsyncClient-shutdown"));
+        return this;
+    }
+
+    /**
+     * JVM关闭时关闭默认引擎，此后 {@link #getDefault()} 不再创建新的默认引擎
+     */
+    private static void closeDefault() {
+        final WfHttpAsyncClient client;
+        synchronized (WfHttpAsyncClient.class) {
+            shutdown = true;
+            client = defaultClient;
+        }
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    /**
+     * 关闭引擎，释放I/O线程及连接池中的所有连接
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (poolStats != null) {
+            WfHttpMetrics.unregisterPool(name, poolStats);
+        }
+        evictor.shutdownNow();
+        try {
+            httpClient.close();
+        } catch (IOException excpt) {
+            excpt.printStackTrace();
+        }
+    }
+
+
+    /**
+     * 构造 {@link WfHttpAsyncClient}
+     * @param builder {@link WfHttpAsyncClientBuilder}
+     */
+    protected WfHttpAsyncClient(final WfHttpAsyncClientBuilder builder) {
+        name = builder.name == null ? "WfHttpAsyncClient-" + SEQUENCE.incrementAndGet() : builder.name;
+        metricsEnabled = builder.metricsEnabled;
+        final IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(builder.ioThreads)
+                .setConnectTimeout(WfHttpRequest.CONNECT_TIMEOUT)
+                .setSoTimeout(WfHttpRequest.SOKET_TIMEOUT)
+                .setSoKeepAlive(true)
+                .build();
+        final Registry<SchemeIOSessionStrategy> registry = RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", SSLIOSessionStrategy.getDefaultStrategy())
+                .build();
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(ioReactorConfig), null, registry, builder.dnsResolver);
+        } catch (IOReactorException excpt) {
+            throw new IllegalStateException("创建异步HTTP客户端失败", excpt);
+        }
+        connectionManager.setMaxTotal(builder.maxTotal);
+        connectionManager.setDefaultMaxPerRoute(builder.maxPerRoute);
+
+        final HttpAsyncClientBuilder clientBuilder = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(new WfHttpClient.KeepAliveStrategy(builder.keepAlive));
+        if (builder.contentCompression) {
+            clientBuilder.addInterceptorLast(new RequestAcceptEncoding());
+        }
+        httpClient = clientBuilder.build();
+        httpClient.start();
+
+        // 定期回收过期及空闲连接
+        final long idleTimeout = builder.idleTimeout;
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "WfHttpAsyncClient-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        }, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+
+        if (metricsEnabled) {
+            poolStats = connectionManager::getTotalStats;
+            WfHttpMetrics.registerPool(name, poolStats);
+        } else {
+            poolStats = null;
+        }
+    }
+
+
+    /**
+     * {@link WfHttpAsyncClient} 构建器
+     *
+     * @author agent on 2026年10月18日 下午14:05:21
+     * @version Version 3.0
+     */
+    public static class WfHttpAsyncClientBuilder {
+
+        /**
+         * I/O线程数
+         */
+        private transient int ioThreads;
+
+        /**
+         * 连接池最大连接数
+         */
+        private transient int maxTotal;
+
+        /**
+         * 每个路由（主机）最大连接数
+         */
+        private transient int maxPerRoute;
+
+        /**
+         * 空闲连接回收时间（毫秒）
+         */
+        private transient long idleTimeout;
+
+        /**
+         * 长连接最大保持时间（毫秒）
+         */
+        private transient long keepAlive;
+
+        /**
+         * 引擎名称
+         */
+        private transient String name;
+
+        /**
+         * 是否开启指标统计
+         */
+        private transient boolean metricsEnabled;
+
+        /**
+         * 是否协商响应压缩
+         */
+        private transient boolean contentCompression;
+
+        /**
+         * DNS解析器
+         */
+        private transient DnsResolver dnsResolver;
+
+
+        /**
+         * 构造 {@link WfHttpAsyncClientBuilder}
+         */
+        public WfHttpAsyncClientBuilder() {
+            ioThreads = IO_THREADS;
+            maxTotal = WfHttpClient.MAX_TOTAL;
+            maxPerRoute = WfHttpClient.MAX_PER_ROUTE;
+            idleTimeout = WfHttpClient.IDLE_TIMEOUT;
+            keepAlive = WfHttpClient.KEEP_ALIVE;
+            metricsEnabled = true;
+            contentCompression = true;
+        }
+
+
+        /**
+         * 设置I/O线程数
+         * <p>默认值：CPU核数</p>
+         * @param ioThreads I/O线程数
+         * @return {@link WfHttpAsyncClientBuilder}
+         */
+        public WfHttpAsyncClientBuilder setIoThreads(final int ioThreads) {
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        /**
+         * 设置连接池最大连接数
+         * <p>默认值：200</p>
+         * @param maxTotal 最大连接数
+         * @return {@link WfHttpAsyncClientBuilder}
+         */
+        public WfHttpAsyncClientBuilder setMaxTotal(final int maxTotal) {
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * 设置每个路由（主机）最大连接数
+         * <p>默认值：50</p>
+         * @param maxPerRoute 每个路由最大连接数
+         * @return {@link WfHttpAsyncClientBuilder}
+         */
+        public WfHttpAsyncClientBuilder setMaxPerRoute(final int maxPerRoute) {
+            this.maxPerRoute = maxPerRoute;
+            return this;
+        }
+
+        /**
+         * 设置空闲连接回收时间（毫秒）
+         * <p>默认值：30000毫秒</p>
+         * @param idleTimeout 空闲连接回收时间（毫秒）
+         * @return {@link WfHttpAsyncClientBuilder}
+         */
+        public WfHttpAsyncClientBuilder setIdleTimeout(final long idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * 设置长连接最大保持时间（毫秒）
+         * <p>默认值：30000毫秒</p>
+         * @param keepAlive 长连接最大保持时间（毫秒）
+         * @return {@link WfHttpAsyncClientBuilder}
+         */
+        public WfHttpAsyncClientBuilder setKeepAlive(final long keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * 设置引擎名称，作为连接池指标的名称
+         * <p>默认值：WfHttpAsyncClient-序号，默认引擎为 async-default</p>
+         * @param name 引擎名称
+         * @return {@link WfHttpAsyncClientBuilder}
+         */
+        public WfHttpAsyncClientBuilder setName(final String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * 设置是否开启指标统计
+         * <p>默认值：{@code true}</p>
+         * @param metricsEnabled 是否开启指标统计
+         * @return {@link WfHttpAsyncClientBuilder}
+         */
+        public WfHttpAsyncClientBuilder setMetricsEnabled(final boolean metricsEnabled) {
+            this.metricsEnabled = metricsEnabled;
+            return this;
+        }
+
+        /**
+         * 设置是否协商响应压缩
+         * <p>默认值：{@code true}，发送 {@code Accept-Encoding: gzip,deflate}</p>
+         * @param contentCompression 是否协商响应压缩
+         * @return {@link WfHttpAsyncClientBuilder}
+         */
+        public WfHttpAsyncClientBuilder setContentCompression(final boolean contentCompression) {
+            this.contentCompression = contentCompression;
+            return this;
+        }
+
+        /**
+         * 设置DNS解析器
+         * <p>默认值：{@code null}，使用JVM解析器；可使用 {@link WfHttpDnsResolver} 缓存解析结果并后台刷新</p>
+         * @param dnsResolver {@link DnsResolver}
+         * @return {@link WfHttpAsyncClientBuilder}
+         */
+        public WfHttpAsyncClientBuilder setDnsResolver(final DnsResolver dnsResolver) {
+            this.dnsResolver = dnsResolver;
+            return this;
+        }
+
+
+        /**
+         * 构建 {@link WfHttpAsyncClient}
+         * @return {@link WfHttpAsyncClient}
+         */
+        public WfHttpAsyncClient build() {
+            return new WfHttpAsyncClient(this);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,470 @@
+package net.virgodirk.wildfire.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import net.virgodirk.wildfire.util.exception.WfHttpException;
+import org.apache.http.client.methods.HttpRequestBase;
+
+/**
+ * HTTP批量请求
+ *
+ * <p>并发执行一组 {@link WfHttpRequest}，总耗时约等于最慢的单个请求；<br>
+ * 支持整批并发数、单个主机并发数限制及整批超时时间，超时未完成的请求被中止，结果按请求顺序返回。</p>
+ *
+ * <pre>
+ * List&lt;WfHttpBatch.Result&gt; results = WfHttp.batch(requests)
+ *         .setMaxConcurrency(16)
+ *         .setMaxPerHost(4)
+ *         .setTimeout(3000)
+ *         .get();
+ * </pre>
+ *
+ * @author agent on 2026年10月18日 下午15:32:10
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfHttpBatch {
+
+    /**
+     * 默认整批最大并发数
+     */
+    protected static final int MAX_CONCURRENCY = 16;
+
+    /**
+     * 默认单个主机最大并发数
+     */
+    protected static final int MAX_PER_HOST = 8;
+
+    /**
+     * 默认整批超时时间（毫秒）
+     */
+    protected static final long TIMEOUT = WfHttpRequest.SOKET_TIMEOUT;
+
+    /**
+     * 共享线程池最大线程数，超出时请求排队等待
+     */
+    private static final int MAX_THREADS = 64;
+
+    /**
+     * 主机并发计数初始容量
+     */
+    private static final int HOSTS_CAPACITY = 16;
+
+
+    /**
+     * 执行批量请求的共享线程池
+     */
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    /**
+     * 请求列表
+     */
+    private final transient List<WfHttpRequest> requests;
+
+    /**
+     * 整批最大并发数
+     */
+    private transient int maxConcurrency;
+
+    /**
+     * 单个主机最大并发数
+     */
+    private transient int maxPerHost;
+
+    /**
+     * 整批超时时间（毫秒）
+     */
+    private transient long timeout;
+
+
+    /**
+     * 构造 {@link WfHttpBatch}
+     * @param requests 请求列表
+     */
+    public WfHttpBatch(final List<WfHttpRequest> requests) {
+        this.requests = requests == null ? new ArrayList<>() : new ArrayList<>(requests);
+        this.maxConcurrency = MAX_CONCURRENCY;
+        this.maxPerHost = MAX_PER_HOST;
+        this.timeout = TIMEOUT;
+    }
+
+
+    /**
+     * 设置整批最大并发数
+     * <p>默认值：16</p>
+     * @param maxConcurrency 整批最大并发数
+     * @return {@link WfHttpBatch}
+     */
+    public WfHttpBatch setMaxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        return this;
+    }
+
+    /**
+     * 设置单个主机最大并发数
+     * <p>默认值：8</p>
+     * @param maxPerHost 单个主机最大并发数
+     * @return {@link WfHttpBatch}
+     */
+    public WfHttpBatch setMaxPerHost(final int maxPerHost) {
+        this.maxPerHost = Math.max(1, maxPerHost);
+        return this;
+    }
+
+    /**
+     * 设置整批超时时间（毫秒）
+     * <p>默认值：60000毫秒，超时未完成的请求以失败结果返回</p>
+     * @param timeout 整批超时时间（毫秒）
+     * @return {@link WfHttpBatch}
+     */
+    public WfHttpBatch setTimeout(final long timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+
+    /**
+     * 批量HTTP GET
+     * @return 请求结果列表，与请求列表顺序一致
+     */
+    public List<Result> get() {
+        return execute((request, started) -> request.getAbortable(started));
+    }
+
+    /**
+     * 批量HTTP POST
+     * <p>默认字符集：UTF-8</p>
+     * @return 请求结果列表，与请求列表顺序一致
+     */
+    public List<Result> post() {
+        return post(WfHttpRequest.DEFAULT_CHARSET);
+    }
+
+    /**
+     * 批量HTTP POST
+     * @param charset 字符集名称，如：UTF-8、GB2312等
+     * @return 请求结果列表，与请求列表顺序一致
+     */
+    public List<Result> post(final String charset) {
+        return execute((request, started) -> request.postAbortable(charset, started));
+    }
+
+
+    /**
+     * 执行批量请求
+     * @param call 单个请求的执行方式
+     * @return 请求结果列表，与请求列表顺序一致
+     */
+    private List<Result> execute(final Call call) {
+        final Dispatcher dispatcher = new Dispatcher(call);
+        dispatcher.dispatch();
+        try {
+            dispatcher.await(timeout);
+        } catch (InterruptedException excpt) {
+            Thread.currentThread().interrupt();
+        }
+        return dispatcher.finish();
+    }
+
+    /**
+     * 创建共享线程池
+     * <p>线程数不超过 {@link #MAX_THREADS}，空闲60秒后回收</p>
+     * @return {@link ExecutorService}
+     */
+    private static ExecutorService createExecutor() {
+        final AtomicInteger threadNum = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    final Thread thread = new Thread(runnable, "WfHttpBatch-" + threadNum.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+
+    /**
+     * 单个请求的执行方式
+     */
+    @FunctionalInterface
+    private interface Call {
+
+        /**
+         * 执行请求
+         * @param request {@link WfHttpRequest}
+         * @param started 接收待发送请求，用于超时时中止请求
+         * @return {@link String} 类型请求结果
+         * @throws WfHttpException {@link WfHttpException}
+         */
+        String call(WfHttpRequest request, Consumer<HttpRequestBase> started) throws WfHttpException;
+    }
+
+
+    /**
+     * 批量请求调度器
+     * <p>依次启动等待中的请求，跳过已达到主机并发上限的请求，避免单个主机阻塞整批</p>
+     */
+    private class Dispatcher {
+
+        /**
+         * 单个请求的执行方式
+         */
+        private final transient Call call;
+
+        /**
+         * 请求结果
+         */
+        private final transient Result[] results;
+
+        /**
+         * 执行中的请求
+         */
+        private final transient Future<?>[] futures;
+
+        /**
+         * 已发送的请求，超时时中止
+         */
+        private final transient HttpRequestBase[] httpRequests;
+
+        /**
+         * 等待中的请求序号
+         */
+        private final transient LinkedList<Integer> pending;
+
+        /**
+         * 各主机执行中的请求数
+         */
+        private final transient Map<String, Integer> hostRunning;
+
+        /**
+         * 全部请求完成信号
+         */
+        private final transient CountDownLatch done;
+
+        /**
+         * 执行中的请求数
+         */
+        private transient int running;
+
+        /**
+         * 是否已结束（超时后不再启动新请求）
+         */
+        private transient boolean finished;
+
+
+        /**
+         * 构造 {@link Dispatcher}
+         * @param call 单个请求的执行方式
+         */
+        Dispatcher(final Call call) {
+            this.call = call;
+            this.results = new Result[requests.size()];
+            this.futures = new Future<?>[requests.size()];
+            this.httpRequests = new HttpRequestBase[requests.size()];
+            this.pending = new LinkedList<>();
+            this.hostRunning = new HashMap<>(HOSTS_CAPACITY);
+            this.done = new CountDownLatch(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                pending.add(i);
+            }
+        }
+
+        /**
+         * 启动可执行的请求
+         */
+        synchronized void dispatch() {
+            final Iterator<Integer> iterator = pending.iterator();
+            while (!finished && running < maxConcurrency && iterator.hasNext()) {
+                final int index = iterator.next();
+                final WfHttpRequest request = requests.get(index);
+                if (request == null) {
+                    iterator.remove();
+                    complete(index, Result.failure(new WfHttpException("网络请求为空")));
+                    continue;
+                }
+
+                final String host = request.getHost();
+                final int hostCount = hostRunning.getOrDefault(host, 0);
+                if (hostCount >= maxPerHost) {
+                    continue;
+                }
+
+                iterator.remove();
+                hostRunning.put(host, hostCount + 1);
+                running++;
+                futures[index] = EXECUTOR.submit(() -> run(index, request, host));
+            }
+        }
+
+        /**
+         * 执行单个请求
+         * @param index 请求序号
+         * @param request {@link WfHttpRequest}
+         * @param host 请求主机
+         */
+        private void run(final int index, final WfHttpRequest request, final String host) {
+            Result result = null;
+            try {
+                result = Result.success(call.call(request, httpRequest -> started(index, httpRequest)));
+            } catch (WfHttpException excpt) {
+                result = Result.failure(excpt);
+            } catch (Throwable excpt) {
+                // 包括 Error，保证释放并发名额，同一主机的其余请求不会一直等待
+                result = Result.failure(new WfHttpException("网络请求失败，请稍候重试", excpt));
+            } finally {
+                synchronized (this) {
+                    running--;
+                    hostRunning.merge(host, -1, Integer::sum);
+                    complete(index, result != null ? result
+                            : Result.failure(new WfHttpException("网络请求失败，请稍候重试")));
+                }
+                dispatch();
+            }
+        }
+
+        /**
+         * 记录已发送的请求，已结束时直接中止
+         * @param index 请求序号
+         * @param httpRequest 待发送请求
+         */
+        private synchronized void started(final int index, final HttpRequestBase httpRequest) {
+            if (finished) {
+                httpRequest.abort();
+            } else {
+                httpRequests[index] = httpRequest;
+            }
+        }
+
+        /**
+         * 记录请求结果
+         * @param index 请求序号
+         * @param result 请求结果
+         */
+        private void complete(final int index, final Result result) {
+            if (results[index] == null) {
+                results[index] = result;
+                done.countDown();
+            }
+        }
+
+        /**
+         * 等待全部请求完成
+         * @param timeout 超时时间（毫秒）
+         * @throws InterruptedException {@link InterruptedException}
+         */
+        void await(final long timeout) throws InterruptedException {
+            done.await(timeout, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * 结束批量请求，中止未完成的请求并记为超时失败
+         * <p>中止请求会关闭其连接，阻塞在读取响应上的线程随即返回</p>
+         * @return 请求结果列表
+         */
+        synchronized List<Result> finish() {
+            finished = true;
+            final List<Result> resultList = new ArrayList<>(results.length);
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    if (httpRequests[i] != null) {
+                        httpRequests[i].abort();
+                    }
+                    if (futures[i] != null) {
+                        futures[i].cancel(true);
+                    }
+                    results[i] = Result.failure(new WfHttpException("网络请求超时，请稍候重试"));
+                }
+                resultList.add(results[i]);
+            }
+            return resultList;
+        }
+    }
+
+    /**
+     * 单个请求结果
+     *
+     * @author agent on 2026年10月18日 下午15:32:10
+     * @version Version 3.0
+     */
+    public static class Result {
+
+        /**
+         * 请求结果
+         */
+        private final transient String body;
+
+        /**
+         * 请求异常
+         */
+        private final transient WfHttpException exception;
+
+
+        /**
+         * 构造 {@link Result}
+         * @param body 请求结果
+         * @param exception 请求异常
+         */
+        private Result(final String body, final WfHttpException exception) {
+            this.body = body;
+            this.exception = exception;
+        }
+
+        /**
+         * 成功结果
+         * @param body 请求结果
+         * @return {@link Result}
+         */
+        static Result success(final String body) {
+            return new Result(body, null);
+        }
+
+        /**
+         * 失败结果
+         * @param exception 请求异常
+         * @return {@link Result}
+         */
+        static Result failure(final WfHttpException exception) {
+            return new Result(null, exception);
+        }
+
+
+        /**
+         * 请求是否成功
+         * @return {@code true} 请求成功<br>
+         *         {@code false} 请求失败
+         */
+        public boolean isSuccess() {
+            return exception == null;
+        }
+
+        /**
+         * 获取请求结果
+         * @return {@link String} 类型请求结果，请求失败时为 {@code null}
+         */
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * 获取请求异常
+         * @return {@link WfHttpException}，请求成功时为 {@code null}
+         */
+        public WfHttpException getException() {
+            return exception;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,496 @@
+package net.virgodirk.wildfire.util;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpMessage;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.message.BasicHttpResponse;
+
+/**
+ * HTTP响应缓存
+ *
+ * <p>用于 {@link WfHttpRequest#get()} 的内存缓存，按占用字节数限制容量，超出时淘汰最久未使用的条目；<br>
+ * 遵循响应头Cache-Control（no-store、no-cache、max-age）、Expires及Age，不可缓存的响应会移除已有的缓存条目；
+ * 作为共享缓存，不缓存 {@code private} 响应，带Authorization请求头的请求仅在响应包含
+ * {@code public}、{@code s-maxage} 或 {@code must-revalidate} 时缓存（RFC 7234 §3.2）；
+ * 过期后使用ETag（If-None-Match）及Last-Modified（If-Modified-Since）向服务端验证，
+ * 服务端返回304时直接使用缓存内容，并按304响应头更新后的响应头重新计算有效期（RFC 7234 §4.3.4）。线程安全，可被多个 {@link WfHttpRequest} 共享。</p>
+ *
+ * @author agent on 2026年10月18日 下午16:40:52
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfHttpCache {
+
+    /**
+     * 默认最大缓存字节数（16MB）
+     */
+    protected static final long MAX_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * 单个缓存条目的固定开销（字节，估算值）
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /**
+     * 决定有效期的响应头，304响应携带时替换缓存中的同名响应头
+     */
+    private static final String[] FRESHNESS_HEADERS = {"Cache-Control", "Expires", "Date"};
+
+
+    /**
+     * 最大缓存字节数
+     */
+    private final transient long maxBytes;
+
+    /**
+     * 缓存条目（按访问顺序排列）
+     */
+    private final transient LinkedHashMap<String, Entry> entries;
+
+    /**
+     * 当前缓存字节数
+     */
+    private transient long currentBytes;
+
+    /**
+     * 命中次数（缓存未过期，未发起网络请求）
+     */
+    private final transient AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * 未命中次数（发起网络请求并获取完整响应）
+     */
+    private final transient AtomicLong missCount = new AtomicLong();
+
+    /**
+     * 验证次数（缓存已过期，服务端返回304）
+     */
+    private final transient AtomicLong revalidationCount = new AtomicLong();
+
+    /**
+     * 淘汰次数
+     */
+    private final transient AtomicLong evictionCount = new AtomicLong();
+
+
+    /**
+     * 构造 {@link WfHttpCache}
+     * <p>最大缓存字节数：16MB</p>
+     */
+    public WfHttpCache() {
+        this(MAX_BYTES);
+    }
+
+    /**
+     * 构造 {@link WfHttpCache}
+     * @param maxBytes 最大缓存字节数
+     */
+    public WfHttpCache(final long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75F, true);
+    }
+
+
+    /**
+     * 获取命中次数（缓存未过期，未发起网络请求）
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * 获取未命中次数（发起网络请求并获取完整响应）
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * 获取验证次数（缓存已过期，服务端返回304）
+     * @return 验证次数
+     */
+    public long getRevalidationCount() {
+        return revalidationCount.get();
+    }
+
+    /**
+     * 获取淘汰次数
+     * @return 淘汰次数
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * 获取最大缓存字节数
+     * @return 最大缓存字节数
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 获取当前缓存字节数（估算值）
+     * @return 当前缓存字节数
+     */
+    public synchronized long getSize() {
+        return currentBytes;
+    }
+
+    /**
+     * 获取当前缓存条目数
+     * @return 当前缓存条目数
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+
+    /**
+     * 查找缓存条目
+     * @param key 缓存键（完整请求URL）
+     * @param request 当前请求，用于匹配Vary响应头
+     * @return 缓存条目，不存在或Vary不匹配时返回 {@code null}
+     */
+    synchronized Entry lookup(final String key, final HttpRequest request) {
+        final Entry entry = entries.get(key);
+        if (entry == null || !entry.matchesVary(request)) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 处理完整响应，可缓存时存入缓存，不可缓存时移除该键已有的缓存条目
+     * @param key 缓存键（完整请求URL）
+     * @param request 当前请求
+     * @param response 完整响应
+     * @param body 响应内容
+     */
+    void store(final String key, final HttpRequest request, final HttpResponse response, final String body) {
+        missCount.incrementAndGet();
+        if (response.getStatusLine().getStatusCode() != 200 || body == null) {
+            remove(key);
+            return;
+        }
+        final Entry entry = Entry.create(request, response, body, System.currentTimeMillis());
+        if (entry == null || entry.size > maxBytes) {
+            remove(key);
+            return;
+        }
+
+        synchronized (this) {
+            final Entry old = entries.put(key, entry);
+            if (old != null) {
+                currentBytes -= old.size;
+            }
+            currentBytes += entry.size;
+
+            // 淘汰最久未使用的条目
+            final Iterator<Entry> iterator = entries.values().iterator();
+            while (currentBytes > maxBytes && iterator.hasNext()) {
+                currentBytes -= iterator.next().size;
+                iterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 移除缓存条目
+     * @param key 缓存键（完整请求URL）
+     */
+    private synchronized void remove(final String key) {
+        final Entry old = entries.remove(key);
+        if (old != null) {
+            currentBytes -= old.size;
+        }
+    }
+
+    /**
+     * 记录命中
+     */
+    void hit() {
+        hitCount.incrementAndGet();
+    }
+
+    /**
+     * 处理304响应，更新缓存条目的有效期
+     * @param entry 缓存条目
+     * @param response 304响应
+     */
+    void revalidated(final Entry entry, final HttpResponse response) {
+        revalidationCount.incrementAndGet();
+        entry.refresh(response, System.currentTimeMillis());
+    }
+
+
+    /**
+     * 缓存条目
+     */
+    static class Entry {
+
+        /**
+         * 响应内容
+         */
+        private final transient String body;
+
+        /**
+         * 占用字节数（估算值）
+         */
+        private final transient long size;
+
+        /**
+         * Vary响应头指定的请求头及其值
+         */
+        private final transient Map<String, String> vary;
+
+        /**
+         * 决定有效期的响应头（Cache-Control、Expires、Date）
+         */
+        private final transient HttpMessage headers = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, null);
+
+        /**
+         * ETag
+         */
+        private transient volatile String etag;
+
+        /**
+         * Last-Modified
+         */
+        private transient volatile String lastModified;
+
+        /**
+         * 过期时间（毫秒）
+         */
+        private transient volatile long expiresAt;
+
+
+        /**
+         * 构造 {@link Entry}
+         * @param body 响应内容
+         * @param vary Vary响应头指定的请求头及其值
+         */
+        private Entry(final String body, final Map<String, String> vary) {
+            this.body = body;
+            this.vary = vary;
+            this.size = (long) body.length() * 2 + ENTRY_OVERHEAD;
+        }
+
+        /**
+         * 根据响应创建缓存条目
+         * @param request 当前请求
+         * @param response 完整响应
+         * @param body 响应内容
+         * @param now 当前时间（毫秒）
+         * @return 缓存条目，响应不可缓存时返回 {@code null}
+         */
+        static Entry create(final HttpRequest request, final HttpResponse response,
+                final String body, final long now) {
+            if (hasDirective(response, "no-store") || hasDirective(response, "private")) {
+                return null;
+            }
+
+            // 带认证信息的请求只缓存服务端明确允许共享的响应
+            if (request.containsHeader("Authorization") && !hasDirective(response, "public")
+                    && !hasDirective(response, "s-maxage") && !hasDirective(response, "must-revalidate")) {
+                return null;
+            }
+
+            // Vary
+            final Map<String, String> vary = new LinkedHashMap<>();
+            final BasicHeaderElementIterator varyIterator = new BasicHeaderElementIterator(
+                    response.headerIterator("Vary"));
+            while (varyIterator.hasNext()) {
+                final String name = varyIterator.nextElement().getName();
+                if ("*".equals(name)) {
+                    return null;
+                }
+                vary.put(name, headerValue(request, name));
+            }
+
+            final Entry entry = new Entry(body, vary);
+            entry.refresh(response, now);
+
+            // 既无有效期也无法验证的响应不缓存
+            if (entry.expiresAt <= now && entry.etag == null && entry.lastModified == null) {
+                return null;
+            }
+            return entry;
+        }
+
+        /**
+         * 获取响应内容
+         * @return 响应内容
+         */
+        String getBody() {
+            return body;
+        }
+
+        /**
+         * 缓存是否未过期
+         * @param now 当前时间（毫秒）
+         * @return {@code true} 未过期<br>
+         *         {@code false} 已过期
+         */
+        boolean isFresh(final long now) {
+            return now < expiresAt;
+        }
+
+        /**
+         * 给验证请求添加条件请求头
+         * @param request 验证请求
+         */
+        void addConditionalHeaders(final HttpRequest request) {
+            if (etag != null) {
+                request.setHeader("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                request.setHeader("If-Modified-Since", lastModified);
+            }
+        }
+
+        /**
+         * 根据响应头更新验证信息及过期时间
+         * <p>响应中的Cache-Control、Expires、Date替换已保存的同名响应头，未携带的保留原值，
+         * 因此不带缓存响应头的304响应沿用原有效期</p>
+         * @param response 响应
+         * @param now 当前时间（毫秒）
+         */
+        synchronized void refresh(final HttpResponse response, final long now) {
+            for (final String name : FRESHNESS_HEADERS) {
+                final Header[] values = response.getHeaders(name);
+                if (values.length > 0) {
+                    headers.removeHeaders(name);
+                    for (final Header value : values) {
+                        headers.addHeader(value);
+                    }
+                }
+            }
+
+            final Header etagHeader = response.getFirstHeader("ETag");
+            if (etagHeader != null) {
+                etag = etagHeader.getValue();
+            }
+            final Header lastModifiedHeader = response.getFirstHeader("Last-Modified");
+            if (lastModifiedHeader != null) {
+                lastModified = lastModifiedHeader.getValue();
+            }
+            expiresAt = now + Math.max(0, freshnessLifetime(headers) - currentAge(response));
+        }
+
+        /**
+         * Vary响应头指定的请求头是否与当前请求一致
+         * @param request 当前请求
+         * @return {@code true} 一致<br>
+         *         {@code false} 不一致
+         */
+        boolean matchesVary(final HttpRequest request) {
+            for (final Map.Entry<String, String> header : vary.entrySet()) {
+                if (!header.getValue().equals(headerValue(request, header.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+
+        /**
+         * 计算响应有效期
+         * @param response 响应头
+         * @return 有效期（毫秒），需每次验证时返回0
+         */
+        private static long freshnessLifetime(final HttpMessage response) {
+            if (hasDirective(response, "no-cache")) {
+                return 0;
+            }
+
+            // Cache-Control: max-age
+            final BasicHeaderElementIterator iterator = new BasicHeaderElementIterator(
+                    response.headerIterator("Cache-Control"));
+            while (iterator.hasNext()) {
+                final HeaderElement element = iterator.nextElement();
+                if ("max-age".equalsIgnoreCase(element.getName())) {
+                    return Math.max(0, WfConvert.str2Long(element.getValue(), 0) * 1000L);
+                }
+            }
+
+            // Expires，以服务端Date为基准，避免本机时钟偏差
+            final Header expiresHeader = response.getFirstHeader("Expires");
+            if (expiresHeader == null) {
+                return 0;
+            }
+            final Date expires = DateUtils.parseDate(expiresHeader.getValue());
+            if (expires == null) {
+                return 0;
+            }
+            final Header dateHeader = response.getFirstHeader("Date");
+            final Date date = dateHeader == null ? null : DateUtils.parseDate(dateHeader.getValue());
+            final long base = date == null ? System.currentTimeMillis() : date.getTime();
+            return Math.max(0, expires.getTime() - base);
+        }
+
+        /**
+         * 获取响应在中间缓存中已停留的时间
+         * @param response 响应
+         * @return 响应头Age指定的时间（毫秒），无Age响应头时返回0
+         */
+        private static long currentAge(final HttpResponse response) {
+            final Header ageHeader = response.getFirstHeader("Age");
+            if (ageHeader == null) {
+                return 0;
+            }
+            return Math.max(0, WfConvert.str2Long(ageHeader.getValue().trim(), 0) * 1000L);
+        }
+
+        /**
+         * 响应头Cache-Control是否包含指定指令
+         * @param response 响应
+         * @param directive 指令名称
+         * @return {@code true} 包含<br>
+         *         {@code false} 不包含
+         */
+        private static boolean hasDirective(final HttpMessage response, final String directive) {
+            final BasicHeaderElementIterator iterator = new BasicHeaderElementIterator(
+                    response.headerIterator("Cache-Control"));
+            while (iterator.hasNext()) {
+                if (directive.equalsIgnoreCase(iterator.nextElement().getName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 获取请求头的值
+         * @param request 请求
+         * @param name 请求头名称
+         * @return 请求头的值，不存在时返回空字符串 {@code ""}
+         */
+        private static String headerValue(final HttpRequest request, final String name) {
+            final Header header = request.getFirstHeader(name);
+            return header == null || header.getValue() == null ? "" : header.getValue();
+        }
+    }
+}
\ No newline at end of file
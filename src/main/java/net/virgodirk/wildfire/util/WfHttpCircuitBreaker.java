@@ -0,0 +1,534 @@
+package net.virgodirk.wildfire.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP熔断器
+ *
+ * <p>按主机分别统计最近若干次请求的失败率及慢请求率，超过阈值时熔断（OPEN），
+ * 熔断期间该主机的请求直接失败，不再占用线程等待超时；<br>
+ * 熔断时间结束后进入半开状态（HALF_OPEN），放行少量探测请求，全部成功则恢复（CLOSED），否则继续熔断；
+ * 被取消的探测请求归还名额，超过熔断时间仍无结果的探测请求视为丢失，重新放行探测请求。<br>
+ * 线程安全，可被多个 {@link WfHttpRequest} 共享。</p>
+ *
+ * @author agent on 2026年10月18日 下午19:35:17
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfHttpCircuitBreaker {
+
+    /**
+     * 默认统计窗口大小（最近请求数）
+     */
+    protected static final int WINDOW_SIZE = 20;
+
+    /**
+     * 默认最少请求数，窗口内请求数少于该值时不熔断
+     */
+    protected static final int MINIMUM_CALLS = 10;
+
+    /**
+     * 默认失败率阈值（百分比）
+     */
+    protected static final int FAILURE_RATE_THRESHOLD = 50;
+
+    /**
+     * 默认慢请求率阈值（百分比）
+     */
+    protected static final int SLOW_CALL_RATE_THRESHOLD = 80;
+
+    /**
+     * 默认慢请求耗时（毫秒）
+     */
+    protected static final long SLOW_CALL_DURATION = 5000L;
+
+    /**
+     * 默认熔断时间（毫秒）
+     */
+    protected static final long OPEN_DURATION = 30000L;
+
+    /**
+     * 默认半开状态探测请求数
+     */
+    protected static final int HALF_OPEN_CALLS = 3;
+
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        /**
+         * 正常
+         */
+        CLOSED,
+        /**
+         * 熔断
+         */
+        OPEN,
+        /**
+         * 半开（探测中）
+         */
+        HALF_OPEN
+    }
+
+
+    /**
+     * 统计窗口大小（最近请求数）
+     */
+    private final transient int windowSize;
+
+    /**
+     * 最少请求数
+     */
+    private final transient int minimumCalls;
+
+    /**
+     * 失败率阈值（百分比）
+     */
+    private final transient int failureRateThreshold;
+
+    /**
+     * 慢请求率阈值（百分比）
+     */
+    private final transient int slowCallRateThreshold;
+
+    /**
+     * 慢请求耗时（纳秒）
+     */
+    private final transient long slowCallNanos;
+
+    /**
+     * 熔断时间（纳秒）
+     */
+    private final transient long openNanos;
+
+    /**
+     * 半开状态探测请求数
+     */
+    private final transient int halfOpenCalls;
+
+    /**
+     * 各主机熔断状态
+     */
+    private final transient ConcurrentHashMap<String, HostBreaker> hosts = new ConcurrentHashMap<>();
+
+
+    /**
+     * {@link WfHttpCircuitBreaker} 构建器
+     * @return {@link WfHttpCircuitBreakerBuilder}
+     */
+    public static WfHttpCircuitBreakerBuilder builder() {
+        return new WfHttpCircuitBreakerBuilder();
+    }
+
+
+    /**
+     * 获取主机熔断状态
+     * @param host 主机（含端口），如：www.example.com:8080
+     * @return {@link State}
+     */
+    public State getState(final String host) {
+        final HostBreaker breaker = hosts.get(host);
+        return breaker == null ? State.CLOSED : breaker.getState();
+    }
+
+    /**
+     * 重置所有主机的熔断状态
+     */
+    public void reset() {
+        hosts.clear();
+    }
+
+
+    /**
+     * 申请请求许可
+     * @param host 主机
+     * @return {@code true} 允许请求<br>
+     *         {@code false} 已熔断，请求应直接失败
+     */
+    boolean tryAcquire(final String host) {
+        return hosts.computeIfAbsent(host, key -> new HostBreaker()).tryAcquire();
+    }
+
+    /**
+     * 记录请求结果
+     * @param host 主机
+     * @param success 请求是否成功
+     * @param nanos 请求耗时（纳秒）
+     */
+    void record(final String host, final boolean success, final long nanos) {
+        final HostBreaker breaker = hosts.get(host);
+        if (breaker != null) {
+            breaker.record(success, nanos >= slowCallNanos);
+        }
+    }
+
+
+    /**
+     * 归还请求许可，用于请求被取消等没有结果的情况
+     * @param host 主机
+     */
+    void release(final String host) {
+        final HostBreaker breaker = hosts.get(host);
+        if (breaker != null) {
+            breaker.release();
+        }
+    }
+
+
+    /**
+     * 构造 {@link WfHttpCircuitBreaker}
+     * @param builder {@link WfHttpCircuitBreakerBuilder}
+     */
+    protected WfHttpCircuitBreaker(final WfHttpCircuitBreakerBuilder builder) {
+        this.windowSize = builder.windowSize;
+        this.minimumCalls = Math.min(builder.minimumCalls, builder.windowSize);
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallNanos = builder.slowCallDuration * 1000000L;
+        this.openNanos = builder.openDuration * 1000000L;
+        this.halfOpenCalls = builder.halfOpenCalls;
+    }
+
+
+    /**
+     * 单个主机的熔断器
+     */
+    private class HostBreaker {
+
+        /**
+         * 请求结果：成功
+         */
+        private static final byte SUCCESS = 0;
+
+        /**
+         * 请求结果：失败
+         */
+        private static final byte FAILURE = 1;
+
+        /**
+         * 请求结果：成功但超过慢请求耗时
+         */
+        private static final byte SLOW = 2;
+
+        /**
+         * 最近请求结果（环形缓冲区）
+         */
+        private final transient byte[] window = new byte[windowSize];
+
+        /**
+         * 当前状态
+         */
+        private transient volatile State state = State.CLOSED;
+
+        /**
+         * 窗口内请求数
+         */
+        private transient int calls;
+
+        /**
+         * 窗口下一个写入位置
+         */
+        private transient int position;
+
+        /**
+         * 窗口内失败数
+         */
+        private transient int failures;
+
+        /**
+         * 窗口内慢请求数
+         */
+        private transient int slowCalls;
+
+        /**
+         * 熔断开始时间（纳秒）
+         */
+        private transient long openedAt;
+
+        /**
+         * 半开状态开始时间（纳秒）
+         */
+        private transient long halfOpenedAt;
+
+        /**
+         * 半开状态已放行的探测请求数
+         */
+        private transient int probesStarted;
+
+        /**
+         * 半开状态已成功的探测请求数
+         */
+        private transient int probesSucceeded;
+
+
+        /**
+         * 获取当前状态
+         * @return {@link State}
+         */
+        State getState() {
+            return state;
+        }
+
+        /**
+         * 申请请求许可
+         * @return {@code true} 允许请求<br>
+         *         {@code false} 已熔断
+         */
+        synchronized boolean tryAcquire() {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                halfOpen();
+            }
+            if (probesStarted >= halfOpenCalls) {
+                // 探测请求超过熔断时间仍无结果，重新开始探测
+                if (System.nanoTime() - halfOpenedAt < openNanos) {
+                    return false;
+                }
+                halfOpen();
+            }
+            probesStarted++;
+            return true;
+        }
+
+        /**
+         * 记录请求结果
+         * @param success 请求是否成功
+         * @param slow 请求是否超过慢请求耗时
+         */
+        synchronized void record(final boolean success, final boolean slow) {
+            if (state == State.OPEN) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (!success || slow) {
+                    open();
+                } else if (++probesSucceeded >= halfOpenCalls) {
+                    close();
+                }
+                return;
+            }
+
+            // 替换窗口中最旧的结果
+            if (calls == windowSize) {
+                remove(window[position]);
+            } else {
+                calls++;
+            }
+            final byte outcome = !success ? FAILURE : (slow ? SLOW : SUCCESS);
+            window[position] = outcome;
+            position = (position + 1) % windowSize;
+            if (outcome == FAILURE) {
+                failures++;
+            } else if (outcome == SLOW) {
+                slowCalls++;
+            }
+
+            if (calls >= minimumCalls && (failures * 100 >= failureRateThreshold * calls
+                    || slowCalls * 100 >= slowCallRateThreshold * calls)) {
+                open();
+            }
+        }
+
+        /**
+         * 归还半开状态的探测名额
+         */
+        synchronized void release() {
+            if (state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+                probesStarted--;
+            }
+        }
+
+        /**
+         * 从统计中移除一个结果
+         * @param outcome 请求结果
+         */
+        private void remove(final byte outcome) {
+            if (outcome == FAILURE) {
+                failures--;
+            } else if (outcome == SLOW) {
+                slowCalls--;
+            }
+        }
+
+        /**
+         * 进入熔断状态
+         */
+        private void open() {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+
+        /**
+         * 进入半开状态，重新放行探测请求
+         */
+        private void halfOpen() {
+            state = State.HALF_OPEN;
+            halfOpenedAt = System.nanoTime();
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+
+        /**
+         * 恢复正常状态，清空统计
+         */
+        private void close() {
+            state = State.CLOSED;
+            calls = 0;
+            position = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+
+
+    /**
+     * {@link WfHttpCircuitBreaker} 构建器
+     *
+     * @author agent on 2026年10月18日 下午19:35:17
+     * @version Version 3.0
+     */
+    public static class WfHttpCircuitBreakerBuilder {
+
+        /**
+         * 统计窗口大小（最近请求数）
+         */
+        private transient int windowSize;
+
+        /**
+         * 最少请求数
+         */
+        private transient int minimumCalls;
+
+        /**
+         * 失败率阈值（百分比）
+         */
+        private transient int failureRateThreshold;
+
+        /**
+         * 慢请求率阈值（百分比）
+         */
+        private transient int slowCallRateThreshold;
+
+        /**
+         * 慢请求耗时（毫秒）
+         */
+        private transient long slowCallDuration;
+
+        /**
+         * 熔断时间（毫秒）
+         */
+        private transient long openDuration;
+
+        /**
+         * 半开状态探测请求数
+         */
+        private transient int halfOpenCalls;
+
+
+        /**
+         * 构造 {@link WfHttpCircuitBreakerBuilder}
+         */
+        public WfHttpCircuitBreakerBuilder() {
+            windowSize = WINDOW_SIZE;
+            minimumCalls = MINIMUM_CALLS;
+            failureRateThreshold = FAILURE_RATE_THRESHOLD;
+            slowCallRateThreshold = SLOW_CALL_RATE_THRESHOLD;
+            slowCallDuration = SLOW_CALL_DURATION;
+            openDuration = OPEN_DURATION;
+            halfOpenCalls = HALF_OPEN_CALLS;
+        }
+
+
+        /**
+         * 设置统计窗口大小（最近请求数）
+         * <p>默认值：20</p>
+         * @param windowSize 统计窗口大小
+         * @return {@link WfHttpCircuitBreakerBuilder}
+         */
+        public WfHttpCircuitBreakerBuilder setWindowSize(final int windowSize) {
+            this.windowSize = Math.max(1, windowSize);
+            return this;
+        }
+
+        /**
+         * 设置最少请求数，窗口内请求数少于该值时不熔断
+         * <p>默认值：10</p>
+         * @param minimumCalls 最少请求数
+         * @return {@link WfHttpCircuitBreakerBuilder}
+         */
+        public WfHttpCircuitBreakerBuilder setMinimumCalls(final int minimumCalls) {
+            this.minimumCalls = Math.max(1, minimumCalls);
+            return this;
+        }
+
+        /**
+         * 设置失败率阈值（百分比）
+         * <p>默认值：50</p>
+         * @param failureRateThreshold 失败率阈值，1~100
+         * @return {@link WfHttpCircuitBreakerBuilder}
+         */
+        public WfHttpCircuitBreakerBuilder setFailureRateThreshold(final int failureRateThreshold) {
+            this.failureRateThreshold = Math.max(1, Math.min(100, failureRateThreshold));
+            return this;
+        }
+
+        /**
+         * 设置慢请求率阈值（百分比）
+         * <p>默认值：80</p>
+         * @param slowCallRateThreshold 慢请求率阈值，1~100
+         * @return {@link WfHttpCircuitBreakerBuilder}
+         */
+        public WfHttpCircuitBreakerBuilder setSlowCallRateThreshold(final int slowCallRateThreshold) {
+            this.slowCallRateThreshold = Math.max(1, Math.min(100, slowCallRateThreshold));
+            return this;
+        }
+
+        /**
+         * 设置慢请求耗时（毫秒）
+         * <p>默认值：5000毫秒</p>
+         * @param slowCallDuration 慢请求耗时（毫秒）
+         * @return {@link WfHttpCircuitBreakerBuilder}
+         */
+        public WfHttpCircuitBreakerBuilder setSlowCallDuration(final long slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+            return this;
+        }
+
+        /**
+         * 设置熔断时间（毫秒）
+         * <p>默认值：30000毫秒</p>
+         * @param openDuration 熔断时间（毫秒）
+         * @return {@link WfHttpCircuitBreakerBuilder}
+         */
+        public WfHttpCircuitBreakerBuilder setOpenDuration(final long openDuration) {
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * 设置半开状态探测请求数
+         * <p>默认值：3</p>
+         * @param halfOpenCalls 半开状态探测请求数
+         * @return {@link WfHttpCircuitBreakerBuilder}
+         */
+        public WfHttpCircuitBreakerBuilder setHalfOpenCalls(final int halfOpenCalls) {
+            this.halfOpenCalls = Math.max(1, halfOpenCalls);
+            return this;
+        }
+
+
+        /**
+         * 构建 {@link WfHttpCircuitBreaker}
+         * @return {@link WfHttpCircuitBreaker}
+         */
+        public WfHttpCircuitBreaker build() {
+            return new WfHttpCircuitBreaker(this);
+        }
+    }
+}
\ No newline at end of file
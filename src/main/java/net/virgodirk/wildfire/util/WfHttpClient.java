@@ -0,0 +1,614 @@
+package net.virgodirk.wildfire.util;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+/**
+ * HTTP客户端引擎
+ *
+ * <p>长连接复用的HTTP客户端，内部使用连接池 {@link PoolingHttpClientConnectionManager}，
+ * 可被多个 {@link WfHttpRequest} 共享，线程安全；是 {@link WfHttpTransport} 的默认实现。<br>
+ * 默认引擎通过 {@link #getDefault()} 获取，JVM退出时自动关闭。<br>
+ * 默认发送 {@code Accept-Encoding: gzip,deflate}，gzip/deflate响应在读取时流式解压；
+ * 默认开启指标统计：获取连接、建立连接、首字节耗时记录到 {@link WfHttpMetrics}，连接池以引擎名称注册。<br>
+ * 关闭了HttpClient自带的IO异常自动重试，需要重试时使用 {@link WfHttpRetry}。</p>
+ *
+ * @author agent on 2026年10月18日 上午10:12:36
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfHttpClient implements WfHttpTransport {
+
+    /**
+     * 默认连接池最大连接数
+     */
+    protected static final int MAX_TOTAL = 200;
+
+    /**
+     * 默认每个路由（主机）最大连接数
+     */
+    protected static final int MAX_PER_ROUTE = 50;
+
+    /**
+     * 默认空闲连接回收时间（毫秒）
+     */
+    protected static final long IDLE_TIMEOUT = 30000L;
+
+    /**
+     * 默认长连接保持时间（毫秒），服务端未返回Keep-Alive时使用
+     */
+    protected static final long KEEP_ALIVE = 30000L;
+
+    /**
+     * 默认连接复用前的校验间隔（毫秒）
+     */
+    protected static final int VALIDATE_AFTER_INACTIVITY = 2000;
+
+    /**
+     * 请求上下文属性：请求开始发送的时间（纳秒）
+     */
+    static final String REQUEST_SENT_AT = "wildfire.http.request-sent-at";
+
+    /**
+     * 请求上下文属性：收到响应头的时间（纳秒）
+     */
+    static final String RESPONSE_RECEIVED_AT = "wildfire.http.response-received-at";
+
+    /**
+     * 引擎序号，用于生成默认引擎名称
+     */
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+
+    /**
+     * 默认引擎
+     */
+    private static volatile WfHttpClient defaultClient;
+
+    /**
+     * JVM是否正在关闭，关闭后不再创建默认引擎
+     */
+    private static volatile boolean shutdown;
+
+    /**
+     * 默认引擎的JVM关闭钩子是否已注册
+     */
+    private static boolean hookRegistered;
+
+    /**
+     * 连接池
+     */
+    private final transient PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * HTTP客户端
+     */
+    private final transient CloseableHttpClient httpClient;
+
+    /**
+     * 引擎名称
+     */
+    private final transient String name;
+
+    /**
+     * 是否开启指标统计
+     */
+    private final transient boolean metricsEnabled;
+
+    /**
+     * 注册到 {@link WfHttpMetrics} 的连接池统计
+     */
+    private final transient Supplier<PoolStats> poolStats;
+
+    /**
+     * 是否已关闭
+     */
+    private transient volatile boolean closed;
+
+
+    /**
+     * 获取默认引擎
+     * <p>首次调用时创建，并注册JVM关闭钩子（只注册一次，关闭钩子关闭当时的默认引擎）；<br>
+     * 默认引擎被手动关闭后，再次调用时重新创建</p>
+     * @return 默认 {@link WfHttpClient}
+     * @throws IllegalStateException JVM正在关闭时抛出
+     */
+    public static WfHttpClient getDefault() {
+        WfHttpClient client = defaultClient;
+        if (client == null || client.isClosed()) {
+            synchronized (WfHttpClient.class) {
+                if (shutdown) {
+                    throw new IllegalStateException("JVM正在关闭，默认引擎已关闭");
+                }
+                client = defaultClient;
+                if (client == null || client.isClosed()) {
+                    client = builder().setName("default").build();
+                    defaultClient = client;
+                    if (!hookRegistered) {
+                        Runtime.getRuntime().addShutdownHook(
+                                new Thread(WfHttpClient::closeDefault, "WfHttpClient-shutdown"));
+                        hookRegistered = true;
+                    }
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * {@link WfHttpClient} 构建器
+     * @return {@link WfHttpClientBuilder}
+     */
+    public static WfHttpClientBuilder builder() {
+        return new WfHttpClientBuilder();
+    }
+
+
+    /**
+     * 获取HTTP客户端
+     * @return {@link CloseableHttpClient}
+     */
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * 获取连接池
+     * @return {@link PoolingHttpClientConnectionManager}
+     */
+    public PoolingHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * 获取引擎名称
+     * @return 引擎名称
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 是否开启指标统计
+     * @return {@code true} 开启<br>
+     *         {@code false} 未开启
+     */
+    @Override
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * 发送请求
+     * <p>调用方必须关闭返回的响应以释放连接</p>
+     * @param request {@link HttpUriRequest}
+     * @param context 请求上下文
+     * @return {@link CloseableHttpResponse}
+     * @throws IOException 网络异常时抛出
+     */
+    @Override
+    public CloseableHttpResponse execute(final HttpUriRequest request, final HttpClientContext context)
+            throws IOException {
+        return httpClient.execute(request, context);
+    }
+
+    /**
+     * 发送请求，由 {@code handler} 处理响应
+     * <p>处理完成后自动释放连接</p>
+     * @param request {@link HttpUriRequest}
+     * @param handler 响应处理器 {@link ResponseHandler}
+     * @param context 请求上下文
+     * @param <T> 处理结果类型
+     * @return 处理结果
+     * @throws IOException 网络异常或 {@code handler} 抛出异常时抛出
+     */
+    @Override
+    public <T> T execute(final HttpUriRequest request, final ResponseHandler<? extends T> handler,
+            final HttpClientContext context) throws IOException {
+        return httpClient.execute(request, handler, context);
+    }
+
+    /**
+     * 是否已关闭
+     * @return {@code true} 已关闭<br>
+     *         {@code false} 未关闭
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 注册JVM关闭钩子，JVM退出时关闭引擎
+     * @return {@link WfHttpClient}
+     */
+    public WfHttpClient registerShutdownHook() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "WfHttpClient-shutdown"));
+        return this;
+    }
+
+    /**
+     * JVM关闭时关闭默认引擎，此后 {@link #getDefault()} 不再创建新的默认引擎
+     */
+    private static void closeDefault() {
+        final WfHttpClient client;
+        synchronized (WfHttpClient.class) {
+            shutdown = true;
+            client = defaultClient;
+        }
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    /**
+     * 关闭引擎，释放连接池中的所有连接
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (poolStats != null) {
+            WfHttpMetrics.unregisterPool(name, poolStats);
+        }
+        try {
+            httpClient.close();
+        } catch (IOException excpt) {
+            excpt.printStackTrace();
+        } finally {
+            connectionManager.shutdown();
+        }
+    }
+
+
+    /**
+     * 构造 {@link WfHttpClient}
+     * @param builder {@link WfHttpClientBuilder}
+     */
+    protected WfHttpClient(final WfHttpClientBuilder builder) {
+        name = builder.name == null ? "WfHttpClient-" + SEQUENCE.incrementAndGet() : builder.name;
+        metricsEnabled = builder.metricsEnabled;
+
+        final Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSLConnectionSocketFactory.getSocketFactory())
+                .build();
+        connectionManager = metricsEnabled 
+                ? new MeteredConnectionManager(registry, builder.dnsResolver)
+                : new PoolingHttpClientConnectionManager(registry, builder.dnsResolver);
+        connectionManager.setMaxTotal(builder.maxTotal);
+        connectionManager.setDefaultMaxPerRoute(builder.maxPerRoute);
+        connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY);
+
+        final HttpClientBuilder clientBuilder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(new KeepAliveStrategy(builder.keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(builder.idleTimeout, TimeUnit.MILLISECONDS)
+                // 重试统一由 WfHttpRetry 处理，避免每次尝试内部再重试，熔断器及限流器只看到其中一次
+                .disableAutomaticRetries();
+        if (!builder.contentCompression) {
+            clientBuilder.disableContentCompression();
+        }
+        if (metricsEnabled) {
+            clientBuilder.setRequestExecutor(new MeteredRequestExecutor());
+            poolStats = connectionManager::getTotalStats;
+            WfHttpMetrics.registerPool(name, poolStats);
+        } else {
+            poolStats = null;
+        }
+        httpClient = clientBuilder.build();
+    }
+
+
+    /**
+     * 记录获取连接及建立连接耗时的连接池
+     */
+    static class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+        /**
+         * 构造 {@link MeteredConnectionManager}
+         * @param registry 连接工厂注册表
+         * @param dnsResolver DNS解析器，{@code null} 表示使用JVM解析器
+         */
+        MeteredConnectionManager(final Registry<ConnectionSocketFactory> registry, final DnsResolver dnsResolver) {
+            super(registry, dnsResolver);
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+            final ConnectionRequest request = super.requestConnection(route, state);
+            return new ConnectionRequest() {
+
+                @Override
+                public HttpClientConnection get(final long timeout, final TimeUnit timeUnit) 
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    final long start = System.nanoTime();
+                    final HttpClientConnection connection = request.get(timeout, timeUnit);
+                    WfHttpMetrics.recordPhase(WfHttpMetrics.hostKey(route.getTargetHost()), 
+                            WfHttpMetrics.Phase.LEASE, System.nanoTime() - start);
+                    return connection;
+                }
+
+                @Override
+                public boolean cancel() {
+                    return request.cancel();
+                }
+            };
+        }
+
+        @Override
+        public void connect(final HttpClientConnection connection, final HttpRoute route, 
+                final int connectTimeout, final HttpContext context) throws IOException {
+            final long start = System.nanoTime();
+            super.connect(connection, route, connectTimeout, context);
+            WfHttpMetrics.recordPhase(WfHttpMetrics.hostKey(route.getTargetHost()), 
+                    WfHttpMetrics.Phase.CONNECT, System.nanoTime() - start);
+        }
+    }
+
+
+    /**
+     * 记录首字节耗时（发送请求至收到响应头）的请求执行器
+     * <p>收到响应头的时间保存在请求上下文的 {@link #RESPONSE_RECEIVED_AT} 属性中，用于计算读取响应体耗时</p>
+     */
+    static class MeteredRequestExecutor extends HttpRequestExecutor {
+
+        @Override
+        protected HttpResponse doSendRequest(final HttpRequest request, final HttpClientConnection connection, 
+                final HttpContext context) throws IOException, HttpException {
+            context.setAttribute(REQUEST_SENT_AT, System.nanoTime());
+            return super.doSendRequest(request, connection, context);
+        }
+
+        @Override
+        protected HttpResponse doReceiveResponse(final HttpRequest request, final HttpClientConnection connection,
+                final HttpContext context) throws HttpException, IOException {
+            final HttpResponse response = super.doReceiveResponse(request, connection, context);
+            final long now = System.nanoTime();
+            final Object sentAt = context.getAttribute(REQUEST_SENT_AT);
+            final HttpHost target = HttpCoreContext.adapt(context).getTargetHost();
+            if (sentAt instanceof Long && target != null) {
+                WfHttpMetrics.recordPhase(WfHttpMetrics.hostKey(target), 
+                        WfHttpMetrics.Phase.TTFB, now - (Long) sentAt);
+            }
+            context.setAttribute(RESPONSE_RECEIVED_AT, now);
+            return response;
+        }
+    }
+
+
+    /**
+     * 长连接保持策略
+     * <p>优先使用服务端Keep-Alive响应头中的timeout，且不超过配置的最大保持时间</p>
+     */
+    static class KeepAliveStrategy implements ConnectionKeepAliveStrategy {
+
+        /**
+         * 最大保持时间（毫秒）
+         */
+        private final transient long maxKeepAlive;
+
+        /**
+         * 构造 {@link KeepAliveStrategy}
+         * @param maxKeepAlive 最大保持时间（毫秒）
+         */
+        KeepAliveStrategy(final long maxKeepAlive) {
+            this.maxKeepAlive = maxKeepAlive;
+        }
+
+        @Override
+        public long getKeepAliveDuration(final HttpResponse response, final HttpContext context) {
+            final HeaderElementIterator iterator = new BasicHeaderElementIterator(
+                    response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (iterator.hasNext()) {
+                final HeaderElement element = iterator.nextElement();
+                if (element.getValue() != null && "timeout".equalsIgnoreCase(element.getName())) {
+                    final long timeout = WfConvert.str2Long(element.getValue(), -1L) * 1000L;
+                    if (timeout >= 0) {
+                        return Math.min(timeout, maxKeepAlive);
+                    }
+                }
+            }
+            return maxKeepAlive;
+        }
+    }
+
+
+    /**
+     * {@link WfHttpClient} 构建器
+     *
+     * @author agent on 2026年10月18日 上午10:12:36
+     * @version Version 3.0
+     */
+    public static class WfHttpClientBuilder {
+
+        /**
+         * 连接池最大连接数
+         */
+        private transient int maxTotal;
+
+        /**
+         * 每个路由（主机）最大连接数
+         */
+        private transient int maxPerRoute;
+
+        /**
+         * 空闲连接回收时间（毫秒）
+         */
+        private transient long idleTimeout;
+
+        /**
+         * 长连接最大保持时间（毫秒）
+         */
+        private transient long keepAlive;
+
+        /**
+         * 引擎名称
+         */
+        private transient String name;
+
+        /**
+         * 是否开启指标统计
+         */
+        private transient boolean metricsEnabled;
+
+        /**
+         * 是否协商响应压缩
+         */
+        private transient boolean contentCompression;
+
+        /**
+         * DNS解析器
+         */
+        private transient DnsResolver dnsResolver;
+
+
+        /**
+         * 构造 {@link WfHttpClientBuilder}
+         */
+        public WfHttpClientBuilder() {
+            maxTotal = MAX_TOTAL;
+            maxPerRoute = MAX_PER_ROUTE;
+            idleTimeout = IDLE_TIMEOUT;
+            keepAlive = KEEP_ALIVE;
+            metricsEnabled = true;
+            contentCompression = true;
+        }
+
+
+        /**
+         * 设置连接池最大连接数
+         * <p>默认值：200</p>
+         * @param maxTotal 最大连接数
+         * @return {@link WfHttpClientBuilder}
+         */
+        public WfHttpClientBuilder setMaxTotal(final int maxTotal) {
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * 设置每个路由（主机）最大连接数
+         * <p>默认值：50</p>
+         * @param maxPerRoute 每个路由最大连接数
+         * @return {@link WfHttpClientBuilder}
+         */
+        public WfHttpClientBuilder setMaxPerRoute(final int maxPerRoute) {
+            this.maxPerRoute = maxPerRoute;
+            return this;
+        }
+
+        /**
+         * 设置空闲连接回收时间（毫秒）
+         * <p>默认值：30000毫秒</p>
+         * @param idleTimeout 空闲连接回收时间（毫秒）
+         * @return {@link WfHttpClientBuilder}
+         */
+        public WfHttpClientBuilder setIdleTimeout(final long idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * 设置长连接最大保持时间（毫秒）
+         * <p>默认值：30000毫秒</p>
+         * @param keepAlive 长连接最大保持时间（毫秒）
+         * @return {@link WfHttpClientBuilder}
+         */
+        public WfHttpClientBuilder setKeepAlive(final long keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * 设置引擎名称，作为连接池指标的名称
+         * <p>默认值：WfHttpClient-序号，默认引擎为 default</p>
+         * @param name 引擎名称
+         * @return {@link WfHttpClientBuilder}
+         */
+        public WfHttpClientBuilder setName(final String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * 设置是否开启指标统计
+         * <p>默认值：{@code true}</p>
+         * @param metricsEnabled 是否开启指标统计
+         * @return {@link WfHttpClientBuilder}
+         */
+        public WfHttpClientBuilder setMetricsEnabled(final boolean metricsEnabled) {
+            this.metricsEnabled = metricsEnabled;
+            return this;
+        }
+
+        /**
+         * 设置是否协商响应压缩
+         * <p>默认值：{@code true}，发送 {@code Accept-Encoding: gzip,deflate}，并在读取响应时流式解压</p>
+         * @param contentCompression 是否协商响应压缩
+         * @return {@link WfHttpClientBuilder}
+         */
+        public WfHttpClientBuilder setContentCompression(final boolean contentCompression) {
+            this.contentCompression = contentCompression;
+            return this;
+        }
+
+        /**
+         * 设置DNS解析器
+         * <p>默认值：{@code null}，使用JVM解析器；可使用 {@link WfHttpDnsResolver} 缓存解析结果并后台刷新</p>
+         * @param dnsResolver {@link DnsResolver}
+         * @return {@link WfHttpClientBuilder}
+         */
+        public WfHttpClientBuilder setDnsResolver(final DnsResolver dnsResolver) {
+            this.dnsResolver = dnsResolver;
+            return this;
+        }
+
+
+        /**
+         * 构建 {@link WfHttpClient}
+         * @return {@link WfHttpClient}
+         */
+        public WfHttpClient build() {
+            return new WfHttpClient(this);
+        }
+    }
+}
\ No newline at end of file
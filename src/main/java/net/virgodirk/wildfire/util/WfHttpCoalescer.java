@@ -0,0 +1,145 @@
+package net.virgodirk.wildfire.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.virgodirk.wildfire.util.exception.WfHttpException;
+
+/**
+ * HTTP请求合并
+ *
+ * <p>相同键的并发请求只发起一次网络请求，其余线程等待并共享该请求的结果（或异常）；<br>
+ * 等待时间不超过请求的超时时间，请求完成后立即移除，不缓存结果。</p>
+ *
+ * @author agent on 2026年10月18日 下午17:26:03
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public final class WfHttpCoalescer {
+
+    /**
+     * 进行中的请求
+     */
+    private static final ConcurrentHashMap<String, CompletableFuture<String>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    /**
+     * 发起网络请求的次数
+     */
+    private static final AtomicLong EXECUTED_COUNT = new AtomicLong();
+
+    /**
+     * 被合并（共享其他线程结果）的请求次数
+     */
+    private static final AtomicLong COALESCED_COUNT = new AtomicLong();
+
+
+    /**
+     * 获取发起网络请求的次数
+     * @return 发起网络请求的次数
+     */
+    public static long getExecutedCount() {
+        return EXECUTED_COUNT.get();
+    }
+
+    /**
+     * 获取被合并（共享其他线程结果）的请求次数
+     * @return 被合并的请求次数
+     */
+    public static long getCoalescedCount() {
+        return COALESCED_COUNT.get();
+    }
+
+    /**
+     * 获取进行中的请求数
+     * @return 进行中的请求数
+     */
+    public static int getInFlightCount() {
+        return IN_FLIGHT.size();
+    }
+
+
+    /**
+     * 执行请求，相同键的并发请求共享同一结果
+     * @param key 请求键
+     * @param timeout 等待进行中请求的最长时间（毫秒）
+     * @param call 实际请求
+     * @return {@link String} 类型请求结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    static String execute(final String key, final long timeout, final Call call) throws WfHttpException {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        final CompletableFuture<String> inFlight = IN_FLIGHT.putIfAbsent(key, future);
+        if (inFlight != null) {
+            COALESCED_COUNT.incrementAndGet();
+            return await(inFlight, timeout);
+        }
+
+        EXECUTED_COUNT.incrementAndGet();
+        try {
+            final String result = call.call();
+            future.complete(result);
+            return result;
+        } catch (Throwable excpt) {
+            // 包括 Error 在内的任何异常都须通知等待的线程
+            future.completeExceptionally(excpt);
+            throw excpt;
+        } finally {
+            IN_FLIGHT.remove(key, future);
+        }
+    }
+
+    /**
+     * 等待进行中的请求完成
+     * @param inFlight 进行中的请求
+     * @param timeout 最长等待时间（毫秒）
+     * @return {@link String} 类型请求结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    private static String await(final CompletableFuture<String> inFlight, final long timeout) throws WfHttpException {
+        try {
+            return inFlight.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException excpt) {
+            Thread.currentThread().interrupt();
+            throw new WfHttpException("网络请求被中断", excpt);
+        } catch (TimeoutException excpt) {
+            throw new WfHttpException("网络请求超时，请稍候重试", excpt);
+        } catch (ExecutionException excpt) {
+            final Throwable cause = excpt.getCause();
+            if (cause instanceof WfHttpException) {
+                throw (WfHttpException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new WfHttpException("网络请求失败，请稍候重试", cause);
+        }
+    }
+
+    /**
+     * 禁止实例化
+     */
+    private WfHttpCoalescer() {
+    }
+
+
+    /**
+     * 实际请求
+     */
+    @FunctionalInterface
+    interface Call {
+
+        /**
+         * 执行请求
+         * @return {@link String} 类型请求结果
+         * @throws WfHttpException {@link WfHttpException}
+         */
+        String call() throws WfHttpException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,502 @@
+package net.virgodirk.wildfire.util;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+
+/**
+ * 带缓存的DNS解析器
+ *
+ * <p>解析结果按主机缓存，有效期内直接返回，不阻塞建立连接的线程；<br>
+ * 临近过期（刷新提前量内）时由后台线程异步刷新，刷新期间及刷新失败时继续使用原结果；<br>
+ * 已过期时同步解析，解析失败且过期不超过最长过期服务时间时返回过期结果（stale-on-error）；<br>
+ * 后台刷新或同步解析失败后，该主机 {@value #RETRY_INTERVAL} 毫秒内不再重新解析，DNS故障期间不会反复占用刷新线程；<br>
+ * 缓存的主机数超过上限时，先移除过期结果已不可用的主机，仍超出时移除最早过期的主机。<br>
+ * 主机有多个地址时每次解析轮换地址顺序（round-robin），连接失败时HttpClient依次尝试后续地址。<br>
+ * 通过 {@link WfHttpClient.WfHttpClientBuilder#setDnsResolver(DnsResolver)} 及
+ * {@link WfHttpAsyncClient.WfHttpAsyncClientBuilder#setDnsResolver(DnsResolver)} 使用，线程安全。</p>
+ *
+ * @author agent on 2026年10月18日 下午23:02:44
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfHttpDnsResolver implements DnsResolver {
+
+    /**
+     * 默认缓存有效期（毫秒）
+     */
+    protected static final long TTL = 60000L;
+
+    /**
+     * 默认刷新提前量（毫秒），缓存剩余有效期小于该值时后台刷新
+     */
+    protected static final long REFRESH_AHEAD = 10000L;
+
+    /**
+     * 默认最长过期服务时间（毫秒），解析失败时过期不超过该时间的结果仍可使用
+     */
+    protected static final long MAX_STALE = 300000L;
+
+    /**
+     * 默认缓存的最大主机数
+     */
+    protected static final int MAX_SIZE = 1024;
+
+    /**
+     * 解析失败后重新解析的最小间隔（毫秒）
+     */
+    private static final long RETRY_INTERVAL = 1000L;
+
+    /**
+     * 解析失败后重新解析的最小间隔（纳秒）
+     */
+    private static final long RETRY_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(RETRY_INTERVAL);
+
+    /**
+     * 后台刷新线程池
+     */
+    private static final ExecutorService REFRESHER = createRefresher();
+
+
+    /**
+     * 实际执行解析的解析器
+     */
+    private final transient DnsResolver delegate;
+
+    /**
+     * 缓存有效期（纳秒）
+     */
+    private final transient long ttlNanos;
+
+    /**
+     * 刷新提前量（纳秒）
+     */
+    private final transient long refreshAheadNanos;
+
+    /**
+     * 最长过期服务时间（纳秒）
+     */
+    private final transient long maxStaleNanos;
+
+    /**
+     * 缓存的最大主机数
+     */
+    private final transient int maxSize;
+
+    /**
+     * 解析结果缓存
+     */
+    private final transient ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存命中次数
+     */
+    private final transient AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * 同步解析次数
+     */
+    private final transient AtomicLong missCount = new AtomicLong();
+
+    /**
+     * 后台刷新次数
+     */
+    private final transient AtomicLong refreshCount = new AtomicLong();
+
+    /**
+     * 解析失败时使用过期结果的次数
+     */
+    private final transient AtomicLong staleCount = new AtomicLong();
+
+
+    /**
+     * {@link WfHttpDnsResolver} 构建器
+     * @return {@link WfHttpDnsResolverBuilder}
+     */
+    public static WfHttpDnsResolverBuilder builder() {
+        return new WfHttpDnsResolverBuilder();
+    }
+
+
+    /**
+     * 解析主机地址
+     * @param host 主机名
+     * @return 主机地址，多个地址时每次调用轮换顺序
+     * @throws UnknownHostException 解析失败且无可用的缓存结果时抛出
+     */
+    @Override
+    public InetAddress[] resolve(final String host) throws UnknownHostException {
+        final String key = host.toLowerCase(Locale.ENGLISH);
+        final long now = System.nanoTime();
+        final Entry entry = cache.get(key);
+
+        if (entry == null || now - entry.expiresAt >= 0) {
+            final boolean usable = entry != null && now - entry.expiresAt < maxStaleNanos;
+            if (usable && now - entry.refreshAt < 0) {
+                // 刚解析失败过，重试间隔内直接使用过期结果
+                staleCount.incrementAndGet();
+                return entry.next();
+            }
+            missCount.incrementAndGet();
+            try {
+                return lookup(key, host).next();
+            } catch (UnknownHostException excpt) {
+                if (usable) {
+                    entry.refreshAt = System.nanoTime() + RETRY_INTERVAL_NANOS;
+                    staleCount.incrementAndGet();
+                    return entry.next();
+                }
+                throw excpt;
+            }
+        }
+
+        hitCount.incrementAndGet();
+        if (now - entry.refreshAt >= 0 && entry.refreshing.compareAndSet(false, true)) {
+            refreshAsync(key, host, entry);
+        }
+        return entry.next();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+
+    /**
+     * 获取缓存的主机数
+     * @return 缓存的主机数
+     */
+    public int getSize() {
+        return cache.size();
+    }
+
+    /**
+     * 获取缓存命中次数
+     * @return 缓存命中次数
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * 获取同步解析次数（缓存未命中或已过期）
+     * @return 同步解析次数
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * 获取后台刷新次数
+     * @return 后台刷新次数
+     */
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    /**
+     * 获取解析失败时使用过期结果的次数
+     * @return 使用过期结果的次数
+     */
+    public long getStaleCount() {
+        return staleCount.get();
+    }
+
+
+    /**
+     * 解析主机地址并缓存
+     * @param key 缓存键（小写主机名）
+     * @param host 主机名
+     * @return 缓存项
+     * @throws UnknownHostException 解析失败时抛出
+     */
+    private Entry lookup(final String key, final String host) throws UnknownHostException {
+        final InetAddress[] addresses = delegate.resolve(host);
+        if (addresses == null || addresses.length == 0) {
+            throw new UnknownHostException(host);
+        }
+
+        final long now = System.nanoTime();
+        final Entry entry = new Entry(addresses, now + ttlNanos, now + ttlNanos - refreshAheadNanos);
+        if (cache.put(key, entry) == null && cache.size() > maxSize) {
+            evict(key, now);
+        }
+        return entry;
+    }
+
+    /**
+     * 缓存的主机数超过上限时移除主机
+     * <p>先移除过期结果已不可用的主机，仍超出上限时逐个移除最早过期的主机</p>
+     * @param key 刚加入的缓存键，不移除
+     * @param now 当前时间（纳秒）
+     */
+    private void evict(final String key, final long now) {
+        cache.entrySet().removeIf(item -> now - item.getValue().expiresAt >= maxStaleNanos);
+        while (cache.size() > maxSize) {
+            String oldest = null;
+            long oldestExpiresAt = 0L;
+            for (final Map.Entry<String, Entry> item : cache.entrySet()) {
+                final long expiresAt = item.getValue().expiresAt;
+                if (!item.getKey().equals(key) && (oldest == null || expiresAt - oldestExpiresAt < 0)) {
+                    oldest = item.getKey();
+                    oldestExpiresAt = expiresAt;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            cache.remove(oldest);
+        }
+    }
+
+    /**
+     * 后台刷新缓存
+     * <p>刷新失败时保留原结果，{@value #RETRY_INTERVAL} 毫秒后再次尝试，到期后由同步解析处理</p>
+     * @param key 缓存键（小写主机名）
+     * @param host 主机名
+     * @param entry 待刷新的缓存项
+     */
+    private void refreshAsync(final String key, final String host, final Entry entry) {
+        try {
+            REFRESHER.execute(() -> {
+                try {
+                    lookup(key, host);
+                    refreshCount.incrementAndGet();
+                } catch (UnknownHostException | RuntimeException excpt) {
+                    retryLater(entry);
+                }
+            });
+        } catch (RejectedExecutionException excpt) {
+            retryLater(entry);
+        }
+    }
+
+    /**
+     * 后台刷新失败，推迟下次刷新
+     * @param entry 刷新失败的缓存项
+     */
+    private static void retryLater(final Entry entry) {
+        entry.refreshAt = System.nanoTime() + RETRY_INTERVAL_NANOS;
+        entry.refreshing.set(false);
+    }
+
+    /**
+     * 创建后台刷新线程池
+     * @return {@link ExecutorService}
+     */
+    private static ExecutorService createRefresher() {
+        final AtomicInteger threadNum = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1024), runnable -> {
+                    final Thread thread = new Thread(runnable, "WfHttpDnsResolver-" + threadNum.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+
+    /**
+     * 构造 {@link WfHttpDnsResolver}
+     * @param builder {@link WfHttpDnsResolverBuilder}
+     */
+    protected WfHttpDnsResolver(final WfHttpDnsResolverBuilder builder) {
+        this.delegate = builder.delegate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(builder.ttl);
+        this.refreshAheadNanos = TimeUnit.MILLISECONDS.toNanos(Math.min(builder.refreshAhead, builder.ttl));
+        this.maxStaleNanos = TimeUnit.MILLISECONDS.toNanos(builder.maxStale);
+        this.maxSize = builder.maxSize;
+    }
+
+
+    /**
+     * 缓存项
+     */
+    private static class Entry {
+
+        /**
+         * 主机地址
+         */
+        private final transient InetAddress[] addresses;
+
+        /**
+         * 过期时间（纳秒）
+         */
+        private final transient long expiresAt;
+
+        /**
+         * 开始后台刷新的时间（纳秒），解析失败后推迟到下次重试的时间
+         */
+        private transient volatile long refreshAt;
+
+        /**
+         * 是否正在后台刷新
+         */
+        private final transient AtomicBoolean refreshing = new AtomicBoolean();
+
+        /**
+         * 轮换计数
+         */
+        private final transient AtomicInteger cursor = new AtomicInteger();
+
+        /**
+         * 构造 {@link Entry}
+         * @param addresses 主机地址
+         * @param expiresAt 过期时间（纳秒）
+         * @param refreshAt 开始后台刷新的时间（纳秒）
+         */
+        Entry(final InetAddress[] addresses, final long expiresAt, final long refreshAt) {
+            this.addresses = addresses.clone();
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+
+        /**
+         * 获取本次使用的地址列表，每次调用起始地址后移一位
+         * @return 主机地址
+         */
+        InetAddress[] next() {
+            final int count = addresses.length;
+            if (count == 1) {
+                return new InetAddress[] {addresses[0]};
+            }
+
+            final int start = (cursor.getAndIncrement() & Integer.MAX_VALUE) % count;
+            final InetAddress[] rotated = new InetAddress[count];
+            System.arraycopy(addresses, start, rotated, 0, count - start);
+            System.arraycopy(addresses, 0, rotated, count - start, start);
+            return rotated;
+        }
+    }
+
+
+    /**
+     * {@link WfHttpDnsResolver} 构建器
+     *
+     * @author agent on 2026年10月18日 下午23:02:44
+     * @version Version 3.0
+     */
+    public static class WfHttpDnsResolverBuilder {
+
+        /**
+         * 实际执行解析的解析器
+         */
+        private transient DnsResolver delegate;
+
+        /**
+         * 缓存有效期（毫秒）
+         */
+        private transient long ttl;
+
+        /**
+         * 刷新提前量（毫秒）
+         */
+        private transient long refreshAhead;
+
+        /**
+         * 最长过期服务时间（毫秒）
+         */
+        private transient long maxStale;
+
+        /**
+         * 缓存的最大主机数
+         */
+        private transient int maxSize;
+
+
+        /**
+         * 构造 {@link WfHttpDnsResolverBuilder}
+         */
+        public WfHttpDnsResolverBuilder() {
+            delegate = SystemDefaultDnsResolver.INSTANCE;
+            ttl = TTL;
+            refreshAhead = REFRESH_AHEAD;
+            maxStale = MAX_STALE;
+            maxSize = MAX_SIZE;
+        }
+
+
+        /**
+         * 设置实际执行解析的解析器
+         * <p>默认值：{@link SystemDefaultDnsResolver}（JVM解析器）</p>
+         * @param delegate {@link DnsResolver}
+         * @return {@link WfHttpDnsResolverBuilder}
+         */
+        public WfHttpDnsResolverBuilder setDelegate(final DnsResolver delegate) {
+            if (delegate != null) {
+                this.delegate = delegate;
+            }
+            return this;
+        }
+
+        /**
+         * 设置缓存有效期（毫秒）
+         * <p>默认值：60000毫秒</p>
+         * @param ttl 缓存有效期（毫秒）
+         * @return {@link WfHttpDnsResolverBuilder}
+         */
+        public WfHttpDnsResolverBuilder setTtl(final long ttl) {
+            this.ttl = Math.max(0, ttl);
+            return this;
+        }
+
+        /**
+         * 设置刷新提前量（毫秒），缓存剩余有效期小于该值时后台刷新
+         * <p>默认值：10000毫秒，0表示不提前刷新</p>
+         * @param refreshAhead 刷新提前量（毫秒）
+         * @return {@link WfHttpDnsResolverBuilder}
+         */
+        public WfHttpDnsResolverBuilder setRefreshAhead(final long refreshAhead) {
+            this.refreshAhead = Math.max(0, refreshAhead);
+            return this;
+        }
+
+        /**
+         * 设置最长过期服务时间（毫秒），解析失败时过期不超过该时间的结果仍可使用
+         * <p>默认值：300000毫秒，0表示不使用过期结果</p>
+         * @param maxStale 最长过期服务时间（毫秒）
+         * @return {@link WfHttpDnsResolverBuilder}
+         */
+        public WfHttpDnsResolverBuilder setMaxStale(final long maxStale) {
+            this.maxStale = Math.max(0, maxStale);
+            return this;
+        }
+
+        /**
+         * 设置缓存的最大主机数
+         * <p>默认值：1024</p>
+         * @param maxSize 最大主机数
+         * @return {@link WfHttpDnsResolverBuilder}
+         */
+        public WfHttpDnsResolverBuilder setMaxSize(final int maxSize) {
+            this.maxSize = Math.max(1, maxSize);
+            return this;
+        }
+
+
+        /**
+         * 构建 {@link WfHttpDnsResolver}
+         * @return {@link WfHttpDnsResolver}
+         */
+        public WfHttpDnsResolver build() {
+            return new WfHttpDnsResolver(this);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package net.virgodirk.wildfire.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 耗时直方图
+ *
+ * <p>HDR风格的对数-线性分桶：每个2的幂区间再等分为16个子桶，相对误差不超过 1/16；<br>
+ * 记录值单位为微秒，范围 0 ~ 2^40 微秒（约12天），超出时计入最后一个桶。<br>
+ * 记录操作只有数组下标计算和原子自增，无锁、无对象分配，适合在请求路径上调用。</p>
+ *
+ * @author agent on 2026年10月18日 下午21:20:37
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfHttpHistogram {
+
+    /**
+     * 子桶位数（每个2的幂区间分为 2^4 = 16 个子桶）
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * 子桶数
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 可记录的最大值的位数
+     */
+    private static final int MAX_VALUE_BITS = 40;
+
+    /**
+     * 桶数
+     */
+    private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+
+    /**
+     * 各桶计数
+     */
+    private final transient AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * 总次数
+     */
+    private final transient AtomicLong totalCount = new AtomicLong();
+
+    /**
+     * 总耗时（微秒）
+     */
+    private final transient AtomicLong totalMicros = new AtomicLong();
+
+    /**
+     * 最大耗时（微秒）
+     */
+    private final transient AtomicLong maxMicros = new AtomicLong();
+
+
+    /**
+     * 记录耗时
+     * @param nanos 耗时（纳秒）
+     */
+    public void recordNanos(final long nanos) {
+        final long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(indexOf(micros));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        if (micros > maxMicros.get()) {
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+    }
+
+    /**
+     * 获取总次数
+     * @return 总次数
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * 获取百分位耗时
+     * @param percentile 百分位，如：99.9
+     * @return 耗时（毫秒），无记录时返回0
+     */
+    public double getPercentileMillis(final double percentile) {
+        long total = 0;
+        final long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0D;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(total * Math.min(100D, percentile) / 100D));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return Math.min(upperBoundOf(i), maxMicros.get()) / 1000D;
+            }
+        }
+        return maxMicros.get() / 1000D;
+    }
+
+    /**
+     * 获取统计快照
+     * <p>包含：count（次数）、mean、max、p50、p90、p99、p999（毫秒）</p>
+     * @return 统计快照
+     */
+    public Map<String, Object> snapshot() {
+        final long count = totalCount.get();
+        final Map<String, Object> snapshot = new LinkedHashMap<>(8);
+        snapshot.put("count", count);
+        snapshot.put("mean", count == 0 ? 0D : totalMicros.get() / 1000D / count);
+        snapshot.put("max", maxMicros.get() / 1000D);
+        snapshot.put("p50", getPercentileMillis(50D));
+        snapshot.put("p90", getPercentileMillis(90D));
+        snapshot.put("p99", getPercentileMillis(99D));
+        snapshot.put("p999", getPercentileMillis(99.9D));
+        return snapshot;
+    }
+
+
+    /**
+     * 计算耗时所在的桶
+     * @param micros 耗时（微秒）
+     * @return 桶下标
+     */
+    static int indexOf(final long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        final int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_VALUE_BITS);
+        if (exponent == MAX_VALUE_BITS) {
+            return BUCKET_COUNT - 1;
+        }
+        final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * 计算桶的上限
+     * @param index 桶下标
+     * @return 桶内最大耗时（微秒）
+     */
+    static long upperBoundOf(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final long subBucket = index % SUB_BUCKET_COUNT;
+        final long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
\ No newline at end of file
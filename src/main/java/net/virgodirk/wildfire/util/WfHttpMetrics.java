@@ -0,0 +1,284 @@
+package net.virgodirk.wildfire.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.http.HttpHost;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * HTTP请求指标
+ *
+ * <p>按主机统计的请求耗时直方图（按响应状态码区分）、各阶段耗时直方图、异常计数，以及各连接池的连接数；<br>
+ * 阶段包括：{@link Phase#LEASE 从连接池获取连接}、{@link Phase#CONNECT 建立连接}、
+ * {@link Phase#TTFB 发送请求至收到响应头}、{@link Phase#BODY 读取响应体}。<br>
+ * 由 {@link WfHttpClient} 及 {@link WfHttpRequest} 自动记录，记录过程无锁；
+ * 通过 {@link #snapshot()} 获取全部指标，可供监控端点输出。</p>
+ *
+ * @author agent on 2026年10月18日 下午21:20:37
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public final class WfHttpMetrics {
+
+    /**
+     * 各主机、各状态码的请求耗时
+     */
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<Integer, WfHttpHistogram>> LATENCIES
+            = new ConcurrentHashMap<>();
+
+    /**
+     * 各主机的阶段耗时，按 {@link Phase#ordinal()} 索引
+     */
+    private static final ConcurrentHashMap<String, WfHttpHistogram[]> PHASES = new ConcurrentHashMap<>();
+
+    /**
+     * 各主机、各异常类型的异常次数
+     */
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<String, LongAdder>> ERRORS
+            = new ConcurrentHashMap<>();
+
+    /**
+     * 已注册的连接池
+     */
+    private static final ConcurrentHashMap<String, Supplier<PoolStats>> POOLS = new ConcurrentHashMap<>();
+
+
+    /**
+     * 请求阶段
+     */
+    public enum Phase {
+
+        /**
+         * 从连接池获取连接
+         */
+        LEASE,
+
+        /**
+         * 建立连接（含TLS握手）
+         */
+        CONNECT,
+
+        /**
+         * 发送请求至收到响应头
+         */
+        TTFB,
+
+        /**
+         * 读取及处理响应体
+         */
+        BODY
+    }
+
+
+    /**
+     * 获取全部指标
+     * <p>结构：{@code requests}（主机 → 状态码 → 耗时统计）、{@code phases}（主机 → 阶段 → 耗时统计）、
+     * {@code errors}（主机 → 异常类型 → 次数）、{@code pools}（连接池 → 连接数），耗时单位为毫秒</p>
+     * @return 全部指标
+     */
+    public static Map<String, Object> snapshot() {
+        final Map<String, Object> snapshot = new TreeMap<>();
+        snapshot.put("requests", latencies(null));
+        snapshot.put("phases", phases(null));
+        snapshot.put("errors", errors(null));
+        snapshot.put("pools", pools());
+        return snapshot;
+    }
+
+    /**
+     * 获取指定主机的指标
+     * @param host 主机，如：www.example.com、127.0.0.1:8080
+     * @return 指定主机的指标
+     */
+    public static Map<String, Object> snapshot(final String host) {
+        final String key = host == null ? "" : host.toLowerCase(Locale.ENGLISH);
+        final Map<String, Object> snapshot = new TreeMap<>();
+        snapshot.put("requests", latencies(key).getOrDefault(key, new TreeMap<>()));
+        snapshot.put("phases", phases(key).getOrDefault(key, new TreeMap<>()));
+        snapshot.put("errors", errors(key).getOrDefault(key, new TreeMap<>()));
+        return snapshot;
+    }
+
+    /**
+     * 清空请求耗时、阶段耗时及异常计数，已注册的连接池不受影响
+     */
+    public static void reset() {
+        LATENCIES.clear();
+        PHASES.clear();
+        ERRORS.clear();
+    }
+
+
+    /**
+     * 记录请求耗时
+     * @param host 主机
+     * @param status 响应状态码
+     * @param nanos 耗时（纳秒）
+     */
+    static void recordLatency(final String host, final int status, final long nanos) {
+        ConcurrentHashMap<Integer, WfHttpHistogram> byStatus = LATENCIES.get(host);
+        if (byStatus == null) {
+            byStatus = LATENCIES.computeIfAbsent(host, k -> new ConcurrentHashMap<>());
+        }
+        WfHttpHistogram histogram = byStatus.get(status);
+        if (histogram == null) {
+            histogram = byStatus.computeIfAbsent(status, k -> new WfHttpHistogram());
+        }
+        histogram.recordNanos(nanos);
+    }
+
+    /**
+     * 记录阶段耗时
+     * @param host 主机
+     * @param phase 阶段
+     * @param nanos 耗时（纳秒）
+     */
+    static void recordPhase(final String host, final Phase phase, final long nanos) {
+        WfHttpHistogram[] histograms = PHASES.get(host);
+        if (histograms == null) {
+            histograms = PHASES.computeIfAbsent(host, k -> {
+                final WfHttpHistogram[] created = new WfHttpHistogram[Phase.values().length];
+                for (int i = 0; i < created.length; i++) {
+                    created[i] = new WfHttpHistogram();
+                }
+                return created;
+            });
+        }
+        histograms[phase.ordinal()].recordNanos(nanos);
+    }
+
+    /**
+     * 记录异常
+     * @param host 主机
+     * @param type 异常类型，如：SocketTimeoutException、RateLimited
+     */
+    static void recordError(final String host, final String type) {
+        ConcurrentHashMap<String, LongAdder> byType = ERRORS.get(host);
+        if (byType == null) {
+            byType = ERRORS.computeIfAbsent(host, k -> new ConcurrentHashMap<>());
+        }
+        LongAdder counter = byType.get(type);
+        if (counter == null) {
+            counter = byType.computeIfAbsent(type, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * 注册连接池
+     * @param name 连接池名称
+     * @param stats 连接池统计，如：{@code connectionManager::getTotalStats}
+     */
+    static void registerPool(final String name, final Supplier<PoolStats> stats) {
+        POOLS.put(name, stats);
+    }
+
+    /**
+     * 注销连接池
+     * @param name 连接池名称
+     * @param stats 注册时的连接池统计，同名连接池已被重新注册时不注销
+     */
+    static void unregisterPool(final String name, final Supplier<PoolStats> stats) {
+        POOLS.remove(name, stats);
+    }
+
+    /**
+     * 获取主机的指标键
+     * <p>主机名转为小写，默认端口（http:80、https:443）省略</p>
+     * @param host {@link HttpHost}
+     * @return 主机的指标键
+     */
+    static String hostKey(final HttpHost host) {
+        final int port = host.getPort();
+        final String scheme = host.getSchemeName();
+        if (port < 0 || (port == 80 && "http".equalsIgnoreCase(scheme))
+                || (port == 443 && "https".equalsIgnoreCase(scheme))) {
+            return host.getHostName().toLowerCase(Locale.ENGLISH);
+        }
+        return host.getHostName().toLowerCase(Locale.ENGLISH) + ":" + port;
+    }
+
+
+    /**
+     * 获取请求耗时统计
+     * @param host 主机，{@code null} 表示全部主机
+     * @return 主机 → 状态码 → 耗时统计
+     */
+    private static Map<String, Map<String, Object>> latencies(final String host) {
+        final Map<String, Map<String, Object>> result = new TreeMap<>();
+        LATENCIES.forEach((key, byStatus) -> {
+            if (host == null || host.equals(key)) {
+                final Map<String, Object> statuses = new TreeMap<>();
+                byStatus.forEach((status, histogram) -> statuses.put(String.valueOf(status), histogram.snapshot()));
+                result.put(key, statuses);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 获取阶段耗时统计
+     * @param host 主机，{@code null} 表示全部主机
+     * @return 主机 → 阶段 → 耗时统计
+     */
+    private static Map<String, Map<String, Object>> phases(final String host) {
+        final Map<String, Map<String, Object>> result = new TreeMap<>();
+        PHASES.forEach((key, histograms) -> {
+            if (host == null || host.equals(key)) {
+                final Map<String, Object> phases = new TreeMap<>();
+                for (final Phase phase : Phase.values()) {
+                    phases.put(phase.name().toLowerCase(Locale.ENGLISH), histograms[phase.ordinal()].snapshot());
+                }
+                result.put(key, phases);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 获取异常计数
+     * @param host 主机，{@code null} 表示全部主机
+     * @return 主机 → 异常类型 → 次数
+     */
+    private static Map<String, Map<String, Object>> errors(final String host) {
+        final Map<String, Map<String, Object>> result = new TreeMap<>();
+        ERRORS.forEach((key, byType) -> {
+            if (host == null || host.equals(key)) {
+                final Map<String, Object> types = new TreeMap<>();
+                byType.forEach((type, counter) -> types.put(type, counter.sum()));
+                result.put(key, types);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 获取各连接池的连接数
+     * @return 连接池 → 连接数（leased：使用中、available：空闲、pending：等待获取连接的请求、max：最大连接数）
+     */
+    private static Map<String, Map<String, Object>> pools() {
+        final Map<String, Map<String, Object>> result = new TreeMap<>();
+        POOLS.forEach((name, supplier) -> {
+            final PoolStats stats = supplier.get();
+            final Map<String, Object> pool = new TreeMap<>();
+            pool.put("leased", stats.getLeased());
+            pool.put("available", stats.getAvailable());
+            pool.put("pending", stats.getPending());
+            pool.put("max", stats.getMax());
+            result.put(name, pool);
+        });
+        return result;
+    }
+
+
+    /**
+     * 私有构造
+     */
+    private WfHttpMetrics() {
+    }
+}
\ No newline at end of file
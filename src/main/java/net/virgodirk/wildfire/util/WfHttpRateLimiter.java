@@ -0,0 +1,351 @@
+package net.virgodirk.wildfire.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP请求限流器
+ *
+ * <p>令牌桶限流，按主机或调用方指定的键分别计数：每秒生成固定数量的令牌，允许最多 {@code burst} 个请求突发；<br>
+ * 令牌桶使用单个 {@link AtomicLong} 记录下一个令牌的理论可用时间（GCRA算法），CAS更新，无锁。<br>
+ * 超时时间为0时令牌不足立即失败，否则最多等待超时时间，等待被中断时归还预约的令牌。<br>
+ * 理论可用时间已过去的令牌桶与新建的令牌桶等价，键数量较多时定期移除，按用户或URL限流也不会无限占用内存。<br>
+ * 线程安全，可被多个 {@link WfHttpRequest} 共享。</p>
+ *
+ * @author agent on 2026年10月18日 下午20:31:46
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfHttpRateLimiter {
+
+    /**
+     * 默认每秒令牌数
+     */
+    protected static final double PERMITS_PER_SECOND = 100D;
+
+    /**
+     * 默认最大突发请求数
+     */
+    protected static final int BURST = 10;
+
+    /**
+     * 默认等待令牌的超时时间（毫秒），0表示不等待
+     */
+    protected static final long TIMEOUT = 0L;
+
+    /**
+     * 令牌桶数量达到该值后才清理空闲令牌桶
+     */
+    private static final int SWEEP_THRESHOLD = 256;
+
+    /**
+     * 清理空闲令牌桶的最小间隔（纳秒）
+     */
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+
+    /**
+     * 生成一个令牌的间隔（纳秒）
+     */
+    private final transient long intervalNanos;
+
+    /**
+     * 允许提前使用的时间（纳秒），即突发容量
+     */
+    private final transient long burstNanos;
+
+    /**
+     * 等待令牌的超时时间（纳秒）
+     */
+    private final transient long timeoutNanos;
+
+    /**
+     * 各键的令牌桶
+     */
+    private final transient ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 下次清理空闲令牌桶的时间（纳秒）
+     */
+    private final transient AtomicLong nextSweepAt = new AtomicLong(System.nanoTime());
+
+    /**
+     * 获得令牌的次数
+     */
+    private final transient AtomicLong acquiredCount = new AtomicLong();
+
+    /**
+     * 被拒绝的次数
+     */
+    private final transient AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * 获得令牌前的累计等待时间（纳秒）
+     */
+    private final transient AtomicLong totalWaitNanos = new AtomicLong();
+
+    /**
+     * 获得令牌前的最长等待时间（纳秒）
+     */
+    private final transient AtomicLong maxWaitNanos = new AtomicLong();
+
+
+    /**
+     * {@link WfHttpRateLimiter} 构建器
+     * @return {@link WfHttpRateLimiterBuilder}
+     */
+    public static WfHttpRateLimiterBuilder builder() {
+        return new WfHttpRateLimiterBuilder();
+    }
+
+
+    /**
+     * 获取令牌
+     * <p>令牌不足时最多等待构建时设置的超时时间</p>
+     * @param key 限流键，如主机名
+     * @return {@code true} 获得令牌<br>
+     *         {@code false} 超时或等待被中断
+     */
+    public boolean acquire(final String key) {
+        return acquire(key, timeoutNanos);
+    }
+
+    /**
+     * 获取令牌，令牌不足时立即失败
+     * @param key 限流键，如主机名
+     * @return {@code true} 获得令牌<br>
+     *         {@code false} 令牌不足
+     */
+    public boolean tryAcquire(final String key) {
+        return acquire(key, 0);
+    }
+
+    /**
+     * 获取令牌
+     * @param key 限流键，如主机名
+     * @param timeout 最长等待时间（毫秒）
+     * @return {@code true} 获得令牌<br>
+     *         {@code false} 超时或等待被中断
+     */
+    public boolean tryAcquire(final String key, final long timeout) {
+        return acquire(key, TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeout)));
+    }
+
+
+    /**
+     * 获取获得令牌的次数
+     * @return 获得令牌的次数
+     */
+    public long getAcquiredCount() {
+        return acquiredCount.get();
+    }
+
+    /**
+     * 获取被拒绝的次数
+     * @return 被拒绝的次数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * 获取累计等待时间（毫秒）
+     * @return 累计等待时间（毫秒）
+     */
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+    }
+
+    /**
+     * 获取平均等待时间（毫秒）
+     * @return 平均等待时间（毫秒）
+     */
+    public double getAverageWaitMillis() {
+        final long acquired = acquiredCount.get();
+        return acquired == 0 ? 0D : totalWaitNanos.get() / 1000000D / acquired;
+    }
+
+    /**
+     * 获取最长等待时间（毫秒）
+     * @return 最长等待时间（毫秒）
+     */
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+
+    /**
+     * 获取令牌桶数量
+     * @return 令牌桶数量
+     */
+    int getBucketCount() {
+        return buckets.size();
+    }
+
+
+    /**
+     * 获取令牌
+     * @param key 限流键
+     * @param timeout 最长等待时间（纳秒）
+     * @return {@code true} 获得令牌<br>
+     *         {@code false} 超时或等待被中断
+     */
+    private boolean acquire(final String key, final long timeout) {
+        final long now = System.nanoTime();
+        sweep(now);
+        final AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+
+        // 预约令牌：理论可用时间超出突发容量的部分即为需要等待的时间
+        long wait;
+        while (true) {
+            final long tat = bucket.get();
+            final long base = tat - now > 0 ? tat : now;
+            wait = base - burstNanos - now;
+            if (wait > timeout) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+            if (bucket.compareAndSet(tat, base + intervalNanos)) {
+                break;
+            }
+        }
+
+        if (wait > 0) {
+            final long deadline = now + wait;
+            long remaining = wait;
+            while (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.currentThread().isInterrupted()) {
+                    refund(bucket);
+                    rejectedCount.incrementAndGet();
+                    return false;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            totalWaitNanos.addAndGet(wait);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+        }
+        acquiredCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 归还放弃等待的令牌：理论可用时间仍在将来时提前一个间隔
+     * @param bucket 令牌桶
+     */
+    private void refund(final AtomicLong bucket) {
+        while (true) {
+            final long tat = bucket.get();
+            if (tat - System.nanoTime() <= 0 || bucket.compareAndSet(tat, tat - intervalNanos)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 清理空闲令牌桶
+     * <p>理论可用时间已过去的令牌桶与新建的等价，可直接移除；令牌桶数量达到阈值后最多每秒清理一次</p>
+     * @param now 当前时间（纳秒）
+     */
+    private void sweep(final long now) {
+        final long sweepAt = nextSweepAt.get();
+        if (buckets.size() < SWEEP_THRESHOLD || now - sweepAt < 0
+                || !nextSweepAt.compareAndSet(sweepAt, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.get() - now < 0);
+    }
+
+
+    /**
+     * 构造 {@link WfHttpRateLimiter}
+     * @param builder {@link WfHttpRateLimiterBuilder}
+     */
+    protected WfHttpRateLimiter(final WfHttpRateLimiterBuilder builder) {
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / builder.permitsPerSecond));
+        this.burstNanos = intervalNanos * (builder.burst - 1);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(builder.timeout);
+    }
+
+
+    /**
+     * {@link WfHttpRateLimiter} 构建器
+     *
+     * @author agent on 2026年10月18日 下午20:31:46
+     * @version Version 3.0
+     */
+    public static class WfHttpRateLimiterBuilder {
+
+        /**
+         * 每秒令牌数
+         */
+        private transient double permitsPerSecond;
+
+        /**
+         * 最大突发请求数
+         */
+        private transient int burst;
+
+        /**
+         * 等待令牌的超时时间（毫秒）
+         */
+        private transient long timeout;
+
+
+        /**
+         * 构造 {@link WfHttpRateLimiterBuilder}
+         */
+        public WfHttpRateLimiterBuilder() {
+            permitsPerSecond = PERMITS_PER_SECOND;
+            burst = BURST;
+            timeout = TIMEOUT;
+        }
+
+
+        /**
+         * 设置每秒令牌数
+         * <p>默认值：100</p>
+         * @param permitsPerSecond 每秒令牌数
+         * @return {@link WfHttpRateLimiterBuilder}
+         */
+        public WfHttpRateLimiterBuilder setPermitsPerSecond(final double permitsPerSecond) {
+            if (permitsPerSecond > 0) {
+                this.permitsPerSecond = permitsPerSecond;
+            }
+            return this;
+        }
+
+        /**
+         * 设置最大突发请求数
+         * <p>默认值：10</p>
+         * @param burst 最大突发请求数
+         * @return {@link WfHttpRateLimiterBuilder}
+         */
+        public WfHttpRateLimiterBuilder setBurst(final int burst) {
+            this.burst = Math.max(1, burst);
+            return this;
+        }
+
+        /**
+         * 设置等待令牌的超时时间（毫秒）
+         * <p>默认值：0，令牌不足时立即失败</p>
+         * @param timeout 超时时间（毫秒）
+         * @return {@link WfHttpRateLimiterBuilder}
+         */
+        public WfHttpRateLimiterBuilder setTimeout(final long timeout) {
+            this.timeout = Math.max(0, timeout);
+            return this;
+        }
+
+
+        /**
+         * 构建 {@link WfHttpRateLimiter}
+         * @return {@link WfHttpRateLimiter}
+         */
+        public WfHttpRateLimiter build() {
+            return new WfHttpRateLimiter(this);
+        }
+    }
+}
\ No newline at end of file
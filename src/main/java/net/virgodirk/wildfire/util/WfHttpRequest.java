@@ -1,25 +1,73 @@
 package net.virgodirk.wildfire.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Type;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import net.virgodirk.wildfire.util.exception.WfHttpException;
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.NameValuePair;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.DeflateDecompressingEntity;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.client.entity.GzipDecompressingEntity;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.FileEntity;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
+import org.apache.http.entity.mime.HttpMultipartMode;
+import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.entity.mime.content.ByteArrayBody;
+import org.apache.http.entity.mime.content.ContentBody;
+import org.apache.http.entity.mime.content.FileBody;
+import org.apache.http.entity.mime.content.InputStreamBody;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.util.EntityUtils;
 
@@ -52,11 +100,16 @@ public class WfHttpRequest {
      */
     protected static final String DEFAULT_CHARSET = "UTF-8";
     
+    /**
+     * 流式读写缓冲区大小（字节）
+     */
+    protected static final int BUFFER_SIZE = 64 * 1024;
+    
     
     /**
      * 请求URL
      */
-    private transient String url;
+    private final transient String url;
     
     /**
      * Header参数
@@ -74,9 +127,64 @@ public class WfHttpRequest {
     private final transient String body;
     
     /**
-     * 网络连接超时时间（毫秒）
+     * 流式Body数据（文件、输入流、字节数组），不为空时优先于 {@link #body}
+     */
+    private final transient HttpEntity entity;
+    
+    /**
+     * multipart/form-data 表单项，不为空时以 multipart/form-data 方式POST
+     */
+    private final transient List<Part> parts;
+    
+    /**
+     * 请求配置
+     */
+    private final transient RequestConfig requestConfig;
+    
+    /**
+     * HTTP客户端引擎，为空时使用默认引擎
+     */
+    private final transient WfHttpTransport transport;
+    
+    /**
+     * 异步HTTP客户端引擎，为空时使用默认引擎
+     */
+    private final transient WfHttpAsyncClient asyncClient;
+    
+    /**
+     * GET响应缓存，为空时不使用缓存
+     */
+    private final transient WfHttpCache cache;
+    
+    /**
+     * 参与请求合并键的Header参数名称，为空时不合并请求
+     */
+    private final transient List<String> coalescingHeaders;
+    
+    /**
+     * 重试策略，为空时不重试
+     */
+    private final transient WfHttpRetry retry;
+    
+    /**
+     * 熔断器，为空时不熔断
+     */
+    private final transient WfHttpCircuitBreaker circuitBreaker;
+    
+    /**
+     * 限流器，为空时不限流
+     */
+    private final transient WfHttpRateLimiter rateLimiter;
+    
+    /**
+     * 限流键，为空时按主机限流
      */
-    private final transient int connectTimeout;
+    private final transient String rateLimitKey;
+    
+    /**
+     * 请求Body压缩阈值（字节），Body不小于该值时gzip压缩，小于0表示不压缩
+     */
+    private final transient long compressionThreshold;
     
     
     /**
@@ -94,24 +202,50 @@ public class WfHttpRequest {
      * @throws WfHttpException {@link WfHttpException}
      */
     public String get() throws WfHttpException {
-        if (!isValidUrl(url)) {
-            throw new WfHttpException("网络请求URL错误");
+        return getAbortable(null);
+    }
+    
+    /**
+     * HTTP GET
+     * <p>请求发送前将 {@link HttpRequestBase} 交给 {@code started}，调用方可由其中止请求；
+     * 请求被合并时由其他线程发送，不调用 {@code started}</p>
+     * @param started 接收待发送请求，为 {@code null} 时忽略
+     * @return {@link String} 类型请求结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    String getAbortable(final Consumer<HttpRequestBase> started) throws WfHttpException {
+        if (coalescingHeaders != null && isValidUrl(url)) {
+            return WfHttpCoalescer.execute(getCoalescingKey(), getCoalescingTimeout(), this::doGet);
         }
         
-        final HttpGet httpGet = new HttpGet(url);
-        httpGet.setConfig(getRequestConfig());
-        setHttpGetHeaders(httpGet);
-        setHttpGetParams(httpGet);
-        
-        try (
-            CloseableHttpClient httpClient = HttpClients.createDefault();
-            CloseableHttpResponse response = httpClient.execute(httpGet)
-        ) {
-            final HttpEntity entity = response.getEntity();
-            return EntityUtils.toString(entity);
-        } catch (IOException excpt) {
-            throw new WfHttpException("网络请求失败，请稍候重试", excpt);
+        final HttpGet httpGet = createHttpGet();
+        if (started != null) {
+            started.accept(httpGet);
+        }
+        return doGet(httpGet);
+    }
+    
+    /**
+     * 执行HTTP GET
+     * @return {@link String} 类型请求结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    private String doGet() throws WfHttpException {
+        return doGet(createHttpGet());
+    }
+    
+    /**
+     * 执行HTTP GET
+     * @param httpGet {@link HttpGet}
+     * @return {@link String} 类型请求结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    private String doGet(final HttpGet httpGet) throws WfHttpException {
+        if (cache != null) {
+            return getWithCache(httpGet);
         }
+        
+        return execute(httpGet, response -> EntityUtils.toString(response.getEntity()));
     }
     
     /**
@@ -131,6 +265,271 @@ public class WfHttpRequest {
      * @throws WfHttpException {@link WfHttpException}
      */
     public String post(final String charset) throws WfHttpException {
+        return postAbortable(charset, null);
+    }
+    
+    /**
+     * HTTP POST
+     * <p>请求发送前将 {@link HttpRequestBase} 交给 {@code started}，调用方可由其中止请求</p>
+     * @param charset 字符集名称，如：UTF-8、GB2312等
+     * @param started 接收待发送请求，为 {@code null} 时忽略
+     * @return {@link String} 类型请求结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    String postAbortable(final String charset, final Consumer<HttpRequestBase> started) throws WfHttpException {
+        final HttpPost httpPost = createHttpPost(charset);
+        if (started != null) {
+            started.accept(httpPost);
+        }
+        return execute(httpPost, response -> EntityUtils.toString(response.getEntity()));
+    }
+    
+    
+    /**
+     * HTTP GET
+     * <p>请求结果为JSON，直接从响应流解析为指定类型的对象，不生成中间的 {@link String}；
+     * 使用GET响应缓存或请求合并时先获取 {@link String} 类型结果再解析</p>
+     * @param clazz 请求结果类型
+     * @param <T> 请求结果类型
+     * @return 指定类型的请求结果，响应内容为空时返回 {@code null}
+     * @throws WfHttpException {@link WfHttpException}，响应状态码不是2xx时抛出
+     */
+    public <T> T get(final Class<T> clazz) throws WfHttpException {
+        if (cache != null || coalescingHeaders != null) {
+            return WfJson.parseObject(get(), clazz);
+        }
+        return get(jsonHandler(clazz));
+    }
+    
+    /**
+     * HTTP GET
+     * <p>请求结果为JSON数组，直接从响应流解析为指定类型的对象集合，不生成中间的 {@link String}；
+     * 使用GET响应缓存或请求合并时先获取 {@link String} 类型结果再解析</p>
+     * @param clazz 集合元素类型
+     * @param <T> 集合元素类型
+     * @return 指定类型的对象集合，响应内容为空时返回 {@code null}
+     * @throws WfHttpException {@link WfHttpException}，响应状态码不是2xx时抛出
+     */
+    public <T> List<T> getList(final Class<T> clazz) throws WfHttpException {
+        if (cache != null || coalescingHeaders != null) {
+            return WfJson.parseArray(get(), clazz);
+        }
+        return get(jsonHandler(WfJson.listType(clazz)));
+    }
+    
+    /**
+     * HTTP POST
+     * <p>默认字符集：UTF-8，请求结果为JSON，直接从响应流解析为指定类型的对象，不生成中间的 {@link String}</p>
+     * @param clazz 请求结果类型
+     * @param <T> 请求结果类型
+     * @return 指定类型的请求结果，响应内容为空时返回 {@code null}
+     * @throws WfHttpException {@link WfHttpException}，响应状态码不是2xx时抛出
+     */
+    public <T> T post(final Class<T> clazz) throws WfHttpException {
+        return post(jsonHandler(clazz));
+    }
+    
+    /**
+     * HTTP POST
+     * <p>默认字符集：UTF-8，请求结果为JSON数组，直接从响应流解析为指定类型的对象集合，不生成中间的 {@link String}</p>
+     * @param clazz 集合元素类型
+     * @param <T> 集合元素类型
+     * @return 指定类型的对象集合，响应内容为空时返回 {@code null}
+     * @throws WfHttpException {@link WfHttpException}，响应状态码不是2xx时抛出
+     */
+    public <T> List<T> postList(final Class<T> clazz) throws WfHttpException {
+        return post(jsonHandler(WfJson.listType(clazz)));
+    }
+    
+    
+    /**
+     * HTTP GET
+     * <p>由 {@code handler} 直接处理响应流，处理完成后自动释放连接</p>
+     * @param handler 响应处理器 {@link ResponseHandler}
+     * @param <T> 处理结果类型
+     * @return 处理结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    public <T> T get(final ResponseHandler<? extends T> handler) throws WfHttpException {
+        return execute(createHttpGet(), handler);
+    }
+    
+    /**
+     * HTTP POST
+     * <p>默认字符集：UTF-8，由 {@code handler} 直接处理响应流，处理完成后自动释放连接</p>
+     * @param handler 响应处理器 {@link ResponseHandler}
+     * @param <T> 处理结果类型
+     * @return 处理结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    public <T> T post(final ResponseHandler<? extends T> handler) throws WfHttpException {
+        return post(handler, DEFAULT_CHARSET);
+    }
+    
+    /**
+     * HTTP POST
+     * <p>由 {@code handler} 直接处理响应流，处理完成后自动释放连接</p>
+     * @param handler 响应处理器 {@link ResponseHandler}
+     * @param charset 字符集名称，如：UTF-8、GB2312等
+     * @param <T> 处理结果类型
+     * @return 处理结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    public <T> T post(final ResponseHandler<? extends T> handler, final String charset) throws WfHttpException {
+        return execute(createHttpPost(charset), handler);
+    }
+    
+    /**
+     * HTTP GET，并将响应内容写入文件
+     * <p>响应内容以固定大小的缓冲区直接写入 {@link FileChannel}，内存占用与文件大小无关；
+     * 文件已存在时将被覆盖，响应状态码不是2xx时抛出异常</p>
+     * @param target 目标文件路径
+     * @return 写入的字节数
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    public long downloadTo(final Path target) throws WfHttpException {
+        if (target == null) {
+            throw new WfHttpException("文件路径为空");
+        }
+        
+        return get(response -> {
+            checkStatus(response);
+            final HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                return 0L;
+            }
+            
+            long total = 0;
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            try (
+                ReadableByteChannel input = Channels.newChannel(entity.getContent());
+                FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE, 
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)
+            ) {
+                while (input.read(buffer) >= 0) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        total += output.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            return total;
+        });
+    }
+    
+    /**
+     * HTTP GET，返回响应内容输入流
+     * <p>调用方必须关闭返回的 {@link InputStream}，关闭时释放连接（未读完时将中断连接）；
+     * 响应状态码不是2xx时抛出异常</p>
+     * @return 响应内容 {@link InputStream}
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    public InputStream getStream() throws WfHttpException {
+        final HttpGet httpGet = createHttpGet();
+        return execute(httpGet, (transport, context) -> {
+            final CloseableHttpResponse response = transport.execute(httpGet, context);
+            try {
+                checkStatus(response);
+                final HttpEntity entity = response.getEntity();
+                final InputStream content = entity == null 
+                        ? new ByteArrayInputStream(new byte[0]) : entity.getContent();
+                return new ResponseInputStream(content, response);
+            } catch (IOException | RuntimeException excpt) {
+                closeQuietly(response);
+                throw excpt;
+            }
+        });
+    }
+    
+    
+    /**
+     * 异步HTTP GET
+     * <p>请求由 {@link WfHttpAsyncClient} 的I/O线程处理，不阻塞调用线程；
+     * 同样经过限流器（令牌不足时立即失败，不等待）、熔断器及重试策略，
+     * 失败时返回的 {@link CompletableFuture} 以 {@link WfHttpException} 异常结束</p>
+     * @return {@link String} 类型请求结果
+     */
+    public CompletableFuture<String> getAsync() {
+        try {
+            return executeAsync(createHttpGet());
+        } catch (WfHttpException excpt) {
+            return failedFuture(excpt);
+        }
+    }
+    
+    /**
+     * 异步HTTP GET
+     * <p>请求结果为JSON，并转换为指定类型的对象</p>
+     * @param clazz 请求结果类型
+     * @param <T> 请求结果类型
+     * @return 指定类型的请求结果
+     */
+    public <T> CompletableFuture<T> getAsync(final Class<T> clazz) {
+        return getAsync().thenApply(json -> WfJson.parseObject(json, clazz));
+    }
+    
+    /**
+     * 异步HTTP POST
+     * <p>默认字符集：UTF-8</p>
+     * @return {@link String} 类型请求结果
+     */
+    public CompletableFuture<String> postAsync() {
+        return postAsync(DEFAULT_CHARSET);
+    }
+    
+    /**
+     * 异步HTTP POST
+     * <p>请求由 {@link WfHttpAsyncClient} 的I/O线程处理，不阻塞调用线程；
+     * 同样经过限流器（令牌不足时立即失败，不等待）、熔断器及重试策略，
+     * 失败时返回的 {@link CompletableFuture} 以 {@link WfHttpException} 异常结束</p>
+     * @param charset 字符集名称，如：UTF-8、GB2312等
+     * @return {@link String} 类型请求结果
+     */
+    public CompletableFuture<String> postAsync(final String charset) {
+        try {
+            return executeAsync(createHttpPost(charset));
+        } catch (WfHttpException excpt) {
+            return failedFuture(excpt);
+        }
+    }
+    
+    /**
+     * 异步HTTP POST
+     * <p>默认字符集：UTF-8，请求结果为JSON，并转换为指定类型的对象</p>
+     * @param clazz 请求结果类型
+     * @param <T> 请求结果类型
+     * @return 指定类型的请求结果
+     */
+    public <T> CompletableFuture<T> postAsync(final Class<T> clazz) {
+        return postAsync().thenApply(json -> WfJson.parseObject(json, clazz));
+    }
+
+    
+    /**
+     * 创建 {@link HttpGet}
+     * @return {@link HttpGet}
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    private HttpGet createHttpGet() throws WfHttpException {
+        if (!isValidUrl(url)) {
+            throw new WfHttpException("网络请求URL错误");
+        }
+        
+        final HttpGet httpGet = new HttpGet(url);
+        httpGet.setConfig(getRequestConfig());
+        setHttpGetHeaders(httpGet);
+        setHttpGetParams(httpGet);
+        return httpGet;
+    }
+    
+    /**
+     * 创建 {@link HttpPost}
+     * @param charset 字符集名称，如：UTF-8、GB2312等
+     * @return {@link HttpPost}
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    private HttpPost createHttpPost(final String charset) throws WfHttpException {
         if (!isValidUrl(url)) {
             throw new WfHttpException("网络请求URL错误");
         }
@@ -138,21 +537,493 @@ public class WfHttpRequest {
         final HttpPost httpPost = new HttpPost(url);
         httpPost.setConfig(getRequestConfig());
         setHttpPostHeaders(httpPost);
-        setHttpPostParams(httpPost, charset);
-        setHttpBody(httpPost, charset);
+        if (!parts.isEmpty()) {
+            setHttpMultipart(httpPost, charset);
+        } else if (entity != null) {
+            setHttpEntity(httpPost);
+        } else {
+            setHttpPostParams(httpPost, charset);
+            setHttpBody(httpPost, charset);
+        }
+        compressHttpBody(httpPost);
+        return httpPost;
+    }
+    
+    /**
+     * 执行HTTP请求，由 {@code handler} 处理响应
+     * @param request {@link HttpUriRequest}
+     * @param handler 响应处理器 {@link ResponseHandler}
+     * @param <T> 处理结果类型
+     * @return 处理结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    <T> T execute(final HttpUriRequest request, 
+            final ResponseHandler<? extends T> handler) throws WfHttpException {
+        return execute(request, (transport, context) -> transport.execute(request, handler, context));
+    }
+    
+    /**
+     * 执行HTTP请求
+     * <p>每次发送前先从限流器获取令牌，熔断器已熔断时直接失败；
+     * 网络异常时按重试策略重试，请求体不可重复读取时不重试</p>
+     * @param request {@link HttpUriRequest}
+     * @param exchange 请求及响应处理过程
+     * @param <T> 处理结果类型
+     * @return 处理结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    private <T> T execute(final HttpUriRequest request, final Exchange<T> exchange) throws WfHttpException {
+        final String host = getHost();
+        int retries = 0;
+        while (true) {
+            final WfHttpTransport transport = getTransport();
+            admit(transport, host, true);
+            
+            final HttpClientContext context = HttpClientContext.create();
+            final long start = System.nanoTime();
+            try {
+                final T result = exchange.exchange(transport, context);
+                recordOutcome(transport, host, context, null, start);
+                return result;
+            } catch (IOException excpt) {
+                recordOutcome(transport, host, context, excpt, start);
+                if (!canRetry(request, retries, excpt)) {
+                    throw new WfHttpException("网络请求失败，请稍候重试", excpt);
+                }
+                backoff(retry.backoff(retries++), excpt);
+                if (request instanceof HttpRequestBase) {
+                    ((HttpRequestBase) request).reset();
+                }
+            } catch (RuntimeException excpt) {
+                recordOutcome(transport, host, context, excpt, start);
+                throw excpt;
+            } catch (Error excpt) {
+                releasePermit(host);
+                throw excpt;
+            }
+        }
+    }
+    
+    /**
+     * 发送前检查限流器及熔断器
+     * @param transport 执行请求的 {@link WfHttpTransport}
+     * @param host 请求主机
+     * @param wait 令牌不足时是否等待（最长为限流器的超时时间）
+     * @throws WfHttpException 未获得令牌或熔断器已熔断时抛出
+     */
+    private void admit(final WfHttpTransport transport, final String host, final boolean wait) 
+            throws WfHttpException {
+        if (rateLimiter != null) {
+            final String key = rateLimitKey == null ? host : rateLimitKey;
+            if (!(wait ? rateLimiter.acquire(key) : rateLimiter.tryAcquire(key))) {
+                if (transport.isMetricsEnabled()) {
+                    WfHttpMetrics.recordError(host, "RateLimited");
+                }
+                throw new WfHttpException("请求过于频繁，请稍候重试");
+            }
+        }
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire(host)) {
+            if (transport.isMetricsEnabled()) {
+                WfHttpMetrics.recordError(host, "CircuitOpen");
+            }
+            throw new WfHttpException("服务暂不可用，请稍候重试");
+        }
+    }
+    
+    /**
+     * 归还熔断器许可，用于请求被取消等没有结果的情况
+     * @param host 请求主机
+     */
+    private void releasePermit(final String host) {
+        if (circuitBreaker != null) {
+            circuitBreaker.release(host);
+        }
+    }
+    
+    /**
+     * 网络异常后是否重试
+     * <p>未设置重试策略、请求体不可重复读取或请求已被中止时不重试</p>
+     * @param request {@link HttpUriRequest}
+     * @param retries 已重试次数
+     * @param excpt 本次请求异常
+     * @return {@code true} 重试<br>
+     *         {@code false} 不重试
+     */
+    private boolean canRetry(final HttpUriRequest request, final int retries, final IOException excpt) {
+        final boolean idempotent = !(request instanceof HttpEntityEnclosingRequest);
+        final boolean repeatable = idempotent || isRepeatable((HttpEntityEnclosingRequest) request);
+        return retry != null && repeatable && !isAborted(request) && retry.canRetry(retries, idempotent, excpt);
+    }
+    
+    /**
+     * 记录请求结果到熔断器及 {@link WfHttpMetrics}
+     * <p>网络异常及5xx响应视为失败；收到响应时按状态码记录总耗时及读取响应体耗时，否则按异常类型计数</p>
+     * @param transport 执行请求的 {@link WfHttpTransport}
+     * @param host 请求主机
+     * @param context 请求上下文
+     * @param excpt 请求异常，成功时为 {@code null}
+     * @param start 请求开始时间（纳秒）
+     */
+    private void recordOutcome(final WfHttpTransport transport, final String host, final HttpClientContext context, 
+            final Exception excpt, final long start) {
+        final long end = System.nanoTime();
+        final HttpResponse response = context.getResponse();
+        final int status = response == null ? 0 : response.getStatusLine().getStatusCode();
+        if (circuitBreaker != null) {
+            final boolean success = response != null ? status < HttpStatus.SC_INTERNAL_SERVER_ERROR : excpt == null;
+            circuitBreaker.record(host, success, end - start);
+        }
+        if (!transport.isMetricsEnabled()) {
+            return;
+        }
         
-        try (
-            CloseableHttpClient httpClient = HttpClients.createDefault();
-            CloseableHttpResponse response = httpClient.execute(httpPost)
-        ) {
+        final HttpHost target = context.getTargetHost();
+        final String metricsHost = target == null ? host : WfHttpMetrics.hostKey(target);
+        if (response != null) {
+            WfHttpMetrics.recordLatency(metricsHost, status, end - start);
+            final Object receivedAt = context.getAttribute(WfHttpClient.RESPONSE_RECEIVED_AT);
+            if (receivedAt instanceof Long) {
+                WfHttpMetrics.recordPhase(metricsHost, WfHttpMetrics.Phase.BODY, end - (Long) receivedAt);
+            }
+        }
+        if (excpt != null) {
+            WfHttpMetrics.recordError(metricsHost, excpt.getClass().getSimpleName());
+        }
+    }
+    
+    /**
+     * 重试前等待
+     * @param millis 等待时间（毫秒）
+     * @param cause 本次请求异常
+     * @throws WfHttpException 等待被中断时抛出
+     */
+    private static void backoff(final long millis, final IOException cause) throws WfHttpException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException excpt) {
+            Thread.currentThread().interrupt();
+            throw new WfHttpException("网络请求失败，请稍候重试", cause);
+        }
+    }
+    
+    /**
+     * 请求是否已被中止
+     * @param request {@link HttpUriRequest}
+     * @return {@code true} 已中止，不再重试<br>
+     *         {@code false} 未中止
+     */
+    private static boolean isAborted(final HttpUriRequest request) {
+        return request instanceof HttpRequestBase && ((HttpRequestBase) request).isAborted();
+    }
+    
+    /**
+     * 请求体是否可重复读取
+     * @param request {@link HttpEntityEnclosingRequest}
+     * @return {@code true} 可重复读取<br>
+     *         {@code false} 不可重复读取
+     */
+    private static boolean isRepeatable(final HttpEntityEnclosingRequest request) {
+        final HttpEntity entity = request.getEntity();
+        return entity == null || entity.isRepeatable();
+    }
+    
+    /**
+     * 使用 {@link WfHttpCache} 执行HTTP GET
+     * <p>缓存未过期时直接返回；已过期时发起条件请求，服务端返回304时使用缓存内容</p>
+     * @param httpGet {@link HttpGet}
+     * @return {@link String} 类型请求结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    private String getWithCache(final HttpGet httpGet) throws WfHttpException {
+        final String key = httpGet.getURI().toString();
+        final WfHttpCache.Entry entry = cache.lookup(key, httpGet);
+        if (entry != null) {
+            if (entry.isFresh(System.currentTimeMillis())) {
+                cache.hit();
+                return entry.getBody();
+            }
+            entry.addConditionalHeaders(httpGet);
+        }
+        
+        return execute(httpGet, response -> {
+            if (entry != null && response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+                EntityUtils.consume(response.getEntity());
+                cache.revalidated(entry, response);
+                return entry.getBody();
+            }
+            
+            final String body = EntityUtils.toString(response.getEntity());
+            cache.store(key, httpGet, response, body);
+            return body;
+        });
+    }
+    
+    /**
+     * 异步执行HTTP请求
+     * <p>与同步请求一样经过限流器、熔断器、重试策略并记录 {@link WfHttpMetrics}；
+     * 为不阻塞调用线程，限流器令牌不足时立即失败，重试前的等待由 {@link WfHttpAsyncClient} 的调度线程完成</p>
+     * @param request {@link HttpUriRequest}
+     * @return {@link String} 类型请求结果
+     */
+    private CompletableFuture<String> executeAsync(final HttpUriRequest request) {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        final AtomicReference<Future<HttpResponse>> current = new AtomicReference<>();
+        
+        // 调用方取消时同时取消网络请求
+        result.whenComplete((value, excpt) -> {
+            final Future<HttpResponse> future = current.get();
+            if (result.isCancelled() && future != null) {
+                future.cancel(true);
+            }
+        });
+        sendAsync(request, result, current, 0);
+        return result;
+    }
+    
+    /**
+     * 异步发送HTTP请求，网络异常时按重试策略延时重发
+     * @param request {@link HttpUriRequest}
+     * @param result 请求结果
+     * @param current 执行中的网络请求
+     * @param retries 已重试次数
+     */
+    private void sendAsync(final HttpUriRequest request, final CompletableFuture<String> result,
+            final AtomicReference<Future<HttpResponse>> current, final int retries) {
+        if (result.isDone()) {
+            return;
+        }
+        
+        final WfHttpAsyncClient client = getAsyncClient();
+        final String host = getHost();
+        try {
+            admit(client, host, false);
+        } catch (WfHttpException excpt) {
+            result.completeExceptionally(excpt);
+            return;
+        }
+        
+        final HttpClientContext context = HttpClientContext.create();
+        final long start = System.nanoTime();
+        final Future<HttpResponse> future;
+        try {
+            future = client.getHttpClient().execute(request, context, new FutureCallback<HttpResponse>() {
+                @Override
+                public void completed(final HttpResponse response) {
+                    try {
+                        final String body = EntityUtils.toString(decompress(response));
+                        recordOutcome(client, host, context, null, start);
+                        result.complete(body);
+                    } catch (IOException | RuntimeException excpt) {
+                        recordOutcome(client, host, context, excpt, start);
+                        result.completeExceptionally(new WfHttpException("网络请求失败，请稍候重试", excpt));
+                    }
+                }
+
+                @Override
+                public void failed(final Exception excpt) {
+                    recordOutcome(client, host, context, excpt, start);
+                    if (excpt instanceof IOException && canRetry(request, retries, (IOException) excpt)) {
+                        if (request instanceof HttpRequestBase) {
+                            ((HttpRequestBase) request).reset();
+                        }
+                        try {
+                            client.schedule(() -> sendAsync(request, result, current, retries + 1),
+                                    retry.backoff(retries));
+                            return;
+                        } catch (RejectedExecutionException rejected) {
+                            // 引擎已关闭，不再重试
+                        }
+                    }
+                    result.completeExceptionally(new WfHttpException("网络请求失败，请稍候重试", excpt));
+                }
+
+                @Override
+                public void cancelled() {
+                    releasePermit(host);
+                    result.cancel(false);
+                }
+            });
+        } catch (RuntimeException excpt) {
+            // I/O反应器已停止等情况下同步抛出，与网络异常一样以失败结束
+            recordOutcome(client, host, context, excpt, start);
+            result.completeExceptionally(new WfHttpException("网络请求失败，请稍候重试", excpt));
+            return;
+        }
+        current.set(future);
+        if (result.isCancelled()) {
+            future.cancel(true);
+        }
+    }
+    
+    /**
+     * 创建JSON响应处理器
+     * <p>按响应的Content-Type字符集（默认UTF-8）从响应流直接解析JSON；
+     * 响应状态码不是2xx时抛出异常，不解析错误页面</p>
+     * @param type 结果类型
+     * @param <T> 结果类型
+     * @return {@link ResponseHandler}
+     */
+    private static <T> ResponseHandler<T> jsonHandler(final Type type) {
+        return response -> {
+            checkStatus(response);
             final HttpEntity entity = response.getEntity();
-            return EntityUtils.toString(entity);
+            if (entity == null || entity.getContentLength() == 0) {
+                return null;
+            }
+            
+            final ContentType contentType = ContentType.getLenient(entity);
+            final Charset charset = contentType == null || contentType.getCharset() == null 
+                    ? StandardCharsets.UTF_8 : contentType.getCharset();
+            return WfJson.parseObject(entity.getContent(), charset, type);
+        };
+    }
+    
+    /**
+     * 按Content-Encoding解压响应内容
+     * <p>Apache HttpClient同步引擎已自动解压，用于其他引擎</p>
+     * @param response {@link HttpResponse}
+     * @return 解压后的响应内容，不支持的编码原样返回
+     */
+    static HttpEntity decompress(final HttpResponse response) {
+        final HttpEntity entity = response.getEntity();
+        final Header encoding = response.getFirstHeader("Content-Encoding");
+        if (entity == null || encoding == null) {
+            return entity;
+        }
+        
+        for (final HeaderElement element : encoding.getElements()) {
+            final String codec = element.getName().toLowerCase(Locale.ENGLISH);
+            if ("gzip".equals(codec) || "x-gzip".equals(codec)) {
+                return new GzipDecompressingEntity(entity);
+            } else if ("deflate".equals(codec)) {
+                return new DeflateDecompressingEntity(entity);
+            }
+        }
+        return entity;
+    }
+    
+    /**
+     * 检查响应状态码，不是2xx时抛出异常
+     * @param response {@link HttpResponse}
+     * @throws HttpResponseException {@link HttpResponseException}
+     */
+    private static void checkStatus(final HttpResponse response) throws HttpResponseException {
+        final StatusLine statusLine = response.getStatusLine();
+        if (statusLine.getStatusCode() < 200 || statusLine.getStatusCode() >= 300) {
+            throw new HttpResponseException(statusLine.getStatusCode(), statusLine.getReasonPhrase());
+        }
+    }
+    
+    /**
+     * 关闭 {@link CloseableHttpResponse}，忽略异常
+     * @param response {@link CloseableHttpResponse}
+     */
+    private static void closeQuietly(final CloseableHttpResponse response) {
+        if (response == null) {
+            return;
+        }
+        try {
+            response.close();
         } catch (IOException excpt) {
-            throw new WfHttpException("网络请求失败，请稍候重试", excpt);
+            excpt.printStackTrace();
         }
     }
+    
+    /**
+     * 创建以异常结束的 {@link CompletableFuture}
+     * @param excpt 异常
+     * @param <T> 结果类型
+     * @return {@link CompletableFuture}
+     */
+    private static <T> CompletableFuture<T> failedFuture(final Throwable excpt) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        result.completeExceptionally(excpt);
+        return result;
+    }
 
     
+    /**
+     * 获取请求主机（含端口）
+     * @return 请求主机，如：www.example.com:8080，URL无效时返回空字符串 {@code ""}
+     */
+    String getHost() {
+        if (!isValidUrl(url)) {
+            return "";
+        }
+        
+        final int start = url.indexOf("://") + 3;
+        int end = start;
+        while (end < url.length()) {
+            final char ch = url.charAt(end);
+            if (ch == '/' || ch == '?' || ch == '#') {
+                break;
+            }
+            end++;
+        }
+        final int userInfoEnd = url.lastIndexOf('@', end - 1);
+        return url.substring(userInfoEnd >= start ? userInfoEnd + 1 : start, end).toLowerCase(Locale.ENGLISH);
+    }
+    
+    /**
+     * 获取请求合并键
+     * <p>由URL（协议及主机转为小写）、按名称排序的请求参数及指定的Header参数组成；
+     * 各部分均经过URL编码后再拼接，不同的请求不会因参数或Header中的分隔符得到相同的键</p>
+     * @return 请求合并键
+     */
+    String getCoalescingKey() {
+        int hostEnd = url.indexOf("://") + 3;
+        while (hostEnd < url.length() && "/?#".indexOf(url.charAt(hostEnd)) < 0) {
+            hostEnd++;
+        }
+        
+        final StringBuilder keyBuilder = new StringBuilder(url.length() + 64);
+        WfUrlCodec.encode(url.substring(0, hostEnd).toLowerCase(Locale.ENGLISH) + url.substring(hostEnd), keyBuilder);
+        
+        keyBuilder.append('\n');
+        if (params != null) {
+            for (final Map.Entry<String, String> entry : new TreeMap<>(params).entrySet()) {
+                appendKeyPart(keyBuilder, entry.getKey(), '=', entry.getValue()).append('&');
+            }
+        }
+        
+        keyBuilder.append('\n');
+        for (final String name : coalescingHeaders) {
+            appendKeyPart(keyBuilder, name, ':', headers.get(name)).append('\n');
+        }
+        return keyBuilder.toString();
+    }
+    
+    /**
+     * 按 {@code name<separator>value} 形式追加编码后的键值，值为 {@code null} 时只追加名称
+     * @param builder {@link StringBuilder}
+     * @param name 名称
+     * @param separator 分隔符
+     * @param value 值
+     * @return {@code builder}
+     */
+    private static StringBuilder appendKeyPart(final StringBuilder builder, final String name, 
+            final char separator, final String value) {
+        WfUrlCodec.encode(name == null ? "" : name, builder);
+        if (value != null) {
+            WfUrlCodec.encode(value, builder.append(separator));
+        }
+        return builder;
+    }
+    
+    /**
+     * 获取等待合并请求的最长时间
+     * <p>按获取连接、建立连接及读取超时时间之和计算，配置了重试策略时乘以最大请求次数</p>
+     * @return 最长等待时间（毫秒）
+     */
+    private long getCoalescingTimeout() {
+        final long timeout = (long) requestConfig.getConnectionRequestTimeout() + requestConfig.getConnectTimeout()
+                + requestConfig.getSocketTimeout();
+        return retry == null ? timeout : timeout * (retry.getMaxRetries() + 1);
+    }
+    
     /**
      * 检查URL地址是否有效
      * @param url 待检查URL地址
@@ -166,15 +1037,28 @@ public class WfHttpRequest {
         return url.startsWith("http://") || url.startsWith("https://");
     }
     
+    /**
+     * 获取HTTP传输引擎
+     * @return {@link WfHttpTransport}
+     */
+    private WfHttpTransport getTransport() {
+        return transport == null ? WfHttpTransport.getDefault() : transport;
+    }
+    
+    /**
+     * 获取异步HTTP客户端引擎
+     * @return {@link WfHttpAsyncClient}
+     */
+    private WfHttpAsyncClient getAsyncClient() {
+        return asyncClient == null ? WfHttpAsyncClient.getDefault() : asyncClient;
+    }
+    
     /**
      * 获取请求配置
      * @return 请求配置 {@link RequestConfig}
      */
-    private RequestConfig getRequestConfig() {
-        return RequestConfig.custom().setConnectTimeout(connectTimeout)
-                .setConnectionRequestTimeout(connectTimeout)
-                .setSocketTimeout(SOKET_TIMEOUT)
-                .build();
+    RequestConfig getRequestConfig() {
+        return requestConfig;
     }
     
     
@@ -187,98 +1071,352 @@ public class WfHttpRequest {
             return;
         }
         
-        final Set<Map.Entry<String, String>> entrySet = headers.entrySet();
-        for (final Map.Entry<String, String> entry : entrySet) {
-            httpGet.setHeader(entry.getKey(), entry.getValue());
-        }
+        final Set<Map.Entry<String, String>> entrySet = headers.entrySet();
+        for (final Map.Entry<String, String> entry : entrySet) {
+            httpGet.setHeader(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    /**
+     * 给 {@link HttpGet} 添加请求参数
+     * @param httpGet {@link HttpGet}
+     */
+    private void setHttpGetParams(final HttpGet httpGet) {
+        if (params == null || params.isEmpty()) {
+            return;
+        }
+        
+        // 拼接参数，不修改请求URL，同一请求可重复执行
+        final StringBuilder uriBuilder = new StringBuilder(url.length() + params.size() * 32);
+        uriBuilder.append(url).append(url.indexOf('?') < 0 ? '?' : '&');
+        appendParams(uriBuilder, params);
+        httpGet.setURI(URI.create(uriBuilder.toString()));
+    }
+    
+    /**
+     * 按UTF-8编码请求参数，以 {@code name=value&name=value} 形式追加到 {@code builder}
+     * <p>参数值原样编码，{@code unknown}、空白字符串不会被置空；{@code null} 编码为空字符串</p>
+     * @param builder {@link StringBuilder}
+     * @param params 请求参数
+     */
+    static void appendParams(final StringBuilder builder, final Map<String, String> params) {
+        boolean first = true;
+        for (final Map.Entry<String, String> entry : params.entrySet()) {
+            if (!first) {
+                builder.append('&');
+            }
+            final String name = entry.getKey();
+            final String value = entry.getValue();
+            WfUrlCodec.encode(name == null ? "" : name, builder).append('=');
+            WfUrlCodec.encode(value == null ? "" : value, builder);
+            first = false;
+        }
+    }
+    
+    
+    /**
+     * 给 {@link HttpPost} 添加Header参数
+     * @param httpPost {@link HttpPost}
+     */
+    private void setHttpPostHeaders(final HttpPost httpPost) {
+        if (headers == null || headers.isEmpty()) {
+            return;
+        }
+        
+        final Set<Map.Entry<String, String>> entrySet = headers.entrySet();
+        for (final Map.Entry<String, String> entry : entrySet) {
+            httpPost.setHeader(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    /**
+     * 给 {@link HttpPost} 添加请求参数
+     * @param httpPost {@link HttpPost}
+     * @param charset 字符集名称，如：UTF-8、GB2312等
+     */
+    private void setHttpPostParams(final HttpPost httpPost, final String charset) {
+        if (params == null || params.isEmpty()) {
+            return;
+        }
+        
+        final List<NameValuePair> paramList = new ArrayList<>();
+        final Set<Map.Entry<String, String>> entrySet = params.entrySet();
+        for (final Map.Entry<String, String> entry : entrySet) {
+            paramList.add(new BasicNameValuePair(entry.getKey(), entry.getValue()));
+        }
+        
+        try {
+            httpPost.setEntity(new UrlEncodedFormEntity(paramList, charset));
+        } catch (UnsupportedEncodingException excpt) {
+            excpt.printStackTrace();
+        }
+    }
+    
+    /**
+     * 给 {@link HttpPost} 设置Body数据
+     * @param httpPost {@link HttpPost}
+     * @param charset 字符集名称，如：UTF-8、GB2312等
+     */
+    private void setHttpBody(final HttpPost httpPost, final String charset) {
+        if (body == null || body.trim().length() <= 0) {
+            return;
+        }
+        httpPost.setEntity(new StringEntity(body, charset));
+    }
+    
+    /**
+     * gzip压缩 {@link HttpPost} 的Body数据
+     * <p>未开启压缩、Body为空、已指定Content-Encoding或长度小于压缩阈值时不压缩；长度未知时压缩。<br>
+     * 压缩后的Body以分块传输（chunked）方式边压缩边发送</p>
+     * @param httpPost {@link HttpPost}
+     */
+    private void compressHttpBody(final HttpPost httpPost) {
+        final HttpEntity postEntity = httpPost.getEntity();
+        if (compressionThreshold < 0 || postEntity == null || postEntity.getContentEncoding() != null) {
+            return;
+        }
+        
+        final long length = postEntity.getContentLength();
+        if (length >= 0 && length < compressionThreshold) {
+            return;
+        }
+        httpPost.setEntity(new GzipCompressingEntity(postEntity));
+    }
+    
+    /**
+     * 给 {@link HttpPost} 设置流式Body数据
+     * <p>请求参数无法放入Body，追加到URL中</p>
+     * @param httpPost {@link HttpPost}
+     */
+    private void setHttpEntity(final HttpPost httpPost) {
+        if (params != null && !params.isEmpty()) {
+            final StringBuilder uriBuilder = new StringBuilder(url.length() + params.size() * 32);
+            uriBuilder.append(url).append(url.indexOf('?') < 0 ? '?' : '&');
+            appendParams(uriBuilder, params);
+            httpPost.setURI(URI.create(uriBuilder.toString()));
+        }
+        httpPost.setEntity(entity);
+    }
+    
+    /**
+     * 给 {@link HttpPost} 设置 multipart/form-data 数据
+     * <p>请求参数作为文本表单项，文件表单项发送时直接从文件或输入流读取</p>
+     * @param httpPost {@link HttpPost}
+     * @param charset 字符集名称，如：UTF-8、GB2312等
+     */
+    private void setHttpMultipart(final HttpPost httpPost, final String charset) {
+        final Charset partCharset = Charset.forName(charset);
+        final ContentType textType = ContentType.TEXT_PLAIN.withCharset(partCharset);
+        final MultipartEntityBuilder multipartBuilder = MultipartEntityBuilder.create()
+                .setMode(HttpMultipartMode.RFC6532)
+                .setCharset(partCharset);
+        if (params != null) {
+            for (final Map.Entry<String, String> entry : params.entrySet()) {
+                multipartBuilder.addTextBody(entry.getKey(), 
+                        entry.getValue() == null ? "" : entry.getValue(), textType);
+            }
+        }
+        for (final Part part : parts) {
+            if (part.body == null) {
+                multipartBuilder.addTextBody(part.name, part.value == null ? "" : part.value, textType);
+            } else {
+                multipartBuilder.addPart(part.name, part.body);
+            }
+        }
+        httpPost.setEntity(multipartBuilder.build());
+    }
+    
+    
+    /**
+     * 构造 {@link WfHttpRequest}
+     * @param builder {@link WfHttpRequestBuilder}
+     */
+    protected WfHttpRequest(final WfHttpRequestBuilder builder) {
+        this.url = builder.url;
+        this.headers = builder.headers;
+        this.params = builder.params;
+        this.body = builder.body;
+        this.entity = builder.entity;
+        this.parts = new ArrayList<>(builder.parts);
+        this.requestConfig = RequestConfig.custom().setConnectTimeout(builder.connectTimeout)
+                .setConnectionRequestTimeout(builder.connectTimeout)
+                .setSocketTimeout(SOKET_TIMEOUT)
+                .build();
+        this.transport = builder.transport;
+        this.asyncClient = builder.asyncClient;
+        this.cache = builder.cache;
+        this.coalescingHeaders = builder.coalescingHeaders;
+        this.retry = builder.retry;
+        this.circuitBreaker = builder.circuitBreaker;
+        this.rateLimiter = builder.rateLimiter;
+        this.rateLimitKey = builder.rateLimitKey;
+        this.compressionThreshold = builder.compressionThreshold;
+    }
+
+
+    /**
+     * 请求及响应处理过程
+     * @param <T> 处理结果类型
+     */
+    @FunctionalInterface
+    private interface Exchange<T> {
+        
+        /**
+         * 发送请求并处理响应
+         * @param transport {@link WfHttpTransport}
+         * @param context 请求上下文
+         * @return 处理结果
+         * @throws IOException {@link IOException}
+         */
+        T exchange(WfHttpTransport transport, HttpClientContext context) throws IOException;
     }
     
+    
     /**
-     * 给 {@link HttpGet} 添加请求参数
-     * @param httpGet {@link HttpGet}
+     * multipart/form-data 表单项
      */
-    private void setHttpGetParams(final HttpGet httpGet) {
-        if (params == null || params.isEmpty()) {
-            return;
-        }
+    private static class Part {
         
-        // 是否已经有参数
-        boolean hasParam = url.indexOf('?') >= 0;
+        /**
+         * 表单项名称
+         */
+        private final transient String name;
         
-        // 拼接参数
-        final StringBuilder paramStrBuilder = new StringBuilder();
-        final Set<Map.Entry<String, String>> entrySet = params.entrySet();
-        for (final Map.Entry<String, String> entry : entrySet) {
-            paramStrBuilder.append(String.format("%s%s=%s", 
-                    hasParam ? "&" : "?", entry.getKey(), 
-                    entry.getValue() == null ? "" : entry.getValue()));
-            hasParam = true;
+        /**
+         * 文本表单项的值
+         */
+        private final transient String value;
+        
+        /**
+         * 文件表单项的内容，文本表单项为 {@code null}
+         */
+        private final transient ContentBody body;
+        
+        /**
+         * 构造 {@link Part}
+         * @param name 表单项名称
+         * @param value 文本表单项的值
+         * @param body 文件表单项的内容
+         */
+        Part(final String name, final String value, final ContentBody body) {
+            this.name = name;
+            this.value = value;
+            this.body = body;
         }
-        httpGet.setURI(URI.create(url += paramStrBuilder.toString()));
     }
     
     
     /**
-     * 给 {@link HttpPost} 添加Header参数
-     * @param httpPost {@link HttpPost}
+     * {@link ByteBuffer} 类型Body数据
+     * <p>直接从缓冲区写出，不复制数据，不改变缓冲区的位置；可重复发送</p>
      */
-    private void setHttpPostHeaders(final HttpPost httpPost) {
-        if (headers == null || headers.isEmpty()) {
-            return;
+    private static class ByteBufferEntity extends AbstractHttpEntity {
+        
+        /**
+         * Body数据，position至limit之间的内容
+         */
+        private final transient ByteBuffer buffer;
+        
+        /**
+         * 构造 {@link ByteBufferEntity}
+         * @param buffer Body数据
+         * @param contentType 内容类型
+         */
+        ByteBufferEntity(final ByteBuffer buffer, final ContentType contentType) {
+            this.buffer = buffer.duplicate();
+            setContentType(contentType.toString());
         }
         
-        final Set<Map.Entry<String, String>> entrySet = headers.entrySet();
-        for (final Map.Entry<String, String> entry : entrySet) {
-            httpPost.setHeader(entry.getKey(), entry.getValue());
+        @Override
+        public boolean isRepeatable() {
+            return true;
         }
-    }
-    
-    /**
-     * 给 {@link HttpPost} 添加请求参数
-     * @param httpPost {@link HttpPost}
-     * @param charset 字符集名称，如：UTF-8、GB2312等
-     */
-    private void setHttpPostParams(final HttpPost httpPost, final String charset) {
-        if (params == null || params.isEmpty()) {
-            return;
+        
+        @Override
+        public long getContentLength() {
+            return buffer.remaining();
         }
         
-        final List<NameValuePair> paramList = new ArrayList<>();
-        final Set<Map.Entry<String, String>> entrySet = params.entrySet();
-        for (final Map.Entry<String, String> entry : entrySet) {
-            paramList.add(new BasicNameValuePair(entry.getKey(), entry.getValue()));
+        @Override
+        public InputStream getContent() {
+            final ByteBuffer source = buffer.duplicate();
+            if (source.hasArray()) {
+                return new ByteArrayInputStream(source.array(), source.arrayOffset() + source.position(), 
+                        source.remaining());
+            }
+            
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return source.hasRemaining() ? source.get() & 0xFF : -1;
+                }
+                
+                @Override
+                public int read(final byte[] bytes, final int offset, final int length) {
+                    if (!source.hasRemaining()) {
+                        return -1;
+                    }
+                    final int count = Math.min(length, source.remaining());
+                    source.get(bytes, offset, count);
+                    return count;
+                }
+                
+                @Override
+                public int available() {
+                    return source.remaining();
+                }
+            };
         }
         
-        try {
-            httpPost.setEntity(new UrlEncodedFormEntity(paramList, charset));
-        } catch (UnsupportedEncodingException excpt) {
-            excpt.printStackTrace();
+        @Override
+        public void writeTo(final OutputStream output) throws IOException {
+            final ByteBuffer source = buffer.duplicate();
+            if (source.hasArray()) {
+                output.write(source.array(), source.arrayOffset() + source.position(), source.remaining());
+                return;
+            }
+            
+            final byte[] chunk = new byte[Math.min(BUFFER_SIZE, source.remaining())];
+            while (source.hasRemaining()) {
+                final int count = Math.min(chunk.length, source.remaining());
+                source.get(chunk, 0, count);
+                output.write(chunk, 0, count);
+            }
         }
-    }
-    
-    /**
-     * 给 {@link HttpPost} 设置Body数据
-     * @param httpPost {@link HttpPost}
-     * @param charset 字符集名称，如：UTF-8、GB2312等
-     */
-    private void setHttpBody(final HttpPost httpPost, final String charset) {
-        if (body == null || body.trim().length() <= 0) {
-            return;
+        
+        @Override
+        public boolean isStreaming() {
+            return false;
         }
-        httpPost.setEntity(new StringEntity(body, charset));
     }
     
     
     /**
-     * 构造 {@link WfHttpRequest}
-     * @param builder {@link WfHttpRequestBuilder}
+     * 响应内容输入流
+     * <p>关闭时同时关闭 {@link CloseableHttpResponse}</p>
      */
-    protected WfHttpRequest(final WfHttpRequestBuilder builder) {
-        this.url = builder.url;
-        this.headers = builder.headers;
-        this.params = builder.params;
-        this.body = builder.body;
-        this.connectTimeout = builder.connectTimeout;
+    private static class ResponseInputStream extends FilterInputStream {
+        
+        /**
+         * HTTP响应
+         */
+        private final transient CloseableHttpResponse response;
+        
+        /**
+         * 构造 {@link ResponseInputStream}
+         * @param content 响应内容
+         * @param response HTTP响应
+         */
+        ResponseInputStream(final InputStream content, final CloseableHttpResponse response) {
+            super(content);
+            this.response = response;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            // 先关闭响应，未读完的连接直接中断，避免读取剩余内容
+            response.close();
+        }
     }
 
 
@@ -310,10 +1448,65 @@ public class WfHttpRequest {
          */
         private transient String body;
         
+        /**
+         * 流式Body数据
+         */
+        private transient HttpEntity entity;
+        
+        /**
+         * multipart/form-data 表单项
+         */
+        private final transient List<Part> parts;
+        
         /**
          * 请求超时时间（毫秒）
          */
         private transient int connectTimeout;
+        
+        /**
+         * HTTP客户端引擎
+         */
+        private transient WfHttpTransport transport;
+        
+        /**
+         * 异步HTTP客户端引擎
+         */
+        private transient WfHttpAsyncClient asyncClient;
+        
+        /**
+         * GET响应缓存
+         */
+        private transient WfHttpCache cache;
+        
+        /**
+         * 参与请求合并键的Header参数名称
+         */
+        private transient List<String> coalescingHeaders;
+        
+        /**
+         * 重试策略
+         */
+        private transient WfHttpRetry retry;
+        
+        /**
+         * 熔断器
+         */
+        private transient WfHttpCircuitBreaker circuitBreaker;
+        
+        /**
+         * 限流器
+         */
+        private transient WfHttpRateLimiter rateLimiter;
+        
+        /**
+         * 限流键
+         */
+        private transient String rateLimitKey;
+        
+        /**
+         * 请求Body压缩阈值（字节）
+         */
+        private transient long compressionThreshold;
 
 
         /**
@@ -324,12 +1517,15 @@ public class WfHttpRequest {
             headers = new HashMap<>(PARAMS_COUNT);
             params = new HashMap<>(PARAMS_COUNT);
             body = "";
+            parts = new ArrayList<>();
+            compressionThreshold = -1;
             connectTimeout = CONNECT_TIMEOUT;
         }
 
         
         /**
          * 设置请求URL
+         * <p>URL原样发送，其中的查询串须已编码</p>
          * @param url 请求URL
          * @return {@link WfHttpRequestBuilder}
          */
@@ -349,6 +1545,124 @@ public class WfHttpRequest {
             return this;
         }
 
+        /**
+         * 设置HTTP客户端引擎
+         * <p>等同于 {@link #setTransport(WfHttpTransport)}，默认使用 {@link WfHttpTransport#getDefault()}</p>
+         * @param client {@link WfHttpClient}
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setClient(final WfHttpClient client) {
+            this.transport = client;
+            return this;
+        }
+
+        /**
+         * 设置HTTP传输引擎
+         * <p>默认使用 {@link WfHttpTransport#getDefault()}，由系统属性 {@value WfHttpTransport#PROPERTY} 选择</p>
+         * @param transport {@link WfHttpTransport}
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setTransport(final WfHttpTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * 设置异步HTTP客户端引擎
+         * <p>默认使用 {@link WfHttpAsyncClient#getDefault()}</p>
+         * @param asyncClient {@link WfHttpAsyncClient}
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setAsyncClient(final WfHttpAsyncClient asyncClient) {
+            this.asyncClient = asyncClient;
+            return this;
+        }
+
+        /**
+         * 设置GET响应缓存
+         * <p>仅对 {@link WfHttpRequest#get()} 生效，默认不使用缓存</p>
+         * @param cache {@link WfHttpCache}
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setCache(final WfHttpCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * 开启请求合并
+         * <p>仅对 {@link WfHttpRequest#get()} 生效：URL、请求参数及指定Header参数均相同的并发GET请求
+         * 只发起一次网络请求，其余线程等待并共享其结果；
+         * 等待时间超过请求的超时时间时抛出 {@link WfHttpException}</p>
+         * @param keyHeaders 参与请求合并键的Header参数名称（区分大小写，与 {@link #addHeader} 一致）
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setCoalescing(final String... keyHeaders) {
+            final List<String> names = new ArrayList<>();
+            if (keyHeaders != null) {
+                names.addAll(Arrays.asList(keyHeaders));
+            }
+            Collections.sort(names);
+            this.coalescingHeaders = names;
+            return this;
+        }
+
+        /**
+         * 设置重试策略
+         * <p>默认不重试</p>
+         * @param retry {@link WfHttpRetry}
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setRetry(final WfHttpRetry retry) {
+            this.retry = retry;
+            return this;
+        }
+        
+        /**
+         * 设置熔断器
+         * <p>熔断器按主机统计，同一主机的请求应共享同一个 {@link WfHttpCircuitBreaker}；默认不熔断</p>
+         * @param circuitBreaker {@link WfHttpCircuitBreaker}
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setCircuitBreaker(final WfHttpCircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        /**
+         * 设置限流器，按主机限流
+         * <p>默认不限流</p>
+         * @param rateLimiter {@link WfHttpRateLimiter}
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setRateLimiter(final WfHttpRateLimiter rateLimiter) {
+            return setRateLimiter(rateLimiter, null);
+        }
+        
+        /**
+         * 设置限流器，按指定的键限流
+         * @param rateLimiter {@link WfHttpRateLimiter}
+         * @param key 限流键，为空时按主机限流
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setRateLimiter(final WfHttpRateLimiter rateLimiter, final String key) {
+            this.rateLimiter = rateLimiter;
+            this.rateLimitKey = key;
+            return this;
+        }
+
+        /**
+         * 开启POST请求Body的gzip压缩
+         * <p>Body长度不小于 {@code threshold} 或长度未知时以 {@code Content-Encoding: gzip} 发送，
+         * 服务端需支持解压；默认不压缩</p>
+         * @param threshold 压缩阈值（字节），小于0表示不压缩
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setRequestCompression(final long threshold) {
+            this.compressionThreshold = threshold;
+            return this;
+        }
+
         /**
          * 设置Body数据
          * @param data Body数据
@@ -356,9 +1670,158 @@ public class WfHttpRequest {
          */
         public WfHttpRequestBuilder setBody(final String data) {
             this.body = data;
+            this.entity = null;
+            return this;
+        }
+        
+        /**
+         * 设置字节数组类型Body数据
+         * <p>直接发送，不复制数据、不经过字符集转换；设置流式Body数据后，请求参数追加到URL中</p>
+         * @param data Body数据
+         * @param contentType 内容类型，如：application/octet-stream、image/png，为空时为 application/octet-stream
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setBody(final byte[] data, final String contentType) {
+            return setEntity(data == null ? null : new ByteArrayEntity(data, toContentType(contentType)));
+        }
+        
+        /**
+         * 设置 {@link ByteBuffer} 类型Body数据
+         * <p>发送缓冲区position至limit之间的内容，不复制数据、不改变缓冲区的位置，发送完成前不得修改缓冲区；
+         * 设置流式Body数据后，请求参数追加到URL中</p>
+         * @param data Body数据
+         * @param contentType 内容类型，如：application/octet-stream，为空时为 application/octet-stream
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setBody(final ByteBuffer data, final String contentType) {
+            return setEntity(data == null ? null : new ByteBufferEntity(data, toContentType(contentType)));
+        }
+        
+        /**
+         * 设置文件类型Body数据
+         * <p>发送时直接从文件读取，内存占用与文件大小无关，可重复发送；设置流式Body数据后，请求参数追加到URL中</p>
+         * @param file 文件
+         * @param contentType 内容类型，如：application/zip，为空时为 application/octet-stream
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setBody(final File file, final String contentType) {
+            return setEntity(file == null ? null : new FileEntity(file, toContentType(contentType)));
+        }
+        
+        /**
+         * 设置输入流类型Body数据
+         * <p>发送时直接从输入流读取，内存占用与数据大小无关；长度未知时使用分块传输（chunked）。<br>
+         * 输入流只能读取一次，请求失败时不重试，发送完成后由调用方关闭；设置流式Body数据后，请求参数追加到URL中</p>
+         * @param stream 输入流
+         * @param length 数据长度（字节），小于0表示未知
+         * @param contentType 内容类型，如：application/octet-stream，为空时为 application/octet-stream
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder setBody(final InputStream stream, final long length, final String contentType) {
+            if (stream == null) {
+                return setEntity(null);
+            }
+            final InputStreamEntity streamEntity = new InputStreamEntity(stream, length, toContentType(contentType));
+            streamEntity.setChunked(length < 0);
+            return setEntity(streamEntity);
+        }
+        
+        
+        /**
+         * 添加 multipart/form-data 文本表单项
+         * <p>添加表单项后以 multipart/form-data 方式POST，请求参数同时作为文本表单项发送</p>
+         * @param name 表单项名称
+         * @param value 表单项的值
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder addPart(final String name, final String value) {
+            parts.add(new Part(name, value, null));
+            return this;
+        }
+        
+        /**
+         * 添加 multipart/form-data 文件表单项
+         * <p>内容类型为 application/octet-stream，发送时直接从文件读取</p>
+         * @param name 表单项名称
+         * @param file 文件
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder addPart(final String name, final File file) {
+            return addPart(name, file, null);
+        }
+        
+        /**
+         * 添加 multipart/form-data 文件表单项
+         * <p>发送时直接从文件读取，内存占用与文件大小无关</p>
+         * @param name 表单项名称
+         * @param file 文件
+         * @param contentType 内容类型，如：image/png，为空时为 application/octet-stream
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder addPart(final String name, final File file, final String contentType) {
+            parts.add(new Part(name, null, new FileBody(file, toContentType(contentType), file.getName())));
             return this;
         }
         
+        /**
+         * 添加 multipart/form-data 文件表单项
+         * <p>发送时直接从输入流读取；输入流只能读取一次，请求失败时不重试，发送完成后由调用方关闭</p>
+         * @param name 表单项名称
+         * @param stream 输入流
+         * @param fileName 文件名称
+         * @param contentType 内容类型，如：image/png，为空时为 application/octet-stream
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder addPart(final String name, final InputStream stream, 
+                final String fileName, final String contentType) {
+            parts.add(new Part(name, null, new InputStreamBody(stream, toContentType(contentType), fileName)));
+            return this;
+        }
+        
+        /**
+         * 添加 multipart/form-data 文件表单项
+         * @param name 表单项名称
+         * @param data 文件内容
+         * @param fileName 文件名称
+         * @param contentType 内容类型，如：image/png，为空时为 application/octet-stream
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder addPart(final String name, final byte[] data, 
+                final String fileName, final String contentType) {
+            parts.add(new Part(name, null, new ByteArrayBody(data, toContentType(contentType), fileName)));
+            return this;
+        }
+        
+        /**
+         * 清空 multipart/form-data 表单项
+         * @return {@link WfHttpRequestBuilder}
+         */
+        public WfHttpRequestBuilder clearParts() {
+            parts.clear();
+            return this;
+        }
+        
+        /**
+         * 设置流式Body数据
+         * @param entity Body数据
+         * @return {@link WfHttpRequestBuilder}
+         */
+        private WfHttpRequestBuilder setEntity(final HttpEntity entity) {
+            this.entity = entity;
+            this.body = "";
+            return this;
+        }
+        
+        /**
+         * 解析内容类型
+         * @param contentType 内容类型，如：image/png、text/plain; charset=UTF-8
+         * @return {@link ContentType}，为空时为 application/octet-stream
+         */
+        private static ContentType toContentType(final String contentType) {
+            return contentType == null || contentType.trim().isEmpty() 
+                    ? ContentType.APPLICATION_OCTET_STREAM : ContentType.parse(contentType);
+        }
+        
         
         /**
          * 添加Header参数
@@ -384,6 +1847,8 @@ public class WfHttpRequest {
         
         /**
          * 添加请求参数
+         * <p>参数名称及参数值均为未编码的原文，发送时按UTF-8编码（{@code %20} 会被编码为 {@code %2520}）；<br>
+         * 已编码的参数请直接拼接在 {@link #setUrl(String)} 的查询串中，URL原样发送</p>
          * @param key 参数名称
          * @param value 参数值
          * @return {@link WfHttpRequestBuilder}
@@ -395,6 +1860,7 @@ public class WfHttpRequest {
         
         /**
          * 添加请求参数
+         * <p>参数名称及参数值均为未编码的原文，发送时按UTF-8编码，见 {@link #addParam(String, String)}</p>
          * @param params 参数列表
          * @return {@link WfHttpRequestBuilder}
          */
@@ -436,6 +1902,16 @@ public class WfHttpRequest {
         public WfHttpRequest build() {
             return new WfHttpRequest(this);
         }
+        
+        /**
+         * 构建 {@link WfHttpRequestTemplate}
+         * <p>当前的Header参数及请求参数作为模板的固定参数，之后对构建器的修改不影响已构建的模板</p>
+         * @return {@link WfHttpRequestTemplate}
+         * @throws WfHttpException URL无效时抛出
+         */
+        public WfHttpRequestTemplate buildTemplate() throws WfHttpException {
+            return new WfHttpRequestTemplate(new WfHttpRequest(this), url, headers, params);
+        }
 
     }
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package net.virgodirk.wildfire.util;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import net.virgodirk.wildfire.util.exception.WfHttpException;
+import org.apache.http.Header;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * HTTP请求模板
+ *
+ * <p>由 {@link WfHttpRequest.WfHttpRequestBuilder#buildTemplate()} 创建，构建时即完成URL校验、
+ * 固定请求参数的编码及Header参数的创建，每次调用只需编码本次的可变参数，适合高频调用的接口。<br>
+ * 引擎、重试、熔断、限流等设置与 {@link WfHttpRequest} 相同；不使用GET响应缓存及请求合并。<br>
+ * 参数均按UTF-8编码。不可变对象，线程安全，可被多个线程共享。</p>
+ *
+ * @author agent on 2026年10月18日 下午22:08:15
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfHttpRequestTemplate {
+
+    /**
+     * 表单内容类型
+     */
+    private static final ContentType FORM_CONTENT_TYPE = ContentType.APPLICATION_FORM_URLENCODED
+            .withCharset(StandardCharsets.UTF_8);
+
+
+    /**
+     * 执行请求的 {@link WfHttpRequest}
+     */
+    private final transient WfHttpRequest prototype;
+
+    /**
+     * 含固定请求参数的GET请求URL
+     */
+    private final transient String getUrl;
+
+    /**
+     * 含固定请求参数的GET请求URI
+     */
+    private final transient URI getUri;
+
+    /**
+     * POST请求URI
+     */
+    private final transient URI postUri;
+
+    /**
+     * 已编码的固定请求参数（不含前导分隔符），用于POST表单
+     */
+    private final transient String formParams;
+
+    /**
+     * Header参数
+     */
+    private final transient Header[] headers;
+
+
+    /**
+     * HTTP GET，只发送固定请求参数
+     * @return {@link String} 类型请求结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    public String get() throws WfHttpException {
+        return get(Collections.emptyMap());
+    }
+
+    /**
+     * HTTP GET
+     * @param params 本次请求的可变参数，追加在固定请求参数之后
+     * @return {@link String} 类型请求结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    public String get(final Map<String, String> params) throws WfHttpException {
+        return get(params, response -> EntityUtils.toString(response.getEntity()));
+    }
+
+    /**
+     * HTTP GET
+     * <p>由 {@code handler} 直接处理响应流，处理完成后自动释放连接</p>
+     * @param params 本次请求的可变参数，追加在固定请求参数之后
+     * @param handler 响应处理器 {@link ResponseHandler}
+     * @param <T> 处理结果类型
+     * @return 处理结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    public <T> T get(final Map<String, String> params,
+            final ResponseHandler<? extends T> handler) throws WfHttpException {
+        final HttpGet httpGet = new HttpGet(createGetUri(params));
+        httpGet.setConfig(prototype.getRequestConfig());
+        httpGet.setHeaders(headers);
+        return prototype.execute(httpGet, handler);
+    }
+
+    /**
+     * HTTP POST，以表单形式发送固定请求参数及本次的可变参数
+     * @param params 本次请求的可变参数，追加在固定请求参数之后
+     * @return {@link String} 类型请求结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    public String post(final Map<String, String> params) throws WfHttpException {
+        return post(params, response -> EntityUtils.toString(response.getEntity()));
+    }
+
+    /**
+     * HTTP POST，以表单形式发送固定请求参数及本次的可变参数
+     * <p>由 {@code handler} 直接处理响应流，处理完成后自动释放连接</p>
+     * @param params 本次请求的可变参数，追加在固定请求参数之后
+     * @param handler 响应处理器 {@link ResponseHandler}
+     * @param <T> 处理结果类型
+     * @return 处理结果
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    public <T> T post(final Map<String, String> params,
+            final ResponseHandler<? extends T> handler) throws WfHttpException {
+        final HttpPost httpPost = new HttpPost(postUri);
+        httpPost.setConfig(prototype.getRequestConfig());
+        httpPost.setHeaders(headers);
+
+        final String form;
+        if (params == null || params.isEmpty()) {
+            form = formParams;
+        } else {
+            final StringBuilder formBuilder = new StringBuilder(formParams.length() + params.size() * 32);
+            formBuilder.append(formParams);
+            if (!formParams.isEmpty()) {
+                formBuilder.append('&');
+            }
+            WfHttpRequest.appendParams(formBuilder, params);
+            form = formBuilder.toString();
+        }
+        if (!form.isEmpty()) {
+            httpPost.setEntity(new ByteArrayEntity(form.getBytes(StandardCharsets.UTF_8), FORM_CONTENT_TYPE));
+        }
+        return prototype.execute(httpPost, handler);
+    }
+
+
+    /**
+     * 创建GET请求URI，没有可变参数时直接使用预先解析的URI
+     * @param params 本次请求的可变参数
+     * @return GET请求URI
+     * @throws WfHttpException {@link WfHttpException}
+     */
+    private URI createGetUri(final Map<String, String> params) throws WfHttpException {
+        if (params == null || params.isEmpty()) {
+            return getUri;
+        }
+
+        final StringBuilder uriBuilder = new StringBuilder(getUrl.length() + params.size() * 32);
+        uriBuilder.append(getUrl).append(getUrl.indexOf('?') < 0 ? '?' : '&');
+        WfHttpRequest.appendParams(uriBuilder, params);
+        try {
+            return URI.create(uriBuilder.toString());
+        } catch (IllegalArgumentException excpt) {
+            throw new WfHttpException("网络请求URL错误", excpt);
+        }
+    }
+
+
+    /**
+     * 构造 {@link WfHttpRequestTemplate}
+     * @param prototype 执行请求的 {@link WfHttpRequest}
+     * @param url 请求URL
+     * @param headers Header参数
+     * @param params 固定请求参数
+     * @throws WfHttpException URL无效时抛出
+     */
+    WfHttpRequestTemplate(final WfHttpRequest prototype, final String url,
+            final Map<String, String> headers, final Map<String, String> params) throws WfHttpException {
+        if (url == null || !(url.startsWith("http://") || url.startsWith("https://"))) {
+            throw new WfHttpException("网络请求URL错误");
+        }
+        this.prototype = prototype;
+
+        final StringBuilder formBuilder = new StringBuilder();
+        if (params != null && !params.isEmpty()) {
+            WfHttpRequest.appendParams(formBuilder, params);
+        }
+        this.formParams = formBuilder.toString();
+        this.getUrl = formParams.isEmpty() ? url : url + (url.indexOf('?') < 0 ? '?' : '&') + formParams;
+        try {
+            this.getUri = URI.create(getUrl);
+            this.postUri = URI.create(url);
+        } catch (IllegalArgumentException excpt) {
+            throw new WfHttpException("网络请求URL错误", excpt);
+        }
+
+        this.headers = new Header[headers == null ? 0 : headers.size()];
+        if (headers != null) {
+            int index = 0;
+            for (final Map.Entry<String, String> entry : headers.entrySet()) {
+                this.headers[index++] = new BasicHeader(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
\ No newline at end of file
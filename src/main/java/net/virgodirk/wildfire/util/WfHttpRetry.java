@@ -0,0 +1,221 @@
+package net.virgodirk.wildfire.util;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.net.ssl.SSLException;
+
+import org.apache.http.client.HttpResponseException;
+
+/**
+ * HTTP请求重试策略
+ *
+ * <p>网络异常（{@link IOException}）时按指数退避并加随机抖动后重试；<br>
+ * 默认只重试幂等请求（GET），POST请求需通过 {@link WfHttpRetryBuilder#setRetryNonIdempotent(boolean)} 开启；<br>
+ * 域名解析失败、SSL异常及服务端返回的错误状态码不重试。不可变对象，线程安全。</p>
+ *
+ * @author agent on 2026年10月18日 下午19:08:44
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfHttpRetry {
+
+    /**
+     * 默认最大重试次数
+     */
+    protected static final int MAX_RETRIES = 2;
+
+    /**
+     * 默认初始退避时间（毫秒）
+     */
+    protected static final long INITIAL_BACKOFF = 100L;
+
+    /**
+     * 默认最大退避时间（毫秒）
+     */
+    protected static final long MAX_BACKOFF = 2000L;
+
+
+    /**
+     * 最大重试次数
+     */
+    private final transient int maxRetries;
+
+    /**
+     * 初始退避时间（毫秒）
+     */
+    private final transient long initialBackoff;
+
+    /**
+     * 最大退避时间（毫秒）
+     */
+    private final transient long maxBackoff;
+
+    /**
+     * 是否重试非幂等请求（POST）
+     */
+    private final transient boolean retryNonIdempotent;
+
+
+    /**
+     * {@link WfHttpRetry} 构建器
+     * @return {@link WfHttpRetryBuilder}
+     */
+    public static WfHttpRetryBuilder builder() {
+        return new WfHttpRetryBuilder();
+    }
+
+
+    /**
+     * 获取最大重试次数
+     * @return 最大重试次数
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * 是否重试非幂等请求（POST）
+     * @return {@code true} 重试<br>
+     *         {@code false} 不重试
+     */
+    public boolean isRetryNonIdempotent() {
+        return retryNonIdempotent;
+    }
+
+    /**
+     * 是否可以重试
+     * @param retries 已重试次数
+     * @param idempotent 请求是否幂等
+     * @param excpt 本次请求异常
+     * @return {@code true} 可以重试<br>
+     *         {@code false} 不可以重试
+     */
+    boolean canRetry(final int retries, final boolean idempotent, final IOException excpt) {
+        if (retries >= maxRetries || (!idempotent && !retryNonIdempotent)) {
+            return false;
+        }
+        return !(excpt instanceof UnknownHostException
+                || excpt instanceof SSLException
+                || excpt instanceof HttpResponseException);
+    }
+
+    /**
+     * 计算退避时间
+     * <p>在 [0, min(最大退避时间, 初始退避时间 × 2^重试次数)] 内随机取值，避免重试请求同时到达</p>
+     * @param retries 已重试次数
+     * @return 退避时间（毫秒）
+     */
+    long backoff(final int retries) {
+        final long ceiling = Math.min(maxBackoff, initialBackoff << Math.min(retries, 30));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+
+    /**
+     * 构造 {@link WfHttpRetry}
+     * @param builder {@link WfHttpRetryBuilder}
+     */
+    protected WfHttpRetry(final WfHttpRetryBuilder builder) {
+        this.maxRetries = builder.maxRetries;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.retryNonIdempotent = builder.retryNonIdempotent;
+    }
+
+
+    /**
+     * {@link WfHttpRetry} 构建器
+     *
+     * @author agent on 2026年10月18日 下午19:08:44
+     * @version Version 3.0
+     */
+    public static class WfHttpRetryBuilder {
+
+        /**
+         * 最大重试次数
+         */
+        private transient int maxRetries;
+
+        /**
+         * 初始退避时间（毫秒）
+         */
+        private transient long initialBackoff;
+
+        /**
+         * 最大退避时间（毫秒）
+         */
+        private transient long maxBackoff;
+
+        /**
+         * 是否重试非幂等请求（POST）
+         */
+        private transient boolean retryNonIdempotent;
+
+
+        /**
+         * 构造 {@link WfHttpRetryBuilder}
+         */
+        public WfHttpRetryBuilder() {
+            maxRetries = MAX_RETRIES;
+            initialBackoff = INITIAL_BACKOFF;
+            maxBackoff = MAX_BACKOFF;
+            retryNonIdempotent = false;
+        }
+
+
+        /**
+         * 设置最大重试次数
+         * <p>默认值：2</p>
+         * @param maxRetries 最大重试次数
+         * @return {@link WfHttpRetryBuilder}
+         */
+        public WfHttpRetryBuilder setMaxRetries(final int maxRetries) {
+            this.maxRetries = Math.max(0, maxRetries);
+            return this;
+        }
+
+        /**
+         * 设置初始退避时间（毫秒）
+         * <p>默认值：100毫秒，每次重试翻倍</p>
+         * @param initialBackoff 初始退避时间（毫秒）
+         * @return {@link WfHttpRetryBuilder}
+         */
+        public WfHttpRetryBuilder setInitialBackoff(final long initialBackoff) {
+            this.initialBackoff = Math.max(0, initialBackoff);
+            return this;
+        }
+
+        /**
+         * 设置最大退避时间（毫秒）
+         * <p>默认值：2000毫秒</p>
+         * @param maxBackoff 最大退避时间（毫秒）
+         * @return {@link WfHttpRetryBuilder}
+         */
+        public WfHttpRetryBuilder setMaxBackoff(final long maxBackoff) {
+            this.maxBackoff = Math.max(0, maxBackoff);
+            return this;
+        }
+
+        /**
+         * 设置是否重试非幂等请求（POST）
+         * <p>默认值：{@code false}</p>
+         * @param retryNonIdempotent 是否重试非幂等请求
+         * @return {@link WfHttpRetryBuilder}
+         */
+        public WfHttpRetryBuilder setRetryNonIdempotent(final boolean retryNonIdempotent) {
+            this.retryNonIdempotent = retryNonIdempotent;
+            return this;
+        }
+
+
+        /**
+         * 构建 {@link WfHttpRetry}
+         * @return {@link WfHttpRetry}
+         */
+        public WfHttpRetry build() {
+            return new WfHttpRetry(this);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package net.virgodirk.wildfire.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * HTTP传输引擎
+ *
+ * <p>{@link WfHttpRequest} 通过该接口发送请求，请求及响应统一使用HttpCore的消息模型，
+ * 重试、熔断、限流、缓存、指标等功能与具体引擎无关。已有实现：<br>
+ * {@link WfHttpClient}：基于Apache HttpClient连接池的同步引擎（默认）；<br>
+ * {@link WfHttpUrlConnectionTransport}：基于JDK {@link java.net.HttpURLConnection} 的引擎，无第三方连接池；<br>
+ * {@link WfHttpAsyncClient}：基于NIO Reactor的异步引擎，同步调用时等待响应完成。<br>
+ * 未通过 {@link WfHttpRequest.WfHttpRequestBuilder#setTransport(WfHttpTransport)} 指定时，
+ * 由系统属性 {@value #PROPERTY}（{@code apache}、{@code urlconnection}、{@code async}）选择默认引擎。<br>
+ * 实现类必须线程安全。执行请求后须在请求上下文中设置响应（{@link HttpClientContext#HTTP_RESPONSE}），
+ * 用于熔断及指标统计。</p>
+ *
+ * @author agent on 2026年10月19日 上午00:41:27
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public interface WfHttpTransport extends Closeable {
+
+    /**
+     * 选择默认引擎的系统属性名称
+     */
+    String PROPERTY = "wildfire.http.transport";
+
+
+    /**
+     * 获取默认引擎
+     * <p>按系统属性 {@value #PROPERTY} 选择：{@code urlconnection} 为 {@link WfHttpUrlConnectionTransport#getDefault()}，
+     * {@code async} 为 {@link WfHttpAsyncClient#getDefault()}，未设置或其他值为 {@link WfHttpClient#getDefault()}</p>
+     * @return 默认 {@link WfHttpTransport}
+     */
+    static WfHttpTransport getDefault() {
+        final String name = System.getProperty(PROPERTY, "apache").trim().toLowerCase(Locale.ENGLISH);
+        switch (name) {
+            case "urlconnection":
+                return WfHttpUrlConnectionTransport.getDefault();
+            case "async":
+                return WfHttpAsyncClient.getDefault();
+            default:
+                return WfHttpClient.getDefault();
+        }
+    }
+
+
+    /**
+     * 获取引擎名称
+     * @return 引擎名称
+     */
+    String getName();
+
+    /**
+     * 是否开启指标统计
+     * @return {@code true} 开启<br>
+     *         {@code false} 未开启
+     */
+    boolean isMetricsEnabled();
+
+    /**
+     * 发送请求
+     * <p>调用方必须关闭返回的响应以释放连接</p>
+     * @param request {@link HttpUriRequest}
+     * @param context 请求上下文
+     * @return {@link CloseableHttpResponse}
+     * @throws IOException 网络异常时抛出
+     */
+    CloseableHttpResponse execute(HttpUriRequest request, HttpClientContext context) throws IOException;
+
+    /**
+     * 发送请求，由 {@code handler} 处理响应
+     * <p>处理完成后读完剩余的响应内容并关闭响应，以便复用连接</p>
+     * @param request {@link HttpUriRequest}
+     * @param handler 响应处理器 {@link ResponseHandler}
+     * @param context 请求上下文
+     * @param <T> 处理结果类型
+     * @return 处理结果
+     * @throws IOException 网络异常或 {@code handler} 抛出异常时抛出
+     */
+    default <T> T execute(final HttpUriRequest request, final ResponseHandler<? extends T> handler,
+            final HttpClientContext context) throws IOException {
+        try (CloseableHttpResponse response = execute(request, context)) {
+            final T result = handler.handleResponse(response);
+            EntityUtils.consume(response.getEntity());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package net.virgodirk.wildfire.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.message.BasicHttpResponse;
+
+/**
+ * 非Apache HttpClient引擎返回的响应
+ *
+ * <p>关闭时执行引擎提供的释放操作，如：关闭响应流以归还连接</p>
+ *
+ * @author agent on 2026年10月19日 上午00:41:27
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+class WfHttpTransportResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+    /**
+     * 释放操作
+     */
+    private final transient Closeable release;
+
+
+    /**
+     * 构造 {@link WfHttpTransportResponse}
+     * @param statusLine 状态行
+     * @param release 释放操作，可以为 {@code null}
+     */
+    WfHttpTransportResponse(final StatusLine statusLine, final Closeable release) {
+        super(statusLine);
+        this.release = release;
+    }
+
+    /**
+     * 由已有响应构造 {@link WfHttpTransportResponse}
+     * @param response {@link HttpResponse}
+     * @return {@link WfHttpTransportResponse}
+     */
+    static WfHttpTransportResponse of(final HttpResponse response) {
+        final WfHttpTransportResponse result = new WfHttpTransportResponse(response.getStatusLine(), null);
+        for (final Header header : response.getAllHeaders()) {
+            result.addHeader(header);
+        }
+        result.setEntity(response.getEntity());
+        return result;
+    }
+
+    /**
+     * 按Content-Encoding解压响应内容
+     * <p>与Apache HttpClient相同，解压后移除Content-Encoding、Content-Length及Content-MD5</p>
+     * @param response {@link HttpResponse}
+     */
+    static void decompress(final HttpResponse response) {
+        final HttpEntity entity = response.getEntity();
+        final HttpEntity decompressed = WfHttpRequest.decompress(response);
+        if (decompressed != entity) {
+            response.setEntity(decompressed);
+            response.removeHeaders("Content-Encoding");
+            response.removeHeaders("Content-Length");
+            response.removeHeaders("Content-MD5");
+        }
+    }
+
+
+    /**
+     * 关闭响应，执行释放操作
+     * @throws IOException 释放失败时抛出
+     */
+    @Override
+    public void close() throws IOException {
+        if (release != null) {
+            release.close();
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package net.virgodirk.wildfire.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.protocol.HttpCoreContext;
+
+/**
+ * 基于JDK {@link HttpURLConnection} 的HTTP传输引擎
+ *
+ * <p>使用JDK内置的Keep-Alive连接缓存（系统属性 {@code http.maxConnections} 控制每个主机的空闲连接数），
+ * 不依赖Apache HttpClient连接池，适合连接数少、依赖受限的场景。<br>
+ * 连接超时、读取超时及是否跟随重定向取自请求的 {@link RequestConfig}；
+ * 默认发送 {@code Accept-Encoding: gzip,deflate}，gzip/deflate响应在读取时流式解压；<br>
+ * 开启指标统计时记录首字节耗时（{@link WfHttpMetrics.Phase#TTFB}）及读取响应体耗时，
+ * 不记录获取连接及建立连接耗时。线程安全。</p>
+ *
+ * @author agent on 2026年10月19日 上午00:41:27
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfHttpUrlConnectionTransport implements WfHttpTransport {
+
+    /**
+     * 引擎序号，用于生成默认引擎名称
+     */
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+
+    /**
+     * 默认引擎
+     */
+    private static volatile WfHttpUrlConnectionTransport defaultTransport;
+
+    /**
+     * 引擎名称
+     */
+    private final transient String name;
+
+    /**
+     * 是否开启指标统计
+     */
+    private final transient boolean metricsEnabled;
+
+    /**
+     * 是否协商响应压缩
+     */
+    private final transient boolean contentCompression;
+
+    /**
+     * 是否已关闭
+     */
+    private transient volatile boolean closed;
+
+
+    /**
+     * 获取默认引擎
+     * @return 默认 {@link WfHttpUrlConnectionTransport}
+     */
+    public static WfHttpUrlConnectionTransport getDefault() {
+        WfHttpUrlConnectionTransport transport = defaultTransport;
+        if (transport == null || transport.isClosed()) {
+            synchronized (WfHttpUrlConnectionTransport.class) {
+                transport = defaultTransport;
+                if (transport == null || transport.isClosed()) {
+                    transport = builder().setName("urlconnection-default").build();
+                    defaultTransport = transport;
+                }
+            }
+        }
+        return transport;
+    }
+
+    /**
+     * {@link WfHttpUrlConnectionTransport} 构建器
+     * @return {@link WfHttpUrlConnectionTransportBuilder}
+     */
+    public static WfHttpUrlConnectionTransportBuilder builder() {
+        return new WfHttpUrlConnectionTransportBuilder();
+    }
+
+
+    /**
+     * 获取引擎名称
+     * @return 引擎名称
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 是否开启指标统计
+     * @return {@code true} 开启<br>
+     *         {@code false} 未开启
+     */
+    @Override
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * 是否已关闭
+     * @return {@code true} 已关闭<br>
+     *         {@code false} 未关闭
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 发送请求
+     * <p>调用方必须关闭返回的响应，关闭时关闭响应流，读完的连接由JDK缓存复用</p>
+     * @param request {@link HttpUriRequest}
+     * @param context 请求上下文
+     * @return {@link CloseableHttpResponse}
+     * @throws IOException 网络异常时抛出
+     */
+    @Override
+    public CloseableHttpResponse execute(final HttpUriRequest request, final HttpClientContext context)
+            throws IOException {
+        if (closed) {
+            throw new IllegalStateException("HTTP引擎已关闭");
+        }
+
+        final URI uri = request.getURI();
+        final HttpHost target = URIUtils.extractHost(uri);
+        context.setAttribute(HttpCoreContext.HTTP_TARGET_HOST, target);
+        context.setAttribute(HttpCoreContext.HTTP_REQUEST, request);
+
+        final URLConnection urlConnection = uri.toURL().openConnection();
+        if (!(urlConnection instanceof HttpURLConnection)) {
+            throw new IOException("不支持的协议：" + uri.getScheme());
+        }
+        final HttpURLConnection connection = (HttpURLConnection) urlConnection;
+        configure(connection, request);
+        if (request instanceof HttpRequestBase) {
+            // 中止请求时断开连接，阻塞中的读写立即失败
+            final HttpRequestBase abortable = (HttpRequestBase) request;
+            abortable.setCancellable(() -> {
+                connection.disconnect();
+                return true;
+            });
+            if (abortable.isAborted()) {
+                throw new RequestAbortedException("网络请求已中止");
+            }
+        }
+
+        connection.connect();
+        final long sentAt = System.nanoTime();
+        final HttpEntity requestEntity = request instanceof HttpEntityEnclosingRequest
+                ? ((HttpEntityEnclosingRequest) request).getEntity() : null;
+        if (requestEntity != null) {
+            try (OutputStream output = connection.getOutputStream()) {
+                requestEntity.writeTo(output);
+            }
+        }
+
+        final int status = connection.getResponseCode();
+        if (status < 0) {
+            connection.disconnect();
+            throw new IOException("无效的HTTP响应");
+        }
+        final long receivedAt = System.nanoTime();
+        if (metricsEnabled && target != null) {
+            WfHttpMetrics.recordPhase(WfHttpMetrics.hostKey(target), WfHttpMetrics.Phase.TTFB, receivedAt - sentAt);
+            context.setAttribute(WfHttpClient.RESPONSE_RECEIVED_AT, receivedAt);
+        }
+
+        InputStream content = status >= HttpURLConnection.HTTP_BAD_REQUEST
+                ? connection.getErrorStream() : connection.getInputStream();
+        if (content == null) {
+            content = new ByteArrayInputStream(new byte[0]);
+        }
+        final WfHttpTransportResponse response = new WfHttpTransportResponse(
+                new BasicStatusLine(HttpVersion.HTTP_1_1, status, connection.getResponseMessage()), content::close);
+        for (int i = 0; ; i++) {
+            final String value = connection.getHeaderField(i);
+            if (value == null) {
+                break;
+            }
+            final String key = connection.getHeaderFieldKey(i);
+            if (key != null) {
+                response.addHeader(key, value);
+            }
+        }
+
+        final BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(content);
+        entity.setContentLength(connection.getContentLengthLong());
+        entity.setContentType(response.getFirstHeader("Content-Type"));
+        entity.setContentEncoding(response.getFirstHeader("Content-Encoding"));
+        response.setEntity(entity);
+        if (contentCompression) {
+            WfHttpTransportResponse.decompress(response);
+        }
+        context.setAttribute(HttpCoreContext.HTTP_RESPONSE, response);
+        return response;
+    }
+
+    /**
+     * 关闭引擎
+     * <p>JDK连接缓存为全局共享，关闭后本引擎不再接受请求，已缓存的连接由JDK按超时回收</p>
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+
+    /**
+     * 设置连接参数及请求头
+     * @param connection {@link HttpURLConnection}
+     * @param request {@link HttpUriRequest}
+     * @throws IOException 请求方法不支持时抛出
+     */
+    private void configure(final HttpURLConnection connection, final HttpUriRequest request) throws IOException {
+        final RequestConfig config = request instanceof Configurable ? ((Configurable) request).getConfig() : null;
+        if (config != null) {
+            connection.setConnectTimeout(Math.max(0, config.getConnectTimeout()));
+            connection.setReadTimeout(Math.max(0, config.getSocketTimeout()));
+            connection.setInstanceFollowRedirects(config.isRedirectsEnabled());
+        }
+        connection.setRequestMethod(request.getMethod());
+        connection.setUseCaches(false);
+
+        for (final Header header : request.getAllHeaders()) {
+            connection.addRequestProperty(header.getName(), header.getValue());
+        }
+        if (contentCompression && !request.containsHeader("Accept-Encoding")) {
+            connection.setRequestProperty("Accept-Encoding", "gzip,deflate");
+        }
+
+        final HttpEntity entity = request instanceof HttpEntityEnclosingRequest
+                ? ((HttpEntityEnclosingRequest) request).getEntity() : null;
+        if (entity != null) {
+            connection.setDoOutput(true);
+            final long length = entity.getContentLength();
+            if (length >= 0) {
+                connection.setFixedLengthStreamingMode(length);
+            } else {
+                connection.setChunkedStreamingMode(0);
+            }
+            if (entity.getContentType() != null) {
+                connection.setRequestProperty("Content-Type", entity.getContentType().getValue());
+            }
+            if (entity.getContentEncoding() != null) {
+                connection.setRequestProperty("Content-Encoding", entity.getContentEncoding().getValue());
+            }
+        }
+    }
+
+
+    /**
+     * 构造 {@link WfHttpUrlConnectionTransport}
+     * @param builder {@link WfHttpUrlConnectionTransportBuilder}
+     */
+    protected WfHttpUrlConnectionTransport(final WfHttpUrlConnectionTransportBuilder builder) {
+        name = builder.name == null ? "WfHttpUrlConnectionTransport-" + SEQUENCE.incrementAndGet() : builder.name;
+        metricsEnabled = builder.metricsEnabled;
+        contentCompression = builder.contentCompression;
+    }
+
+
+    /**
+     * {@link WfHttpUrlConnectionTransport} 构建器
+     *
+     * @author agent on 2026年10月19日 上午00:41:27
+     * @version Version 3.0
+     */
+    public static class WfHttpUrlConnectionTransportBuilder {
+
+        /**
+         * 引擎名称
+         */
+        private transient String name;
+
+        /**
+         * 是否开启指标统计
+         */
+        private transient boolean metricsEnabled;
+
+        /**
+         * 是否协商响应压缩
+         */
+        private transient boolean contentCompression;
+
+
+        /**
+         * 构造 {@link WfHttpUrlConnectionTransportBuilder}
+         */
+        public WfHttpUrlConnectionTransportBuilder() {
+            metricsEnabled = true;
+            contentCompression = true;
+        }
+
+
+        /**
+         * 设置引擎名称
+         * <p>默认值：WfHttpUrlConnectionTransport-序号，默认引擎为 urlconnection-default</p>
+         * @param name 引擎名称
+         * @return {@link WfHttpUrlConnectionTransportBuilder}
+         */
+        public WfHttpUrlConnectionTransportBuilder setName(final String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * 设置是否开启指标统计
+         * <p>默认值：{@code true}</p>
+         * @param metricsEnabled 是否开启指标统计
+         * @return {@link WfHttpUrlConnectionTransportBuilder}
+         */
+        public WfHttpUrlConnectionTransportBuilder setMetricsEnabled(final boolean metricsEnabled) {
+            this.metricsEnabled = metricsEnabled;
+            return this;
+        }
+
+        /**
+         * 设置是否协商响应压缩
+         * <p>默认值：{@code true}，发送 {@code Accept-Encoding: gzip,deflate}，并在读取响应时流式解压</p>
+         * @param contentCompression 是否协商响应压缩
+         * @return {@link WfHttpUrlConnectionTransportBuilder}
+         */
+        public WfHttpUrlConnectionTransportBuilder setContentCompression(final boolean contentCompression) {
+            this.contentCompression = contentCompression;
+            return this;
+        }
+
+
+        /**
+         * 构建 {@link WfHttpUrlConnectionTransport}
+         * @return {@link WfHttpUrlConnectionTransport}
+         */
+        public WfHttpUrlConnectionTransport build() {
+            return new WfHttpUrlConnectionTransport(this);
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package net.virgodirk.wildfire.util;
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.TypeReference;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.util.List;
 
 /**
@@ -51,4 +57,61 @@ public class WfJson {
         }
         return JSON.parseArray(json, clazz);
     }
-}
\ No newline at end of file
+    
+    /**
+     * 从输入流解析JSON为指定类型的对象
+     * <p>边读取边解析，不生成完整的JSON文本；解析完成后关闭输入流</p>
+     * @param stream JSON输入流
+     * @param charset 字符集
+     * @param type 对象类型，如：{@code Person.class}、{@code new TypeReference<Map<String, Person>>() {}.getType()}
+     * @param <T> 对象类型
+     * @return 对象，{@code stream} 为 {@code null} 时返回 {@code null}
+     */
+    public static <T> T parseObject(final InputStream stream, final Charset charset, final Type type) {
+        if (stream == null || type == null) {
+            return null;
+        }
+        try (JSONReader reader = new JSONReader(new InputStreamReader(stream, charset))) {
+            return reader.readObject(type);
+        }
+    }
+    
+    /**
+     * 从输入流解析JSON为JavaBean
+     * <p>边读取边解析，不生成完整的JSON文本；解析完成后关闭输入流</p>
+     * @param stream JSON输入流
+     * @param charset 字符集
+     * @param clazz JavaBean类型
+     * @param <T> JavaBean类型
+     * @return JavaBean，{@code stream} 为 {@code null} 时返回 {@code null}
+     */
+    public static <T> T parseObject(final InputStream stream, final Charset charset, final Class<T> clazz) {
+        return parseObject(stream, charset, (Type) clazz);
+    }
+    
+    /**
+     * 从输入流解析JSON为JavaBean集合
+     * <p>边读取边解析，不生成完整的JSON文本；解析完成后关闭输入流</p>
+     * @param stream JSON输入流
+     * @param charset 字符集
+     * @param clazz JavaBean类型
+     * @param <T> JavaBean类型
+     * @return JavaBean集合，{@code stream} 为 {@code null} 时返回 {@code null}
+     */
+    public static <T> List<T> parseArray(final InputStream stream, final Charset charset, final Class<T> clazz) {
+        if (clazz == null) {
+            return null;
+        }
+        return parseObject(stream, charset, listType(clazz));
+    }
+    
+    /**
+     * 获取JavaBean集合类型
+     * @param clazz JavaBean类型
+     * @param <T> JavaBean类型
+     * @return {@code List<T>} 类型
+     */
+    static <T> Type listType(final Class<T> clazz) {
+        return new TypeReference<List<T>>(clazz) {}.getType();
+    }
+}
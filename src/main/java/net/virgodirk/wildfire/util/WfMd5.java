@@ -1,8 +1,11 @@
 package net.virgodirk.wildfire.util;
 
-import java.io.UnsupportedEncodingException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import net.virgodirk.wildfire.util.exception.WfFileException;
+
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 /**
  * MD5 Utils
@@ -75,12 +78,41 @@ public class WfMd5 {
      * @return MD5加密结果（32位小写）
      */
     public static String encryptBytes(final byte[] src) {
-        try {
-            return encrypt(src);
-        } catch (NoSuchAlgorithmException excpt) {
-            excpt.printStackTrace();
-            return "";
-        }
+        return encrypt(src);
+    }
+
+
+    /**
+     * MD5文件摘要
+     * <p>按64KB窗口边读边计算，内存占用与文件大小无关；空文件返回空数据的摘要</p>
+     * @param path 文件路径
+     * @return MD5结果（32位小写）
+     * @throws WfFileException 文件不存在或读取失败时抛出
+     */
+    public static String md5File(final Path path) throws WfFileException {
+        return WfDigest.digest(path, "MD5");
+    }
+
+    /**
+     * MD5数据流摘要
+     * <p>读取到数据流结束，不关闭数据流</p>
+     * @param input 数据流
+     * @return MD5结果（32位小写）
+     * @throws WfFileException 读取失败时抛出
+     */
+    public static String md5Stream(final InputStream input) throws WfFileException {
+        return WfDigest.digest(input, "MD5");
+    }
+
+    /**
+     * MD5数据通道摘要
+     * <p>读取到通道结束，不关闭通道</p>
+     * @param channel 数据通道
+     * @return MD5结果（32位小写）
+     * @throws WfFileException 读取失败时抛出
+     */
+    public static String md5Channel(final ReadableByteChannel channel) throws WfFileException {
+        return WfDigest.digestChannel(channel, "MD5");
     }
 
     
@@ -95,27 +127,26 @@ public class WfMd5 {
             return "";
         }
 
+        final Charset charsetInstance;
         try {
-            return encrypt(src.getBytes(charset));
-        } catch (NoSuchAlgorithmException | UnsupportedEncodingException excpt) {
+            charsetInstance = Charset.forName(charset);
+        } catch (IllegalArgumentException excpt) {
             excpt.printStackTrace();
             return "";
         }
+        return WfHasher.md5().update(src, charsetInstance).digestHex();
     }
     
     /**
      * MD5加密
+     * <p>使用当前线程缓存的 {@link WfHasher}</p>
      * @param src 待加密内容
      * @return MD5加密结果（32位小写）
-     * @throws NoSuchAlgorithmException {@link NoSuchAlgorithmException} 异常
      */
-    private static String encrypt(final byte[] src) throws NoSuchAlgorithmException {
+    private static String encrypt(final byte[] src) {
         if (src == null || src.length <= 0) {
             return "";
         }
-        final MessageDigest messageDigest = MessageDigest.getInstance("MD5");
-        messageDigest.update(src);
-        final byte[] output = messageDigest.digest();
-        return WfConvert.bytes2HexStr(output);
+        return WfHasher.md5().update(src).digestHex();
     }
 }
\ No newline at end of file
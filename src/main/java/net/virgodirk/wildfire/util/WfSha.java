@@ -1,8 +1,11 @@
 package net.virgodirk.wildfire.util;
 
-import java.io.UnsupportedEncodingException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import net.virgodirk.wildfire.util.exception.WfFileException;
+
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 /**
  * SHA Utils
@@ -18,6 +21,11 @@ public class WfSha {
      */
     private static final String DEFAULT_CHARSET = "UTF-8";
 
+    /**
+     * SHA256树形摘要
+     */
+    private static final WfTreeHash TREE_HASH = WfTreeHash.builder().build();
+
 
     /**
      * SHA1加密
@@ -45,12 +53,7 @@ public class WfSha {
      * @return 加密结果，40位小写
      */
     public static String sha1Bytes(final byte[] src) {
-        try {
-            return sha(src, "SHA1");
-        } catch (NoSuchAlgorithmException excpt) {
-            excpt.printStackTrace();
-            return "";
-        }
+        return sha(src, "SHA1");
     }
 
     
@@ -80,12 +83,7 @@ public class WfSha {
      * @return 加密结果，64位小写
      */
     public static String sha256Bytes(final byte[] src) {
-        try {
-            return sha(src, "SHA-256");
-        } catch (NoSuchAlgorithmException excpt) {
-            excpt.printStackTrace();
-            return "";
-        }
+        return sha(src, "SHA-256");
     }
 
     
@@ -115,12 +113,120 @@ public class WfSha {
      * @return 加密结果，128位小写
      */
     public static String sha512Bytes(final byte[] src) {
-        try {
-            return sha(src, "SHA-512");
-        } catch (NoSuchAlgorithmException excpt) {
-            excpt.printStackTrace();
-            return "";
-        }
+        return sha(src, "SHA-512");
+    }
+
+
+    /**
+     * SHA1文件摘要
+     * <p>按64KB窗口边读边计算，内存占用与文件大小无关；空文件返回空数据的摘要</p>
+     * @param path 文件路径
+     * @return SHA1结果（40位小写）
+     * @throws WfFileException 文件不存在或读取失败时抛出
+     */
+    public static String sha1File(final Path path) throws WfFileException {
+        return WfDigest.digest(path, "SHA1");
+    }
+
+    /**
+     * SHA1数据流摘要
+     * <p>读取到数据流结束，不关闭数据流</p>
+     * @param input 数据流
+     * @return SHA1结果（40位小写）
+     * @throws WfFileException 读取失败时抛出
+     */
+    public static String sha1Stream(final InputStream input) throws WfFileException {
+        return WfDigest.digest(input, "SHA1");
+    }
+
+    /**
+     * SHA1数据通道摘要
+     * <p>读取到通道结束，不关闭通道</p>
+     * @param channel 数据通道
+     * @return SHA1结果（40位小写）
+     * @throws WfFileException 读取失败时抛出
+     */
+    public static String sha1Channel(final ReadableByteChannel channel) throws WfFileException {
+        return WfDigest.digestChannel(channel, "SHA1");
+    }
+
+
+    /**
+     * SHA256文件摘要
+     * <p>按64KB窗口边读边计算，内存占用与文件大小无关；空文件返回空数据的摘要</p>
+     * @param path 文件路径
+     * @return SHA256结果（64位小写）
+     * @throws WfFileException 文件不存在或读取失败时抛出
+     */
+    public static String sha256File(final Path path) throws WfFileException {
+        return WfDigest.digest(path, "SHA-256");
+    }
+
+    /**
+     * SHA256数据流摘要
+     * <p>读取到数据流结束，不关闭数据流</p>
+     * @param input 数据流
+     * @return SHA256结果（64位小写）
+     * @throws WfFileException 读取失败时抛出
+     */
+    public static String sha256Stream(final InputStream input) throws WfFileException {
+        return WfDigest.digest(input, "SHA-256");
+    }
+
+    /**
+     * SHA256数据通道摘要
+     * <p>读取到通道结束，不关闭通道</p>
+     * @param channel 数据通道
+     * @return SHA256结果（64位小写）
+     * @throws WfFileException 读取失败时抛出
+     */
+    public static String sha256Channel(final ReadableByteChannel channel) throws WfFileException {
+        return WfDigest.digestChannel(channel, "SHA-256");
+    }
+
+    /**
+     * SHA256分块并行摘要（树形摘要）
+     * <p>按4MB分块并行计算，结果与 {@link #sha256File(Path)} 不同，格式见 {@link WfTreeHash}</p>
+     * @param path 文件路径
+     * @return 根摘要（64位小写）
+     * @throws WfFileException 文件不存在或读取失败时抛出
+     */
+    public static String sha256TreeFile(final Path path) throws WfFileException {
+        return TREE_HASH.hash(path).getRoot();
+    }
+
+
+    /**
+     * SHA512文件摘要
+     * <p>按64KB窗口边读边计算，内存占用与文件大小无关；空文件返回空数据的摘要</p>
+     * @param path 文件路径
+     * @return SHA512结果（128位小写）
+     * @throws WfFileException 文件不存在或读取失败时抛出
+     */
+    public static String sha512File(final Path path) throws WfFileException {
+        return WfDigest.digest(path, "SHA-512");
+    }
+
+    /**
+     * SHA512数据流摘要
+     * <p>读取到数据流结束，不关闭数据流</p>
+     * @param input 数据流
+     * @return SHA512结果（128位小写）
+     * @throws WfFileException 读取失败时抛出
+     */
+    public static String sha512Stream(final InputStream input) throws WfFileException {
+        return WfDigest.digest(input, "SHA-512");
+    }
+
+    /**
+     * SHA512数据通道摘要
+     * <p>读取到通道结束，不关闭通道</p>
+     * @param channel 数据通道
+     * @return SHA512结果（128位小写）
+     * @throws WfFileException 读取失败时抛出
+     */
+    public static String sha512Channel(final ReadableByteChannel channel) throws WfFileException {
+        return WfDigest.digestChannel(channel, "SHA-512");
     }
 
 
@@ -136,28 +242,27 @@ public class WfSha {
             return "";
         }
 
+        final Charset charsetInstance;
         try {
-            return sha(src.getBytes(charset), algorithm);
-        } catch (NoSuchAlgorithmException | UnsupportedEncodingException excpt) {
+            charsetInstance = Charset.forName(charset);
+        } catch (IllegalArgumentException excpt) {
             excpt.printStackTrace();
             return "";
         }
+        return WfHasher.of(algorithm).update(src, charsetInstance).digestHex();
     }
     
     /**
      * SHA加密
+     * <p>使用当前线程缓存的 {@link WfHasher}</p>
      * @param src 待加密数据
      * @param algorithm 加密算法
      * @return SHA加密结果
-     * @throws NoSuchAlgorithmException {@link NoSuchAlgorithmException} 异常
      */
-    private static String sha(final byte[] src, final String algorithm) throws NoSuchAlgorithmException {
+    private static String sha(final byte[] src, final String algorithm) {
         if (src == null || src.length <= 0) {
             return "";
         }
-        final MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
-        messageDigest.update(src);
-        final byte[] output = messageDigest.digest();
-        return WfConvert.bytes2HexStr(output);
+        return WfHasher.of(algorithm).update(src).digestHex();
     }
 }
\ No newline at end of file
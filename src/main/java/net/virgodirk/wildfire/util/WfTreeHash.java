@@ -0,0 +1,622 @@
+package net.virgodirk.wildfire.util;
+
+import net.virgodirk.wildfire.util.exception.WfFileException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 分块并行摘要（树形摘要）
+ *
+ * <p>普通摘要只能串行计算，大文件只能用满一个核。本类将数据按 {@code chunkSize} 分块，
+ * 各块摘要由 {@link ForkJoinPool} 并行计算，再合并为根摘要；各块摘要可保存下来，
+ * 之后只重新计算变化的分块即可定位损坏位置（见 {@link #hashChunk(Path, int)}、{@link #verify(Path, Result)}）。</p>
+ *
+ * <p>格式（固定不变，整数均为大端序，H为摘要算法）：<br>
+ * {@code 分块摘要_i = H(0x00 | 第i块数据)}<br>
+ * {@code 根摘要 = H(0x01 | chunkSize(4) | length(8) | 分块摘要_0 | ... | 分块摘要_n-1)}<br>
+ * 分块数为 {@code ceil(length / chunkSize)}，空数据视为一个空分块。前缀0x00/0x01区分叶子与根，
+ * 根摘要包含分块大小及数据长度，因此结果与普通摘要、不同分块大小的树形摘要均不相同。</p>
+ *
+ * <p>文件通过 {@link FileChannel} 按位置并行读取到按线程复用的缓冲区；未使用内存映射，
+ * 原因与 {@link WfDigest} 相同。线程安全。</p>
+ *
+ * @author agent on 2026年10月19日 上午04:18:36
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public class WfTreeHash {
+
+    /**
+     * 默认摘要算法
+     */
+    public static final String DEFAULT_ALGORITHM = "SHA-256";
+
+    /**
+     * 默认分块大小（4MB）
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * 分块摘要前缀
+     */
+    private static final byte LEAF_PREFIX = 0x00;
+
+    /**
+     * 根摘要前缀
+     */
+    private static final byte ROOT_PREFIX = 0x01;
+
+
+    /**
+     * 摘要算法
+     */
+    private final transient String algorithm;
+
+    /**
+     * 分块大小
+     */
+    private final transient int chunkSize;
+
+    /**
+     * 并行执行的线程池
+     */
+    private final transient ForkJoinPool pool;
+
+
+    /**
+     * {@link WfTreeHash} 构建器
+     * @return {@link WfTreeHashBuilder}
+     */
+    public static WfTreeHashBuilder builder() {
+        return new WfTreeHashBuilder();
+    }
+
+
+    /**
+     * 获取摘要算法
+     * @return 摘要算法
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 获取分块大小
+     * @return 分块大小
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 计算数据的树形摘要
+     * @param src 数据
+     * @return {@link Result}
+     * @throws WfFileException 数据为空时抛出
+     */
+    public Result hash(final byte[] src) throws WfFileException {
+        if (src == null) {
+            throw new WfFileException("数据为空");
+        }
+
+        try {
+            return compute(src.length, algorithm, chunkSize,
+                    (digest, offset, size) -> digest.update(src, (int) offset, size));
+        } catch (IOException excpt) {
+            // 内存数据不会出现读取错误
+            throw new UncheckedIOException(excpt);
+        }
+    }
+
+    /**
+     * 计算文件的树形摘要
+     * @param path 文件路径
+     * @return {@link Result}
+     * @throws WfFileException 文件不存在或读取失败时抛出
+     */
+    public Result hash(final Path path) throws WfFileException {
+        return hash(path, algorithm, chunkSize);
+    }
+
+    /**
+     * 计算文件中单个分块的摘要
+     * <p>用于与保存的 {@link Result#getChunkDigests()} 逐块比对，只读取该分块的数据</p>
+     * @param path 文件路径
+     * @param index 分块序号（从0开始）
+     * @return 分块摘要（小写十六进制）
+     * @throws WfFileException 文件不存在、读取失败或分块序号超出范围时抛出
+     */
+    public String hashChunk(final Path path, final int index) throws WfFileException {
+        if (path == null) {
+            throw new WfFileException("文件路径为空");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long length = channel.size();
+            if (index < 0 || index >= chunkCount(length, chunkSize)) {
+                throw new WfFileException("分块序号超出范围：" + index);
+            }
+
+            final long offset = (long) index * chunkSize;
+            final MessageDigest digest = WfDigest.getInstance(algorithm);
+            digest.update(LEAF_PREFIX);
+            update(channel, digest, offset, (int) Math.min(chunkSize, length - offset));
+            return WfConvert.bytes2HexStr(digest.digest());
+        } catch (NoSuchFileException excpt) {
+            throw new WfFileException("未找到文件：" + path, excpt);
+        } catch (IOException excpt) {
+            throw new WfFileException("读取文件：" + path + " 错误", excpt);
+        }
+    }
+
+    /**
+     * 按保存的树形摘要校验文件
+     * <p>按 {@code expected} 的算法及分块大小重新计算，返回摘要不一致的分块序号；
+     * 文件长度变化时，只存在于一方的分块也视为不一致</p>
+     * @param path 文件路径
+     * @param expected 保存的树形摘要
+     * @return 不一致的分块序号（升序），全部一致时为空列表
+     * @throws WfFileException 文件不存在或读取失败时抛出
+     */
+    public List<Integer> verify(final Path path, final Result expected) throws WfFileException {
+        if (expected == null) {
+            throw new WfFileException("树形摘要为空");
+        }
+
+        final Result actual = hash(path, expected.algorithm, expected.chunkSize);
+        final int count = Math.max(actual.chunks.length, expected.chunks.length);
+        final List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i >= actual.chunks.length || i >= expected.chunks.length
+                    || !MessageDigest.isEqual(actual.chunks[i], expected.chunks[i])) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 由保存的分块摘要计算根摘要
+     * <p>用于确认保存的分块摘要列表未被篡改：结果应与保存的根摘要相同</p>
+     * @param algorithm 摘要算法
+     * @param chunkSize 分块大小
+     * @param length 数据长度
+     * @param chunkDigests 分块摘要（小写十六进制）
+     * @return 根摘要（小写十六进制）
+     */
+    public static String root(final String algorithm, final int chunkSize, final long length,
+            final List<String> chunkDigests) {
+        final byte[][] chunks = new byte[chunkDigests.size()][];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = WfConvert.hexStr2Bytes(chunkDigests.get(i));
+        }
+        return WfConvert.bytes2HexStr(root(WfDigest.getInstance(algorithm), chunkSize, length, chunks));
+    }
+
+
+    /**
+     * 计算文件的树形摘要
+     * @param path 文件路径
+     * @param algorithm 摘要算法
+     * @param chunkSize 分块大小
+     * @return {@link Result}
+     * @throws WfFileException 文件不存在或读取失败时抛出
+     */
+    private Result hash(final Path path, final String algorithm, final int chunkSize) throws WfFileException {
+        if (path == null) {
+            throw new WfFileException("文件路径为空");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return compute(channel.size(), algorithm, chunkSize,
+                    (digest, offset, size) -> update(channel, digest, offset, size));
+        } catch (NoSuchFileException excpt) {
+            throw new WfFileException("未找到文件：" + path, excpt);
+        } catch (IOException excpt) {
+            throw new WfFileException("读取文件：" + path + " 错误", excpt);
+        }
+    }
+
+    /**
+     * 计算各分块摘要及根摘要，分块数大于1时提交到线程池并行执行
+     * @param length 数据长度
+     * @param algorithm 摘要算法
+     * @param chunkSize 分块大小
+     * @param source 分块数据
+     * @return {@link Result}
+     * @throws IOException 读取失败时抛出
+     */
+    private Result compute(final long length, final String algorithm, final int chunkSize,
+            final ChunkSource source) throws IOException {
+        final byte[][] chunks = new byte[chunkCount(length, chunkSize)][];
+        final ChunkTask task = new ChunkTask(source, algorithm, chunkSize, length, chunks, 0, chunks.length);
+        try {
+            if (chunks.length <= 1 || pool.getParallelism() <= 1) {
+                task.computeSerial();
+            } else {
+                pool.invoke(task);
+            }
+        } catch (UncheckedIOException excpt) {
+            throw excpt.getCause();
+        }
+
+        final byte[] root = root(WfDigest.getInstance(algorithm), chunkSize, length, chunks);
+        return new Result(algorithm, chunkSize, length, root, chunks);
+    }
+
+    /**
+     * 计算分块数
+     * @param length 数据长度
+     * @param chunkSize 分块大小
+     * @return 分块数，空数据为1
+     * @throws WfFileException 分块数超过 {@link Integer#MAX_VALUE} 时抛出
+     */
+    private static int chunkCount(final long length, final int chunkSize) throws WfFileException {
+        final long count = Math.max(1, (length + chunkSize - 1) / chunkSize);
+        if (count > Integer.MAX_VALUE) {
+            throw new WfFileException("分块数量过多，请增大分块大小");
+        }
+        return (int) count;
+    }
+
+    /**
+     * 合并分块摘要为根摘要
+     * @param digest {@link MessageDigest}
+     * @param chunkSize 分块大小
+     * @param length 数据长度
+     * @param chunks 分块摘要
+     * @return 根摘要
+     */
+    private static byte[] root(final MessageDigest digest, final int chunkSize, final long length,
+            final byte[][] chunks) {
+        final ByteBuffer header = ByteBuffer.allocate(1 + 4 + 8);
+        header.put(ROOT_PREFIX).putInt(chunkSize).putLong(length);
+        digest.update(header.array());
+        for (final byte[] chunk : chunks) {
+            digest.update(chunk);
+        }
+        return digest.digest();
+    }
+
+    /**
+     * 读取文件指定区间并更新摘要
+     * @param channel 文件通道
+     * @param digest {@link MessageDigest}
+     * @param offset 起始位置
+     * @param size 长度
+     * @throws IOException 读取失败或文件长度不足时抛出
+     */
+    private static void update(final FileChannel channel, final MessageDigest digest, final long offset,
+            final int size) throws IOException {
+        final byte[] array = WfDigest.buffer();
+        final ByteBuffer buffer = ByteBuffer.wrap(array);
+        final long end = offset + size;
+        long position = offset;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(array.length, end - position));
+            if (channel.read(buffer, position) < 0) {
+                throw new IOException("文件长度不足");
+            }
+            digest.update(array, 0, buffer.position());
+            position += buffer.position();
+        }
+    }
+
+
+    /**
+     * 构造 {@link WfTreeHash}
+     * @param builder {@link WfTreeHashBuilder}
+     */
+    protected WfTreeHash(final WfTreeHashBuilder builder) {
+        algorithm = builder.algorithm;
+        chunkSize = builder.chunkSize;
+        pool = builder.pool == null ? ForkJoinPool.commonPool() : builder.pool;
+    }
+
+
+    /**
+     * {@link WfTreeHash} 构建器
+     *
+     * @author agent on 2026年10月19日 上午04:18:36
+     * @version Version 3.0
+     */
+    public static class WfTreeHashBuilder {
+
+        /**
+         * 摘要算法
+         */
+        private transient String algorithm = DEFAULT_ALGORITHM;
+
+        /**
+         * 分块大小
+         */
+        private transient int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        /**
+         * 并行执行的线程池
+         */
+        private transient ForkJoinPool pool;
+
+
+        /**
+         * 设置摘要算法
+         * <p>默认值：SHA-256</p>
+         * @param algorithm 摘要算法，如：MD5、SHA-256等
+         * @return {@link WfTreeHashBuilder}
+         */
+        public WfTreeHashBuilder setAlgorithm(final String algorithm) {
+            try {
+                MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException | NullPointerException excpt) {
+                throw new IllegalArgumentException("不支持的摘要算法：" + algorithm, excpt);
+            }
+            this.algorithm = algorithm;
+            return this;
+        }
+
+        /**
+         * 设置分块大小
+         * <p>默认值：4MB；保存的分块摘要只能与相同分块大小的结果比对</p>
+         * @param chunkSize 分块大小，须为正整数
+         * @return {@link WfTreeHashBuilder}
+         */
+        public WfTreeHashBuilder setChunkSize(final int chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("分块大小须为正整数");
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * 设置并行执行的线程池
+         * <p>默认值：{@link ForkJoinPool#commonPool()}；并行度为1时在调用线程中串行执行</p>
+         * @param pool {@link ForkJoinPool}
+         * @return {@link WfTreeHashBuilder}
+         */
+        public WfTreeHashBuilder setPool(final ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+
+        /**
+         * 构建 {@link WfTreeHash}
+         * @return {@link WfTreeHash}
+         */
+        public WfTreeHash build() {
+            return new WfTreeHash(this);
+        }
+    }
+
+
+    /**
+     * 树形摘要结果
+     *
+     * @author agent on 2026年10月19日 上午04:18:36
+     * @version Version 3.0
+     */
+    public static final class Result {
+
+        /**
+         * 摘要算法
+         */
+        private final transient String algorithm;
+
+        /**
+         * 分块大小
+         */
+        private final transient int chunkSize;
+
+        /**
+         * 数据长度
+         */
+        private final transient long length;
+
+        /**
+         * 根摘要
+         */
+        private final transient byte[] root;
+
+        /**
+         * 分块摘要
+         */
+        private final transient byte[][] chunks;
+
+
+        /**
+         * 构造 {@link Result}
+         * @param algorithm 摘要算法
+         * @param chunkSize 分块大小
+         * @param length 数据长度
+         * @param root 根摘要
+         * @param chunks 分块摘要
+         */
+        private Result(final String algorithm, final int chunkSize, final long length, final byte[] root,
+                final byte[][] chunks) {
+            this.algorithm = algorithm;
+            this.chunkSize = chunkSize;
+            this.length = length;
+            this.root = root;
+            this.chunks = chunks;
+        }
+
+
+        /**
+         * 获取摘要算法
+         * @return 摘要算法
+         */
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * 获取分块大小
+         * @return 分块大小
+         */
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        /**
+         * 获取数据长度
+         * @return 数据长度
+         */
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * 获取根摘要
+         * @return 根摘要（小写十六进制）
+         */
+        public String getRoot() {
+            return WfConvert.bytes2HexStr(root);
+        }
+
+        /**
+         * 获取分块数
+         * @return 分块数
+         */
+        public int getChunkCount() {
+            return chunks.length;
+        }
+
+        /**
+         * 获取各分块摘要
+         * @return 分块摘要（小写十六进制），按分块序号排列，不可修改
+         */
+        public List<String> getChunkDigests() {
+            final List<String> result = new ArrayList<>(chunks.length);
+            for (final byte[] chunk : chunks) {
+                result.add(WfConvert.bytes2HexStr(chunk));
+            }
+            return Collections.unmodifiableList(result);
+        }
+    }
+
+
+    /**
+     * 分块数据
+     */
+    @FunctionalInterface
+    private interface ChunkSource {
+
+        /**
+         * 以一个分块的数据更新摘要
+         * @param digest {@link MessageDigest}
+         * @param offset 分块在数据中的起始位置
+         * @param size 分块长度
+         * @throws IOException 读取失败时抛出
+         */
+        void update(MessageDigest digest, long offset, int size) throws IOException;
+    }
+
+    /**
+     * 分块任务，按分块区间二分拆分
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 分块数据
+         */
+        private final transient ChunkSource source;
+
+        /**
+         * 摘要算法
+         */
+        private final transient String algorithm;
+
+        /**
+         * 分块大小
+         */
+        private final transient int chunkSize;
+
+        /**
+         * 数据长度
+         */
+        private final transient long length;
+
+        /**
+         * 分块摘要（结果）
+         */
+        private final transient byte[][] chunks;
+
+        /**
+         * 起始分块（含）
+         */
+        private final transient int from;
+
+        /**
+         * 结束分块（不含）
+         */
+        private final transient int to;
+
+
+        /**
+         * 构造 {@link ChunkTask}
+         * @param source 分块数据
+         * @param algorithm 摘要算法
+         * @param chunkSize 分块大小
+         * @param length 数据长度
+         * @param chunks 分块摘要（结果）
+         * @param from 起始分块（含）
+         * @param to 结束分块（不含）
+         */
+        ChunkTask(final ChunkSource source, final String algorithm, final int chunkSize, final long length,
+                final byte[][] chunks, final int from, final int to) {
+            this.source = source;
+            this.algorithm = algorithm;
+            this.chunkSize = chunkSize;
+            this.length = length;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(source, algorithm, chunkSize, length, chunks, from, middle),
+                        new ChunkTask(source, algorithm, chunkSize, length, chunks, middle, to));
+                return;
+            }
+            computeSerial();
+        }
+
+        /**
+         * 在当前线程中依次计算区间内的全部分块，不拆分、不提交到线程池
+         */
+        void computeSerial() {
+            final MessageDigest digest = WfDigest.getInstance(algorithm);
+            try {
+                for (int i = from; i < to; i++) {
+                    final long offset = (long) i * chunkSize;
+                    digest.update(LEAF_PREFIX);
+                    source.update(digest, offset, (int) Math.min(chunkSize, length - offset));
+                    chunks[i] = digest.digest();
+                }
+            } catch (IOException excpt) {
+                throw new UncheckedIOException(excpt);
+            }
+        }
+    }
+}
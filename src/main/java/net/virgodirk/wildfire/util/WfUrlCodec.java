@@ -0,0 +1,472 @@
+package net.virgodirk.wildfire.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * URL编解码
+ *
+ * <p>查表实现的百分号编码（percent-encoding），支持两种模式：<br>
+ * 表单模式（{@link #encode(CharSequence)}）：与 {@link java.net.URLEncoder} 结果相同，
+ * 保留 {@code A-Z a-z 0-9 . - * _}，空格编码为 {@code +}；<br>
+ * 组件模式（{@link #encodeComponent(CharSequence)}）：按RFC 3986，
+ * 保留 {@code A-Z a-z 0-9 - . _ ~}，空格编码为 {@code %20}。<br>
+ * UTF-8直接按码点计算字节，不经过 {@link Charset} 编码器；无需编码时直接返回原字符串；
+ * 可追加到调用方的 {@link StringBuilder} 或 {@link ByteBuffer} 中，避免中间对象。</p>
+ *
+ * @author agent on 2026年10月18日 下午23:58:12
+ * @version Version 3.0
+ */
+@SuppressWarnings("all")
+public final class WfUrlCodec {
+
+    /**
+     * 十六进制字符（大写）
+     */
+    private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * 十六进制字符对应的值，非十六进制字符为 -1
+     */
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    /**
+     * 表单模式无需编码的字符
+     */
+    private static final boolean[] FORM_SAFE = new boolean[128];
+
+    /**
+     * 组件模式无需编码的字符
+     */
+    private static final boolean[] COMPONENT_SAFE = new boolean[128];
+
+    static {
+        for (int i = 0; i < 128; i++) {
+            HEX_VALUES[i] = (byte) Character.digit(i, 16);
+            final boolean alnum = (i >= 'a' && i <= 'z') || (i >= 'A' && i <= 'Z') || (i >= '0' && i <= '9');
+            FORM_SAFE[i] = alnum || i == '.' || i == '-' || i == '*' || i == '_';
+            COMPONENT_SAFE[i] = alnum || i == '.' || i == '-' || i == '~' || i == '_';
+        }
+    }
+
+
+    /**
+     * 表单模式URL编码（UTF-8）
+     * @param text 待编码文本
+     * @return 编码结果，无需编码时返回原字符串
+     */
+    public static String encode(final CharSequence text) {
+        return encode(text, FORM_SAFE, true);
+    }
+
+    /**
+     * 表单模式URL编码
+     * @param text 待编码文本
+     * @param charset 字符集
+     * @return 编码结果，无需编码时返回原字符串
+     */
+    public static String encode(final CharSequence text, final Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return encode(text, FORM_SAFE, true);
+        }
+        final int first = firstUnsafe(text, FORM_SAFE);
+        if (first == text.length()) {
+            return text.toString();
+        }
+        final StringBuilder builder = new StringBuilder(text.length() + 16);
+        builder.append(text, 0, first);
+        encodeCharset(text, first, charset, builder);
+        return builder.toString();
+    }
+
+    /**
+     * 表单模式URL编码（UTF-8），结果追加到 {@code builder}
+     * @param text 待编码文本
+     * @param builder 目标 {@link StringBuilder}
+     * @return {@code builder}
+     */
+    public static StringBuilder encode(final CharSequence text, final StringBuilder builder) {
+        encodeUtf8(text, 0, FORM_SAFE, true, builder, null);
+        return builder;
+    }
+
+    /**
+     * 表单模式URL编码（UTF-8），结果以ASCII字节写入 {@code buffer}
+     * @param text 待编码文本
+     * @param buffer 目标 {@link ByteBuffer}
+     * @return {@code buffer}
+     * @throws java.nio.BufferOverflowException 剩余空间不足时抛出
+     */
+    public static ByteBuffer encode(final CharSequence text, final ByteBuffer buffer) {
+        encodeUtf8(text, 0, FORM_SAFE, true, null, buffer);
+        return buffer;
+    }
+
+    /**
+     * 组件模式（RFC 3986）URL编码（UTF-8）
+     * @param text 待编码文本
+     * @return 编码结果，无需编码时返回原字符串
+     */
+    public static String encodeComponent(final CharSequence text) {
+        return encode(text, COMPONENT_SAFE, false);
+    }
+
+    /**
+     * 组件模式（RFC 3986）URL编码（UTF-8），结果追加到 {@code builder}
+     * @param text 待编码文本
+     * @param builder 目标 {@link StringBuilder}
+     * @return {@code builder}
+     */
+    public static StringBuilder encodeComponent(final CharSequence text, final StringBuilder builder) {
+        encodeUtf8(text, 0, COMPONENT_SAFE, false, builder, null);
+        return builder;
+    }
+
+    /**
+     * 组件模式（RFC 3986）URL编码（UTF-8），结果以ASCII字节写入 {@code buffer}
+     * @param text 待编码文本
+     * @param buffer 目标 {@link ByteBuffer}
+     * @return {@code buffer}
+     * @throws java.nio.BufferOverflowException 剩余空间不足时抛出
+     */
+    public static ByteBuffer encodeComponent(final CharSequence text, final ByteBuffer buffer) {
+        encodeUtf8(text, 0, COMPONENT_SAFE, false, null, buffer);
+        return buffer;
+    }
+
+    /**
+     * 表单模式URL解码（UTF-8），{@code +} 解码为空格
+     * <p>与 {@link java.net.URLDecoder} 结果相同</p>
+     * @param text 待解码文本
+     * @return 解码结果，无需解码时返回原字符串
+     * @throws IllegalArgumentException 百分号编码格式错误时抛出
+     */
+    public static String decode(final CharSequence text) {
+        return decode(text, StandardCharsets.UTF_8, true);
+    }
+
+    /**
+     * 表单模式URL解码，{@code +} 解码为空格
+     * @param text 待解码文本
+     * @param charset 字符集
+     * @return 解码结果，无需解码时返回原字符串
+     * @throws IllegalArgumentException 百分号编码格式错误时抛出
+     */
+    public static String decode(final CharSequence text, final Charset charset) {
+        return decode(text, charset, true);
+    }
+
+    /**
+     * 组件模式（RFC 3986）URL解码（UTF-8），{@code +} 保持不变
+     * @param text 待解码文本
+     * @return 解码结果，无需解码时返回原字符串
+     * @throws IllegalArgumentException 百分号编码格式错误时抛出
+     */
+    public static String decodeComponent(final CharSequence text) {
+        return decode(text, StandardCharsets.UTF_8, false);
+    }
+
+    /**
+     * URL解码，结果追加到 {@code builder}
+     * @param text 待解码文本
+     * @param form {@code true} 表单模式（{@code +} 解码为空格）；{@code false} 组件模式
+     * @param builder 目标 {@link StringBuilder}
+     * @return {@code builder}
+     * @throws IllegalArgumentException 百分号编码格式错误时抛出
+     */
+    public static StringBuilder decode(final CharSequence text, final boolean form, final StringBuilder builder) {
+        decodeTo(text, 0, StandardCharsets.UTF_8, form, builder);
+        return builder;
+    }
+
+
+    /**
+     * URL编码（UTF-8）
+     * @param text 待编码文本
+     * @param safe 无需编码的字符表
+     * @param form 是否将空格编码为 {@code +}
+     * @return 编码结果
+     */
+    private static String encode(final CharSequence text, final boolean[] safe, final boolean form) {
+        final int first = firstUnsafe(text, safe);
+        if (first == text.length()) {
+            return text.toString();
+        }
+        final StringBuilder builder = new StringBuilder(text.length() + 16);
+        builder.append(text, 0, first);
+        encodeUtf8(text, first, safe, form, builder, null);
+        return builder.toString();
+    }
+
+    /**
+     * 查找第一个需要编码的字符
+     * @param text 待编码文本
+     * @param safe 无需编码的字符表
+     * @return 第一个需要编码的字符位置，全部无需编码时返回文本长度
+     */
+    private static int firstUnsafe(final CharSequence text, final boolean[] safe) {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char ch = text.charAt(i);
+            if (ch >= 128 || !safe[ch]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 按UTF-8编码，结果写入 {@code builder} 或 {@code buffer}（二者只有一个不为 {@code null}）
+     * <p>不成对的代理字符按 {@code ?} 编码，与 {@link String#getBytes(Charset)} 一致</p>
+     * @param text 待编码文本
+     * @param start 起始位置
+     * @param safe 无需编码的字符表
+     * @param form 是否将空格编码为 {@code +}
+     * @param builder 目标 {@link StringBuilder}
+     * @param buffer 目标 {@link ByteBuffer}
+     */
+    private static void encodeUtf8(final CharSequence text, final int start, final boolean[] safe,
+            final boolean form, final StringBuilder builder, final ByteBuffer buffer) {
+        final int length = text.length();
+        for (int i = start; i < length; i++) {
+            final char ch = text.charAt(i);
+            if (ch < 128) {
+                if (safe[ch]) {
+                    put(ch, builder, buffer);
+                } else if (ch == ' ' && form) {
+                    put('+', builder, buffer);
+                } else {
+                    putEscaped(ch, builder, buffer);
+                }
+            } else if (ch < 0x800) {
+                putEscaped(0xC0 | (ch >> 6), builder, buffer);
+                putEscaped(0x80 | (ch & 0x3F), builder, buffer);
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(ch, text.charAt(++i));
+                putEscaped(0xF0 | (codePoint >> 18), builder, buffer);
+                putEscaped(0x80 | ((codePoint >> 12) & 0x3F), builder, buffer);
+                putEscaped(0x80 | ((codePoint >> 6) & 0x3F), builder, buffer);
+                putEscaped(0x80 | (codePoint & 0x3F), builder, buffer);
+            } else if (Character.isSurrogate(ch)) {
+                putEscaped('?', builder, buffer);
+            } else {
+                putEscaped(0xE0 | (ch >> 12), builder, buffer);
+                putEscaped(0x80 | ((ch >> 6) & 0x3F), builder, buffer);
+                putEscaped(0x80 | (ch & 0x3F), builder, buffer);
+            }
+        }
+    }
+
+    /**
+     * 按指定字符集编码（表单模式）
+     * <p>与 {@link java.net.URLEncoder} 相同，连续的需编码字符一起转换为字节</p>
+     * @param text 待编码文本
+     * @param start 起始位置
+     * @param charset 字符集
+     * @param builder 目标 {@link StringBuilder}
+     */
+    private static void encodeCharset(final CharSequence text, final int start, final Charset charset,
+            final StringBuilder builder) {
+        final int length = text.length();
+        int i = start;
+        while (i < length) {
+            final char ch = text.charAt(i);
+            if (ch < 128 && FORM_SAFE[ch]) {
+                builder.append(ch);
+                i++;
+            } else if (ch == ' ') {
+                builder.append('+');
+                i++;
+            } else {
+                final int runStart = i;
+                while (i < length) {
+                    final char next = text.charAt(i);
+                    if (next < 128 && (FORM_SAFE[next] || next == ' ')) {
+                        break;
+                    }
+                    i++;
+                }
+                final byte[] bytes = text.subSequence(runStart, i).toString().getBytes(charset);
+                for (final byte b : bytes) {
+                    putEscaped(b & 0xFF, builder, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * URL解码
+     * @param text 待解码文本
+     * @param charset 字符集
+     * @param form 是否将 {@code +} 解码为空格
+     * @return 解码结果
+     */
+    private static String decode(final CharSequence text, final Charset charset, final boolean form) {
+        final int length = text.length();
+        int first = 0;
+        while (first < length) {
+            final char ch = text.charAt(first);
+            if (ch == '%' || (ch == '+' && form)) {
+                break;
+            }
+            first++;
+        }
+        if (first == length) {
+            return text.toString();
+        }
+
+        final StringBuilder builder = new StringBuilder(length);
+        builder.append(text, 0, first);
+        decodeTo(text, first, charset, form, builder);
+        return builder.toString();
+    }
+
+    /**
+     * URL解码，结果追加到 {@code builder}
+     * @param text 待解码文本
+     * @param start 起始位置
+     * @param charset 字符集
+     * @param form 是否将 {@code +} 解码为空格
+     * @param builder 目标 {@link StringBuilder}
+     */
+    private static void decodeTo(final CharSequence text, final int start, final Charset charset,
+            final boolean form, final StringBuilder builder) {
+        final int length = text.length();
+        byte[] bytes = null;
+        int i = start;
+        while (i < length) {
+            final char ch = text.charAt(i);
+            if (ch == '+' && form) {
+                builder.append(' ');
+                i++;
+            } else if (ch != '%') {
+                builder.append(ch);
+                i++;
+            } else {
+                // 连续的百分号编码一起转换为字符
+                if (bytes == null) {
+                    bytes = new byte[(length - i) / 3];
+                }
+                int count = 0;
+                while (i < length && text.charAt(i) == '%') {
+                    if (i + 2 >= length) {
+                        throw new IllegalArgumentException("URL解码失败：不完整的百分号编码");
+                    }
+                    final int high = hexValue(text.charAt(i + 1));
+                    final int low = hexValue(text.charAt(i + 2));
+                    if (high < 0 || low < 0) {
+                        throw new IllegalArgumentException("URL解码失败：非法的百分号编码");
+                    }
+                    bytes[count++] = (byte) ((high << 4) | low);
+                    i += 3;
+                }
+                if (!StandardCharsets.UTF_8.equals(charset) || !decodeUtf8(bytes, count, builder)) {
+                    builder.append(new String(bytes, 0, count, charset));
+                }
+            }
+        }
+    }
+
+    /**
+     * 解码UTF-8字节
+     * <p>只处理格式正确的字节序列；格式错误时不写入任何字符，由调用方按 {@link String} 的规则替换</p>
+     * @param bytes 字节
+     * @param count 字节数
+     * @param builder 目标 {@link StringBuilder}
+     * @return {@code true} 解码成功；{@code false} 字节序列格式错误
+     */
+    private static boolean decodeUtf8(final byte[] bytes, final int count, final StringBuilder builder) {
+        final int mark = builder.length();
+        int i = 0;
+        while (i < count) {
+            final int b0 = bytes[i] & 0xFF;
+            if (b0 < 0x80) {
+                builder.append((char) b0);
+                i++;
+            } else if (b0 >= 0xC2 && b0 < 0xE0 && i + 1 < count && isContinuation(bytes[i + 1])) {
+                builder.append((char) (((b0 & 0x1F) << 6) | (bytes[i + 1] & 0x3F)));
+                i += 2;
+            } else if (b0 >= 0xE0 && b0 < 0xF0 && i + 2 < count
+                    && isContinuation(bytes[i + 1]) && isContinuation(bytes[i + 2])) {
+                final int ch = ((b0 & 0x0F) << 12) | ((bytes[i + 1] & 0x3F) << 6) | (bytes[i + 2] & 0x3F);
+                if (ch < 0x800 || Character.isSurrogate((char) ch)) {
+                    builder.setLength(mark);
+                    return false;
+                }
+                builder.append((char) ch);
+                i += 3;
+            } else if (b0 >= 0xF0 && b0 < 0xF5 && i + 3 < count && isContinuation(bytes[i + 1])
+                    && isContinuation(bytes[i + 2]) && isContinuation(bytes[i + 3])) {
+                final int codePoint = ((b0 & 0x07) << 18) | ((bytes[i + 1] & 0x3F) << 12)
+                        | ((bytes[i + 2] & 0x3F) << 6) | (bytes[i + 3] & 0x3F);
+                if (codePoint < 0x10000 || codePoint > Character.MAX_CODE_POINT) {
+                    builder.setLength(mark);
+                    return false;
+                }
+                builder.append(Character.highSurrogate(codePoint)).append(Character.lowSurrogate(codePoint));
+                i += 4;
+            } else {
+                builder.setLength(mark);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 是否为UTF-8后续字节（10xxxxxx）
+     * @param b 字节
+     * @return {@code true} 是后续字节
+     */
+    private static boolean isContinuation(final byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    /**
+     * 获取十六进制字符的值
+     * @param ch 字符
+     * @return 值，非十六进制字符返回 -1
+     */
+    private static int hexValue(final char ch) {
+        return ch < 128 ? HEX_VALUES[ch] : -1;
+    }
+
+    /**
+     * 写入一个ASCII字符
+     * @param ch 字符
+     * @param builder 目标 {@link StringBuilder}，为 {@code null} 时写入 {@code buffer}
+     * @param buffer 目标 {@link ByteBuffer}
+     */
+    private static void put(final char ch, final StringBuilder builder, final ByteBuffer buffer) {
+        if (builder != null) {
+            builder.append(ch);
+        } else {
+            buffer.put((byte) ch);
+        }
+    }
+
+    /**
+     * 写入一个字节的百分号编码
+     * @param b 字节值（0 ~ 255）
+     * @param builder 目标 {@link StringBuilder}，为 {@code null} 时写入 {@code buffer}
+     * @param buffer 目标 {@link ByteBuffer}
+     */
+    private static void putEscaped(final int b, final StringBuilder builder, final ByteBuffer buffer) {
+        final char high = HEX_CHARS[(b >> 4) & 0x0F];
+        final char low = HEX_CHARS[b & 0x0F];
+        if (builder != null) {
+            builder.append('%').append(high).append(low);
+        } else {
+            buffer.put((byte) '%').put((byte) high).put((byte) low);
+        }
+    }
+
+
+    /**
+     * 私有构造
+     */
+    private WfUrlCodec() {
+    }
+}
@@ -0,0 +1,142 @@
+package net.virgodirk.wildfire.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for WfAes
+ *
+ * <p>对比每次调用创建Cipher的原实现、{@link WfAes} 静态方法（引擎缓存）与 {@link WfAesEngine}，
+ * 以及逐条加密与批量加密1000条，通过 {@link #main(String[])} 运行</p>
+ *
+ * @author agent on 2026年10月19日 上午01:26:40
+ * @version Version 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WfAesBenchmark {
+
+    private static final String KEY = "1234abcdDCBA4321";
+
+    private static final String PASSWORD = "1324567890abcdefghij";
+
+    private static final int ROWS = 1000;
+
+    @Param({"16", "256", "4096"})
+    private int size;
+
+    private byte[] data;
+
+    private String text;
+
+    private WfAesEngine engine;
+
+    private List<String> rows;
+
+    @Setup
+    public void setup() {
+        data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        StringBuilder builder = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        text = builder.toString();
+        engine = new WfAesEngine(KEY);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(text);
+        }
+    }
+
+    /**
+     * 原实现：每次调用查找Provider、创建密钥并计算默认向量
+     */
+    private static byte[] legacyEncrypt(byte[] src, String key, String keyIv) throws Exception {
+        SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes("UTF-8"), "AES");
+        String ivValue = keyIv == null ? WfMd5.encrypt16(key) : keyIv;
+        Cipher cipher = Cipher.getInstance("AES/CBC/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, new IvParameterSpec(ivValue.getBytes(StandardCharsets.UTF_8)));
+        int length = (src.length + 15) / 16 * 16;
+        byte[] input = new byte[length];
+        System.arraycopy(src, 0, input, 0, src.length);
+        return cipher.doFinal(input);
+    }
+
+    @Benchmark
+    public byte[] legacy() throws Exception {
+        return legacyEncrypt(data, KEY, null);
+    }
+
+    @Benchmark
+    public byte[] staticCached() {
+        return WfAes.encrypt(data, KEY, null, "UTF-8");
+    }
+
+    @Benchmark
+    public byte[] engine() {
+        return engine.encrypt(data);
+    }
+
+    @Benchmark
+    public byte[] legacyAnyKey() throws Exception {
+        String key = WfMd5.encrypt16(PASSWORD);
+        return legacyEncrypt(text.getBytes("UTF-8"), key.toLowerCase(Locale.ENGLISH), key.toUpperCase(Locale.ENGLISH));
+    }
+
+    @Benchmark
+    public String anyKey() {
+        return WfAes.encryptAnyKey(text, PASSWORD);
+    }
+
+    @Benchmark
+    public List<String> rowsLoop() {
+        List<String> result = new ArrayList<>(ROWS);
+        for (String row : rows) {
+            result.add(WfAes.encrypt(row, KEY));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<String> rowsEncryptAll() {
+        return WfAes.encryptAll(rows, KEY);
+    }
+
+    @Benchmark
+    public List<String> rowsEncryptAllParallel() {
+        return WfAes.encryptAll(rows, KEY, null, true);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WfAesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package net.virgodirk.wildfire.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for WfAesCtr
+ *
+ * <p>对比串行的CBC（{@link WfAesEngine}）与分块并行的 {@link WfAesCtr}，通过 {@link #main(String[])} 运行；
+ * 1GB需要约4GB堆内存，可通过 {@code -p size=1073741824} 单独运行</p>
+ *
+ * @author agent on 2026年10月19日 上午02:14:05
+ * @version Version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class WfAesCtrBenchmark {
+
+    private static final String KEY = "1234abcdDCBA4321";
+
+    @Param({"1048576", "16777216", "268435456"})
+    private int size;
+
+    private byte[] data;
+
+    private byte[] encrypted;
+
+    private WfAesEngine cbc;
+
+    private WfAesCtr ctr;
+
+    @Setup
+    public void setup() {
+        data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        cbc = new WfAesEngine(KEY);
+        ctr = WfAesCtr.builder().setKey(KEY).build();
+        encrypted = ctr.encrypt(data);
+    }
+
+    @Benchmark
+    public byte[] cbcEncrypt() {
+        return cbc.encrypt(data);
+    }
+
+    @Benchmark
+    public byte[] ctrEncrypt() {
+        return ctr.encrypt(data);
+    }
+
+    @Benchmark
+    public byte[] ctrDecrypt() {
+        return ctr.decrypt(encrypted);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WfAesCtrBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,163 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import net.virgodirk.wildfire.util.exception.WfAesException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Test;
+
+/**
+ * Test for WfAesCtr
+ *
+ * @author agent on 2026年10月19日 上午02:14:05
+ * @version Version 3.0
+ */
+public class WfAesCtrTest {
+
+    private static final String KEY = "1234abcdDCBA4321";
+
+    @Test
+    public void testAddCounter() {
+        byte[] nonce = new byte[16];
+        assertArrayEquals(nonce, WfAesCtr.addCounter(nonce, 0));
+        assertEquals(1, WfAesCtr.addCounter(nonce, 1)[15]);
+
+        // 进位
+        Arrays.fill(nonce, 8, 16, (byte) 0xFF);
+        byte[] counter = WfAesCtr.addCounter(nonce, 1);
+        assertEquals(1, counter[7]);
+        for (int i = 8; i < 16; i++) {
+            assertEquals(0, counter[i]);
+        }
+
+        // 128位溢出回绕
+        Arrays.fill(nonce, (byte) 0xFF);
+        assertArrayEquals(new byte[16], WfAesCtr.addCounter(nonce, 1));
+        counter = WfAesCtr.addCounter(nonce, Long.MAX_VALUE);
+        assertEquals((byte) 0x7F, counter[8]);
+        assertEquals((byte) 0xFE, counter[15]);
+    }
+
+    @Test
+    public void testSerial() {
+        // 并行度为1时在调用线程中依次处理，不提交到任何线程池（已关闭的线程池不会被使用）
+        ForkJoinPool pool = new ForkJoinPool(1);
+        pool.shutdown();
+        WfAesCtr ctr = WfAesCtr.builder().setKey(KEY).setChunkSize(64).setPool(pool).build();
+        byte[] src = new byte[1000];
+        new Random(20).nextBytes(src);
+        assertArrayEquals(src, ctr.decrypt(ctr.encrypt(src)));
+    }
+
+    @Test
+    public void testSameAsCtr() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            WfAesCtr ctr = WfAesCtr.builder().setKey(KEY).setChunkSize(64).setPool(pool).build();
+            Random random = new Random(20);
+            for (int length : new int[] {0, 1, 63, 64, 65, 1000, 4096 + 5}) {
+                byte[] src = new byte[length];
+                random.nextBytes(src);
+                byte[] encrypted = ctr.encrypt(src);
+                assertEquals(WfAesCtr.HEADER_SIZE + length, encrypted.length);
+
+                // 拼接结果与整段标准AES/CTR相同
+                Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+                cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY.getBytes("UTF-8"), "AES"),
+                        new IvParameterSpec(Arrays.copyOfRange(encrypted, WfAesCtr.HEADER_SIZE - 16, WfAesCtr.HEADER_SIZE)));
+                assertArrayEquals(cipher.doFinal(src),
+                        Arrays.copyOfRange(encrypted, WfAesCtr.HEADER_SIZE, encrypted.length));
+
+                assertArrayEquals(src, ctr.decrypt(encrypted));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testChunkSizeFromHeader() {
+        byte[] src = new byte[10000];
+        new Random(21).nextBytes(src);
+        byte[] encrypted = WfAesCtr.builder().setKey(KEY).setChunkSize(160).build().encrypt(src);
+        WfAesCtr other = WfAesCtr.builder().setKey(KEY.getBytes()).build();
+        assertEquals(WfAesCtr.DEFAULT_CHUNK_SIZE, other.getChunkSize());
+        assertArrayEquals(src, other.decrypt(encrypted));
+
+        // nonce每次随机
+        assertFalse(Arrays.equals(encrypted, WfAesCtr.builder().setKey(KEY).setChunkSize(160).build().encrypt(src)));
+    }
+
+    @Test
+    public void testInvalid() {
+        WfAesCtr ctr = WfAesCtr.builder().setKey(KEY).build();
+        byte[] encrypted = ctr.encrypt(new byte[100]);
+        for (byte[] input : new byte[][] {new byte[0], new byte[WfAesCtr.HEADER_SIZE + 10],
+                Arrays.copyOf(encrypted, encrypted.length - 1)}) {
+            try {
+                ctr.decrypt(input);
+                fail();
+            } catch (WfAesException excpt) {
+                assertEquals("解密内容格式错误", excpt.getMessage());
+            }
+        }
+        try {
+            WfAesCtr.builder().setKey("short").build();
+            fail();
+        } catch (WfAesException excpt) {
+            assertEquals("密钥长度错误", excpt.getMessage());
+        }
+        try {
+            WfAesCtr.builder().setChunkSize(100);
+            fail();
+        } catch (IllegalArgumentException excpt) {
+            assertNotNull(excpt.getMessage());
+        }
+    }
+
+    @Test
+    public void testFile() throws Exception {
+        Path dir = Files.createTempDirectory("WfAesCtrTest");
+        Path source = dir.resolve("source.bin");
+        Path encrypted = dir.resolve("source.bin.ctr");
+        Path decrypted = dir.resolve("source.bin.out");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            byte[] src = new byte[300 * 1024 + 11];
+            new Random(22).nextBytes(src);
+            Files.write(source, src);
+
+            WfAesCtr ctr = WfAesCtr.builder().setKey(KEY).setChunkSize(16 * 1024).setPool(pool).build();
+            assertEquals(WfAesCtr.HEADER_SIZE + src.length, ctr.encryptFile(source, encrypted));
+            assertArrayEquals(src, ctr.decrypt(Files.readAllBytes(encrypted)));
+            assertEquals(src.length, ctr.decryptFile(encrypted, decrypted));
+            assertArrayEquals(src, Files.readAllBytes(decrypted));
+
+            // 截断的密文
+            Files.write(encrypted, Arrays.copyOf(Files.readAllBytes(encrypted), 1000));
+            try {
+                ctr.decryptFile(encrypted, decrypted);
+                fail();
+            } catch (WfAesException excpt) {
+                assertEquals("解密内容格式错误", excpt.getMessage());
+            }
+            assertFalse(Files.exists(decrypted));
+        } finally {
+            pool.shutdown();
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(encrypted);
+            Files.deleteIfExists(decrypted);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import net.virgodirk.wildfire.util.exception.WfAesException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Test;
+
+/**
+ * Test for WfAesEngine
+ *
+ * @author agent on 2026年10月19日 上午01:26:40
+ * @version Version 3.0
+ */
+public class WfAesEngineTest {
+
+    private static final String KEY = "1234abcdDCBA4321";
+
+    private static final String KEY_IV = "1234ABCDabcd4321";
+
+    /**
+     * 原实现：每次调用创建Cipher
+     */
+    private static byte[] legacyEncrypt(byte[] src, String key, String keyIv) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES/CBC/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES"),
+                new IvParameterSpec(keyIv.getBytes(StandardCharsets.UTF_8)));
+        int length = (src.length + 15) / 16 * 16;
+        byte[] input = new byte[length];
+        System.arraycopy(src, 0, input, 0, src.length);
+        return cipher.doFinal(input);
+    }
+
+    @Test
+    public void testSameAsLegacy() throws Exception {
+        WfAesEngine engine = new WfAesEngine(KEY, KEY_IV);
+        WfAesEngine defaultIv = new WfAesEngine(KEY);
+        for (int length = 0; length <= 48; length++) {
+            byte[] src = new byte[length];
+            for (int i = 0; i < length; i++) {
+                src[i] = (byte) (i * 7 + 1);
+            }
+            byte[] expected = legacyEncrypt(src, KEY, KEY_IV);
+            assertArrayEquals(expected, engine.encrypt(src));
+            assertArrayEquals(expected, WfAes.encrypt(src, KEY, KEY_IV, "UTF-8"));
+            assertArrayEquals(legacyEncrypt(src, KEY, WfMd5.encrypt16(KEY)), defaultIv.encrypt(src));
+
+            byte[] decrypted = engine.decrypt(expected);
+            assertEquals(expected.length, decrypted.length);
+            for (int i = 0; i < decrypted.length; i++) {
+                assertEquals(i < length ? src[i] : 0, decrypted[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testString() {
+        String src = "^123-测试-abcABC_@#$";
+        WfAesEngine engine = new WfAesEngine(KEY, KEY_IV);
+        String encrypted = engine.encrypt(src);
+        assertEquals(encrypted, engine.encrypt(src));
+        assertEquals(src, engine.decrypt(encrypted));
+        assertEquals(src, WfAes.decryptEx(encrypted, KEY, KEY_IV));
+        assertEquals(encrypted, WfAes.encryptEx(src, KEY, KEY_IV));
+        assertEquals("", engine.encrypt((String) null));
+        assertEquals("", engine.decrypt((String) null));
+    }
+
+    @Test
+    public void testAnyKey() {
+        String src = "^123-测试-abcABC_@#$";
+        String pwd = "1324567890abcdefghij";
+        String key = WfMd5.encrypt16(pwd);
+        String expected = WfAes.encryptEx(src, key.toLowerCase(), key.toUpperCase());
+        assertEquals(expected, WfAesEngine.ofPassword(pwd).encrypt(src));
+        assertEquals(expected, WfAes.encryptAnyKey(src, pwd));
+        assertSame(WfAes.getAnyKeyEngine(pwd), WfAes.getAnyKeyEngine(pwd));
+        assertEquals(src, WfAes.decryptAnyKey(expected, pwd));
+    }
+
+    @Test
+    public void testCache() {
+        assertSame(WfAes.getEngine(KEY, KEY_IV), WfAes.getEngine(KEY, KEY_IV));
+        assertSame(WfAes.getEngine(KEY, null), WfAes.getEngine(KEY, null));
+        assertNotSame(WfAes.getEngine(KEY, null), WfAes.getEngine(KEY, KEY_IV));
+        assertNotSame(WfAes.getEngine(KEY, KEY_IV, "UTF-8"), WfAes.getEngine(KEY, KEY_IV, "GBK"));
+
+        // 超过上限后仍可正常使用
+        for (int i = 0; i < 1000; i++) {
+            String key = String.format("%016d", i);
+            assertEquals("abc", WfAes.decrypt(WfAes.encrypt("abc", key), key));
+        }
+        WfAes.clearEngines();
+        assertEquals("abc", WfAes.decrypt(WfAes.encrypt("abc", KEY), KEY));
+    }
+
+    @Test
+    public void testCacheLru() {
+        WfAes.clearEngines();
+        WfAesEngine hot = WfAes.getEngine(KEY, KEY_IV);
+        WfAesEngine cold = WfAes.getEngine(KEY, null);
+        for (int i = 0; i < 300; i++) {
+            WfAes.getEngine(String.format("%016d", i), null);
+            // 经常使用的引擎不会被淘汰
+            assertSame(hot, WfAes.getEngine(KEY, KEY_IV));
+        }
+        assertNotSame(cold, WfAes.getEngine(KEY, null));
+        WfAes.clearEngines();
+    }
+
+    @Test
+    public void testInvalid() {
+        try {
+            new WfAesEngine("short");
+            fail();
+        } catch (WfAesException excpt) {
+            assertEquals("密钥长度错误", excpt.getMessage());
+        }
+        try {
+            new WfAesEngine(KEY, "short");
+            fail();
+        } catch (WfAesException excpt) {
+            assertEquals("密钥向量长度错误", excpt.getMessage());
+        }
+        try {
+            WfAes.getAnyKeyEngine(null);
+            fail();
+        } catch (WfAesException excpt) {
+            assertEquals("密钥长度错误", excpt.getMessage());
+        }
+
+        // 解密失败后密码器可继续使用
+        WfAesEngine engine = new WfAesEngine(KEY, KEY_IV);
+        String encrypted = engine.encrypt("abc");
+        try {
+            engine.decrypt(new byte[15]);
+            fail();
+        } catch (WfAesException excpt) {
+            assertEquals("AES解密错误", excpt.getMessage());
+        }
+        assertEquals("abc", engine.decrypt(encrypted));
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        final WfAesEngine engine = new WfAesEngine(KEY, KEY_IV);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int seed = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        String src = "thread-" + seed + "-" + i;
+                        if (!src.equals(engine.decrypt(engine.encrypt(src)))
+                                || !src.equals(WfAes.decryptAnyKey(WfAes.encryptAnyKey(src, "pwd" + seed), "pwd" + seed))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        WfAesEngine engine = new WfAesEngine(KEY, KEY_IV);
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "AES"),
+                new IvParameterSpec(KEY_IV.getBytes(StandardCharsets.UTF_8)));
+        Random random = new Random(18);
+        for (int length : new int[] {0, 1, 15, 16, 17, 64 * 1024 - 1, 64 * 1024, 256 * 1024, 600 * 1024 + 3}) {
+            byte[] src = new byte[length];
+            random.nextBytes(src);
+            byte[] expected = cipher.doFinal(src);
+
+            ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+            assertEquals(expected.length, engine.encryptStream(new ByteArrayInputStream(src), encrypted));
+            assertArrayEquals(expected, encrypted.toByteArray());
+
+            ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+            assertEquals(length, engine.decryptChannel(Channels.newChannel(new ByteArrayInputStream(expected)),
+                    Channels.newChannel(decrypted)));
+            assertArrayEquals(src, decrypted.toByteArray());
+
+            ByteBuffer input = ByteBuffer.allocateDirect(length);
+            input.put(src).flip();
+            ByteBuffer output = ByteBuffer.allocateDirect(length + 16);
+            assertEquals(expected.length, engine.encryptBuffer(input, output));
+            output.flip();
+            byte[] actual = new byte[output.remaining()];
+            output.get(actual);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testFile() throws Exception {
+        Path dir = Files.createTempDirectory("WfAesEngineTest");
+        Path source = dir.resolve("source.bin");
+        Path encrypted = dir.resolve("source.bin.aes");
+        Path decrypted = dir.resolve("source.bin.out");
+        try {
+            byte[] src = new byte[1024 * 1024 + 7];
+            new Random(19).nextBytes(src);
+            Files.write(source, src);
+
+            assertEquals(src.length + 9, WfAes.encryptFile(source, encrypted, KEY, null));
+            assertEquals(src.length, WfAes.decryptFile(encrypted, decrypted, KEY, null));
+            assertArrayEquals(src, Files.readAllBytes(decrypted));
+
+            // 密钥错误时解密失败并删除目标文件
+            try {
+                WfAes.decryptFile(encrypted, decrypted, KEY_IV, null);
+                fail();
+            } catch (WfAesException excpt) {
+                assertEquals("AES解密错误", excpt.getMessage());
+            }
+            assertFalse(Files.exists(decrypted));
+
+            // 截断的密文
+            Files.write(encrypted, Arrays.copyOf(Files.readAllBytes(encrypted), src.length));
+            try {
+                WfAes.decryptFile(encrypted, decrypted, KEY, null);
+                fail();
+            } catch (WfAesException excpt) {
+                assertEquals("AES解密错误", excpt.getMessage());
+            }
+
+            try {
+                WfAes.encryptFile(source, source, KEY, null);
+                fail();
+            } catch (WfAesException excpt) {
+                assertEquals("源文件与目标文件相同", excpt.getMessage());
+            }
+            assertArrayEquals(src, Files.readAllBytes(source));
+        } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(encrypted);
+            Files.deleteIfExists(decrypted);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
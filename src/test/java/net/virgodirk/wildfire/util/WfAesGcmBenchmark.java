@@ -0,0 +1,104 @@
+package net.virgodirk.wildfire.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for WfAesGcm
+ *
+ * <p>对比CBC（{@link WfAes} 静态方法、{@link WfAesEngine}）与 {@link WfAesGcm} 的堆内及直接缓冲区，
+ * 通过 {@link #main(String[])} 运行</p>
+ *
+ * @author agent on 2026年10月19日 上午03:02:18
+ * @version Version 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WfAesGcmBenchmark {
+
+    private static final String KEY = "1234abcdDCBA4321";
+
+    @Param({"64", "1024", "16384"})
+    private int size;
+
+    private byte[] data;
+
+    private WfAesEngine cbc;
+
+    private WfAesGcm gcm;
+
+    private ByteBuffer heapInput;
+
+    private ByteBuffer heapOutput;
+
+    private ByteBuffer directInput;
+
+    private ByteBuffer directOutput;
+
+    @Setup
+    public void setup() {
+        data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        cbc = new WfAesEngine(KEY);
+        gcm = WfAesGcm.builder().setKey(KEY).build();
+        heapInput = ByteBuffer.wrap(data);
+        heapOutput = ByteBuffer.allocate(size + WfAesGcm.IV_SIZE + WfAesGcm.TAG_SIZE);
+        directInput = ByteBuffer.allocateDirect(size);
+        directInput.put(data).flip();
+        directOutput = ByteBuffer.allocateDirect(size + WfAesGcm.IV_SIZE + WfAesGcm.TAG_SIZE);
+    }
+
+    @Benchmark
+    public byte[] cbcStatic() {
+        return WfAes.encrypt(data, KEY, null, "UTF-8");
+    }
+
+    @Benchmark
+    public byte[] cbcEngine() {
+        return cbc.encrypt(data);
+    }
+
+    @Benchmark
+    public byte[] gcmBytes() {
+        return gcm.encrypt(data);
+    }
+
+    @Benchmark
+    public int gcmHeapBuffer() {
+        heapInput.clear();
+        heapOutput.clear();
+        return gcm.encrypt(heapInput, heapOutput);
+    }
+
+    @Benchmark
+    public int gcmDirectBuffer() {
+        directInput.clear();
+        directOutput.clear();
+        return gcm.encrypt(directInput, directOutput);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WfAesGcmBenchmark.class.getSimpleName()).build()).run();
+    }
+}
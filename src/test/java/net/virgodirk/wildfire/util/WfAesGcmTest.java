@@ -0,0 +1,156 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import net.virgodirk.wildfire.util.exception.WfAesException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Test;
+
+/**
+ * Test for WfAesGcm
+ *
+ * @author agent on 2026年10月19日 上午03:02:18
+ * @version Version 3.0
+ */
+public class WfAesGcmTest {
+
+    private static final String KEY = "1234abcdDCBA4321";
+
+    private final WfAesGcm gcm = WfAesGcm.builder().setKey(KEY).build();
+
+    @Test
+    public void testBytes() throws Exception {
+        Random random = new Random(22);
+        Set<String> ivs = new HashSet<>();
+        for (int length : new int[] {0, 1, 16, 100, 65536}) {
+            byte[] src = new byte[length];
+            random.nextBytes(src);
+            byte[] encrypted = gcm.encrypt(src);
+            assertEquals(WfAesGcm.IV_SIZE + length + WfAesGcm.TAG_SIZE, encrypted.length);
+            assertTrue(ivs.add(Arrays.toString(Arrays.copyOf(encrypted, WfAesGcm.IV_SIZE))));
+            assertArrayEquals(src, gcm.decrypt(encrypted));
+            assertArrayEquals(src, WfAesGcm.builder().setKey(KEY).build().decrypt(encrypted));
+
+            // 与JDK标准GCM结果相同
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(KEY.getBytes("UTF-8"), "AES"),
+                    new GCMParameterSpec(128, encrypted, 0, WfAesGcm.IV_SIZE));
+            assertArrayEquals(src, cipher.doFinal(encrypted, WfAesGcm.IV_SIZE, encrypted.length - WfAesGcm.IV_SIZE));
+        }
+    }
+
+    @Test
+    public void testTampered() {
+        byte[] encrypted = gcm.encrypt("^123-测试-abcABC_@#$".getBytes());
+        encrypted[WfAesGcm.IV_SIZE + 2] ^= 1;
+        try {
+            gcm.decrypt(encrypted);
+            fail();
+        } catch (WfAesException excpt) {
+            assertEquals("AES解密错误", excpt.getMessage());
+        }
+        try {
+            gcm.decrypt(new byte[10]);
+            fail();
+        } catch (WfAesException excpt) {
+            assertEquals("解密内容格式错误", excpt.getMessage());
+        }
+        try {
+            WfAesGcm.builder().setKey("4321DCBAabcd1234").build().decrypt(gcm.encrypt(new byte[5]));
+            fail();
+        } catch (WfAesException excpt) {
+            assertEquals("AES解密错误", excpt.getMessage());
+        }
+    }
+
+    @Test
+    public void testDirectBuffer() {
+        byte[] src = new byte[4096 + 3];
+        new Random(23).nextBytes(src);
+        ByteBuffer input = ByteBuffer.allocateDirect(src.length);
+        input.put(src).flip();
+        ByteBuffer encrypted = ByteBuffer.allocateDirect(src.length + 28);
+        assertEquals(src.length + 28, gcm.encrypt(input, encrypted));
+        assertFalse(input.hasRemaining());
+        encrypted.flip();
+
+        ByteBuffer decrypted = ByteBuffer.allocateDirect(src.length);
+        assertEquals(src.length, gcm.decrypt(encrypted, decrypted));
+        decrypted.flip();
+        byte[] actual = new byte[decrypted.remaining()];
+        decrypted.get(actual);
+        assertArrayEquals(src, actual);
+
+        // 空间不足时不移动position
+        input.rewind();
+        ByteBuffer small = ByteBuffer.allocate(src.length);
+        try {
+            gcm.encrypt(input, small);
+            fail();
+        } catch (WfAesException excpt) {
+            assertEquals(0, small.position());
+        }
+
+        // 解密失败时不移动position
+        encrypted.rewind();
+        encrypted.put(WfAesGcm.IV_SIZE + 1, (byte) ~encrypted.get(WfAesGcm.IV_SIZE + 1));
+        try {
+            gcm.decrypt(encrypted, ByteBuffer.allocateDirect(src.length));
+            fail();
+        } catch (WfAesException excpt) {
+            assertEquals(0, encrypted.position());
+        }
+    }
+
+    @Test
+    public void testRandomIv() {
+        // 同一密钥的不同实例（如进程重启）不会从相同的向量开始
+        Set<String> ivs = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            byte[] encrypted = WfAesGcm.builder().setKey(KEY).build().encrypt(new byte[1]);
+            assertTrue(ivs.add(Arrays.toString(Arrays.copyOf(encrypted, WfAesGcm.IV_SIZE))));
+        }
+    }
+
+    @Test
+    public void testInPlaceWithAad() {
+        byte[] iv = new byte[WfAesGcm.IV_SIZE];
+        iv[0] = 1;
+        byte[] src = "^123-测试-abcABC_@#$".getBytes();
+        for (boolean direct : new boolean[] {false, true}) {
+            ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(64) : ByteBuffer.allocate(64);
+            buffer.position(8);
+            buffer.put(src).flip().position(8);
+            ByteBuffer target = buffer.duplicate();
+            target.limit(target.capacity());
+            int length = gcm.encrypt(iv, ByteBuffer.wrap("header".getBytes()), buffer.duplicate(), target);
+            assertEquals(src.length + WfAesGcm.TAG_SIZE, length);
+
+            buffer.limit(8 + length);
+            ByteBuffer output = buffer.duplicate();
+            assertEquals(src.length, gcm.decrypt(iv, ByteBuffer.wrap("header".getBytes()), buffer.duplicate(), output));
+            byte[] actual = new byte[src.length];
+            buffer.get(actual);
+            assertArrayEquals(src, actual);
+
+            try {
+                buffer.position(8);
+                gcm.decrypt(iv, ByteBuffer.wrap("other".getBytes()), buffer.duplicate(), ByteBuffer.allocate(64));
+                fail();
+            } catch (WfAesException excpt) {
+                assertEquals("AES解密错误", excpt.getMessage());
+            }
+            iv[0]++;
+        }
+    }
+}
@@ -2,6 +2,10 @@ package net.virgodirk.wildfire.util;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Test;
 
 /**
@@ -44,4 +48,37 @@ public class WfAesTest {
         
         assertEquals(src, WfAes.decryptEx(WfAes.encryptEx(src, key, keyIv), key, keyIv));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEncryptAll() {
+        String key = "1234abcdDCBA4321";
+        String keyIv = "1234ABCDabcd4321";
+        List<String> src = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            src.add(i % 100 == 0 ? null : "^123-测试-abcABC_@#$-" + i);
+        }
+
+        for (boolean parallel : new boolean[] {false, true}) {
+            List<String> encrypted = WfAes.encryptAll(src, key, keyIv, parallel);
+            List<String> decrypted = WfAes.decryptAll(encrypted, key, keyIv, parallel);
+            assertEquals(src.size(), encrypted.size());
+            for (int i = 0; i < src.size(); i++) {
+                assertEquals(WfAes.encryptEx(src.get(i), key, keyIv), encrypted.get(i));
+                assertEquals(src.get(i) == null ? "" : src.get(i), decrypted.get(i));
+            }
+        }
+        assertEquals(WfAes.encrypt("abc", key), WfAes.encryptAll(Arrays.asList("abc"), key).get(0));
+        assertEquals("abc", WfAes.decryptAll(WfAes.encryptAll(Arrays.asList("abc"), key), key).get(0));
+
+        byte[][] columns = new byte[1500][];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = i == 7 ? null : ("value-" + i).getBytes();
+        }
+        byte[][] encrypted = WfAes.encryptAll(columns, key, null, true);
+        byte[][] decrypted = WfAes.decryptAll(encrypted, key, null, true);
+        assertNull(encrypted[7]);
+        assertNull(decrypted[7]);
+        assertArrayEquals(WfAes.encrypt(columns[100], key, null, "UTF-8"), encrypted[100]);
+        assertArrayEquals(WfAes.decrypt(encrypted[100], key, null, "UTF-8"), decrypted[100]);
+    }
+}
@@ -0,0 +1,71 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test for WfCidrTrie
+ *
+ * @author agent on 2026年10月18日 下午23:31:06
+ * @version Version 3.0
+ */
+public class WfCidrTrieTest {
+
+    private final WfCidrTrie trie = WfCidrTrie.builder()
+            .add("10.0.0.0/8").add("192.168.1.0/24").add("203.0.113.7")
+            .add("2001:db8::/32").add("::1").build();
+
+    @Test
+    public void testIpv4() {
+        assertTrue(trie.contains("10.1.2.3"));
+        assertTrue(trie.contains("192.168.1.255"));
+        assertTrue(trie.contains("203.0.113.7"));
+        assertFalse(trie.contains("203.0.113.8"));
+        assertFalse(trie.contains("192.168.2.1"));
+        assertFalse(trie.contains("11.0.0.1"));
+        
+        // 无效地址
+        assertFalse(trie.contains("10.0.0"));
+        assertFalse(trie.contains("10.0.0.256"));
+        assertFalse(trie.contains("10.0.0.1."));
+        assertFalse(trie.contains("unknown"));
+        assertEquals(WfCidrTrie.INVALID, trie.match("10..0.1", 0, 7));
+    }
+
+    @Test
+    public void testIpv6() {
+        assertTrue(trie.contains("2001:db8::1"));
+        assertTrue(trie.contains("2001:0DB8:ffff:0:0:0:0:1"));
+        assertTrue(trie.contains("::1"));
+        assertTrue(trie.contains("0:0:0:0:0:0:0:1"));
+        assertTrue(trie.contains("[::1]"));
+        assertTrue(trie.contains("2001:db8::1%eth0"));
+        assertFalse(trie.contains("2001:db9::1"));
+        assertFalse(trie.contains("::2"));
+        assertFalse(trie.contains("::"));
+        
+        // IPv4映射地址
+        assertTrue(trie.contains("::ffff:10.0.0.1"));
+        assertFalse(trie.contains("::ffff:11.0.0.1"));
+        
+        // 无效地址
+        assertFalse(trie.contains("2001:db8:::1"));
+        assertFalse(trie.contains("2001:db8::1::2"));
+        assertFalse(trie.contains("1:2:3:4:5:6:7"));
+        assertFalse(trie.contains("2001:db8:12345::1"));
+        assertEquals(WfCidrTrie.INVALID, trie.match("2001:db8:", 0, 9));
+    }
+
+    @Test
+    public void testRange() {
+        String text = "a, 10.0.0.1, b";
+        assertTrue(trie.contains(text, 3, 11));
+        assertFalse(trie.contains(text, 0, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCidr() {
+        WfCidrTrie.builder().add("10.0.0.0/33");
+    }
+}
@@ -0,0 +1,70 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import net.virgodirk.wildfire.util.exception.WfFileException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test for WfDigest（WfMd5/WfSha的文件及数据流摘要）
+ *
+ * @author agent on 2026年10月19日 上午03:40:52
+ * @version Version 3.0
+ */
+public class WfDigestTest {
+
+    @Test
+    public void testFile() throws Exception {
+        Path file = Files.createTempFile("WfDigestTest", ".bin");
+        try {
+            // 跨越多个读取窗口
+            byte[] data = new byte[WfDigest.BUFFER_SIZE * 2 + 123];
+            new Random(23).nextBytes(data);
+            Files.write(file, data);
+
+            assertEquals(WfMd5.encryptBytes(data), WfMd5.md5File(file));
+            assertEquals(WfSha.sha1Bytes(data), WfSha.sha1File(file));
+            assertEquals(WfSha.sha256Bytes(data), WfSha.sha256File(file));
+            assertEquals(WfSha.sha512Bytes(data), WfSha.sha512File(file));
+
+            Files.write(file, new byte[0]);
+            assertEquals("d41d8cd98f00b204e9800998ecf8427e", WfMd5.md5File(file));
+            assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", WfSha.sha256File(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        try {
+            WfSha.sha256File(file);
+            fail();
+        } catch (WfFileException excpt) {
+            assertEquals("未找到文件：" + file, excpt.getMessage());
+        }
+    }
+
+    @Test
+    public void testStream() {
+        byte[] data = "123-abc_测试+/".getBytes(StandardCharsets.UTF_8);
+        assertEquals("77bf9db6f7ffd20dbedac1de6bb354e0c4305c77a92eee125371e55e15a281e4",
+                WfSha.sha256Stream(new ByteArrayInputStream(data)));
+        assertEquals("77bf9db6f7ffd20dbedac1de6bb354e0c4305c77a92eee125371e55e15a281e4",
+                WfSha.sha256Channel(Channels.newChannel(new ByteArrayInputStream(data))));
+        assertEquals(WfMd5.encryptBytes(data), WfMd5.md5Stream(new ByteArrayInputStream(data)));
+        assertEquals(WfMd5.encryptBytes(data), WfMd5.md5Channel(Channels.newChannel(new ByteArrayInputStream(data))));
+
+        try {
+            WfSha.sha256Stream(null);
+            fail();
+        } catch (WfFileException excpt) {
+            assertEquals("数据流为空", excpt.getMessage());
+        }
+    }
+}
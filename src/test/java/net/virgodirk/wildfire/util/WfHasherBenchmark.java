@@ -0,0 +1,78 @@
+package net.virgodirk.wildfire.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for WfHasher
+ *
+ * <p>对比原实现（每次 {@link MessageDigest#getInstance(String)}、{@link Integer#toHexString(int)} 拼接）、
+ * {@link WfSha#sha256(String)} 及直接使用 {@link WfHasher} 计算签名，通过 {@link #main(String[])} 运行；
+ * 加 {@code -prof gc} 可查看每次调用的内存分配</p>
+ *
+ * @author agent on 2026年10月19日 上午04:52:13
+ * @version Version 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WfHasherBenchmark {
+
+    private static final String TEXT = "appid=wx1234567890&nonce=5K8264ILTKCH16CQ2502SI8ZNMTM67VS&timestamp=1760832733";
+
+    private static final String SIGNATURE = WfSha.sha256(TEXT);
+
+    private final StringBuilder builder = new StringBuilder(64);
+
+    @Benchmark
+    public String legacy() throws Exception {
+        final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        messageDigest.update(TEXT.getBytes("UTF-8"));
+        final StringBuilder hexStrBuilder = new StringBuilder(32);
+        for (final byte b : messageDigest.digest()) {
+            final String hexStr = Integer.toHexString(b & 0xff);
+            if (hexStr.length() == 1) {
+                hexStrBuilder.append('0');
+            }
+            hexStrBuilder.append(hexStr);
+        }
+        return hexStrBuilder.toString();
+    }
+
+    @Benchmark
+    public String sha256() {
+        return WfSha.sha256(TEXT);
+    }
+
+    @Benchmark
+    public StringBuilder hasherInto() {
+        builder.setLength(0);
+        return WfHasher.sha256().update(TEXT).digestHexInto(builder);
+    }
+
+    @Benchmark
+    public boolean hasherEquals() {
+        return WfHasher.sha256().update(TEXT).digestHexEquals(SIGNATURE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WfHasherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
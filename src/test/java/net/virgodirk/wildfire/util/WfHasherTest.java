@@ -0,0 +1,172 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.junit.Test;
+
+/**
+ * Test for WfHasher
+ *
+ * @author agent on 2026年10月19日 上午04:52:13
+ * @version Version 3.0
+ */
+public class WfHasherTest {
+
+    @Test
+    public void testUpdate() throws Exception {
+        byte[] data = "123-abc_测试+/".getBytes(StandardCharsets.UTF_8);
+        String expected = "77bf9db6f7ffd20dbedac1de6bb354e0c4305c77a92eee125371e55e15a281e4";
+
+        assertEquals(expected, WfHasher.sha256().update(data).digestHex());
+        assertEquals(expected, WfHasher.sha256().update(data, 0, 4).update(data, 4, data.length - 4).digestHex());
+        assertEquals(expected, WfHasher.sha256().update("123-abc_测试+/").digestHex());
+        assertEquals(expected, WfHasher.sha256().update(new StringBuilder("123-abc_").append("测试+/")).digestHex());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+        assertEquals(expected, WfHasher.sha256().update(direct).digestHex());
+        assertFalse(direct.hasRemaining());
+
+        assertEquals(WfMd5.encryptBytes(data), WfHasher.md5().update(data).digestHex());
+        assertEquals(WfSha.sha1Bytes(data), WfHasher.sha1().update(data).digestHex());
+        assertEquals(WfSha.sha512Bytes(data), WfHasher.sha512().update(data).digestHex());
+
+        WfHasher hasher = WfHasher.sha256();
+        assertEquals(32, hasher.getDigestLength());
+        hasher.digest();
+    }
+
+    @Test
+    public void testUpdateCharSequence() throws Exception {
+        // 跨越编码缓冲区，包含1～4字节字符及不成对的代理字符
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            text.append("aé测😀");
+        }
+        text.append('\uD83D').append("x\uDE00");
+
+        for (String charset : new String[] {"UTF-8", "GBK", "ISO-8859-1", "UTF-16"}) {
+            byte[] bytes = text.toString().getBytes(charset);
+            assertEquals(charset, WfConvert.bytes2HexStr(MessageDigest.getInstance("MD5").digest(bytes)),
+                    WfHasher.md5().update(text, Charset.forName(charset)).digestHex());
+        }
+    }
+
+    @Test
+    public void testDigestHex() {
+        byte[] data = "abc".getBytes(StandardCharsets.UTF_8);
+        String expected = "a9993e364706816aba3e25717850c26c9cd0d89d";
+
+        char[] chars = new char[45];
+        assertEquals(40, WfHasher.sha1().update(data).digestHexInto(chars, 5));
+        assertEquals(expected, new String(chars, 5, 40));
+
+        StringBuilder builder = new StringBuilder("sign=");
+        assertSame(builder, WfHasher.sha1().update(data).digestHexInto(builder));
+        assertEquals("sign=" + expected, builder.toString());
+
+        assertTrue(WfHasher.sha1().update(data).digestHexEquals(expected));
+        assertTrue(WfHasher.sha1().update(data).digestHexEquals(expected.toUpperCase()));
+        assertFalse(WfHasher.sha1().update(data).digestHexEquals(expected.substring(1) + "0"));
+        assertFalse(WfHasher.sha1().update(data).digestHexEquals(expected.substring(1)));
+        assertFalse(WfHasher.sha1().update(data).digestHexEquals(null));
+
+        assertArrayEquals(WfConvert.hexStr2Bytes(expected), WfHasher.sha1().update(data).digest());
+        assertEquals(expected, WfHasher.sha1().update("xyz").reset().update(data).digestHex());
+        assertEquals("0a141e2832ff80", WfConvert.bytes2HexStr(new byte[] {10, 20, 30, 40, 50, -1, -128}));
+    }
+
+    @Test
+    public void testReuse() {
+        // 使用中的计算器不会被再次返回，嵌套计算互不干扰
+        WfHasher nested = WfHasher.sha256();
+        nested.update("123-abc_");
+        WfHasher other = WfHasher.sha256();
+        assertNotSame(nested, other);
+        other.close();
+        assertEquals("36a9e7f1c95b82ffb99743e0c5c4ce95d83c9a430aac59f84ef3cbfab6145068", WfSha.sha256(" "));
+        assertEquals("77bf9db6f7ffd20dbedac1de6bb354e0c4305c77a92eee125371e55e15a281e4",
+                nested.update("测试+/").digestHex());
+    }
+
+    @Test
+    public void testUseAfterRelease() {
+        // 归还后的计算器不能再使用，避免与之后获取的调用方共用同一个 MessageDigest
+        WfHasher hasher = WfHasher.sha256();
+        hasher.update("abc").digestHex();
+        assertReleased(() -> hasher.update("abc"));
+        assertReleased(() -> hasher.update(new byte[1]));
+        assertReleased(() -> hasher.update(new byte[1], 0, 1));
+        assertReleased(() -> hasher.update(ByteBuffer.allocate(1)));
+        assertReleased(() -> hasher.update("abc", Charset.forName("GBK")));
+        assertReleased(hasher::digest);
+        assertReleased(hasher::digestHex);
+        assertReleased(() -> hasher.digestHexEquals("00"));
+        assertReleased(() -> hasher.digestHexInto(new StringBuilder()));
+        assertReleased(hasher::reset);
+        hasher.close();
+
+        WfHasher closed = WfHasher.md5();
+        closed.close();
+        assertReleased(() -> closed.update("abc"));
+        assertEquals("900150983cd24fb0d6963f7d28e17f72", WfMd5.encrypt32("abc"));
+    }
+
+    private static void assertReleased(Runnable action) {
+        try {
+            action.run();
+            fail();
+        } catch (IllegalStateException excpt) {
+            assertEquals("摘要计算器已归还，请重新获取", excpt.getMessage());
+        }
+    }
+
+    @Test
+    public void testStaleReference() {
+        // 内部状态被重新获取后，归还前的引用仍不能使用，也不能重置或归还新调用方的计算器
+        WfHasher stale = WfHasher.md5();
+        stale.update("xyz").digestHex();
+        WfHasher current = WfHasher.md5();
+        assertNotSame(stale, current);
+        current.update("a");
+        assertReleased(() -> stale.update("xyz"));
+        assertReleased(stale::reset);
+        stale.close();
+        assertEquals("900150983cd24fb0d6963f7d28e17f72", current.update("bc").digestHex());
+        assertEquals(16, stale.getDigestLength());
+        assertEquals("MD5", stale.getAlgorithm());
+    }
+
+    @Test
+    public void testAbandoned() {
+        // 计算中抛出异常、未归还的计算器被丢弃，之后的计算器照常使用
+        try {
+            WfHasher.md5().update((CharSequence) null);
+            fail();
+        } catch (NullPointerException excpt) {
+            // 预期异常
+        }
+        assertEquals("900150983cd24fb0d6963f7d28e17f72", WfHasher.md5().update("abc").digestHex());
+
+        // try-with-resources 保证归还，归还时丢弃已更新的数据
+        try (WfHasher current = WfHasher.md5()) {
+            current.update("xyz");
+        }
+        assertEquals("900150983cd24fb0d6963f7d28e17f72", WfHasher.md5().update("abc").digestHex());
+    }
+
+    @Test
+    public void testUnsupported() {
+        try {
+            WfHasher.of("SHA-0");
+            fail();
+        } catch (IllegalArgumentException excpt) {
+            assertEquals("不支持的摘要算法：SHA-0", excpt.getMessage());
+        }
+    }
+}
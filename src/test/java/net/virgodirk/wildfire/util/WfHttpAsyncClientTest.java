@@ -0,0 +1,253 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.virgodirk.wildfire.util.exception.WfHttpException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for WfHttpAsyncClient
+ *
+ * @author agent on 2026年10月19日 上午07:20:44
+ * @version Version 3.0
+ */
+public class WfHttpAsyncClientTest {
+
+    private static final AtomicInteger HITS = new AtomicInteger();
+
+    private static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+    private static ExecutorService executor;
+
+    private static HttpServer server;
+
+    private static String baseUrl;
+
+    private static String host;
+
+    private static WfHttpAsyncClient client;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/ok", exchange -> {
+            HITS.incrementAndGet();
+            respond(exchange, 200, "ok");
+        });
+        server.createContext("/error", exchange -> {
+            HITS.incrementAndGet();
+            respond(exchange, 500, "error");
+        });
+        // 不返回响应直接断开连接
+        server.createContext("/drop", exchange -> {
+            HITS.incrementAndGet();
+            exchange.close();
+        });
+        // 测试结束前不返回响应
+        server.createContext("/hang", exchange -> {
+            HITS.incrementAndGet();
+            try {
+                RELEASE.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException excpt) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "hang");
+        });
+        server.start();
+        host = "127.0.0.1:" + server.getAddress().getPort();
+        baseUrl = "http://" + host;
+        client = WfHttpAsyncClient.builder().setIoThreads(1).build();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        client.close();
+        RELEASE.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static WfHttpException failure(CompletableFuture<String> future) throws Exception {
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail();
+            return null;
+        } catch (ExecutionException excpt) {
+            assertTrue(excpt.getCause() instanceof WfHttpException);
+            return (WfHttpException) excpt.getCause();
+        }
+    }
+
+    @Test
+    public void testGetAndPost() throws Exception {
+        assertEquals("ok", WfHttp.request().setUrl(baseUrl + "/ok").setAsyncClient(client).build()
+                .getAsync().get(10, TimeUnit.SECONDS));
+        assertEquals("ok", WfHttp.request().setUrl(baseUrl + "/ok").setAsyncClient(client).setBody("data").build()
+                .postAsync().get(10, TimeUnit.SECONDS));
+        assertEquals("网络请求URL错误", failure(WfHttp.request().setUrl("ftp://x").build().getAsync()).getMessage());
+    }
+
+    @Test
+    public void testClosedClient() throws Exception {
+        // 引擎已关闭时返回以 WfHttpException 结束的结果，并计入熔断器
+        WfHttpAsyncClient closed = WfHttpAsyncClient.builder().setIoThreads(1).build();
+        closed.close();
+        WfHttpCircuitBreaker circuitBreaker = WfHttpCircuitBreaker.builder().setMinimumCalls(1).build();
+        WfHttpException excpt = failure(WfHttp.request().setUrl(baseUrl + "/ok").setAsyncClient(closed)
+                .setCircuitBreaker(circuitBreaker).build().getAsync());
+        assertEquals("网络请求失败，请稍候重试", excpt.getMessage());
+        assertTrue(excpt.getCause() instanceof IllegalStateException);
+        assertEquals(WfHttpCircuitBreaker.State.OPEN, circuitBreaker.getState(host));
+    }
+
+    @Test
+    public void testRateLimiter() throws Exception {
+        // 令牌不足时立即失败，不发送请求
+        WfHttpRateLimiter rateLimiter = WfHttpRateLimiter.builder().setPermitsPerSecond(0.01).setBurst(1)
+                .setTimeout(60000).build();
+        WfHttpRequest request = WfHttp.request().setUrl(baseUrl + "/ok").setAsyncClient(client)
+                .setRateLimiter(rateLimiter).build();
+        HITS.set(0);
+        assertEquals("ok", request.getAsync().get(10, TimeUnit.SECONDS));
+        long start = System.currentTimeMillis();
+        assertEquals("请求过于频繁，请稍候重试", failure(request.getAsync()).getMessage());
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals(1, HITS.get());
+        assertEquals(1, rateLimiter.getRejectedCount());
+    }
+
+    @Test
+    public void testCircuitBreaker() throws Exception {
+        // 5xx响应计为失败，熔断后直接失败
+        WfHttpCircuitBreaker circuitBreaker = WfHttpCircuitBreaker.builder().setWindowSize(2).setMinimumCalls(2)
+                .setFailureRateThreshold(50).setOpenDuration(60000).build();
+        WfHttpRequest request = WfHttp.request().setUrl(baseUrl + "/error").setAsyncClient(client)
+                .setCircuitBreaker(circuitBreaker).build();
+        HITS.set(0);
+        assertEquals("error", request.getAsync().get(10, TimeUnit.SECONDS));
+        assertEquals("error", request.getAsync().get(10, TimeUnit.SECONDS));
+        assertEquals(WfHttpCircuitBreaker.State.OPEN, circuitBreaker.getState(host));
+        assertEquals("服务暂不可用，请稍候重试", failure(request.getAsync()).getMessage());
+        assertEquals(2, HITS.get());
+    }
+
+    @Test
+    public void testCancelledProbes() throws Exception {
+        // 取消的探测请求归还名额，之后的请求仍可放行
+        WfHttpCircuitBreaker circuitBreaker = WfHttpCircuitBreaker.builder().setMinimumCalls(1)
+                .setOpenDuration(1000).setHalfOpenCalls(3).build();
+        assertEquals("error", WfHttp.request().setUrl(baseUrl + "/error").setAsyncClient(client)
+                .setCircuitBreaker(circuitBreaker).build().getAsync().get(10, TimeUnit.SECONDS));
+        assertEquals(WfHttpCircuitBreaker.State.OPEN, circuitBreaker.getState(host));
+        Thread.sleep(1100);
+
+        HITS.set(0);
+        WfHttpRequest hang = WfHttp.request().setUrl(baseUrl + "/hang").setAsyncClient(client)
+                .setCircuitBreaker(circuitBreaker).build();
+        List<CompletableFuture<String>> probes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            probes.add(hang.getAsync());
+        }
+        assertEquals(WfHttpCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState(host));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (HITS.get() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        for (CompletableFuture<String> probe : probes) {
+            assertTrue(probe.cancel(true));
+        }
+
+        assertEquals("ok", WfHttp.request().setUrl(baseUrl + "/ok").setAsyncClient(client)
+                .setCircuitBreaker(circuitBreaker).build().getAsync().get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRetry() throws Exception {
+        HITS.set(0);
+        WfHttpException excpt = failure(WfHttp.request().setUrl(baseUrl + "/drop").setAsyncClient(client)
+                .setRetry(WfHttpRetry.builder().setMaxRetries(2).setInitialBackoff(10).build()).build().getAsync());
+        assertEquals("网络请求失败，请稍候重试", excpt.getMessage());
+        assertEquals(3, HITS.get());
+
+        // 未设置重试策略时只发送一次
+        HITS.set(0);
+        failure(WfHttp.request().setUrl(baseUrl + "/drop").setAsyncClient(client).build().getAsync());
+        assertEquals(1, HITS.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMetrics() throws Exception {
+        WfHttpMetrics.reset();
+        WfHttp.request().setUrl(baseUrl + "/ok").setAsyncClient(client).build().getAsync().get(10, TimeUnit.SECONDS);
+        failure(WfHttp.request().setUrl(baseUrl + "/drop").setAsyncClient(client).build().getAsync());
+        Map<String, Object> snapshot = WfHttpMetrics.snapshot(host);
+        assertFalse(((Map<Object, Object>) snapshot.get("requests")).isEmpty());
+        assertFalse(((Map<Object, Object>) snapshot.get("errors")).isEmpty());
+
+        // 关闭指标统计时不记录请求，也不注册连接池
+        try (WfHttpAsyncClient quiet = WfHttpAsyncClient.builder().setName("quiet").setIoThreads(1)
+                .setMetricsEnabled(false).build()) {
+            assertFalse(quiet.isMetricsEnabled());
+            assertFalse(((Map<Object, Object>) WfHttpMetrics.snapshot().get("pools")).containsKey("quiet"));
+            WfHttpMetrics.reset();
+            WfHttp.request().setUrl(baseUrl + "/ok").setAsyncClient(quiet).build().getAsync()
+                    .get(10, TimeUnit.SECONDS);
+            assertTrue(((Map<Object, Object>) WfHttpMetrics.snapshot(host).get("requests")).isEmpty());
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        HITS.set(0);
+        CompletableFuture<String> future = WfHttp.request().setUrl(baseUrl + "/hang").setAsyncClient(client).build()
+                .getAsync();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (HITS.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+        try {
+            future.get();
+            fail();
+        } catch (CancellationException excpt) {
+            // 预期异常
+        }
+
+        // 取消后连接被释放，之后的请求照常完成
+        assertEquals("ok", WfHttp.request().setUrl(baseUrl + "/ok").setAsyncClient(client).build()
+                .getAsync().get(10, TimeUnit.SECONDS));
+    }
+}
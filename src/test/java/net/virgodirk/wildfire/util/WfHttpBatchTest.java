@@ -0,0 +1,179 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.virgodirk.wildfire.util.exception.WfHttpException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for WfHttpBatch
+ *
+ * @author agent on 2026年10月19日 上午06:51:30
+ * @version Version 3.0
+ */
+public class WfHttpBatchTest {
+
+    private static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+    private static ExecutorService executor;
+
+    private static HttpServer server;
+
+    private static String baseUrl;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/fast", exchange -> respond(exchange, 200, "fast"));
+        // 测试结束前不返回响应
+        server.createContext("/hang", exchange -> {
+            try {
+                RELEASE.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException excpt) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "hang");
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        RELEASE.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    @Test
+    public void testBatch() {
+        List<WfHttpBatch.Result> results = WfHttp.batch(Arrays.asList(
+                WfHttp.request().setUrl(baseUrl + "/fast").build(),
+                null,
+                WfHttp.request().setUrl(baseUrl + "/fast").build())).setMaxPerHost(1).get();
+        assertEquals(3, results.size());
+        assertEquals("fast", results.get(0).getBody());
+        assertEquals("网络请求为空", results.get(1).getException().getMessage());
+        assertEquals("fast", results.get(2).getBody());
+    }
+
+    @Test
+    public void testError() {
+        // 请求抛出 Error 时记为失败并释放主机名额，同一主机的其余请求照常执行
+        WfHttpTransport broken = new WfHttpTransport() {
+            @Override
+            public String getName() {
+                return "broken";
+            }
+
+            @Override
+            public boolean isMetricsEnabled() {
+                return false;
+            }
+
+            @Override
+            public CloseableHttpResponse execute(HttpUriRequest request, HttpClientContext context) {
+                throw new AssertionError("测试");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        long start = System.currentTimeMillis();
+        List<WfHttpBatch.Result> results = WfHttp.batch(Arrays.asList(
+                WfHttp.request().setUrl(baseUrl + "/fast").setTransport(broken).build(),
+                WfHttp.request().setUrl(baseUrl + "/fast").build())).setMaxPerHost(1).setTimeout(10000).get();
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals("网络请求失败，请稍候重试", results.get(0).getException().getMessage());
+        assertTrue(results.get(0).getException().getCause() instanceof AssertionError);
+        assertEquals("fast", results.get(1).getBody());
+    }
+
+    @Test
+    public void testTimeout() {
+        long start = System.currentTimeMillis();
+        List<WfHttpBatch.Result> results = WfHttp.batch(Arrays.asList(
+                WfHttp.request().setUrl(baseUrl + "/fast").build(),
+                WfHttp.request().setUrl(baseUrl + "/hang").build(),
+                WfHttp.request().setUrl(baseUrl + "/hang").setBody("data").build()))
+                .setTimeout(1000).post();
+        assertTrue(System.currentTimeMillis() - start < 5000);
+
+        assertNull(results.get(0).getException());
+        assertEquals("fast", results.get(0).getBody());
+        for (int i = 1; i < 3; i++) {
+            assertFalse(results.get(i).isSuccess());
+            assertNull(results.get(i).getBody());
+            assertEquals("网络请求超时，请稍候重试", results.get(i).getException().getMessage());
+        }
+    }
+
+    @Test
+    public void testAbort() throws Exception {
+        // 中止请求后阻塞在读取响应上的线程立即返回，不等待服务端响应，也不重试
+        WfHttpTransport[] transports = {
+                WfHttpClient.builder().build(),
+                WfHttpUrlConnectionTransport.builder().build(),
+                WfHttpAsyncClient.builder().setIoThreads(1).build()};
+        for (WfHttpTransport transport : transports) {
+            try {
+                CompletableFuture<HttpRequestBase> started = new CompletableFuture<>();
+                WfHttpRequest request = WfHttp.request().setUrl(baseUrl + "/hang").setTransport(transport)
+                        .setRetry(WfHttpRetry.builder().setMaxRetries(2).setInitialBackoff(1).build()).build();
+                CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return request.getAbortable(started::complete);
+                    } catch (WfHttpException excpt) {
+                        throw new RuntimeException(excpt);
+                    }
+                });
+
+                HttpRequestBase httpRequest = started.get(5, TimeUnit.SECONDS);
+                Thread.sleep(200);
+                assertFalse(transport.getName(), result.isDone());
+                httpRequest.abort();
+                try {
+                    result.get(5, TimeUnit.SECONDS);
+                    fail(transport.getName());
+                } catch (ExecutionException excpt) {
+                    assertTrue(transport.getName(), excpt.getCause().getCause() instanceof WfHttpException);
+                }
+            } finally {
+                transport.close();
+            }
+        }
+    }
+}
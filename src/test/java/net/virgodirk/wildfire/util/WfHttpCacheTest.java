@@ -0,0 +1,241 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for WfHttpCache
+ *
+ * @author agent on 2026年10月19日 上午06:02:41
+ * @version Version 3.0
+ */
+public class WfHttpCacheTest {
+
+    private static final AtomicInteger UPSTREAM = new AtomicInteger();
+
+    private static HttpServer server;
+
+    private static String baseUrl;
+
+    private static volatile String ifNoneMatch;
+
+    private static volatile String cacheControl;
+
+    private static volatile String etag;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // 响应内容为查询字符串，查询参数 etag/cc/age 指定响应头；etag/cc 未指定时使用 etag/cacheControl
+        server.createContext("/res", exchange -> {
+            UPSTREAM.incrementAndGet();
+            String query = exchange.getRequestURI().getQuery();
+            Map<String, String> params = new HashMap<>();
+            for (String param : query.split("&")) {
+                String[] pair = param.split("=", 2);
+                params.put(pair[0], pair.length > 1 ? pair[1] : "");
+            }
+            ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+
+            String version = params.containsKey("etag") ? params.get("etag") : etag;
+            String tag = version == null ? null : "\"" + version + "\"";
+            if (tag != null) {
+                exchange.getResponseHeaders().add("ETag", tag);
+            }
+            String cc = params.containsKey("cc") ? params.get("cc") : cacheControl;
+            if (cc != null) {
+                exchange.getResponseHeaders().add("Cache-Control", cc);
+            }
+            if (params.containsKey("age")) {
+                exchange.getResponseHeaders().add("Age", params.get("age"));
+            }
+            if (tag != null && tag.equals(ifNoneMatch)) {
+                // 内置服务端发送304后关闭连接，通知客户端不要复用
+                exchange.getResponseHeaders().add("Connection", "close");
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            respond(exchange, 200, query.getBytes(StandardCharsets.UTF_8));
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/plain;charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static String get(WfHttpCache cache, String query) throws Exception {
+        return WfHttp.request().setUrl(baseUrl + "/res?" + query).setCache(cache).build().get();
+    }
+
+    @Test
+    public void testFresh() throws Exception {
+        WfHttpCache cache = new WfHttpCache();
+        UPSTREAM.set(0);
+        assertEquals("k=fresh&cc=max-age=60", get(cache, "k=fresh&cc=max-age=60"));
+        assertEquals("k=fresh&cc=max-age=60", get(cache, "k=fresh&cc=max-age=60"));
+        assertEquals(1, UPSTREAM.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEntryCount());
+    }
+
+    @Test
+    public void testRevalidate() throws Exception {
+        // no-cache：每次使用前验证，服务端返回304时使用缓存内容
+        WfHttpCache cache = new WfHttpCache();
+        UPSTREAM.set(0);
+        assertEquals("k=etag&etag=v1&cc=no-cache", get(cache, "k=etag&etag=v1&cc=no-cache"));
+        assertNull(ifNoneMatch);
+        assertEquals("k=etag&etag=v1&cc=no-cache", get(cache, "k=etag&etag=v1&cc=no-cache"));
+        assertEquals("\"v1\"", ifNoneMatch);
+        assertEquals(2, UPSTREAM.get());
+        assertEquals(1, cache.getRevalidationCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void testRevalidateKeepsLifetime() throws Exception {
+        // 304 未携带 Cache-Control 时沿用缓存的 max-age，验证后在有效期内直接命中
+        WfHttpCache cache = new WfHttpCache();
+        UPSTREAM.set(0);
+        try {
+            cacheControl = "max-age=1";
+            etag = "v1";
+            get(cache, "k=keep");
+            Thread.sleep(1100);
+
+            cacheControl = null;
+            get(cache, "k=keep");
+            assertEquals("\"v1\"", ifNoneMatch);
+            assertEquals(1, cache.getRevalidationCount());
+            get(cache, "k=keep");
+            assertEquals(2, UPSTREAM.get());
+            assertEquals(1, cache.getHitCount());
+        } finally {
+            cacheControl = null;
+            etag = null;
+        }
+    }
+
+    @Test
+    public void testAge() throws Exception {
+        // Age 已达到 max-age，响应立即过期
+        WfHttpCache cache = new WfHttpCache();
+        UPSTREAM.set(0);
+        get(cache, "k=age&etag=v1&cc=max-age=60&age=60");
+        get(cache, "k=age&etag=v1&cc=max-age=60&age=60");
+        assertEquals(2, UPSTREAM.get());
+        assertEquals(1, cache.getRevalidationCount());
+
+        // Age 小于 max-age，剩余有效期内直接命中
+        UPSTREAM.set(0);
+        get(cache, "k=age&cc=max-age=60&age=10");
+        get(cache, "k=age&cc=max-age=60&age=10");
+        assertEquals(1, UPSTREAM.get());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testNotCacheable() throws Exception {
+        // 已缓存的条目在新响应不可缓存时被移除
+        WfHttpCache cache = new WfHttpCache();
+        try {
+            cacheControl = "no-cache";
+            etag = "v1";
+            get(cache, "k=store");
+            assertEquals(1, cache.getEntryCount());
+
+            cacheControl = "no-store";
+            etag = "v2";
+            get(cache, "k=store");
+            assertEquals("\"v1\"", ifNoneMatch);
+            assertEquals(0, cache.getEntryCount());
+            assertEquals(0, cache.getSize());
+
+            // 移除后不再发送条件请求
+            get(cache, "k=store");
+            assertNull(ifNoneMatch);
+            assertEquals(0, cache.getRevalidationCount());
+        } finally {
+            cacheControl = null;
+            etag = null;
+        }
+    }
+
+    @Test
+    public void testAuthorization() throws Exception {
+        // 带Authorization的响应未声明可共享时不缓存，另一用户请求同一URL时访问服务端
+        WfHttpCache cache = new WfHttpCache();
+        UPSTREAM.set(0);
+        getAs(cache, "k=auth&cc=max-age=60", "Bearer alice");
+        getAs(cache, "k=auth&cc=max-age=60", "Bearer bob");
+        assertEquals(2, UPSTREAM.get());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getEntryCount());
+
+        // public 响应可以共享
+        UPSTREAM.set(0);
+        getAs(cache, "k=auth&cc=max-age=60,public", "Bearer alice");
+        getAs(cache, "k=auth&cc=max-age=60,public", "Bearer bob");
+        assertEquals(1, UPSTREAM.get());
+        assertEquals(1, cache.getHitCount());
+
+        // private 响应即使没有Authorization也不缓存
+        UPSTREAM.set(0);
+        get(cache, "k=private&cc=max-age=60,private");
+        get(cache, "k=private&cc=max-age=60,private");
+        assertEquals(2, UPSTREAM.get());
+    }
+
+    private static String getAs(WfHttpCache cache, String query, String authorization) throws Exception {
+        return WfHttp.request().setUrl(baseUrl + "/res?" + query).addHeader("Authorization", authorization)
+                .setCache(cache).build().get();
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        // 每个条目占用 17 * 2 + 128 字节，容量只够两个条目
+        WfHttpCache cache = new WfHttpCache(2 * (17 * 2 + 128));
+        UPSTREAM.set(0);
+        get(cache, "k=a&cc=max-age=60");
+        get(cache, "k=b&cc=max-age=60");
+        get(cache, "k=a&cc=max-age=60");
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(2 * (17 * 2 + 128), cache.getSize());
+
+        // 淘汰最久未使用的 b
+        get(cache, "k=c&cc=max-age=60");
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(3, UPSTREAM.get());
+        get(cache, "k=a&cc=max-age=60");
+        assertEquals(3, UPSTREAM.get());
+        get(cache, "k=b&cc=max-age=60");
+        assertEquals(4, UPSTREAM.get());
+        assertEquals(2, cache.getEntryCount());
+    }
+}
@@ -0,0 +1,102 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test for WfHttpCircuitBreaker
+ *
+ * @author agent on 2026年10月18日 下午20:02:31
+ * @version Version 3.0
+ */
+public class WfHttpCircuitBreakerTest {
+
+    private static final String HOST = "www.example.com";
+
+    @Test
+    public void testOpenOnFailureRate() {
+        WfHttpCircuitBreaker breaker = WfHttpCircuitBreaker.builder()
+                .setWindowSize(10).setMinimumCalls(4).setFailureRateThreshold(50).build();
+        
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.tryAcquire(HOST));
+            breaker.record(HOST, true, 0);
+        }
+        assertTrue(breaker.tryAcquire(HOST));
+        breaker.record(HOST, false, 0);
+        assertEquals(WfHttpCircuitBreaker.State.CLOSED, breaker.getState(HOST));
+        
+        assertTrue(breaker.tryAcquire(HOST));
+        breaker.record(HOST, false, 0);
+        assertEquals(WfHttpCircuitBreaker.State.OPEN, breaker.getState(HOST));
+        assertFalse(breaker.tryAcquire(HOST));
+        
+        // 其他主机不受影响
+        assertTrue(breaker.tryAcquire("other.example.com"));
+        assertEquals(WfHttpCircuitBreaker.State.CLOSED, breaker.getState("other.example.com"));
+    }
+
+    @Test
+    public void testOpenOnSlowCallRate() {
+        WfHttpCircuitBreaker breaker = WfHttpCircuitBreaker.builder()
+                .setMinimumCalls(2).setSlowCallDuration(10).setSlowCallRateThreshold(100).build();
+        
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.tryAcquire(HOST));
+            breaker.record(HOST, true, 20000000L);
+        }
+        assertEquals(WfHttpCircuitBreaker.State.OPEN, breaker.getState(HOST));
+    }
+
+    @Test
+    public void testHalfOpen() throws InterruptedException {
+        WfHttpCircuitBreaker breaker = WfHttpCircuitBreaker.builder()
+                .setMinimumCalls(1).setOpenDuration(20).setHalfOpenCalls(2).build();
+        
+        assertTrue(breaker.tryAcquire(HOST));
+        breaker.record(HOST, false, 0);
+        assertFalse(breaker.tryAcquire(HOST));
+        
+        // 熔断时间结束后放行2个探测请求，探测失败则继续熔断
+        Thread.sleep(30);
+        assertTrue(breaker.tryAcquire(HOST));
+        assertEquals(WfHttpCircuitBreaker.State.HALF_OPEN, breaker.getState(HOST));
+        breaker.record(HOST, false, 0);
+        assertEquals(WfHttpCircuitBreaker.State.OPEN, breaker.getState(HOST));
+        
+        // 探测全部成功则恢复
+        Thread.sleep(30);
+        assertTrue(breaker.tryAcquire(HOST));
+        assertTrue(breaker.tryAcquire(HOST));
+        assertFalse(breaker.tryAcquire(HOST));
+        breaker.record(HOST, true, 0);
+        breaker.record(HOST, true, 0);
+        assertEquals(WfHttpCircuitBreaker.State.CLOSED, breaker.getState(HOST));
+        assertTrue(breaker.tryAcquire(HOST));
+    }
+
+    @Test
+    public void testLostProbes() throws InterruptedException {
+        WfHttpCircuitBreaker breaker = WfHttpCircuitBreaker.builder()
+                .setMinimumCalls(1).setOpenDuration(50).setHalfOpenCalls(1).build();
+        
+        assertTrue(breaker.tryAcquire(HOST));
+        breaker.record(HOST, false, 0);
+        
+        // 取消的探测请求归还名额
+        Thread.sleep(60);
+        assertTrue(breaker.tryAcquire(HOST));
+        assertFalse(breaker.tryAcquire(HOST));
+        breaker.release(HOST);
+        assertTrue(breaker.tryAcquire(HOST));
+        assertFalse(breaker.tryAcquire(HOST));
+        
+        // 超过熔断时间仍无结果的探测请求视为丢失
+        Thread.sleep(60);
+        assertTrue(breaker.tryAcquire(HOST));
+        assertEquals(WfHttpCircuitBreaker.State.HALF_OPEN, breaker.getState(HOST));
+        breaker.record(HOST, true, 0);
+        assertEquals(WfHttpCircuitBreaker.State.CLOSED, breaker.getState(HOST));
+    }
+}
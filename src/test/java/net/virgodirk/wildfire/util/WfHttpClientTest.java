@@ -0,0 +1,79 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+import net.virgodirk.wildfire.util.exception.WfHttpException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for WfHttpClient
+ *
+ * @author agent on 2026年10月19日 上午05:31:08
+ * @version Version 3.0
+ */
+public class WfHttpClientTest {
+
+    private static final AtomicInteger DROPPED = new AtomicInteger();
+
+    private static HttpServer server;
+
+    private static String baseUrl;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // 不返回响应直接断开连接
+        server.createContext("/drop", exchange -> {
+            DROPPED.incrementAndGet();
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testNoAutomaticRetry() {
+        try (WfHttpClient client = WfHttpClient.builder().build()) {
+            DROPPED.set(0);
+            try {
+                WfHttp.request().setUrl(baseUrl + "/drop").setClient(client).build().get();
+                fail();
+            } catch (WfHttpException excpt) {
+                assertEquals(1, DROPPED.get());
+            }
+
+            // 只有 WfHttpRetry 一层重试
+            DROPPED.set(0);
+            try {
+                WfHttp.request().setUrl(baseUrl + "/drop").setClient(client)
+                        .setRetry(WfHttpRetry.builder().setMaxRetries(2).setInitialBackoff(1).build()).build().get();
+                fail();
+            } catch (WfHttpException excpt) {
+                assertEquals(3, DROPPED.get());
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultReopen() {
+        // 默认引擎被手动关闭后重新创建
+        WfHttpClient client = WfHttpClient.getDefault();
+        assertSame(client, WfHttpClient.getDefault());
+        client.close();
+        WfHttpClient reopened = WfHttpClient.getDefault();
+        assertNotSame(client, reopened);
+        assertFalse(reopened.isClosed());
+    }
+}
@@ -0,0 +1,210 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+import net.virgodirk.wildfire.util.exception.WfHttpException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for WfHttpCoalescer
+ *
+ * @author agent on 2026年10月19日 上午06:24:17
+ * @version Version 3.0
+ */
+public class WfHttpCoalescerTest {
+
+    private static final AtomicInteger UPSTREAM = new AtomicInteger();
+
+    private static volatile CountDownLatch release;
+
+    private static HttpServer server;
+
+    private static String baseUrl;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // 等待测试放行后才返回响应
+        server.createContext("/slow", exchange -> {
+            UPSTREAM.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException excpt) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "共享结果".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain;charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testConcurrentGet() throws Exception {
+        int threads = 8;
+        UPSTREAM.set(0);
+        release = new CountDownLatch(1);
+        long coalesced = WfHttpCoalescer.getCoalescedCount();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> WfHttp.request().setUrl(baseUrl + "/slow")
+                        .setCoalescing().build().get()));
+            }
+
+            // 其余线程均已加入进行中的请求后再返回响应
+            long deadline = System.currentTimeMillis() + 10000;
+            while (WfHttpCoalescer.getCoalescedCount() - coalesced < threads - 1
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (Future<String> future : futures) {
+                assertEquals("共享结果", future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, UPSTREAM.get());
+            assertEquals(threads - 1, WfHttpCoalescer.getCoalescedCount() - coalesced);
+            assertEquals(0, WfHttpCoalescer.getInFlightCount());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDistinctKeys() throws Exception {
+        // 参数或Header中包含分隔符的请求不会与其他请求合并
+        assertNotEquals(WfHttp.request().setUrl(baseUrl + "/slow").addParam("a", "1&b=2").setCoalescing().build()
+                .getCoalescingKey(), WfHttp.request().setUrl(baseUrl + "/slow").addParam("a", "1").addParam("b", "2")
+                .setCoalescing().build().getCoalescingKey());
+        assertNotEquals(WfHttp.request().setUrl(baseUrl + "/slow").addHeader("A", "x\nB:y").addHeader("B", "z")
+                .setCoalescing("A", "B").build().getCoalescingKey(), WfHttp.request().setUrl(baseUrl + "/slow")
+                .addHeader("A", "x").addHeader("B", "y\nB:z").setCoalescing("A", "B").build().getCoalescingKey());
+
+        UPSTREAM.set(0);
+        release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> WfHttp.request().setUrl(baseUrl + "/slow")
+                    .addParam("a", "1&b=2").setCoalescing().build().get());
+            Future<String> second = executor.submit(() -> WfHttp.request().setUrl(baseUrl + "/slow")
+                    .addParam("a", "1").addParam("b", "2").setCoalescing().build().get());
+            long deadline = System.currentTimeMillis() + 10000;
+            while (UPSTREAM.get() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            assertEquals("共享结果", first.get(10, TimeUnit.SECONDS));
+            assertEquals("共享结果", second.get(10, TimeUnit.SECONDS));
+            assertEquals(2, UPSTREAM.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testError() throws Exception {
+        // 请求抛出 Error 时，等待的线程同样收到该 Error，不会一直等待
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> WfHttpCoalescer.execute("error", 60000, () -> {
+                started.countDown();
+                try {
+                    joined.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException excpt) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new StackOverflowError("测试");
+            }));
+            started.await(10, TimeUnit.SECONDS);
+
+            long coalesced = WfHttpCoalescer.getCoalescedCount();
+            new Thread(() -> {
+                while (WfHttpCoalescer.getCoalescedCount() == coalesced) {
+                    Thread.yield();
+                }
+                joined.countDown();
+            }).start();
+            try {
+                WfHttpCoalescer.execute("error", 60000, () -> "不应执行");
+                fail();
+            } catch (StackOverflowError excpt) {
+                assertEquals("测试", excpt.getMessage());
+            }
+
+            try {
+                leader.get(10, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException excpt) {
+                assertTrue(excpt.getCause() instanceof StackOverflowError);
+            }
+            assertEquals(0, WfHttpCoalescer.getInFlightCount());
+        } finally {
+            joined.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        // 等待时间超过超时时间时抛出异常，进行中的请求不受影响
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> WfHttpCoalescer.execute("timeout", 60000, () -> {
+                started.countDown();
+                try {
+                    finish.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException excpt) {
+                    Thread.currentThread().interrupt();
+                }
+                return "完成";
+            }));
+            started.await(10, TimeUnit.SECONDS);
+
+            try {
+                WfHttpCoalescer.execute("timeout", 50, () -> "不应执行");
+                fail();
+            } catch (WfHttpException excpt) {
+                assertEquals("网络请求超时，请稍候重试", excpt.getMessage());
+            }
+            finish.countDown();
+            assertEquals("完成", leader.get(10, TimeUnit.SECONDS));
+        } finally {
+            finish.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
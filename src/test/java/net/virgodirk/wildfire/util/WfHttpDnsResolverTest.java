@@ -0,0 +1,126 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Test for WfHttpDnsResolver
+ *
+ * @author agent on 2026年10月18日 下午23:02:44
+ * @version Version 3.0
+ */
+public class WfHttpDnsResolverTest {
+
+    private static final String HOST = "www.example.com";
+
+    @Test
+    public void testCacheAndRoundRobin() throws UnknownHostException {
+        final AtomicInteger lookups = new AtomicInteger();
+        final InetAddress[] addresses = {
+                InetAddress.getByAddress(HOST, new byte[] {10, 0, 0, 1}),
+                InetAddress.getByAddress(HOST, new byte[] {10, 0, 0, 2})};
+        WfHttpDnsResolver resolver = WfHttpDnsResolver.builder().setDelegate(host -> {
+            lookups.incrementAndGet();
+            return addresses;
+        }).build();
+
+        InetAddress[] first = resolver.resolve(HOST);
+        InetAddress[] second = resolver.resolve("WWW.EXAMPLE.COM");
+        assertEquals(1, lookups.get());
+        assertEquals(1, resolver.getMissCount());
+        assertEquals(1, resolver.getHitCount());
+        assertEquals(2, first.length);
+        assertEquals(first[0], second[1]);
+        assertEquals(first[1], second[0]);
+    }
+
+    @Test
+    public void testStaleOnError() throws UnknownHostException, InterruptedException {
+        final AtomicBoolean failing = new AtomicBoolean();
+        final InetAddress address = InetAddress.getByAddress(HOST, new byte[] {10, 0, 0, 1});
+        WfHttpDnsResolver resolver = WfHttpDnsResolver.builder().setTtl(10).setRefreshAhead(0).setDelegate(host -> {
+            if (failing.get()) {
+                throw new UnknownHostException(host);
+            }
+            return new InetAddress[] {address};
+        }).build();
+
+        resolver.resolve(HOST);
+        failing.set(true);
+        Thread.sleep(20);
+        assertEquals(address, resolver.resolve(HOST)[0]);
+        assertEquals(1, resolver.getStaleCount());
+
+        try {
+            resolver.resolve("other.example.com");
+            fail();
+        } catch (UnknownHostException excpt) {
+            // 无缓存结果时抛出
+        }
+    }
+
+    @Test
+    public void testRefreshAhead() throws UnknownHostException, InterruptedException {
+        final AtomicInteger lookups = new AtomicInteger();
+        final InetAddress address = InetAddress.getByAddress(HOST, new byte[] {10, 0, 0, 1});
+        WfHttpDnsResolver resolver = WfHttpDnsResolver.builder().setTtl(60000).setRefreshAhead(60000)
+                .setDelegate(host -> {
+                    lookups.incrementAndGet();
+                    return new InetAddress[] {address};
+                }).build();
+
+        resolver.resolve(HOST);
+        assertEquals(address, resolver.resolve(HOST)[0]);
+        for (int i = 0; i < 100 && resolver.getRefreshCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, resolver.getRefreshCount());
+        assertEquals(1, resolver.getMissCount());
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void testRefreshBackoff() throws UnknownHostException, InterruptedException {
+        // 后台刷新失败后推迟下次刷新，DNS故障期间不会每次命中都提交刷新任务
+        final AtomicInteger lookups = new AtomicInteger();
+        final InetAddress address = InetAddress.getByAddress(HOST, new byte[] {10, 0, 0, 1});
+        WfHttpDnsResolver resolver = WfHttpDnsResolver.builder().setTtl(60000).setRefreshAhead(60000)
+                .setDelegate(host -> {
+                    if (lookups.incrementAndGet() > 1) {
+                        throw new UnknownHostException(host);
+                    }
+                    return new InetAddress[] {address};
+                }).build();
+
+        resolver.resolve(HOST);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(address, resolver.resolve(HOST)[0]);
+            Thread.sleep(1);
+        }
+        assertEquals(2, lookups.get());
+        assertEquals(0, resolver.getRefreshCount());
+    }
+
+    @Test
+    public void testMaxSize() throws UnknownHostException {
+        final InetAddress address = InetAddress.getByAddress(HOST, new byte[] {10, 0, 0, 1});
+        WfHttpDnsResolver resolver = WfHttpDnsResolver.builder().setMaxSize(3)
+                .setDelegate(host -> new InetAddress[] {address}).build();
+        for (int i = 0; i < 10; i++) {
+            resolver.resolve("host" + i + ".example.com");
+        }
+        assertEquals(3, resolver.getSize());
+
+        // 最早过期的主机被移除，最近解析的主机仍在缓存中
+        resolver.resolve("host9.example.com");
+        assertEquals(10, resolver.getMissCount());
+        resolver.resolve("host0.example.com");
+        assertEquals(11, resolver.getMissCount());
+    }
+}
@@ -0,0 +1,42 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test for WfHttpHistogram
+ *
+ * @author agent on 2026年10月18日 下午21:46:20
+ * @version Version 3.0
+ */
+public class WfHttpHistogramTest {
+
+    @Test
+    public void testIndexOf() {
+        // 桶上限不小于桶内的值，且相对误差不超过 1/16
+        long[] values = {0, 1, 15, 16, 17, 100, 1000, 123456, 99999999};
+        for (long value : values) {
+            long upper = WfHttpHistogram.upperBoundOf(WfHttpHistogram.indexOf(value));
+            assertTrue(upper >= value);
+            assertTrue(upper - value <= value / 16);
+        }
+        assertTrue(WfHttpHistogram.indexOf(1001) >= WfHttpHistogram.indexOf(1000));
+    }
+
+    @Test
+    public void testPercentile() {
+        WfHttpHistogram histogram = new WfHttpHistogram();
+        assertEquals(0D, histogram.getPercentileMillis(99D), 0D);
+        
+        // 1 ~ 100 毫秒各一次
+        for (int i = 1; i <= 100; i++) {
+            histogram.recordNanos(i * 1000000L);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50D, histogram.getPercentileMillis(50D), 50D / 16);
+        assertEquals(99D, histogram.getPercentileMillis(99D), 99D / 16);
+        assertEquals(100D, histogram.getPercentileMillis(100D), 0D);
+        assertEquals(50.5D, (Double) histogram.snapshot().get("mean"), 0.01D);
+    }
+}
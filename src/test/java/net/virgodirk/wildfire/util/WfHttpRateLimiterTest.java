@@ -0,0 +1,80 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test for WfHttpRateLimiter
+ *
+ * @author agent on 2026年10月18日 下午20:58:12
+ * @version Version 3.0
+ */
+public class WfHttpRateLimiterTest {
+
+    @Test
+    public void testTryAcquire() {
+        WfHttpRateLimiter limiter = WfHttpRateLimiter.builder().setPermitsPerSecond(1).setBurst(3).build();
+        
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+        
+        // 不同的键分别计数
+        assertTrue(limiter.tryAcquire("b"));
+        
+        assertEquals(4, limiter.getAcquiredCount());
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    public void testAcquireWithTimeout() {
+        WfHttpRateLimiter limiter = WfHttpRateLimiter.builder()
+                .setPermitsPerSecond(20).setBurst(1).setTimeout(200).build();
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.acquire("a"));
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+        
+        // 第1个请求立即获得令牌，其余每个等待约50毫秒
+        assertTrue(elapsedMillis >= 140);
+        assertTrue(limiter.getMaxWaitMillis() >= 40);
+        assertFalse(limiter.tryAcquire("a", 10));
+    }
+
+    @Test
+    public void testInterruptedRefund() throws InterruptedException {
+        // 等待被中断时归还预约的令牌，之后的请求不必等待被放弃的请求
+        WfHttpRateLimiter limiter = WfHttpRateLimiter.builder()
+                .setPermitsPerSecond(2).setBurst(1).setTimeout(5000).build();
+        assertTrue(limiter.acquire("a"));
+        
+        boolean[] acquired = {true};
+        Thread waiter = new Thread(() -> acquired[0] = limiter.acquire("a"));
+        waiter.start();
+        Thread.sleep(50);
+        waiter.interrupt();
+        waiter.join(5000);
+        assertFalse(acquired[0]);
+        
+        // 未归还时需等待约950毫秒
+        assertTrue(limiter.tryAcquire("a", 700));
+    }
+
+    @Test
+    public void testSweepIdleBuckets() throws InterruptedException {
+        WfHttpRateLimiter limiter = WfHttpRateLimiter.builder().setPermitsPerSecond(1).build();
+        for (int i = 0; i < 300; i++) {
+            assertTrue(limiter.tryAcquire("user-" + i));
+        }
+        assertEquals(300, limiter.getBucketCount());
+        
+        // 理论可用时间已过去的令牌桶被移除
+        Thread.sleep(1100);
+        assertTrue(limiter.tryAcquire("other"));
+        assertEquals(1, limiter.getBucketCount());
+    }
+}
@@ -0,0 +1,235 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.virgodirk.wildfire.util.exception.WfHttpException;
+import org.apache.http.client.HttpResponseException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for WfHttpRequest
+ *
+ * @author agent on 2026年10月19日 上午07:48:12
+ * @version Version 3.0
+ */
+public class WfHttpRequestTest {
+
+    private static final Set<Integer> CLIENT_PORTS = Collections.synchronizedSet(new HashSet<>());
+
+    private static HttpServer server;
+
+    private static String baseUrl;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // 返回请求方法、查询字符串、Content-Type、Content-Encoding 及请求体（gzip请求体解压后返回）
+        server.createContext("/echo", exchange -> {
+            CLIENT_PORTS.add(exchange.getRemoteAddress().getPort());
+            String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            byte[] body = readAll("gzip".equals(encoding)
+                    ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody());
+            String text = exchange.getRequestMethod() + " " + exchange.getRequestURI().getRawQuery() + " "
+                    + exchange.getRequestHeaders().getFirst("Content-Type") + " " + encoding + "\n"
+                    + new String(body, StandardCharsets.UTF_8);
+            respond(exchange, 200, text.getBytes(StandardCharsets.UTF_8));
+        });
+        // 以请求的 Accept-Encoding 压缩返回请求体（gzip请求体先解压）
+        server.createContext("/compress", exchange -> {
+            byte[] body = readAll("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))
+                    ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody());
+            String accept = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream output = accept != null && accept.contains("gzip")
+                    ? new GZIPOutputStream(compressed) : new DeflaterOutputStream(compressed)) {
+                output.write(body);
+            }
+            exchange.getResponseHeaders().add("Content-Encoding",
+                    accept != null && accept.contains("gzip") ? "gzip" : "deflate");
+            respond(exchange, 200, compressed.toByteArray());
+        });
+        server.createContext("/large", exchange -> {
+            byte[] body = new byte[1024 * 1024];
+            for (int i = 0; i < body.length; i++) {
+                body[i] = (byte) ('a' + i % 26);
+            }
+            respond(exchange, 200, body);
+        });
+        server.createContext("/json", exchange -> respond(exchange, 200,
+                "{\"name\":\"测试\",\"count\":2}".getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/json-error", exchange -> respond(exchange, 500,
+                "<html><body>Internal Server Error</body></html>".getBytes(StandardCharsets.UTF_8)));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream stream = input) {
+            byte[] buffer = new byte[8192];
+            for (int n; (n = stream.read(buffer)) >= 0; ) {
+                output.write(buffer, 0, n);
+            }
+        }
+        return output.toByteArray();
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/plain;charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    @Test
+    public void testPooledClient() throws Exception {
+        // 同一个引擎的连续请求复用同一个连接
+        try (WfHttpClient client = WfHttpClient.builder().build()) {
+            CLIENT_PORTS.clear();
+            for (int i = 0; i < 3; i++) {
+                assertEquals("GET a=" + i + " null null\n", WfHttp.request().setUrl(baseUrl + "/echo")
+                        .setClient(client).addParam("a", String.valueOf(i)).build().get());
+            }
+            assertEquals(1, CLIENT_PORTS.size());
+            assertEquals(1, client.getConnectionManager().getTotalStats().getAvailable());
+            assertEquals(0, client.getConnectionManager().getTotalStats().getLeased());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreaming() throws Exception {
+        WfHttpRequest request = WfHttp.request().setUrl(baseUrl + "/large").build();
+        try (InputStream stream = request.getStream()) {
+            byte[] body = readAll(stream);
+            assertEquals(1024 * 1024, body.length);
+            assertEquals('z', body[25]);
+        }
+
+        Path file = Files.createTempFile("WfHttpRequestTest", ".bin");
+        try {
+            assertEquals(1024 * 1024, request.downloadTo(file));
+            assertEquals(1024 * 1024, Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        Map<String, Object> json = WfHttp.request().setUrl(baseUrl + "/json").build().get(Map.class);
+        assertEquals("测试", json.get("name"));
+        assertEquals(2, ((Number) json.get("count")).intValue());
+    }
+
+    @Test
+    public void testJsonError() throws Exception {
+        // 错误状态码不解析响应内容，抛出带状态码的异常
+        try {
+            WfHttp.request().setUrl(baseUrl + "/json-error").build().get(Map.class);
+            fail();
+        } catch (WfHttpException excpt) {
+            assertTrue(excpt.getCause() instanceof HttpResponseException);
+            assertEquals(500, ((HttpResponseException) excpt.getCause()).getStatusCode());
+        }
+    }
+
+    @Test
+    public void testTemplate() throws Exception {
+        WfHttpRequestTemplate template = WfHttp.request().setUrl(baseUrl + "/echo").addParam("fixed", "1")
+                .buildTemplate();
+        assertEquals("GET fixed=1 null null\n", template.get());
+        assertEquals("GET fixed=1&q=%E6%B5%8B%E8%AF%95 null null\n",
+                template.get(Collections.singletonMap("q", "测试")));
+        assertEquals("POST null application/x-www-form-urlencoded; charset=UTF-8 null\nfixed=1&q=2",
+                template.post(Collections.singletonMap("q", "2")));
+    }
+
+    @Test
+    public void testParamValuesSentAsIs() throws Exception {
+        // unknown、空白字符串按原值编码发送，不被置空
+        assertEquals("GET status=unknown null null\n", WfHttp.request().setUrl(baseUrl + "/echo")
+                .addParam("status", "unknown").build().get());
+        assertEquals("GET q=+ null null\n", WfHttp.request().setUrl(baseUrl + "/echo")
+                .addParam("q", " ").build().get());
+        WfHttpRequestTemplate template = WfHttp.request().setUrl(baseUrl + "/echo").addParam("status", "UNKNOWN")
+                .buildTemplate();
+        assertEquals("GET status=UNKNOWN&q=+ null null\n", template.get(Collections.singletonMap("q", " ")));
+        assertEquals("POST null application/x-www-form-urlencoded; charset=UTF-8 null\nstatus=UNKNOWN&q=+",
+                template.post(Collections.singletonMap("q", " ")));
+    }
+
+    @Test
+    public void testUpload() throws Exception {
+        byte[] data = "上传内容".getBytes(StandardCharsets.UTF_8);
+        Path file = Files.createTempFile("WfHttpRequestTest", ".txt");
+        try {
+            Files.write(file, data);
+            assertEquals("POST null text/plain null\n上传内容", WfHttp.request().setUrl(baseUrl + "/echo")
+                    .setBody(file.toFile(), "text/plain").build().post());
+
+            String multipart = WfHttp.request().setUrl(baseUrl + "/echo")
+                    .addPart("name", "值")
+                    .addPart("file", file.toFile(), "text/plain")
+                    .addPart("bytes", data, "data.bin", "application/octet-stream")
+                    .build().post();
+            assertTrue(multipart, multipart.startsWith("POST null multipart/form-data; boundary="));
+            assertTrue(multipart, multipart.contains("name=\"name\""));
+            assertTrue(multipart, multipart.contains("值"));
+            assertTrue(multipart, multipart.contains("filename=\"" + file.getFileName() + "\""));
+            assertTrue(multipart, multipart.contains("filename=\"data.bin\""));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertEquals("POST null application/octet-stream null\n上传内容", WfHttp.request()
+                .setUrl(baseUrl + "/echo").setBody(new ByteArrayInputStream(data), data.length,
+                        "application/octet-stream").build().post());
+    }
+
+    @Test
+    public void testCompression() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("压缩往返").append(i);
+        }
+
+        // 请求体以gzip发送，服务端解压后原样返回
+        assertEquals("POST null text/plain; charset=UTF-8 gzip\n" + text, WfHttp.request()
+                .setUrl(baseUrl + "/echo").setBody(text.toString()).setRequestCompression(0).build().post());
+        assertTrue(WfHttp.request().setUrl(baseUrl + "/echo").setBody(text.toString()).setRequestCompression(1024 * 1024)
+                .build().post().startsWith("POST null text/plain; charset=UTF-8 null"));
+
+        // gzip 压缩请求，gzip 压缩响应
+        assertEquals(text.toString(), WfHttp.request().setUrl(baseUrl + "/compress").setBody(text.toString())
+                .setRequestCompression(0).build().post());
+
+        // deflate 响应
+        assertEquals(text.toString(), WfHttp.request().setUrl(baseUrl + "/compress")
+                .addHeader("Accept-Encoding", "deflate").setBody(text.toString()).build().post());
+    }
+}
@@ -0,0 +1,50 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Test for WfHttp
+ *
+ * @author agent on 2026年10月18日 下午23:31:06
+ * @version Version 3.0
+ */
+public class WfHttpTest {
+
+    private final WfCidrTrie trustedProxies = WfCidrTrie.builder().addPrivate().build();
+
+    @Test
+    public void testGetRemoteAddr() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.2");
+        request.addHeader("X-Forwarded-For", "198.51.100.1, 203.0.113.9, 10.0.0.1");
+        assertEquals("203.0.113.9", WfHttp.getRemoteAddr(request, trustedProxies));
+        
+        // 直连地址不是可信代理时不采信X-Forwarded-For
+        request.setRemoteAddr("203.0.113.5");
+        assertEquals("203.0.113.5", WfHttp.getRemoteAddr(request, trustedProxies));
+        assertEquals("203.0.113.5", WfHttp.getRemoteAddr(request, null));
+    }
+
+    @Test
+    public void testGetForwardedAddr() {
+        assertEquals("2001:db8::1", WfHttp.getForwardedAddr("[2001:db8::1]:443, ::1", "10.0.0.2", trustedProxies));
+        assertEquals("198.51.100.1", WfHttp.getForwardedAddr("198.51.100.1:5678 ,10.0.0.1", "10.0.0.2", trustedProxies));
+        
+        // 全部为可信代理时返回最左侧地址
+        assertEquals("10.0.0.3", WfHttp.getForwardedAddr("10.0.0.3,10.0.0.1", "10.0.0.2", trustedProxies));
+        
+        // 格式错误的条目及其左侧条目不采信
+        assertEquals("10.0.0.1", WfHttp.getForwardedAddr("198.51.100.1, unknown, 10.0.0.1", "10.0.0.2", trustedProxies));
+        assertEquals("10.0.0.2", WfHttp.getForwardedAddr(" , ", "10.0.0.2", trustedProxies));
+    }
+
+    @Test
+    public void testGetLocalAddr() {
+        String addr = WfHttp.getLocalAddr();
+        assertNotNull(addr);
+        assertSame(addr, WfHttp.getLocalAddr());
+    }
+}
@@ -0,0 +1,111 @@
+package net.virgodirk.wildfire.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.sun.net.httpserver.HttpServer;
+import net.virgodirk.wildfire.util.exception.WfHttpException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark for WfHttpTransport
+ *
+ * <p>各引擎对本地内嵌HTTP服务器发送GET请求，输出吞吐量（Throughput）及耗时分布（SampleTime，含p0.99），
+ * 通过 {@link #main(String[])} 运行</p>
+ *
+ * @author agent on 2026年10月19日 上午00:41:27
+ * @version Version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class WfHttpTransportBenchmark {
+
+    private static final byte[] BODY = "{\"id\":\"20261019\",\"name\":\"wildfire\",\"tags\":[\"a\",\"b\",\"c\"]}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"apache", "urlconnection", "async"})
+    private String engine;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private WfHttpTransport transport;
+
+    private WfHttpRequest request;
+
+    @Setup
+    public void setup() throws IOException {
+        // 脱离Spring运行时Logback默认为DEBUG级别，Apache HttpClient的报文日志会掩盖引擎本身的差异
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(BODY);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(16);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        switch (engine) {
+            case "urlconnection":
+                transport = WfHttpUrlConnectionTransport.builder().build();
+                break;
+            case "async":
+                transport = WfHttpAsyncClient.builder().build();
+                break;
+            default:
+                transport = WfHttpClient.builder().build();
+        }
+        request = WfHttp.request().setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/bench")
+                .addParam("q", "wildfire").setTransport(transport).build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        transport.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public String get() throws WfHttpException {
+        return request.get();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WfHttpTransportBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.virgodirk.wildfire.util.exception.WfHttpException;
+import org.apache.http.client.HttpResponseException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for WfHttpTransport
+ *
+ * @author agent on 2026年10月19日 上午00:41:27
+ * @version Version 3.0
+ */
+public class WfHttpTransportTest {
+
+    private static HttpServer server;
+
+    private static String baseUrl;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/echo", exchange -> {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream input = exchange.getRequestBody()) {
+                byte[] buffer = new byte[1024];
+                for (int n; (n = input.read(buffer)) >= 0; ) {
+                    body.write(buffer, 0, n);
+                }
+            }
+            String text = exchange.getRequestMethod() + " " + exchange.getRequestURI().getQuery() + " " 
+                    + exchange.getRequestHeaders().getFirst("X-Test") + " " + body.toString("UTF-8");
+            respond(exchange, 200, text.getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/gzip", exchange -> {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+                output.write("压缩内容".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            respond(exchange, 200, compressed.toByteArray());
+        });
+        server.createContext("/missing", exchange -> respond(exchange, 404, "not found".getBytes(StandardCharsets.UTF_8)));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/plain;charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    @Test
+    public void testEngines() throws Exception {
+        WfHttpTransport[] transports = {
+                WfHttpClient.builder().build(),
+                WfHttpUrlConnectionTransport.builder().build(),
+                WfHttpAsyncClient.builder().setIoThreads(1).build()};
+        for (WfHttpTransport transport : transports) {
+            try {
+                String name = transport.getName();
+                assertEquals(name, "GET a=1 x ", WfHttp.request().setUrl(baseUrl + "/echo")
+                        .setTransport(transport).addParam("a", "1").addHeader("X-Test", "x").build().get());
+                assertEquals(name, "POST null null 内容", WfHttp.request().setUrl(baseUrl + "/echo")
+                        .setTransport(transport).setBody("内容").build().post());
+                assertEquals(name, "压缩内容", WfHttp.request().setUrl(baseUrl + "/gzip")
+                        .setTransport(transport).build().get());
+                
+                try (InputStream stream = WfHttp.request().setUrl(baseUrl + "/missing")
+                        .setTransport(transport).build().getStream()) {
+                    fail(name + " " + stream);
+                } catch (WfHttpException excpt) {
+                    assertEquals(name, 404, ((HttpResponseException) excpt.getCause()).getStatusCode());
+                }
+            } finally {
+                transport.close();
+            }
+        }
+    }
+
+    @Test
+    public void testDefault() {
+        String previous = System.getProperty(WfHttpTransport.PROPERTY);
+        try {
+            System.setProperty(WfHttpTransport.PROPERTY, "urlconnection");
+            assertSame(WfHttpUrlConnectionTransport.getDefault(), WfHttpTransport.getDefault());
+            System.clearProperty(WfHttpTransport.PROPERTY);
+            assertSame(WfHttpClient.getDefault(), WfHttpTransport.getDefault());
+        } finally {
+            if (previous != null) {
+                System.setProperty(WfHttpTransport.PROPERTY, previous);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package net.virgodirk.wildfire.util;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -59,4 +61,17 @@ public class WfJsonTest {
     public void testParseArray() {
         Assert.assertEquals(personList.get(0).getName(), WfJson.parseArray(personListJson, Person.class).get(0).getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testParseStream() {
+        Assert.assertEquals(person.getName(), WfJson.parseObject(
+                new ByteArrayInputStream(personJson.getBytes(StandardCharsets.UTF_8)), 
+                StandardCharsets.UTF_8, Person.class).getName());
+        
+        List<Person> persons = WfJson.parseArray(
+                new ByteArrayInputStream(personListJson.getBytes(StandardCharsets.UTF_8)), 
+                StandardCharsets.UTF_8, Person.class);
+        Assert.assertEquals(3, persons.size());
+        Assert.assertEquals(personList.get(2).getName(), persons.get(2).getName());
+    }
+}
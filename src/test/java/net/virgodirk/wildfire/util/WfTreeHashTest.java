@@ -0,0 +1,141 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import net.virgodirk.wildfire.util.exception.WfFileException;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Test for WfTreeHash
+ *
+ * @author agent on 2026年10月19日 上午04:18:36
+ * @version Version 3.0
+ */
+public class WfTreeHashTest {
+
+    @Test
+    public void testFormat() throws Exception {
+        byte[] data = new byte[2500];
+        new Random(24).nextBytes(data);
+        WfTreeHash treeHash = WfTreeHash.builder().setChunkSize(1000).build();
+        WfTreeHash.Result result = treeHash.hash(data);
+
+        // 按文档中的格式逐步计算
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[][] leaves = new byte[3][];
+        for (int i = 0; i < 3; i++) {
+            digest.update((byte) 0x00);
+            digest.update(data, i * 1000, Math.min(1000, data.length - i * 1000));
+            leaves[i] = digest.digest();
+        }
+        digest.update(ByteBuffer.allocate(13).put((byte) 0x01).putInt(1000).putLong(2500).array());
+        for (byte[] leaf : leaves) {
+            digest.update(leaf);
+        }
+
+        assertEquals(WfConvert.bytes2HexStr(digest.digest()), result.getRoot());
+        assertEquals(3, result.getChunkCount());
+        assertEquals(WfConvert.bytes2HexStr(leaves[2]), result.getChunkDigests().get(2));
+        assertEquals(2500, result.getLength());
+        assertEquals(1000, result.getChunkSize());
+        assertEquals("SHA-256", result.getAlgorithm());
+        assertEquals(result.getRoot(), WfTreeHash.root("SHA-256", 1000, 2500, result.getChunkDigests()));
+
+        // 分块大小不同，结果不同；空数据为一个空分块
+        assertNotEquals(result.getRoot(), WfTreeHash.builder().setChunkSize(2000).build().hash(data).getRoot());
+        assertEquals(1, treeHash.hash(new byte[0]).getChunkCount());
+    }
+
+    @Test
+    public void testFile() throws Exception {
+        Path file = Files.createTempFile("WfTreeHashTest", ".bin");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // 分块跨越多个读取窗口，最后一块不满
+            byte[] data = new byte[WfDigest.BUFFER_SIZE * 5 + 77];
+            new Random(24).nextBytes(data);
+            Files.write(file, data);
+
+            WfTreeHash treeHash = WfTreeHash.builder().setChunkSize(WfDigest.BUFFER_SIZE * 2 + 3)
+                    .setPool(pool).build();
+            WfTreeHash.Result result = treeHash.hash(file);
+            assertEquals(treeHash.hash(data).getRoot(), result.getRoot());
+            assertEquals(3, result.getChunkCount());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(result.getChunkDigests().get(i), treeHash.hashChunk(file, i));
+            }
+            assertEquals(WfTreeHash.builder().build().hash(data).getRoot(), WfSha.sha256TreeFile(file));
+            assertEquals(Collections.emptyList(), treeHash.verify(file, result));
+
+            // 修改第二块，只有第二块不一致
+            try (RandomAccessFile access = new RandomAccessFile(file.toFile(), "rw")) {
+                access.seek(WfDigest.BUFFER_SIZE * 3);
+                access.write(~data[WfDigest.BUFFER_SIZE * 3]);
+            }
+            assertEquals(Arrays.asList(1), treeHash.verify(file, result));
+
+            // 截断后，缺失的分块也不一致
+            try (RandomAccessFile access = new RandomAccessFile(file.toFile(), "rw")) {
+                access.setLength(100);
+            }
+            assertEquals(Arrays.asList(0, 1, 2), treeHash.verify(file, result));
+
+            try {
+                treeHash.hashChunk(file, 1);
+                fail();
+            } catch (WfFileException excpt) {
+                assertEquals("分块序号超出范围：1", excpt.getMessage());
+            }
+        } finally {
+            pool.shutdown();
+            Files.deleteIfExists(file);
+        }
+
+        try {
+            WfSha.sha256TreeFile(file);
+            fail();
+        } catch (WfFileException excpt) {
+            assertEquals("未找到文件：" + file, excpt.getMessage());
+        }
+    }
+
+    @Test
+    public void testSerial() {
+        // 并行度为1时在调用线程中依次计算，不提交到任何线程池（已关闭的线程池不会被使用）
+        ForkJoinPool pool = new ForkJoinPool(1);
+        pool.shutdown();
+        byte[] data = new byte[2500];
+        new Random(24).nextBytes(data);
+        assertEquals(WfTreeHash.builder().setChunkSize(1000).build().hash(data).getRoot(),
+                WfTreeHash.builder().setChunkSize(1000).setPool(pool).build().hash(data).getRoot());
+    }
+
+    @Test
+    public void testBuilder() {
+        assertEquals("MD5", WfTreeHash.builder().setAlgorithm("MD5").build().hash(new byte[1]).getAlgorithm());
+
+        try {
+            WfTreeHash.builder().setAlgorithm("SHA-0");
+            fail();
+        } catch (IllegalArgumentException excpt) {
+            assertEquals("不支持的摘要算法：SHA-0", excpt.getMessage());
+        }
+        try {
+            WfTreeHash.builder().setChunkSize(0);
+            fail();
+        } catch (IllegalArgumentException excpt) {
+            assertEquals("分块大小须为正整数", excpt.getMessage());
+        }
+    }
+}
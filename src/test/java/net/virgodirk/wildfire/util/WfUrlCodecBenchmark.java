@@ -0,0 +1,79 @@
+package net.virgodirk.wildfire.util;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for WfUrlCodec
+ *
+ * <p>对比 {@link URLEncoder}/{@link URLDecoder} 与 {@link WfUrlCodec}，通过 {@link #main(String[])} 运行</p>
+ *
+ * @author agent on 2026年10月18日 下午23:58:12
+ * @version Version 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WfUrlCodecBenchmark {
+
+    @Param({"order_id_20261018", "name=张三&city=北京 海淀", "https://www.example.com/path?q=a b&lang=zh-CN"})
+    private String text;
+
+    private String encoded;
+
+    private final StringBuilder builder = new StringBuilder(256);
+
+    @Setup
+    public void setup() throws Exception {
+        encoded = URLEncoder.encode(text, "UTF-8");
+    }
+
+    @Benchmark
+    public String urlEncoder() throws Exception {
+        return URLEncoder.encode(text, "UTF-8");
+    }
+
+    @Benchmark
+    public String codecEncode() {
+        return WfUrlCodec.encode(text);
+    }
+
+    @Benchmark
+    public int codecEncodeAppend() {
+        builder.setLength(0);
+        return WfUrlCodec.encode(text, builder).length();
+    }
+
+    @Benchmark
+    public String urlDecoder() throws Exception {
+        return URLDecoder.decode(encoded, "UTF-8");
+    }
+
+    @Benchmark
+    public String codecDecode() {
+        return WfUrlCodec.decode(encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WfUrlCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,82 @@
+package net.virgodirk.wildfire.util;
+
+import static org.junit.Assert.*;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test for WfUrlCodec
+ *
+ * @author agent on 2026年10月18日 下午23:58:12
+ * @version Version 3.0
+ */
+public class WfUrlCodecTest {
+
+    private static final String[] SAMPLES = {
+            "", "abc123", "a b+c&d=e/f?g#h", "测试 test", "~!@#$%^&*()_-.'\"", "😀emoji", 
+            "lone\uD83Dhigh", "lone\uDE00low", "é߿ࠀ￿"};
+
+    @Test
+    public void testEncode() throws Exception {
+        for (String sample : SAMPLES) {
+            assertEquals(URLEncoder.encode(sample, "UTF-8"), WfUrlCodec.encode(sample));
+            assertEquals(URLEncoder.encode(sample, "GBK"), WfUrlCodec.encode(sample, Charset.forName("GBK")));
+        }
+        
+        Random random = new Random(20261018L);
+        for (int i = 0; i < 1000; i++) {
+            char[] chars = new char[random.nextInt(20)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) (random.nextBoolean() ? random.nextInt(128) : random.nextInt(0x10000));
+            }
+            String text = new String(chars);
+            assertEquals(URLEncoder.encode(text, "UTF-8"), WfUrlCodec.encode(text));
+        }
+        
+        String text = "abc";
+        assertSame(text, WfUrlCodec.encode(text));
+    }
+
+    @Test
+    public void testEncodeComponent() {
+        assertEquals("a%20b%2Bc~d%2A", WfUrlCodec.encodeComponent("a b+c~d*"));
+        assertEquals("%E6%B5%8B%E8%AF%95", WfUrlCodec.encodeComponent("测试"));
+        assertEquals("k=%E6%B5%8B%E8%AF%95%20", WfUrlCodec.encodeComponent("测试 ", new StringBuilder("k=")).toString());
+        
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        WfUrlCodec.encode("a b", buffer);
+        assertEquals("a+b", new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testDecode() throws Exception {
+        for (String sample : SAMPLES) {
+            String encoded = URLEncoder.encode(sample, "UTF-8");
+            assertEquals(URLDecoder.decode(encoded, "UTF-8"), WfUrlCodec.decode(encoded));
+        }
+        assertEquals(URLDecoder.decode("%E6%B5%8B%FF%C3+x", "UTF-8"), WfUrlCodec.decode("%E6%B5%8B%FF%C3+x"));
+        assertEquals(URLDecoder.decode("%ED%A0%80", "UTF-8"), WfUrlCodec.decode("%ED%A0%80"));
+        assertEquals("测试", WfUrlCodec.decode("%B2%E2%CA%D4", Charset.forName("GBK")));
+        assertEquals("a+b c", WfUrlCodec.decodeComponent("a+b%20c"));
+        
+        String text = "abc";
+        assertSame(text, WfUrlCodec.decode(text));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeIncomplete() {
+        WfUrlCodec.decode("abc%4");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeIllegal() {
+        WfUrlCodec.decode("abc%zz");
+    }
+}